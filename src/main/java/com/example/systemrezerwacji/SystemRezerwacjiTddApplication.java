@@ -1,15 +1,21 @@
 package com.example.systemrezerwacji;
 
+import com.example.systemrezerwacji.infrastructure.notificationmode.EmailOutboxProperties;
+import com.example.systemrezerwacji.infrastructure.notificationmode.ReminderProperties;
 import com.example.systemrezerwacji.infrastructure.security.JwtConfigurationProperties;
+import com.example.systemrezerwacji.infrastructure.cache.TwoTierCacheProperties;
+import com.example.systemrezerwacji.infrastructure.slotstream.SlotStreamProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
-@EnableConfigurationProperties(value = JwtConfigurationProperties.class)
+@EnableConfigurationProperties(value = {JwtConfigurationProperties.class, EmailOutboxProperties.class, ReminderProperties.class, SlotStreamProperties.class, TwoTierCacheProperties.class})
 @EnableScheduling
+@EnableCaching
 public class SystemRezerwacjiTddApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,186 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.BookingStatsCheckDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeDayBookingsDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeUtilizationDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferBookingsDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferRevenueDto;
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeAvailabilityDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeWithAllInformationDto;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+public class AnalyticsFacade {
+    private static final int DEFAULT_RANGE_DAYS = 28;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final ReservationFacade reservationFacade;
+    private final EmployeeFacade employeeFacade;
+    private final OfferFacade offerFacade;
+    private final BookingStatsService bookingStatsService;
+
+    public AnalyticsFacade(@Lazy ReservationFacade reservationFacade,
+                           @Lazy EmployeeFacade employeeFacade,
+                           @Lazy OfferFacade offerFacade,
+                           BookingStatsService bookingStatsService) {
+        this.reservationFacade = reservationFacade;
+        this.employeeFacade = employeeFacade;
+        this.offerFacade = offerFacade;
+        this.bookingStatsService = bookingStatsService;
+    }
+
+    /**
+     * Applies the change of one reservation to the daily counters. Has to run in the transaction that
+     * changed the reservation, while it holds the lock of the employee's day.
+     */
+    @Transactional
+    public void recordBookings(DailyBookingsDto delta) {
+        bookingStatsService.apply(delta);
+    }
+
+    /**
+     * Booked against available minutes of every salon employee, one row per employee and week.
+     * Both dates are inclusive; the range defaults to the last four weeks and is capped at a year.
+     */
+    public List<EmployeeUtilizationDto> getEmployeeUtilization(Long salonId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = clampStart(from, end);
+
+        Map<Long, Map<LocalDate, EmployeeDayBookingsDto>> bookedDays = new HashMap<>();
+        bookingStatsService.sumByEmployeeAndDay(salonId, start, end).forEach(day ->
+                bookedDays.computeIfAbsent(day.employeeId(), id -> new HashMap<>()).put(day.date(), day));
+
+        List<EmployeeUtilizationDto> utilization = new ArrayList<>();
+        for (EmployeeWithAllInformationDto employee : employeeFacade.getAllEmployees(salonId)) {
+            Map<DayOfWeek, Long> workingMinutes = workingMinutes(employee.availability());
+            Map<LocalDate, EmployeeDayBookingsDto> days = bookedDays.getOrDefault(employee.employeeId(), Map.of());
+
+            for (LocalDate weekStart = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                 !weekStart.isAfter(end); weekStart = weekStart.plusWeeks(1)) {
+                long bookings = 0;
+                long bookedMinutes = 0;
+                long availableMinutes = 0;
+                for (LocalDate date = weekStart; date.isBefore(weekStart.plusWeeks(1)); date = date.plusDays(1)) {
+                    if (date.isBefore(start) || date.isAfter(end)) {
+                        continue;
+                    }
+                    availableMinutes += workingMinutes.getOrDefault(date.getDayOfWeek(), 0L);
+                    EmployeeDayBookingsDto day = days.get(date);
+                    if (day != null) {
+                        bookings += day.bookings();
+                        bookedMinutes += day.bookedMinutes();
+                    }
+                }
+                Double ratio = availableMinutes == 0 ? null : (double) bookedMinutes / availableMinutes;
+                utilization.add(new EmployeeUtilizationDto(employee.employeeId(), employee.name(), weekStart,
+                        bookings, bookedMinutes, availableMinutes, ratio));
+            }
+        }
+        return utilization;
+    }
+
+    /**
+     * Bookings and revenue per offer of the salon, highest revenue first. Both dates are inclusive.
+     */
+    public List<OfferRevenueDto> getOfferRevenue(Long salonId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = clampStart(from, end);
+
+        Map<Long, String> offerNames = offerFacade.getAllOffersToSalon(salonId).stream()
+                .collect(Collectors.toMap(OfferDto::id, OfferDto::name, (first, second) -> first));
+        List<OfferBookingsDto> offers = bookingStatsService.sumByOffer(salonId, start, end);
+        return offers.stream()
+                .map(offer -> new OfferRevenueDto(offer.offerId(), offerNames.get(offer.offerId()),
+                        offer.bookings(), offer.revenue()))
+                .toList();
+    }
+
+    /**
+     * Recomputes the counters from the live reservations, starting with the day of the oldest one, and returns
+     * the number of counter rows they make up. Counters of archived days are kept as they are.
+     */
+    public long rebuild() {
+        List<DailyBookingsDto> aggregates = reservationFacade.getDailyBookings(null, null);
+        LocalDate from = aggregates.stream()
+                .map(DailyBookingsDto::date)
+                .min(Comparator.naturalOrder())
+                .filter(oldest -> oldest.isBefore(LocalDate.now()))
+                .orElse(LocalDate.now());
+        LocalDate to = Stream.concat(aggregates.stream().map(DailyBookingsDto::date),
+                        bookingStatsService.findLatestDate().stream())
+                .max(Comparator.naturalOrder())
+                .filter(latest -> latest.isAfter(from))
+                .orElse(from);
+        repair(bookingStatsService.findDrift(from, to, aggregates).keySet());
+        return aggregates.size();
+    }
+
+    /**
+     * Compares the counters of a date range with the live reservations; with {@code repair} every employee
+     * day that differs is rewritten from its reservations.
+     */
+    public BookingStatsCheckDto checkConsistency(LocalDate from, LocalDate to, boolean repair) {
+        List<DailyBookingsDto> expected = reservationFacade.getDailyBookings(from, to);
+        Map<EmployeeDay, Integer> drift = bookingStatsService.findDrift(from, to, expected);
+        int mismatched = drift.values().stream().mapToInt(Integer::intValue).sum();
+        if (repair) {
+            repair(drift.keySet());
+        }
+        return new BookingStatsCheckDto(from, to, mismatched, repair && mismatched > 0);
+    }
+
+    /**
+     * Rewrites each day under the same locks a booking of that day takes, one transaction per day, and reads
+     * the reservations again inside, so a booking made since the check is neither lost nor counted twice.
+     */
+    private void repair(Collection<EmployeeDay> days) {
+        for (EmployeeDay day : days) {
+            reservationFacade.callWithEmployeeDayLocked(day.employeeId(), day.date(), () ->
+                    bookingStatsService.replaceDay(day.employeeId(), day.date(),
+                            reservationFacade.getEmployeeDailyBookings(day.employeeId(), day.date())));
+        }
+    }
+
+    private static LocalDate clampStart(LocalDate from, LocalDate end) {
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1L);
+        if (start.isAfter(end)) {
+            return end;
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            return end.minusDays(MAX_RANGE_DAYS - 1L);
+        }
+        return start;
+    }
+
+    private static Map<DayOfWeek, Long> workingMinutes(List<EmployeeAvailabilityDto> availability) {
+        if (availability == null) {
+            return Map.of();
+        }
+        return availability.stream()
+                .filter(day -> day.startTime() != null && day.endTime() != null)
+                .collect(Collectors.toMap(
+                        day -> DayOfWeek.valueOf(day.dayOfWeek()),
+                        day -> ChronoUnit.MINUTES.between(day.startTime(), day.endTime()),
+                        Long::sum));
+    }
+}
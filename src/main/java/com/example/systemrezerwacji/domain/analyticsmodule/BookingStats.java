@@ -0,0 +1,81 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running totals of one offer booked with one employee on one day. Every writer of a row holds the
+ * reservation lock of that employee's day, so the counters are updated with a plain read-modify-write.
+ */
+@Entity
+@Getter
+@IdClass(BookingStats.Key.class)
+@Table(name = "booking_daily_stats",
+        indexes = @Index(name = "idx_booking_daily_stats_salon_date", columnList = "salon_id, stats_date"))
+class BookingStats {
+    @Id
+    @Column(name = "salon_id")
+    private Long salonId;
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Column(name = "offer_id")
+    private Long offerId;
+
+    @Id
+    @Column(name = "stats_date")
+    private LocalDate date;
+
+    private long bookings;
+
+    private long bookedMinutes;
+
+    private BigDecimal revenue;
+
+    BookingStats(Long salonId, Long employeeId, Long offerId, LocalDate date) {
+        this.salonId = salonId;
+        this.employeeId = employeeId;
+        this.offerId = offerId;
+        this.date = date;
+        this.revenue = BigDecimal.ZERO;
+    }
+
+    protected BookingStats() {
+    }
+
+    void add(long bookings, long bookedMinutes, BigDecimal revenue) {
+        this.bookings += bookings;
+        this.bookedMinutes += bookedMinutes;
+        this.revenue = this.revenue.add(revenue);
+    }
+
+    boolean isEmpty() {
+        return bookings == 0;
+    }
+
+    @EqualsAndHashCode
+    static class Key implements Serializable {
+        private Long salonId;
+        private Long employeeId;
+        private Long offerId;
+        private LocalDate date;
+
+        Key(Long salonId, Long employeeId, Long offerId, LocalDate date) {
+            this.salonId = salonId;
+            this.employeeId = employeeId;
+            this.offerId = offerId;
+            this.date = date;
+        }
+
+        protected Key() {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeDayBookingsDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferBookingsDto;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+interface BookingStatsRepository extends CrudRepository<BookingStats, BookingStats.Key> {
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeDayBookingsDto(
+                s.employeeId, s.date, sum(s.bookings), sum(s.bookedMinutes))
+            from BookingStats s
+            where s.salonId = :salonId
+              and s.date >= :from
+              and s.date <= :to
+            group by s.employeeId, s.date
+            order by s.employeeId, s.date
+            """)
+    List<EmployeeDayBookingsDto> sumByEmployeeAndDay(@Param("salonId") Long salonId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferBookingsDto(
+                s.offerId, sum(s.bookings), sum(s.revenue))
+            from BookingStats s
+            where s.salonId = :salonId
+              and s.date >= :from
+              and s.date <= :to
+            group by s.offerId
+            order by sum(s.revenue) desc, s.offerId
+            """)
+    List<OfferBookingsDto> sumByOffer(@Param("salonId") Long salonId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    List<BookingStats> findByDateBetween(LocalDate from, LocalDate to);
+
+    @Query("select max(s.date) from BookingStats s")
+    Optional<LocalDate> findLatestDate();
+
+    @Modifying
+    @Query("delete from BookingStats s where s.employeeId = :employeeId and s.date = :date")
+    int deleteByEmployeeDay(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+}
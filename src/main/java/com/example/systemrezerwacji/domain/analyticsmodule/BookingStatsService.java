@@ -0,0 +1,126 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeDayBookingsDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+class BookingStatsService {
+    private static final Logger log = LogManager.getLogger(BookingStatsService.class);
+
+    private final BookingStatsRepository bookingStatsRepository;
+
+    BookingStatsService(BookingStatsRepository bookingStatsRepository) {
+        this.bookingStatsRepository = bookingStatsRepository;
+    }
+
+    /**
+     * Adds a signed delta to its counter row. The caller holds the reservation lock of the employee's day,
+     * which is part of the key, so no other writer updates the same row concurrently.
+     */
+    void apply(DailyBookingsDto delta) {
+        BookingStats.Key key = keyOf(delta);
+        BookingStats stats = bookingStatsRepository.findById(key)
+                .orElseGet(() -> new BookingStats(delta.salonId(), delta.employeeId(), delta.offerId(), delta.date()));
+        stats.add(delta.bookings(), delta.bookedMinutes(), revenueOf(delta));
+
+        if (stats.isEmpty()) {
+            bookingStatsRepository.delete(stats);
+        } else {
+            bookingStatsRepository.save(stats);
+        }
+        log.debug("Applied {} booking(s) to salonId: {}, employeeId: {}, offerId: {} on {}",
+                delta.bookings(), delta.salonId(), delta.employeeId(), delta.offerId(), delta.date());
+    }
+
+    List<EmployeeDayBookingsDto> sumByEmployeeAndDay(Long salonId, LocalDate from, LocalDate to) {
+        return bookingStatsRepository.sumByEmployeeAndDay(salonId, from, to);
+    }
+
+    List<OfferBookingsDto> sumByOffer(Long salonId, LocalDate from, LocalDate to) {
+        return bookingStatsRepository.sumByOffer(salonId, from, to);
+    }
+
+    Optional<LocalDate> findLatestDate() {
+        return bookingStatsRepository.findLatestDate();
+    }
+
+    /**
+     * Compares the counters of a date range with aggregates of the live reservations and returns, per employee
+     * day, the number of rows that are missing, superfluous or different.
+     */
+    Map<EmployeeDay, Integer> findDrift(LocalDate from, LocalDate to, List<DailyBookingsDto> expected) {
+        Map<BookingStats.Key, BookingStats> actual = new HashMap<>();
+        bookingStatsRepository.findByDateBetween(from, to).forEach(stats -> actual.put(keyOf(stats), stats));
+
+        Map<EmployeeDay, Integer> drift = new HashMap<>();
+        Set<BookingStats.Key> seen = new HashSet<>();
+        for (DailyBookingsDto row : expected) {
+            BookingStats.Key key = keyOf(row);
+            seen.add(key);
+            if (!matches(actual.get(key), row)) {
+                drift.merge(new EmployeeDay(row.employeeId(), row.date()), 1, Integer::sum);
+            }
+        }
+        actual.forEach((key, stats) -> {
+            if (!seen.contains(key)) {
+                drift.merge(new EmployeeDay(stats.getEmployeeId(), stats.getDate()), 1, Integer::sum);
+            }
+        });
+
+        if (!drift.isEmpty()) {
+            log.warn("Booking stats between {} and {} differ from reservations on {} employee days",
+                    from, to, drift.size());
+        }
+        return drift;
+    }
+
+    /**
+     * Rewrites the counters of one employee's day from the aggregates of its live reservations. The caller
+     * holds the day like a booking does, so no delta lands between reading the reservations and this write.
+     */
+    int replaceDay(Long employeeId, LocalDate date, List<DailyBookingsDto> aggregates) {
+        int deleted = bookingStatsRepository.deleteByEmployeeDay(employeeId, date);
+        aggregates.forEach(this::insert);
+        log.debug("Rewrote booking stats of employeeId: {} on {}: {} rows removed, {} rows written",
+                employeeId, date, deleted, aggregates.size());
+        return aggregates.size();
+    }
+
+    private void insert(DailyBookingsDto row) {
+        BookingStats stats = new BookingStats(row.salonId(), row.employeeId(), row.offerId(), row.date());
+        stats.add(row.bookings(), row.bookedMinutes() == null ? 0L : row.bookedMinutes(), revenueOf(row));
+        bookingStatsRepository.save(stats);
+    }
+
+    private static boolean matches(BookingStats stats, DailyBookingsDto row) {
+        return stats != null
+                && stats.getBookings() == row.bookings()
+                && stats.getBookedMinutes() == (row.bookedMinutes() == null ? 0L : row.bookedMinutes())
+                && stats.getRevenue().compareTo(revenueOf(row)) == 0;
+    }
+
+    private static BigDecimal revenueOf(DailyBookingsDto row) {
+        return row.revenue() == null ? BigDecimal.ZERO : row.revenue();
+    }
+
+    private static BookingStats.Key keyOf(DailyBookingsDto row) {
+        return new BookingStats.Key(row.salonId(), row.employeeId(), row.offerId(), row.date());
+    }
+
+    private static BookingStats.Key keyOf(BookingStats stats) {
+        return new BookingStats.Key(stats.getSalonId(), stats.getEmployeeId(), stats.getOfferId(), stats.getDate());
+    }
+}
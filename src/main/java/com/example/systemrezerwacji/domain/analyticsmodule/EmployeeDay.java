@@ -0,0 +1,9 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import java.time.LocalDate;
+
+/**
+ * The unit the booking counters are written in: one employee on one day, the same unit bookings lock.
+ */
+record EmployeeDay(Long employeeId, LocalDate date) {
+}
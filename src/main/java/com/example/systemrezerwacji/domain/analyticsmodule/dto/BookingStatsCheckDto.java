@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.analyticsmodule.dto;
+
+import java.time.LocalDate;
+
+public record BookingStatsCheckDto(LocalDate from, LocalDate to, int mismatchedRows, boolean repaired) {
+}
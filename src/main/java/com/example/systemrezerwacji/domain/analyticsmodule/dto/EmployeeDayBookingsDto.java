@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.analyticsmodule.dto;
+
+import java.time.LocalDate;
+
+public record EmployeeDayBookingsDto(Long employeeId, LocalDate date, Long bookings, Long bookedMinutes) {
+}
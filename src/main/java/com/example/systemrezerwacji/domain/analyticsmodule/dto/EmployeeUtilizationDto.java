@@ -0,0 +1,16 @@
+package com.example.systemrezerwacji.domain.analyticsmodule.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One employee in the week starting on {@code weekStart} (a Monday), limited to the requested range.
+ * {@code utilization} is booked over available minutes and null when the employee had no working hours.
+ */
+public record EmployeeUtilizationDto(Long employeeId,
+                                     String employeeName,
+                                     LocalDate weekStart,
+                                     long bookings,
+                                     long bookedMinutes,
+                                     long availableMinutes,
+                                     Double utilization) {
+}
@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.analyticsmodule.dto;
+
+import java.math.BigDecimal;
+
+public record OfferBookingsDto(Long offerId, Long bookings, BigDecimal revenue) {
+}
@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.analyticsmodule.dto;
+
+import java.math.BigDecimal;
+
+public record OfferRevenueDto(Long offerId, String offerName, long bookings, BigDecimal revenue) {
+}
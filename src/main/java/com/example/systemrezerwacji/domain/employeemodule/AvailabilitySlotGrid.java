@@ -0,0 +1,142 @@
+package com.example.systemrezerwacji.domain.employeemodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Working day of a single employee as a bitset of fixed-size slots anchored at the start of availability.
+ * A set bit means the slot is free. Busy intervals are rounded outward to whole slots, so a reservation
+ * that does not start on a slot boundary blocks the whole slot it starts in.
+ */
+class AvailabilitySlotGrid {
+    private static final int MINUTES_IN_DAY = 24 * 60;
+
+    private final LocalTime origin;
+    private final int slotMinutes;
+    private final int windowMinutes;
+    private final int slotCount;
+    private final long[] freeSlots;
+
+    AvailabilitySlotGrid(LocalTime start, LocalTime end, int slotMinutes) {
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive");
+        }
+        this.origin = start;
+        this.slotMinutes = slotMinutes;
+        this.windowMinutes = Math.max(0, minutesOfDay(end) - minutesOfDay(start));
+        this.slotCount = (windowMinutes + slotMinutes - 1) / slotMinutes;
+        this.freeSlots = new long[(slotCount + 63) >>> 6];
+        setRange(0, slotCount);
+    }
+
+    void markBusy(LocalTime busyStart, LocalTime busyEnd) {
+        int from = minutesOfDay(busyStart) - minutesOfDay(origin);
+        int to = busyEnd.isBefore(busyStart) ? MINUTES_IN_DAY : minutesOfDay(busyEnd);
+        to -= minutesOfDay(origin);
+
+        int firstSlot = Math.max(0, Math.floorDiv(from, slotMinutes));
+        int lastSlot = Math.min(slotCount, Math.floorDiv(to + slotMinutes - 1, slotMinutes));
+        if (firstSlot < lastSlot) {
+            clearRange(firstSlot, lastSlot);
+        }
+    }
+
+    void markBusy(List<AvailableTermDto> busyTerms) {
+        busyTerms.forEach(term -> markBusy(term.startServices(), term.endServices()));
+    }
+
+    List<AvailableTermDto> findTerms(LocalTime duration) {
+        int durationMinutes = duration.getHour() * 60 + duration.getMinute();
+        List<AvailableTermDto> terms = new ArrayList<>();
+        if (durationMinutes <= 0 || durationMinutes > windowMinutes) {
+            return terms;
+        }
+
+        int lastStartSlot = (windowMinutes - durationMinutes) / slotMinutes;
+        int requiredSlots = (durationMinutes + slotMinutes - 1) / slotMinutes;
+        long[] starts = runStarts(requiredSlots);
+
+        for (int word = 0; word < starts.length; word++) {
+            long bits = starts[word];
+            while (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (slot > lastStartSlot) {
+                    return terms;
+                }
+                LocalTime termStart = origin.plusMinutes((long) slot * slotMinutes);
+                terms.add(new AvailableTermDto(termStart, termStart.plusMinutes(durationMinutes)));
+                bits &= bits - 1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Bit {@code i} of the result is set when slots {@code i .. i + length - 1} are all free.
+     * Runs are doubled with shift-and-AND, so the cost is O(words * log(length)).
+     */
+    private long[] runStarts(int length) {
+        long[] runs = freeSlots.clone();
+        int covered = 1;
+        while (covered * 2 <= length) {
+            runs = and(runs, shiftDown(runs, covered));
+            covered *= 2;
+        }
+        if (covered < length) {
+            runs = and(runs, shiftDown(runs, length - covered));
+        }
+        return runs;
+    }
+
+    private static long[] shiftDown(long[] bits, int distance) {
+        long[] shifted = new long[bits.length];
+        int wordShift = distance >>> 6;
+        int bitShift = distance & 63;
+        for (int word = 0; word + wordShift < bits.length; word++) {
+            long value = bits[word + wordShift] >>> bitShift;
+            if (bitShift != 0 && word + wordShift + 1 < bits.length) {
+                value |= bits[word + wordShift + 1] << (64 - bitShift);
+            }
+            shifted[word] = value;
+        }
+        return shifted;
+    }
+
+    private static long[] and(long[] left, long[] right) {
+        long[] result = new long[left.length];
+        for (int word = 0; word < left.length; word++) {
+            result[word] = left[word] & right[word];
+        }
+        return result;
+    }
+
+    private void setRange(int from, int to) {
+        for (int slot = from; slot < to; ) {
+            int word = slot >>> 6;
+            int upTo = Math.min(to, (word + 1) << 6);
+            freeSlots[word] |= mask(slot & 63, upTo - slot);
+            slot = upTo;
+        }
+    }
+
+    private void clearRange(int from, int to) {
+        for (int slot = from; slot < to; ) {
+            int word = slot >>> 6;
+            int upTo = Math.min(to, (word + 1) << 6);
+            freeSlots[word] &= ~mask(slot & 63, upTo - slot);
+            slot = upTo;
+        }
+    }
+
+    private static long mask(int offset, int length) {
+        long bits = length == 64 ? -1L : (1L << length) - 1;
+        return bits << offset;
+    }
+
+    private static int minutesOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -5,7 +5,11 @@ import org.springframework.stereotype.Service;
 
 
 import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -28,4 +32,18 @@ class EmployeeAvailabilityService {
         return byEmployeeIdAndDayOfWeek.get();
     }
 
+    Map<Long, EmployeeAvailability> findAvailabilityOfEmployees(Collection<Long> employeeIds, DayOfWeek dayOfWeek) {
+        Map<Long, EmployeeAvailability> availabilityByEmployee = new HashMap<>();
+        employeeAvailabilityRepository.findAllByEmployeeIdInAndDayOfWeek(employeeIds, dayOfWeek)
+                .forEach(availability -> availabilityByEmployee.put(availability.getEmployee().getId(), availability));
+        return availabilityByEmployee;
+    }
+
+    Map<DayOfWeek, EmployeeAvailability> findWeeklyAvailability(Long employeeId) {
+        Map<DayOfWeek, EmployeeAvailability> weeklyAvailability = new EnumMap<>(DayOfWeek.class);
+        employeeAvailabilityRepository.findAllByEmployeeId(employeeId)
+                .forEach(availability -> weeklyAvailability.put(availability.getDayOfWeek(), availability));
+        return weeklyAvailability;
+    }
+
 }
@@ -9,10 +9,12 @@ import com.example.systemrezerwacji.domain.usermodule.UserFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.AvailableDatesReservationDto;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
 import com.example.systemrezerwacji.domain.usermodule.User;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -29,6 +31,7 @@ public class EmployeeFacade {
     private final OfferFacade offerFacade;
     private final ReservationFacade reservationFacade;
     private final EmployeeService employeeService;
+    private final VersionStamps versionStamps;
 
 
     public CreateEmployeeResponseDto createEmployeeAndAddToSalon(EmployeeDto employeeDto, Salon salon) {
@@ -80,10 +83,48 @@ public class EmployeeFacade {
         return termsDto;
     }
 
+    public List<AvailableTermWithEmployeesDto> getAvailableHoursForOffer(Long offerId, LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            return List.of();
+        }
+        List<EmployeeToOfferDto> employees = employeeService.findEmployeesToOffer(offerId);
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> employeeIds = employees.stream().map(EmployeeToOfferDto::employeeId).toList();
+        Map<Long, EmployeeAvailability> availabilityByEmployee = employeeService.getAvailabilityOfEmployees(employeeIds, date.getDayOfWeek());
+        if (availabilityByEmployee.isEmpty()) {
+            return List.of();
+        }
+
+        LocalTime duration = offerFacade.getDurationToOffer(offerId);
+        Map<Long, List<AvailableTermDto>> busyTermsByEmployee = reservationFacade.getEmployeesBusyTerms(availabilityByEmployee.keySet(), date);
+        LocalTime notBefore = date.isEqual(LocalDate.now()) ? LocalTime.now() : null;
+
+        return employeeService.mergeAvailability(employees, availabilityByEmployee, busyTermsByEmployee, duration, notBefore);
+    }
+
+    public List<AvailableTermWithDateDto> findNearestAvailableTerms(Long employeeId, Long offerId, LocalDate from,
+                                                                    int horizonDays, int maxTerms) {
+        Map<DayOfWeek, EmployeeAvailability> weeklyAvailability = employeeService.getWeeklyAvailability(employeeId);
+        if (weeklyAvailability.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate start = from.isBefore(LocalDate.now()) ? LocalDate.now() : from;
+        LocalDate end = start.plusDays(horizonDays - 1L);
+        LocalTime duration = offerFacade.getDurationToOffer(offerId);
+        Map<LocalDate, List<AvailableTermDto>> busyTermsByDate = reservationFacade.getEmployeeBusyTerms(employeeId, start, end);
+
+        return employeeService.findAvailabilityInRange(weeklyAvailability, start, end, duration, busyTermsByDate, maxTerms);
+    }
+
     @Transactional
     public EmployeeFacadeResponseDto addOfferToEmployee(Long employeeId, Long offerId) {
         Offer offer = offerFacade.getOffer(offerId);
         Employee employee = employeeService.addOfferToEmployee(employeeId, offer);
+        versionStamps.bumpOffer(offerId);
 
         return new EmployeeFacadeResponseDto("success", employee.getId());
     }
@@ -100,6 +141,7 @@ public class EmployeeFacade {
         return employee;
     }
 
+    @Transactional(readOnly = true)
     public List<EmployeeWithAllInformationDto> getAllEmployees(Long salonId) {
         List<EmployeeWithAllInformationDto> allEmployees = employeeService.getAllEmployeesToSalon(salonId);
         return allEmployees;
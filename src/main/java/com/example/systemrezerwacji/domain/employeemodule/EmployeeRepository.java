@@ -1,6 +1,9 @@
 package com.example.systemrezerwacji.domain.employeemodule;
 
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,14 @@ interface EmployeeRepository extends CrudRepository<Employee, Long> {
     List<Employee> findByOffersId(Long offerId);
 
     List<Employee> findAllBySalonId(Long salonId);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto(e.id, u.name)
+            from Employee e
+            join e.offers o
+            join e.user u
+            where o.id = :offerId
+            order by e.id
+            """)
+    List<EmployeeToOfferDto> findEmployeesToOffer(@Param("offerId") Long offerId);
 }
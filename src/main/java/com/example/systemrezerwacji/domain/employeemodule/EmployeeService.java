@@ -1,6 +1,9 @@
 package com.example.systemrezerwacji.domain.employeemodule;
 
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithEmployeesDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeAvailabilityDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeWithAllInformationDto;
 import com.example.systemrezerwacji.domain.employeemodule.exception.EmployeeDuplicateOfferException;
@@ -14,6 +17,8 @@ import org.apache.logging.log4j.Logger;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -85,6 +90,80 @@ class EmployeeService {
         return generateAvailableTerms(availability.getStartTime(), availability.getEndTime(), duration, employeeBusyTermsList);
     }
 
+    Map<DayOfWeek, EmployeeAvailability> getWeeklyAvailability(Long employeeId) {
+        return employeeAvailabilityService.findWeeklyAvailability(employeeId);
+    }
+
+    /**
+     * Walks the days of {@code [from, to]} against an already loaded weekly template and busy terms,
+     * stopping as soon as {@code maxTerms} terms are collected.
+     */
+    List<AvailableTermWithDateDto> findAvailabilityInRange(Map<DayOfWeek, EmployeeAvailability> weeklyAvailability,
+                                                           LocalDate from, LocalDate to, LocalTime duration,
+                                                           Map<LocalDate, List<AvailableTermDto>> busyTermsByDate,
+                                                           int maxTerms) {
+        log.debug("Searching up to {} terms between {} and {}", maxTerms, from, to);
+        List<AvailableTermWithDateDto> terms = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (LocalDate date = from; !date.isAfter(to) && terms.size() < maxTerms; date = date.plusDays(1)) {
+            EmployeeAvailability availability = weeklyAvailability.get(date.getDayOfWeek());
+            if (availability == null || date.isBefore(now.toLocalDate())) {
+                continue;
+            }
+            List<AvailableTermDto> busyTerms = busyTermsByDate.getOrDefault(date, List.of());
+            for (AvailableTermDto term : generateAvailableTerms(availability.getStartTime(), availability.getEndTime(), duration, busyTerms)) {
+                if (date.isEqual(now.toLocalDate()) && !term.startServices().isAfter(now.toLocalTime())) {
+                    continue;
+                }
+                terms.add(new AvailableTermWithDateDto(term.startServices(), term.endServices(), date));
+                if (terms.size() == maxTerms) {
+                    break;
+                }
+            }
+        }
+        log.info("Found {} terms between {} and {}", terms.size(), from, to);
+        return terms;
+    }
+
+    List<EmployeeToOfferDto> findEmployeesToOffer(Long offerId) {
+        log.info("Finding employees with names for offerId: {}", offerId);
+        return employeeRepository.findEmployeesToOffer(offerId);
+    }
+
+    Map<Long, EmployeeAvailability> getAvailabilityOfEmployees(List<Long> employeeIds, DayOfWeek dayOfWeek) {
+        return employeeAvailabilityService.findAvailabilityOfEmployees(employeeIds, dayOfWeek);
+    }
+
+    /**
+     * Merges the free terms of several employees on one day; every term lists the employees who can take it.
+     */
+    List<AvailableTermWithEmployeesDto> mergeAvailability(List<EmployeeToOfferDto> employees,
+                                                          Map<Long, EmployeeAvailability> availabilityByEmployee,
+                                                          Map<Long, List<AvailableTermDto>> busyTermsByEmployee,
+                                                          LocalTime duration, LocalTime notBefore) {
+        Map<LocalTime, AvailableTermWithEmployeesDto> termsByStart = new TreeMap<>();
+
+        for (EmployeeToOfferDto employee : employees) {
+            EmployeeAvailability availability = availabilityByEmployee.get(employee.employeeId());
+            if (availability == null) {
+                continue;
+            }
+            List<AvailableTermDto> busyTerms = busyTermsByEmployee.getOrDefault(employee.employeeId(), List.of());
+            for (AvailableTermDto term : generateAvailableTerms(availability.getStartTime(), availability.getEndTime(), duration, busyTerms)) {
+                if (notBefore != null && !term.startServices().isAfter(notBefore)) {
+                    continue;
+                }
+                termsByStart.computeIfAbsent(term.startServices(),
+                                start -> new AvailableTermWithEmployeesDto(start, term.endServices(), new ArrayList<>()))
+                        .employees()
+                        .add(employee);
+            }
+        }
+        log.debug("Merged {} terms from {} employees", termsByStart.size(), employees.size());
+        return new ArrayList<>(termsByStart.values());
+    }
+
     Long getUserIdByEmployeeId(Long employeeId) {
         Optional<Employee> byId = employeeRepository.findById(employeeId);
         return byId.get().getUser().getId();
@@ -115,35 +194,12 @@ class EmployeeService {
 
     private List<AvailableTermDto> generateAvailableTerms(LocalTime start, LocalTime end, LocalTime duration, List<AvailableTermDto> employeeBusyTermsList) {
         log.debug("Generating terms between {} and {} with duration {}", start, end, duration);
-        List<AvailableTermDto> termsList = new ArrayList<>();
-
-        int serviceDurationMinutes = duration.getHour() * 60 + duration.getMinute();
-        Duration serviceDuration = Duration.ofMinutes(serviceDurationMinutes);
-
-        LocalTime currentStart = start;
-
-        while (!currentStart.plus(serviceDuration).isAfter(end)) {
-            LocalTime currentEnd = currentStart.plus(serviceDuration);
-            if (!currentEnd.isAfter(end)) {
-                termsList.add(new AvailableTermDto(currentStart, currentEnd));
-            }
-            currentStart = currentStart.plusMinutes(MINUTES_IN_INTERVAL);
-        }
-        log.debug("Generated {} raw terms before filtering", termsList.size());
-        return termsList.stream()
-                .filter(term -> isTermAvailable(term, employeeBusyTermsList))
-                .collect(Collectors.toList());
-    }
-
-    private boolean isTermAvailable(AvailableTermDto term, List<AvailableTermDto> busyTerms) {
-        LocalTime termStart = term.startServices();
-        LocalTime termEnd = term.endServices();
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(start, end, MINUTES_IN_INTERVAL);
+        grid.markBusy(employeeBusyTermsList);
 
-        return busyTerms.stream().noneMatch(busyTerm -> {
-            LocalTime busyStart = busyTerm.startServices();
-            LocalTime busyEnd = busyTerm.endServices();
-            return termStart.isBefore(busyEnd) && termEnd.isAfter(busyStart);
-        });
+        List<AvailableTermDto> termsList = grid.findTerms(duration);
+        log.debug("Generated {} free terms against {} busy terms", termsList.size(), employeeBusyTermsList.size());
+        return termsList;
     }
 
     public List<EmployeeWithAllInformationDto> getAllEmployeesToSalon(Long salonId) {
@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.employeemodule.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+public record AvailableTermWithEmployeesDto(LocalTime startServices, LocalTime endServices, List<EmployeeToOfferDto> employees) {
+}
@@ -5,27 +5,38 @@ import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
 import com.example.systemrezerwacji.domain.offermodule.response.OfferFacadeResponse;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class OfferFacade {
     private final OfferService offerService;
     private final  SalonFacade salonFacade;
+    private final VersionStamps versionStamps;
 
-    public OfferFacade(OfferService offerService, @Lazy SalonFacade salonFacade) {
+    public OfferFacade(OfferService offerService, @Lazy SalonFacade salonFacade, VersionStamps versionStamps) {
         this.offerService = offerService;
         this.salonFacade = salonFacade;
+        this.versionStamps = versionStamps;
     }
 
+    @Cacheable(value = "salonOffers")
     public List<OfferDto> getAllOffersToSalon(Long salonId) {
         return offerService.getAllOffers(salonId);
     }
 
+    public Map<Long, List<OfferDto>> getAllOffersBySalon() {
+        return offerService.getAllOffersBySalon();
+    }
+
     public LocalTime getDurationToOffer(Long offerId) {
         return offerService.getDurationByOfferId(offerId);
     }
@@ -35,9 +46,12 @@ public class OfferFacade {
     }
 
     @Transactional
+    @CacheEvict(value = "salonOffers", key = "#createOfferDto.salonId()")
     public OfferFacadeResponse createOffer(CreateOfferDto createOfferDto) {
         Salon salon = salonFacade.getSalon(Long.valueOf(createOfferDto.salonId()));
         Offer offer = offerService.createOffer(createOfferDto, salon);
+        versionStamps.bumpOffer(offer.getId());
+        salonFacade.refreshDirectory();
         return OfferFacadeResponse.builder()
                 .OfferId(offer.getId())
                 .message("success")
@@ -1,5 +1,7 @@
 package com.example.systemrezerwacji.domain.offermodule;
 
+import com.example.systemrezerwacji.domain.offermodule.dto.SalonOfferDto;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,12 @@ import java.util.Optional;
 interface OfferRepository extends CrudRepository<Offer, Long> {
     List<Offer> findAllBySalonId(Long salonId);
     Optional<Offer> findOfferById(Long offerId);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.offermodule.dto.SalonOfferDto(
+                o.salon.id, o.id, o.name, o.description, o.price, o.duration)
+            from Offer o
+            order by o.salon.id, o.id
+            """)
+    List<SalonOfferDto> findCatalogOffers();
 }
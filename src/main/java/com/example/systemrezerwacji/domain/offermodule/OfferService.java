@@ -2,6 +2,7 @@ package com.example.systemrezerwacji.domain.offermodule;
 
 import com.example.systemrezerwacji.domain.offermodule.dto.CreateOfferDto;
 import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
+import com.example.systemrezerwacji.domain.offermodule.dto.SalonOfferDto;
 import com.example.systemrezerwacji.domain.offermodule.exception.OfferNotFoundException;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 class OfferService {
@@ -30,6 +33,13 @@ class OfferService {
                 .toList();
     }
 
+    Map<Long, List<OfferDto>> getAllOffersBySalon() {
+        log.debug("Fetching offers of all salons");
+        return offerRepository.findCatalogOffers().stream()
+                .collect(Collectors.groupingBy(SalonOfferDto::salonId,
+                        Collectors.mapping(SalonOfferDto::toOfferDto, Collectors.toList())));
+    }
+
     LocalTime getDurationByOfferId(Long offerId) {
         log.debug("Getting duration for offerId: {}", offerId);
         Offer offerById = offerRepository.findOfferById(offerId)
@@ -1,5 +1,6 @@
 package com.example.systemrezerwacji.domain.offermodule.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 
@@ -7,5 +8,5 @@ public record OfferDto(Long id,
                        String name,
                        String description,
                        BigDecimal price,
-                       LocalTime duration) {
+                       LocalTime duration) implements Serializable {
 }
@@ -0,0 +1,16 @@
+package com.example.systemrezerwacji.domain.offermodule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+public record SalonOfferDto(Long salonId,
+                            Long id,
+                            String name,
+                            String description,
+                            BigDecimal price,
+                            LocalTime duration) {
+
+    public OfferDto toOfferDto() {
+        return new OfferDto(id, name, description, price, duration);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class OpeningHoursFacade {
@@ -28,4 +29,8 @@ public class OpeningHoursFacade {
 
         return new AddHoursResponseDto("failure", null);
     }
+
+    public Map<Long, List<OpeningHoursDto>> getAllOpeningHoursBySalon() {
+        return openingHoursService.getAllOpeningHoursBySalon();
+    }
 }
@@ -1,11 +1,23 @@
 package com.example.systemrezerwacji.domain.openinghoursmodule;
 
 
+import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 interface OpeningHoursRepository extends CrudRepository<OpeningHours, Long> {
     void deleteBySalon(Salon salon);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto(
+                oh.salon.id, cast(oh.dayOfWeek as String), oh.openingTime, oh.closingTime)
+            from OpeningHours oh
+            order by oh.salon.id, oh.id
+            """)
+    List<OpeningHoursDto> findCatalogOpeningHours();
 }
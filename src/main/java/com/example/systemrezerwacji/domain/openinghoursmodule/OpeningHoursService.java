@@ -10,6 +10,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -50,5 +51,11 @@ class OpeningHoursService {
         return new AddHoursResponseDto("success", openingHoursList);
     }
 
+    Map<Long, List<OpeningHoursDto>> getAllOpeningHoursBySalon() {
+        log.debug("Fetching opening hours of all salons");
+        return openingHoursRepository.findCatalogOpeningHours().stream()
+                .collect(Collectors.groupingBy(OpeningHoursDto::salonId));
+    }
+
 
 }
@@ -0,0 +1,67 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model of one employee's day: every booked slot with the names needed to show it. It is rewritten
+ * from the reservation rows whenever a reservation of that day is added, moved or deleted.
+ */
+@Entity
+@Getter
+@IdClass(EmployeeDayOccupancy.Key.class)
+@Table(name = "employee_day_occupancy",
+        indexes = @Index(name = "idx_employee_day_occupancy_salon_date", columnList = "salon_id, occupancy_date"))
+class EmployeeDayOccupancy {
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Column(name = "occupancy_date")
+    private LocalDate date;
+
+    @Column(name = "salon_id")
+    private Long salonId;
+
+    private String employeeName;
+
+    @Convert(converter = OccupiedSlotsConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<OccupiedSlot> slots;
+
+    private LocalDateTime updatedAt;
+
+    EmployeeDayOccupancy(Long employeeId, LocalDate date, Long salonId, String employeeName,
+                         List<OccupiedSlot> slots, LocalDateTime updatedAt) {
+        this.employeeId = employeeId;
+        this.date = date;
+        this.salonId = salonId;
+        this.employeeName = employeeName;
+        this.slots = slots;
+        this.updatedAt = updatedAt;
+    }
+
+    protected EmployeeDayOccupancy() {
+    }
+
+    @EqualsAndHashCode
+    static class Key implements Serializable {
+        private Long employeeId;
+        private LocalDate date;
+
+        Key(Long employeeId, LocalDate date) {
+            this.employeeId = employeeId;
+            this.date = date;
+        }
+
+        protected Key() {
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+interface EmployeeDayOccupancyRepository extends CrudRepository<EmployeeDayOccupancy, EmployeeDayOccupancy.Key> {
+
+    List<EmployeeDayOccupancy> findByEmployeeIdInAndDate(Collection<Long> employeeIds, LocalDate date);
+
+    List<EmployeeDayOccupancy> findByEmployeeIdAndDateBetween(Long employeeId, LocalDate from, LocalDate to);
+
+    List<EmployeeDayOccupancy> findBySalonIdAndDateBetweenOrderByDate(Long salonId, LocalDate from, LocalDate to);
+
+    @Query("select min(o.date) from EmployeeDayOccupancy o where o.salonId = :salonId and o.date > :after")
+    Optional<LocalDate> findNextOccupiedDate(@Param("salonId") Long salonId, @Param("after") LocalDate after);
+
+    @Modifying
+    @Query("delete from EmployeeDayOccupancy o")
+    int deleteAllDays();
+}
@@ -0,0 +1,155 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarEntryDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarPageDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationOccupancyDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link EmployeeDayOccupancy} in step with the reservation table and answers availability and calendar
+ * reads from it. Writers call {@link #refresh} inside their transaction while holding the employee day lock,
+ * so two writers of one day never overwrite each other's row.
+ */
+@Service
+class EmployeeDayOccupancyService {
+    private static final Logger log = LogManager.getLogger(EmployeeDayOccupancyService.class);
+
+    private final ReservationRepository reservationRepository;
+    private final EmployeeDayOccupancyRepository occupancyRepository;
+    private final MapperReservationDto mapperReservationDto;
+
+    EmployeeDayOccupancyService(ReservationRepository reservationRepository,
+                                EmployeeDayOccupancyRepository occupancyRepository,
+                                MapperReservationDto mapperReservationDto) {
+        this.reservationRepository = reservationRepository;
+        this.occupancyRepository = occupancyRepository;
+        this.mapperReservationDto = mapperReservationDto;
+    }
+
+    void refresh(Long employeeId, LocalDate date) {
+        if (employeeId == null || date == null) {
+            return;
+        }
+        List<ReservationOccupancyDto> entries = reservationRepository.findOccupancyEntries(
+                employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        EmployeeDayOccupancy.Key key = new EmployeeDayOccupancy.Key(employeeId, date);
+
+        if (entries.isEmpty()) {
+            occupancyRepository.deleteById(key);
+        } else {
+            occupancyRepository.save(toOccupancy(employeeId, date, entries));
+        }
+        log.debug("Refreshed occupancy of employeeId: {} on {} with {} reservations", employeeId, date, entries.size());
+    }
+
+    /**
+     * Drops the whole read model and builds it again from the reservation table in one pass.
+     */
+    long rebuild() {
+        int removed = occupancyRepository.deleteAllDays();
+        long days = 0;
+        try (Stream<ReservationOccupancyDto> rows = reservationRepository.streamOccupancyEntries()) {
+            Iterator<ReservationOccupancyDto> iterator = rows.iterator();
+            List<ReservationOccupancyDto> day = new ArrayList<>();
+            while (iterator.hasNext()) {
+                ReservationOccupancyDto entry = iterator.next();
+                if (!day.isEmpty() && !sameDay(day.get(0), entry)) {
+                    saveDay(day);
+                    days++;
+                    day = new ArrayList<>();
+                }
+                day.add(entry);
+            }
+            if (!day.isEmpty()) {
+                saveDay(day);
+                days++;
+            }
+        }
+        log.info("Rebuilt employee day occupancy: {} days replaced by {}", removed, days);
+        return days;
+    }
+
+    List<AvailableTermDto> getBusyTerms(Long employeeId, LocalDate date) {
+        return occupancyRepository.findById(new EmployeeDayOccupancy.Key(employeeId, date))
+                .map(EmployeeDayOccupancyService::toBusyTerms)
+                .orElse(List.of());
+    }
+
+    Map<Long, List<AvailableTermDto>> getBusyTerms(Collection<Long> employeeIds, LocalDate date) {
+        return occupancyRepository.findByEmployeeIdInAndDate(employeeIds, date).stream()
+                .collect(Collectors.toMap(EmployeeDayOccupancy::getEmployeeId, EmployeeDayOccupancyService::toBusyTerms));
+    }
+
+    Map<LocalDate, List<AvailableTermDto>> getBusyTerms(Long employeeId, LocalDate from, LocalDate to) {
+        return occupancyRepository.findByEmployeeIdAndDateBetween(employeeId, from, to).stream()
+                .collect(Collectors.toMap(EmployeeDayOccupancy::getDate, EmployeeDayOccupancyService::toBusyTerms));
+    }
+
+    ReservationCalendarPageDto getSalonCalendar(Long salonId, LocalDate from, LocalDate to) {
+        List<ReservationCalendarEntryDto> entries = occupancyRepository.findBySalonIdAndDateBetweenOrderByDate(salonId, from, to)
+                .stream()
+                .flatMap(occupancy -> occupancy.getSlots().stream()
+                        .map(slot -> new ReservationCalendarEntryDto(
+                                slot.reservationId(),
+                                occupancy.getEmployeeName(),
+                                slot.offerName(),
+                                slot.price(),
+                                occupancy.getDate().atStartOfDay().plusMinutes(slot.startMinute()),
+                                LocalTime.MIDNIGHT.plusMinutes(slot.durationMinutes()))))
+                .sorted(Comparator.comparing(ReservationCalendarEntryDto::reservationDateTime)
+                        .thenComparing(ReservationCalendarEntryDto::reservationId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        log.info("Found {} reservations for salonId: {} between {} and {}", entries.size(), salonId, from, to);
+
+        LocalDate nextFrom = occupancyRepository.findNextOccupiedDate(salonId, to).orElse(null);
+        return new ReservationCalendarPageDto(from, to, mapperReservationDto.toCalendar(entries), nextFrom);
+    }
+
+    private void saveDay(List<ReservationOccupancyDto> entries) {
+        ReservationOccupancyDto first = entries.get(0);
+        occupancyRepository.save(toOccupancy(first.employeeId(), first.reservationDateTime().toLocalDate(), entries));
+    }
+
+    private static boolean sameDay(ReservationOccupancyDto a, ReservationOccupancyDto b) {
+        return Objects.equals(a.employeeId(), b.employeeId())
+                && a.reservationDateTime().toLocalDate().equals(b.reservationDateTime().toLocalDate());
+    }
+
+    private static EmployeeDayOccupancy toOccupancy(Long employeeId, LocalDate date, List<ReservationOccupancyDto> entries) {
+        List<OccupiedSlot> slots = entries.stream()
+                .map(entry -> new OccupiedSlot(
+                        entry.reservationId(),
+                        entry.reservationDateTime().toLocalTime().toSecondOfDay() / 60,
+                        entry.duration().toSecondOfDay() / 60,
+                        entry.offerName(),
+                        entry.price()))
+                .toList();
+        ReservationOccupancyDto first = entries.get(0);
+        return new EmployeeDayOccupancy(employeeId, date, first.salonId(), first.employeeName(), slots, LocalDateTime.now());
+    }
+
+    private static List<AvailableTermDto> toBusyTerms(EmployeeDayOccupancy occupancy) {
+        return occupancy.getSlots().stream()
+                .map(slot -> {
+                    LocalTime start = LocalTime.MIDNIGHT.plusMinutes(slot.startMinute());
+                    return new AvailableTermDto(start, start.plusMinutes(slot.durationMinutes()));
+                })
+                .toList();
+    }
+}
@@ -1,17 +1,22 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
 
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarEntryDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationDto;
-import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
-import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangeType;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangedEvent;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDto;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,66 +34,61 @@ class MapperReservationDto {
     }
 
 
-    List<UserReservationDto> mapToUserReservationDtoList(List<Reservation> reservations) {
-        return reservations.stream()
-                .map(this::mapToUserReservationDto)
-                .collect(Collectors.toList());
-    }
-
-    UserReservationDataDto mapToUserReservationDataDto(Reservation reservation) {
-        return new UserReservationDataDto(
-                reservation.getId(),
-                reservation.getSalon().getSalonName(),
-                reservation.getEmployee().getUser().getName(),
-                reservation.getOffer().getName(),
-                reservation.getReservationDateTime()
-        );
-    }
-
-    List<UserReservationDataDto> mapToUserReservationDataDtoList(List<Reservation> reservations) {
-        return reservations.stream()
-                .map(this::mapToUserReservationDataDto)
-                .collect(Collectors.toList());
-    }
-
-    ReservationToTomorrow mapToReservationToTomorrow(Reservation reservation) {
-        return new ReservationToTomorrow(
+    /**
+     * One reservation on {@code date} as a booking counter change; {@code sign} is +1 when it is added and -1 when removed.
+     */
+    DailyBookingsDto mapToBookingDelta(Reservation reservation, LocalDate date, int sign) {
+        LocalTime duration = reservation.getOffer().getDuration();
+        BigDecimal price = reservation.getPrice();
+        return new DailyBookingsDto(
                 reservation.getSalon().getId(),
-                reservation.getUser().getId(),
+                reservation.getEmployee().getId(),
                 reservation.getOffer().getId(),
-                reservation.getReservationDateTime()
+                date,
+                (long) sign,
+                duration == null ? 0L : (long) sign * (duration.getHour() * 60 + duration.getMinute()),
+                price == null ? BigDecimal.ZERO : price.multiply(BigDecimal.valueOf(sign))
         );
     }
 
-    List<ReservationToTomorrow> mapToReservationToTomorrowList(List<Reservation> reservations) {
-        return reservations.stream()
-                .map(this::mapToReservationToTomorrow)
-                .toList();
+    SlotChangedEvent mapToSlotChange(Reservation reservation, LocalDateTime start, SlotChangeType type) {
+        LocalTime duration = reservation.getOffer().getDuration();
+        LocalDateTime end = duration == null ? start : start.plusHours(duration.getHour()).plusMinutes(duration.getMinute());
+        return new SlotChangedEvent(type, reservation.getSalon().getId(), reservation.getEmployee().getId(), start, end);
     }
 
-    public Map<LocalDate, List<ReservationDto>> toMap(List<Reservation> reservationList) {
-        Map<LocalDate, List<ReservationDto>> grouped = reservationList.stream()
-                .collect(Collectors.groupingBy(
-                        reservation -> reservation.getReservationDateTime().toLocalDate(),
-                        TreeMap::new,
-                        Collectors.mapping(
-                                reservation -> new ReservationDto(
-                                        reservation.getId(),
-                                        reservation.getEmployee().getUser().getName(),
-                                        reservation.getOffer().getName(),
-                                        reservation.getOffer().getPrice(),
-                                        reservation.getReservationDateTime(),
-                                        reservation.getReservationDateTime()
-                                                .plusMinutes(reservation.getOffer().getDuration().getMinute())
-                                ),
-                                Collectors.toList()
-                        )
-                ));
+    List<UserReservationDto> mapToUserReservationDtoList(List<Reservation> reservations) {
+        return reservations.stream()
+                .map(this::mapToUserReservationDto)
+                .collect(Collectors.toList());
+    }
 
-        grouped.forEach((date, dtoList) ->
-                dtoList.sort(Comparator.comparing(ReservationDto::reservationDateTimeStart))
-        );
+    /**
+     * Groups rows already ordered by start time into days in a single pass; day order follows row order.
+     */
+    Map<LocalDate, List<ReservationDto>> toCalendar(List<ReservationCalendarEntryDto> sortedEntries) {
+        Map<LocalDate, List<ReservationDto>> calendar = new LinkedHashMap<>();
+        LocalDate currentDate = null;
+        List<ReservationDto> currentDay = null;
 
-        return grouped;
+        for (ReservationCalendarEntryDto entry : sortedEntries) {
+            LocalDate date = entry.reservationDateTime().toLocalDate();
+            if (!date.equals(currentDate)) {
+                currentDate = date;
+                currentDay = new ArrayList<>();
+                calendar.put(date, currentDay);
+            }
+            currentDay.add(new ReservationDto(
+                    entry.reservationId(),
+                    entry.employeeName(),
+                    entry.offerName(),
+                    entry.price(),
+                    entry.reservationDateTime(),
+                    entry.reservationDateTime()
+                            .plusHours(entry.duration().getHour())
+                            .plusMinutes(entry.duration().getMinute())
+            ));
+        }
+        return calendar;
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import java.math.BigDecimal;
+
+/**
+ * One booked slot of an employee's day, minutes counted from midnight.
+ */
+record OccupiedSlot(Long reservationId, int startMinute, int durationMinutes, String offerName, BigDecimal price) {
+}
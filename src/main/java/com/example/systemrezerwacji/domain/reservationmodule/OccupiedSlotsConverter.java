@@ -0,0 +1,40 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Stores the slots of a day as one JSON array, so the whole day is read and written as a single column.
+ */
+@Converter
+class OccupiedSlotsConverter implements AttributeConverter<List<OccupiedSlot>, String> {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<OccupiedSlot>> SLOTS = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<OccupiedSlot> slots) {
+        try {
+            return MAPPER.writeValueAsString(slots == null ? List.of() : slots);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write occupied slots", e);
+        }
+    }
+
+    @Override
+    public List<OccupiedSlot> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return MAPPER.readValue(json, SLOTS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read occupied slots", e);
+        }
+    }
+}
@@ -8,14 +8,17 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
 @Entity
 public class Reservation {
 
+    // pooled sequence ids let Hibernate batch the inserts of a reservation series
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_id_seq")
+    @SequenceGenerator(name = "reservation_id_seq", sequenceName = "reservation_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -37,12 +40,21 @@ public class Reservation {
     @Setter
     private LocalDateTime reservationDateTime;
 
+    // price of the offer when it was booked, later price changes do not touch revenue already made
+    private BigDecimal price;
+
+    private LocalDateTime remindedAt;
+
+    private LocalDateTime updatedAt;
+
     Reservation(Salon salon, Employee employee, User user, Offer offer, LocalDateTime reservationDateTime) {
         this.salon = salon;
         this.employee = employee;
         this.user = user;
         this.offer = offer;
+        this.price = offer.getPrice();
         this.reservationDateTime = reservationDateTime;
+        this.updatedAt = LocalDateTime.now();
     }
 
     public Reservation() {
@@ -58,6 +70,7 @@ public class Reservation {
 
     public void setOffer(Offer offer) {
         this.offer = offer;
+        this.price = offer.getPrice();
     }
 
     public void setSalon(Salon salon) {
@@ -71,4 +84,12 @@ public class Reservation {
     public void setReservationDateTime(LocalDateTime reservationDateTime) {
         this.reservationDateTime = reservationDateTime;
     }
+
+    void setRemindedAt(LocalDateTime remindedAt) {
+        this.remindedAt = remindedAt;
+    }
+
+    void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A past reservation moved out of the reservation table. Names and prices are copied at archival time, so
+ * the row stays readable without joining the live tables.
+ */
+@Entity
+@Getter
+@Table(name = "reservation_archive",
+        indexes = @Index(name = "idx_reservation_archive_salon_date_time", columnList = "salon_id, reservation_date_time"))
+class ReservationArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "salon_id", nullable = false)
+    private Long salonId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "reservation_date_time", nullable = false)
+    private LocalDateTime reservationDateTime;
+
+    private LocalTime duration;
+
+    private String employeeName;
+
+    private String offerName;
+
+    private BigDecimal price;
+
+    private String clientName;
+
+    private String clientEmail;
+
+    private LocalDateTime archivedAt;
+
+    ReservationArchive(Long id, Long salonId, Long employeeId, Long userId, LocalDateTime reservationDateTime,
+                       LocalTime duration, String employeeName, String offerName, BigDecimal price,
+                       String clientName, String clientEmail, LocalDateTime archivedAt) {
+        this.id = id;
+        this.salonId = salonId;
+        this.employeeId = employeeId;
+        this.userId = userId;
+        this.reservationDateTime = reservationDateTime;
+        this.duration = duration;
+        this.employeeName = employeeName;
+        this.offerName = offerName;
+        this.price = price;
+        this.clientName = clientName;
+        this.clientEmail = clientEmail;
+        this.archivedAt = archivedAt;
+    }
+
+    protected ReservationArchive() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the archive; rows are written by {@link ReservationArchiveService} with plain SQL.
+ */
+interface ReservationArchiveRepository extends Repository<ReservationArchive, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto(
+                a.id, a.reservationDateTime, a.duration, a.employeeName, a.offerName, a.price, a.clientName, a.clientEmail)
+            from ReservationArchive a
+            where a.salonId = :salonId
+              and (:employeeId is null or a.employeeId = :employeeId)
+              and (:from is null or a.reservationDateTime >= :from)
+              and (:to is null or a.reservationDateTime < :to)
+            order by a.reservationDateTime, a.id
+            """)
+    Stream<ReservationExportRowDto> streamSalonExport(@Param("salonId") Long salonId,
+                                                      @Param("employeeId") Long employeeId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,206 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the reservation table small. When it is range partitioned by month (see schema.sql) this creates the
+ * partitions of the coming months, moves rows that landed in the default partition into a partition of their own
+ * month (series and far-ahead bookings go beyond the months created in advance) and, once a month falls out of the retention window, copies its rows into
+ * reservation_archive and detaches and drops the whole partition. A table that is not partitioned, e.g. one
+ * created by Hibernate, is archived with a plain copy and delete of the old rows instead.
+ * <p>
+ * Archived reservations leave a tombstone like deleted ones, so clients syncing their reservations learn that
+ * they are gone.
+ */
+@Service
+class ReservationArchiveService {
+    private static final Logger log = LogManager.getLogger(ReservationArchiveService.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("reservation_p(\\d{4})_(\\d{2})");
+
+    private static final String IS_PARTITIONED = """
+            SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt
+                           JOIN pg_class c ON c.oid = pt.partrelid
+                           WHERE c.relname = 'reservation')
+            """;
+    private static final String PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'reservation'
+            """;
+    private static final String COPY_TO_ARCHIVE = """
+            INSERT INTO reservation_archive (id, salon_id, employee_id, user_id, reservation_date_time, duration,
+                                             employee_name, offer_name, price, client_name, client_email, archived_at)
+            SELECT r.id, r.salon_id, r.employee_id, r.user_id, r.reservation_date_time, o.duration,
+                   eu.name, o.name, r.price, c.name, c.email, now()
+            FROM %s r
+            JOIN employee e ON e.id = r.employee_id
+            JOIN users eu ON eu.id = e.user_id
+            JOIN offer o ON o.id = r.offer_id
+            JOIN users c ON c.id = r.user_id
+            WHERE r.reservation_date_time < ?
+            ON CONFLICT (id) DO NOTHING
+            """;
+    private static final String MONTHS_IN_DEFAULT = """
+            SELECT DISTINCT date_trunc('month', reservation_date_time) FROM reservation_default
+            WHERE reservation_date_time >= ?
+            """;
+    private static final String DEFAULT_HOLDS_MONTH = """
+            SELECT EXISTS (SELECT 1 FROM reservation_default
+                           WHERE reservation_date_time >= ? AND reservation_date_time < ?)
+            """;
+    private static final String WRITE_TOMBSTONES = """
+            INSERT INTO reservation_tombstone (reservation_id, user_id, deleted_at)
+            SELECT r.id, r.user_id, now()
+            FROM %s r
+            WHERE r.reservation_date_time < ?
+            ON CONFLICT (reservation_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int monthsAhead;
+
+    ReservationArchiveService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              @Value("${reservation.archive.retention-months:24}") int retentionMonths,
+                              @Value("${reservation.archive.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    void createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            log.info("Reservation table is not partitioned, no partitions to create");
+            return;
+        }
+        // catches reservations outside every monthly partition, e.g. ones far in the future
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reservation_default PARTITION OF reservation DEFAULT");
+        YearMonth current = YearMonth.now();
+        Set<YearMonth> months = new TreeSet<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        // months older than the retention window are archived straight from the default partition
+        LocalDateTime oldestRetained = current.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        jdbcTemplate.queryForList(MONTHS_IN_DEFAULT, Timestamp.class, Timestamp.valueOf(oldestRetained)).stream()
+                .map(month -> YearMonth.from(month.toLocalDateTime()))
+                .forEach(months::add);
+
+        Set<YearMonth> existing = new TreeSet<>();
+        jdbcTemplate.queryForList(PARTITIONS, String.class)
+                .forEach(partition -> monthOf(partition).ifPresent(existing::add));
+        months.stream()
+                .filter(month -> !existing.contains(month))
+                .forEach(this::createPartition);
+    }
+
+    /**
+     * Moves every reservation before the first day of the oldest retained month into the archive.
+     */
+    long archivePastReservations() {
+        YearMonth oldestRetained = YearMonth.now().minusMonths(retentionMonths);
+        LocalDateTime cutoff = oldestRetained.atDay(1).atStartOfDay();
+        long archived = 0;
+
+        if (isPartitioned()) {
+            for (String partition : jdbcTemplate.queryForList(PARTITIONS, String.class)) {
+                Optional<YearMonth> month = monthOf(partition);
+                if (month.isPresent() && month.get().isBefore(oldestRetained)) {
+                    archived += archivePartition(partition, cutoff);
+                }
+            }
+            archived += archiveRows("reservation_default", cutoff);
+        } else {
+            archived += archiveRows("reservation", cutoff);
+        }
+        log.info("Archived {} reservations before {}", archived, cutoff);
+        return archived;
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    /**
+     * Postgres refuses a new partition while the default partition holds rows of its range, so those rows are
+     * moved over with the default partition detached; the parent stays locked until the transaction commits.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = "reservation_p" + month.format(PARTITION_SUFFIX);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        String create = "CREATE TABLE %s PARTITION OF reservation FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partition, month.atDay(1), month.plusMonths(1).atDay(1));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(DEFAULT_HOLDS_MONTH, Boolean.class, from, to))) {
+                    jdbcTemplate.execute(create);
+                    return;
+                }
+                jdbcTemplate.execute("ALTER TABLE reservation DETACH PARTITION reservation_default");
+                jdbcTemplate.execute(create);
+                int moved = jdbcTemplate.update(("INSERT INTO %s SELECT * FROM reservation_default"
+                        + " WHERE reservation_date_time >= ? AND reservation_date_time < ?").formatted(partition), from, to);
+                jdbcTemplate.update("DELETE FROM reservation_default WHERE reservation_date_time >= ? AND reservation_date_time < ?",
+                        from, to);
+                jdbcTemplate.execute("ALTER TABLE reservation ATTACH PARTITION reservation_default DEFAULT");
+                log.info("Moved {} reservations of {} from the default partition into {}", moved, month, partition);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not create reservation partition for {}: {}", month, e.getMessage());
+        }
+    }
+
+    private long archivePartition(String partition, LocalDateTime cutoff) {
+        Integer copied = transactionTemplate.execute(status -> {
+            int rows = copyToArchive(partition, cutoff);
+            jdbcTemplate.execute("ALTER TABLE reservation DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return rows;
+        });
+        log.info("Archived and dropped partition {} with {} reservations", partition, copied);
+        return copied == null ? 0 : copied;
+    }
+
+    private long archiveRows(String table, LocalDateTime cutoff) {
+        Integer copied = transactionTemplate.execute(status -> {
+            int rows = copyToArchive(table, cutoff);
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE reservation_date_time < ?", Timestamp.valueOf(cutoff));
+            return rows;
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    private int copyToArchive(String table, LocalDateTime cutoff) {
+        jdbcTemplate.update(WRITE_TOMBSTONES.formatted(table), Timestamp.valueOf(cutoff));
+        return jdbcTemplate.update(COPY_TO_ARCHIVE.formatted(table), Timestamp.valueOf(cutoff));
+    }
+
+    private static Optional<YearMonth> monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
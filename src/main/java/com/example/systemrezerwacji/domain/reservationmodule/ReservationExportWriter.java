@@ -0,0 +1,117 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportFormat;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Encodes export rows one at a time straight into the response stream, so nothing but the current row
+ * and the write buffer is held in memory.
+ */
+@Component
+class ReservationExportWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String CSV_HEADER =
+            "reservation_id,date_time,duration,employee,offer,price,client_name,client_email";
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    long write(Stream<ReservationExportRowDto> rows, ReservationExportFormat format, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long written = format == ReservationExportFormat.CSV
+                    ? writeCsv(rows.iterator(), writer)
+                    : writeNdjson(rows.iterator(), writer);
+            writer.flush();
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reservation export interrupted", e);
+        }
+    }
+
+    private long writeCsv(Iterator<ReservationExportRowDto> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long written = 0;
+        while (rows.hasNext()) {
+            ReservationExportRowDto row = rows.next();
+            writer.write(String.valueOf(row.reservationId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.reservationDateTime()));
+            writer.write(',');
+            writer.write(String.valueOf(row.duration()));
+            writer.write(',');
+            writer.write(csvField(row.employeeName()));
+            writer.write(',');
+            writer.write(csvField(row.offerName()));
+            writer.write(',');
+            writer.write(row.price() == null ? "" : row.price().toPlainString());
+            writer.write(',');
+            writer.write(csvField(row.clientName()));
+            writer.write(',');
+            writer.write(csvField(row.clientEmail()));
+            writer.write('\n');
+            flushPeriodically(writer, ++written);
+        }
+        return written;
+    }
+
+    private long writeNdjson(Iterator<ReservationExportRowDto> rows, Writer writer) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+
+        long written = 0;
+        while (rows.hasNext()) {
+            ReservationExportRowDto row = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField("reservationId", row.reservationId());
+            generator.writeStringField("reservationDateTime", String.valueOf(row.reservationDateTime()));
+            generator.writeStringField("duration", String.valueOf(row.duration()));
+            generator.writeStringField("employee", row.employeeName());
+            generator.writeStringField("offer", row.offerName());
+            if (row.price() == null) {
+                generator.writeNullField("price");
+            } else {
+                generator.writeNumberField("price", row.price());
+            }
+            generator.writeStringField("clientName", row.clientName());
+            generator.writeStringField("clientEmail", row.clientEmail());
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+            flushPeriodically(writer, ++written);
+        }
+        generator.close();
+        return written;
+    }
+
+    private static void flushPeriodically(Writer writer, long written) throws IOException {
+        if (written % FLUSH_EVERY_ROWS == 0) {
+            writer.flush();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,44 +1,68 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
+import com.example.systemrezerwacji.domain.analyticsmodule.AnalyticsFacade;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
 import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.*;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationConflictException;
 import com.example.systemrezerwacji.domain.reservationmodule.response.AvailableTermSearchCriteria;
-import com.example.systemrezerwacji.domain.reservationmodule.response.NotificationResult;
 import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationEntities;
 import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
-import com.example.systemrezerwacji.infrastructure.notificationmode.response.NotificationFacadeResponse;
 import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationFacadeResponse;
+import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationSeriesResponse;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Component
 public class ReservationFacade {
 
-    private static final String NOTIFICATION_ERROR = "Problem with sending notification";
     private static final String SUCCESS = "success";
     private static final String FAILURE = "failure";
     private static final int MAX_TERMS = 5;
+    private static final int DEFAULT_CALENDAR_DAYS = 7;
+    private static final int MAX_CALENDAR_DAYS = 31;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final UserFacade userFacade;
     private final OfferFacade offerFacade;
     private final SalonFacade salonFacade;
     private final EmployeeFacade employeeFacade;
     private final NotificationFacade notificationFacade;
+    private final AnalyticsFacade analyticsFacade;
+    private final WaitlistFacade waitlistFacade;
     private final ReservationService reservationService;
     private final ReservationValidator validator;
     private final ReservationResponseFactory responseFactory;
+    private final ReservationArchiveService archiveService;
+    private final EmployeeDayOccupancyService occupancyService;
+    private final VersionStamps versionStamps;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactions;
+    private final int searchHorizonDays;
 
     public ReservationFacade(
             @Lazy OfferFacade offerFacade,
@@ -46,30 +70,79 @@ public class ReservationFacade {
             @Lazy SalonFacade salonFacade,
             @Lazy EmployeeFacade employeeFacade,
             @Lazy NotificationFacade notificationFacade,
+            @Lazy AnalyticsFacade analyticsFacade,
+            @Lazy WaitlistFacade waitlistFacade,
             ReservationService reservationService,
             ReservationValidator validator,
-            ReservationResponseFactory responseFactory) {
+            ReservationResponseFactory responseFactory,
+            ReservationArchiveService archiveService,
+            EmployeeDayOccupancyService occupancyService,
+            VersionStamps versionStamps,
+            ApplicationEventPublisher eventPublisher,
+            TransactionOperations transactions,
+            @Value("${reservation.search.horizon-days:60}") int searchHorizonDays) {
         this.offerFacade = offerFacade;
         this.userFacade = userFacade;
         this.salonFacade = salonFacade;
         this.employeeFacade = employeeFacade;
         this.notificationFacade = notificationFacade;
+        this.analyticsFacade = analyticsFacade;
+        this.waitlistFacade = waitlistFacade;
         this.reservationService = reservationService;
         this.validator = validator;
         this.responseFactory = responseFactory;
+        this.archiveService = archiveService;
+        this.occupancyService = occupancyService;
+        this.versionStamps = versionStamps;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
+        this.searchHorizonDays = searchHorizonDays;
     }
 
-    @Transactional
+    /**
+     * Bookings of the same employee day queue up in this JVM before their transaction opens, so a burst on
+     * one popular day does not hold the connection pool while it waits.
+     */
     public ReservationFacadeResponse createNewReservation(CreateReservationDto dto) {
-        ReservationValidationResult validationResult = validateReservation(dto);
+        List<LocalDate> days = dto.reservationDateTime() == null
+                ? List.of()
+                : List.of(dto.reservationDateTime().toLocalDate());
+        return reservationService.inEmployeeDaysQueue(dto.employeeId(), days,
+                () -> transactions.execute(status -> bookReservation(dto)));
+    }
+
+    /**
+     * Books every free date of a recurring series at once: the dates are checked against one range query of
+     * busy terms, the free ones are inserted in a single batch and the client gets one summary email listing
+     * them. Dates that are taken or past are skipped and reported back.
+     */
+    public ReservationSeriesResponse createReservationSeries(CreateReservationSeriesDto dto) {
+        ReservationValidationResult validationResult = validator.validateSeries(dto);
         if (!validationResult.isValid()) {
-            return responseFactory.createError(validationResult.message());
+            return new ReservationSeriesResponse(false, validationResult.message(), List.of(), List.of(), null);
         }
 
-        ReservationEntities entities = fetchReservationEntities(dto);
-        NotificationResult notificationResult = sendReservationNotification(dto, entities);
+        List<LocalDateTime> occurrences = ReservationSeriesPlanner.expand(dto);
+        if (occurrences.isEmpty()) {
+            return new ReservationSeriesResponse(false, ValidationError.INVALID_RECURRENCE.getMessage(), List.of(), List.of(), null);
+        }
+        return reservationService.inEmployeeDaysQueue(dto.employeeId(),
+                occurrences.stream().map(LocalDateTime::toLocalDate).distinct().toList(),
+                () -> transactions.execute(status -> bookSeries(dto, occurrences)));
+    }
 
-        return handleReservationCreation(dto, entities, notificationResult);
+    public ReservationFacadeResponse deleteReservation(DeleteReservationDto dto) {
+        Reservation reservation = reservationService.getReservation(dto.reservationId());
+        return reservationService.inEmployeeDaysQueue(reservation.getEmployee().getId(),
+                List.of(reservation.getReservationDateTime().toLocalDate()),
+                () -> transactions.execute(status -> removeReservation(dto)));
+    }
+
+    public UserReservationDto updateReservationDate(UpdateReservationDto dto) {
+        Reservation reservation = reservationService.getReservation(dto.reservationId());
+        return reservationService.inEmployeeDaysQueue(reservation.getEmployee().getId(),
+                List.of(reservation.getReservationDateTime().toLocalDate(), dto.newReservationDate().toLocalDate()),
+                () -> transactions.execute(status -> moveReservation(dto)));
     }
 
     public List<AvailableTermWithDateDto> getNearest5AvailableHours(Long reservationId) {
@@ -80,7 +153,7 @@ public class ReservationFacade {
                 reservation.getReservationDateTime().toLocalDate()
         );
 
-        return new AvailableTermFinder(employeeFacade)
+        return new AvailableTermFinder(employeeFacade, searchHorizonDays)
                 .findNearestAvailableTerms(criteria, MAX_TERMS);
     }
 
@@ -89,102 +162,333 @@ public class ReservationFacade {
         return reservationService.getReservationToCurrentUser(user);
     }
 
+    /**
+     * Reservations ordered by date and id, starting after the given cursor or from the first one.
+     */
+    public UserReservationPageDto getUserReservationsPage(String email, LocalDateTime afterDateTime, Long afterId,
+                                                          Integer size) {
+        User user = userFacade.getUserByEmail(email);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return reservationService.getUserReservationsPage(user, afterDateTime, afterId, pageSize);
+    }
+
+    public UserReservationChangesDto getUserReservationChanges(String email, LocalDateTime since) {
+        User user = userFacade.getUserByEmail(email);
+        return reservationService.getUserReservationChanges(user, since);
+    }
+
     public List<ReservationToTomorrow> getAllReservationToTomorrow() {
         return reservationService.getAllReservationToTomorrow();
     }
 
-    public ReservationFacadeResponse deleteReservation(DeleteReservationDto dto) {
-        User user = userFacade.getUserByEmail(dto.userEmail());
-        boolean isDeleted = reservationService.deleteReservation(dto.reservationId(), user);
-        return responseFactory.createSimpleResponse(isDeleted);
+    /**
+     * Reminders of one day that were not sent yet, restricted to the salons with {@code salonId % partitions == partition}.
+     */
+    public List<ReservationReminderDto> getReminders(LocalDate date, int partitions, int partition) {
+        return reservationService.getReminders(date, partitions, partition);
     }
 
-    public UserReservationDto updateReservationDate(UpdateReservationDto dto) {
-        Reservation reservation = reservationService.getReservation(dto.reservationId());
-        User user = userFacade.getUserByEmail(reservation.getUser().getEmail());
-        return reservationService.updateReservationDate(dto.reservationId(), user, dto.newReservationDate());
+    public List<ReservationReminderDto> getRemindersByIds(Collection<Long> reservationIds) {
+        return reservationIds.isEmpty() ? List.of() : reservationService.getRemindersByIds(reservationIds);
     }
 
-    public Map<LocalDate, List<ReservationDto>> getAllReservationBySalonId(Long salonId) {
-        return reservationService.getAllReservationBySalonId(salonId);
+    public List<UpcomingReservationDto> getUpcomingReservations(LocalDateTime from, LocalDateTime to) {
+        return reservationService.getUpcomingReservations(from, to);
     }
 
+    @Transactional
+    public void markReminded(Collection<Long> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            reservationService.markReminded(reservationIds);
+        }
+    }
+
+    public ReservationCalendarPageDto getSalonCalendar(Long salonId, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_CALENDAR_DAYS - 1L);
+        if (end.isBefore(start)) {
+            end = start;
+        }
+        if (end.isAfter(start.plusDays(MAX_CALENDAR_DAYS - 1L))) {
+            end = start.plusDays(MAX_CALENDAR_DAYS - 1L);
+        }
+        return occupancyService.getSalonCalendar(salonId, start, end);
+    }
+
+    /**
+     * Writes the salon's reservations to {@code out} while the rows are read, so it has to be called from
+     * the thread that owns the response stream. Both dates are inclusive and optional.
+     */
+    @Transactional(readOnly = true)
+    public long exportSalonReservations(Long salonId, Long employeeId, LocalDate from, LocalDate to,
+                                        ReservationExportFormat format, OutputStream out) {
+        return reservationService.exportSalonReservations(salonId, employeeId, from, to, format, out);
+    }
+
+    public void createUpcomingReservationPartitions() {
+        archiveService.createUpcomingPartitions();
+    }
+
+    /**
+     * Moves reservations older than the retention window to the archive; they stay reachable through the export.
+     */
+    public long archivePastReservations() {
+        archiveService.createUpcomingPartitions();
+        return archiveService.archivePastReservations();
+    }
+
+    /**
+     * Busy terms of the employee's day. Terms held for waitlisted customers count as busy too, nobody else
+     * can book them until the hold expires.
+     */
     public List<AvailableTermDto> getEmployeeBusyTerm(Long employeeId, LocalDate date) {
-        return reservationService.getEmployeeBusyTerms(employeeId, date);
+        return withHeldTerms(occupancyService.getBusyTerms(employeeId, date),
+                waitlistFacade.getHeldTerms(List.of(employeeId), date).get(employeeId));
+    }
+
+    public Map<Long, List<AvailableTermDto>> getEmployeesBusyTerms(Collection<Long> employeeIds, LocalDate date) {
+        Map<Long, List<AvailableTermDto>> busyTerms = new HashMap<>(occupancyService.getBusyTerms(employeeIds, date));
+        waitlistFacade.getHeldTerms(employeeIds, date).forEach((employeeId, held) ->
+                busyTerms.put(employeeId, withHeldTerms(busyTerms.get(employeeId), held)));
+        return busyTerms;
+    }
+
+    public Map<LocalDate, List<AvailableTermDto>> getEmployeeBusyTerms(Long employeeId, LocalDate from, LocalDate to) {
+        Map<LocalDate, List<AvailableTermDto>> busyTerms = new HashMap<>(occupancyService.getBusyTerms(employeeId, from, to));
+        waitlistFacade.getHeldTerms(employeeId, from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(AvailableTermWithDateDto::date, Collectors.mapping(
+                        held -> new AvailableTermDto(held.startServices(), held.endServices()), Collectors.toList())))
+                .forEach((date, held) -> busyTerms.put(date, withHeldTerms(busyTerms.get(date), held)));
+        return busyTerms;
+    }
+
+    /**
+     * Bookings, booked minutes and revenue of live reservations per salon, employee, offer and day.
+     * Both dates are inclusive and optional.
+     */
+    public List<DailyBookingsDto> getDailyBookings(LocalDate from, LocalDate to) {
+        return reservationService.sumDailyBookings(null, from, to);
+    }
+
+    /**
+     * Like {@link #getDailyBookings} for the live reservations of one employee on one day.
+     */
+    public List<DailyBookingsDto> getEmployeeDailyBookings(Long employeeId, LocalDate date) {
+        return reservationService.sumDailyBookings(employeeId, date, date);
+    }
+
+    /**
+     * Serializes the caller with every booking of the employee's day until its transaction completes; the
+     * caller has to run inside a transaction.
+     */
+    public void lockEmployeeDay(Long employeeId, LocalDate date) {
+        reservationService.lockEmployeeDay(employeeId, date);
+    }
+
+    /**
+     * Runs {@code action} in its own transaction while holding the employee's day the way a booking does, so
+     * no reservation of that day is created, moved or deleted until it completes.
+     */
+    public <T> T callWithEmployeeDayLocked(Long employeeId, LocalDate date, Supplier<T> action) {
+        return reservationService.inEmployeeDaysQueue(employeeId, List.of(date), () -> transactions.execute(status -> {
+            reservationService.lockEmployeeDay(employeeId, date);
+            return action.get();
+        }));
+    }
+
+    /**
+     * Regenerates the employee day occupancy read model from the reservation table.
+     */
+    @Transactional
+    public long rebuildOccupancy() {
+        return occupancyService.rebuild();
     }
 /*****************************Private Method *********************************/
 
-    private ReservationValidationResult validateReservation(CreateReservationDto dto) {
+    private ReservationFacadeResponse bookReservation(CreateReservationDto dto) {
+        lockEmployeeDay(dto);
         LocalTime duration = offerFacade.getDurationToOffer(dto.offerId());
-        return validator.validate(dto, duration);
+        ReservationValidationResult validationResult = validator.validate(dto, duration);
+        if (!validationResult.isValid()) {
+            return responseFactory.createError(validationResult.message());
+        }
+        if (isHeldForWaitlist(dto, duration)) {
+            return responseFactory.createError(ValidationError.SLOT_HELD_FOR_WAITLIST.getMessage());
+        }
+
+        ReservationEntities entities = fetchReservationEntities(dto);
+        return handleReservationCreation(dto, entities);
     }
 
-    private ReservationEntities fetchReservationEntities(CreateReservationDto dto) {
-        return new ReservationEntities(
+    private ReservationSeriesResponse bookSeries(CreateReservationSeriesDto dto, List<LocalDateTime> occurrences) {
+        LocalDateTime from = occurrences.get(0).toLocalDate().atStartOfDay();
+        LocalDateTime to = occurrences.get(occurrences.size() - 1).toLocalDate().plusDays(1).atStartOfDay();
+        reservationService.lockEmployeeDays(dto.employeeId(),
+                occurrences.stream().map(LocalDateTime::toLocalDate).toList());
+
+        LocalTime duration = offerFacade.getDurationToOffer(dto.offerId());
+        ReservationSeriesPlanner.SeriesPlan plan = new ReservationSeriesPlanner(duration).plan(
+                occurrences,
+                reservationService.getReservedTerms(dto.employeeId(), from, to),
+                waitlistFacade.getTermsHeldForOthers(dto.employeeId(), from, to, dto.userEmail()),
+                LocalDateTime.now());
+        if (plan.accepted().isEmpty()) {
+            return new ReservationSeriesResponse(false, ValidationError.NO_FREE_OCCURRENCE.getMessage(),
+                    List.of(), plan.skipped(), null);
+        }
+
+        ReservationEntities entities = new ReservationEntities(
                 salonFacade.getSalon(dto.salonId()),
                 employeeFacade.getEmployee(dto.employeeId()),
                 offerFacade.getOffer(dto.offerId()),
                 userFacade.getUserByEmailOrCreateNewAccount(dto.userEmail())
         );
+        List<Reservation> reservations = reservationService.addNewReservations(entities.salon(), entities.employee(),
+                entities.userInfo().user(), entities.offer(), plan.accepted());
+
+        Long employeeId = entities.employee().getId();
+        reservations.stream().map(reservation -> reservation.getReservationDateTime().toLocalDate()).distinct()
+                .forEach(date -> {
+                    occupancyService.refresh(employeeId, date);
+                    versionStamps.bumpEmployeeDay(employeeId, date);
+                });
+        reservations.forEach(reservation -> analyticsFacade.recordBookings(reservationService.bookingDelta(
+                reservation, reservation.getReservationDateTime().toLocalDate(), 1)));
+        notificationFacade.queueSeriesConfirmationEmail(dto.userEmail(), entities.offer().getName(), plan.accepted(),
+                entities.salon().getSalonName(), entities.userInfo().unHashedPassword());
+        reservations.forEach(reservation -> {
+            eventPublisher.publishEvent(new ReservationChangedEvent(reservation.getId(), reservation.getReservationDateTime()));
+            eventPublisher.publishEvent(reservationService.slotChange(reservation, reservation.getReservationDateTime(), SlotChangeType.TAKEN));
+        });
+
+        return new ReservationSeriesResponse(true, SUCCESS, plan.accepted(), plan.skipped(),
+                entities.userInfo().unHashedPassword());
     }
 
-    private NotificationResult sendReservationNotification(
-            CreateReservationDto dto,
-            ReservationEntities entities
-    ) {
-        if (entities.userInfo().isNewUser()) {
-            return sendNewUserNotification(dto, entities);
+    private ReservationFacadeResponse removeReservation(DeleteReservationDto dto) {
+        User user = userFacade.getUserByEmail(dto.userEmail());
+        Reservation reservation = reservationService.getReservation(dto.reservationId());
+        Long employeeId = reservation.getEmployee().getId();
+        LocalDate date = reservation.getReservationDateTime().toLocalDate();
+        reservationService.lockEmployeeDay(employeeId, date);
+        DailyBookingsDto removed = reservationService.bookingDelta(reservation, date, -1);
+        SlotChangedEvent freed = reservationService.slotChange(reservation, reservation.getReservationDateTime(), SlotChangeType.FREED);
+
+        boolean isDeleted = reservationService.deleteReservation(dto.reservationId(), user);
+        if (isDeleted) {
+            occupancyService.refresh(employeeId, date);
+            versionStamps.bumpEmployeeDay(employeeId, date);
+            analyticsFacade.recordBookings(removed);
+            eventPublisher.publishEvent(new ReservationChangedEvent(dto.reservationId(), null));
+            eventPublisher.publishEvent(freed);
         }
-        return sendExistingUserNotification(dto, entities);
+        return responseFactory.createSimpleResponse(isDeleted);
     }
 
-    private NotificationResult sendNewUserNotification(
-            CreateReservationDto dto,
-            ReservationEntities entities
-    ) {
-        NotificationFacadeResponse response = notificationFacade.sendAnEmailWhenClientDoNotHasAccount(
-                dto.userEmail(),
-                entities.offer().getName(),
-                entities.userInfo().unHashedPassword(),
-                dto.reservationDateTime(),
-                entities.salon().getSalonName()
+    private UserReservationDto moveReservation(UpdateReservationDto dto) {
+        Reservation reservation = reservationService.getReservation(dto.reservationId());
+        Long employeeId = reservation.getEmployee().getId();
+        LocalDate oldDate = reservation.getReservationDateTime().toLocalDate();
+        LocalDate newDate = dto.newReservationDate().toLocalDate();
+        reservationService.lockEmployeeDays(employeeId, List.of(oldDate, newDate));
+        User user = userFacade.getUserByEmail(reservation.getUser().getEmail());
+        DailyBookingsDto removed = reservationService.bookingDelta(reservation, oldDate, -1);
+        SlotChangedEvent freed = reservationService.slotChange(reservation, reservation.getReservationDateTime(), SlotChangeType.FREED);
+        SlotChangedEvent taken = reservationService.slotChange(reservation, dto.newReservationDate(), SlotChangeType.TAKEN);
+        if (waitlistFacade.isSlotHeldForOthers(employeeId, taken.start(), taken.end(), user.getEmail())) {
+            throw new ReservationConflictException(ValidationError.SLOT_HELD_FOR_WAITLIST.getMessage());
+        }
+        UserReservationDto updated = reservationService.updateReservationDate(dto.reservationId(), user, dto.newReservationDate());
+        waitlistFacade.completeHold(employeeId, taken.start(), taken.end(), user.getEmail());
+        occupancyService.refresh(employeeId, oldDate);
+        versionStamps.bumpEmployeeDay(employeeId, oldDate);
+        if (!oldDate.equals(newDate)) {
+            occupancyService.refresh(employeeId, newDate);
+            versionStamps.bumpEmployeeDay(employeeId, newDate);
+            analyticsFacade.recordBookings(removed);
+            analyticsFacade.recordBookings(reservationService.bookingDelta(reservation, newDate, 1));
+        }
+        eventPublisher.publishEvent(new ReservationChangedEvent(updated.reservationId(), dto.newReservationDate()));
+        eventPublisher.publishEvent(freed);
+        eventPublisher.publishEvent(taken);
+        return updated;
+    }
+
+    private static List<AvailableTermDto> withHeldTerms(List<AvailableTermDto> busyTerms, List<AvailableTermDto> heldTerms) {
+        if (heldTerms == null || heldTerms.isEmpty()) {
+            return busyTerms != null ? busyTerms : List.of();
+        }
+        List<AvailableTermDto> merged = new ArrayList<>(busyTerms != null ? busyTerms : List.of());
+        merged.addAll(heldTerms);
+        return merged;
+    }
+
+    private void lockEmployeeDay(CreateReservationDto dto) {
+        if (dto.reservationDateTime() != null) {
+            reservationService.lockEmployeeDay(dto.employeeId(), dto.reservationDateTime().toLocalDate());
+        }
+    }
+
+    private boolean isHeldForWaitlist(CreateReservationDto dto, LocalTime duration) {
+        LocalDateTime end = dto.reservationDateTime().plusHours(duration.getHour()).plusMinutes(duration.getMinute());
+        return waitlistFacade.isSlotHeldForOthers(dto.employeeId(), dto.reservationDateTime(), end, dto.userEmail());
+    }
+
+    private ReservationEntities fetchReservationEntities(CreateReservationDto dto) {
+        return new ReservationEntities(
+                salonFacade.getSalon(dto.salonId()),
+                employeeFacade.getEmployee(dto.employeeId()),
+                offerFacade.getOffer(dto.offerId()),
+                userFacade.getUserByEmailOrCreateNewAccount(dto.userEmail())
         );
-        return new NotificationResult(response.isSuccess(), entities.userInfo());
     }
 
-    private NotificationResult sendExistingUserNotification(
+    private void queueReservationNotification(
             CreateReservationDto dto,
             ReservationEntities entities
     ) {
-        NotificationFacadeResponse response = notificationFacade.sendAnEmailWhenClientHasAccount(
+        if (entities.userInfo().isNewUser()) {
+            notificationFacade.queueEmailWhenClientDoNotHasAccount(
+                    dto.userEmail(),
+                    entities.offer().getName(),
+                    entities.userInfo().unHashedPassword(),
+                    dto.reservationDateTime(),
+                    entities.salon().getSalonName()
+            );
+            return;
+        }
+        notificationFacade.queueEmailWhenClientHasAccount(
                 dto.userEmail(),
                 entities.offer().getName(),
                 dto.reservationDateTime(),
                 entities.salon().getSalonName()
         );
-        return new NotificationResult(response.isSuccess(), entities.userInfo());
     }
 
     private ReservationFacadeResponse handleReservationCreation(
             CreateReservationDto dto,
-            ReservationEntities entities,
-            NotificationResult notificationResult
+            ReservationEntities entities
     ) {
-        if (!notificationResult.success()) {
-            return responseFactory.createError(NOTIFICATION_ERROR);
-        }
-
-        reservationService.addNewReservation(
+        Reservation reservation = reservationService.addNewReservation(
                 entities.salon(),
                 entities.employee(),
                 entities.userInfo().user(),
                 entities.offer(),
                 dto.reservationDateTime()
         );
+        occupancyService.refresh(entities.employee().getId(), dto.reservationDateTime().toLocalDate());
+        versionStamps.bumpEmployeeDay(entities.employee().getId(), dto.reservationDateTime().toLocalDate());
+        analyticsFacade.recordBookings(
+                reservationService.bookingDelta(reservation, dto.reservationDateTime().toLocalDate(), 1));
+        SlotChangedEvent taken = reservationService.slotChange(reservation, reservation.getReservationDateTime(), SlotChangeType.TAKEN);
+        waitlistFacade.completeHold(entities.employee().getId(), taken.start(), taken.end(), dto.userEmail());
+        queueReservationNotification(dto, entities);
+        eventPublisher.publishEvent(new ReservationChangedEvent(reservation.getId(), reservation.getReservationDateTime()));
+        eventPublisher.publishEvent(taken);
 
         return responseFactory.createSuccess(
                 SUCCESS,
-                notificationResult.userInfo().unHashedPassword()
+                entities.userInfo().unHashedPassword()
         );
     }
 
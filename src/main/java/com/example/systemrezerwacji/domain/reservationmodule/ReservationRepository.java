@@ -1,18 +1,239 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
-import com.example.systemrezerwacji.domain.usermodule.User;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationOccupancyDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UpcomingReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 interface ReservationRepository extends CrudRepository<Reservation, Long> {
     List<Reservation> findAll();
-    List<Reservation> findAllByUser(User user);
-    List<Reservation> findAllByReservationDateTimeBetween(LocalDateTime start, LocalDateTime end);
-    List<Reservation> findAllBySalonId(Long salonId);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto(
+                r.id, s.salonName, eu.name, o.name, r.reservationDateTime)
+            from Reservation r
+            join r.salon s
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            where r.user.id = :userId
+            order by r.reservationDateTime, r.id
+            """)
+    List<UserReservationDataDto> findUserReservations(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto(
+                r.id, s.salonName, eu.name, o.name, r.reservationDateTime)
+            from Reservation r
+            join r.salon s
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            where r.user.id = :userId
+            order by r.reservationDateTime, r.id
+            """)
+    List<UserReservationDataDto> findUserReservationsPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto(
+                r.id, s.salonName, eu.name, o.name, r.reservationDateTime)
+            from Reservation r
+            join r.salon s
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            where r.user.id = :userId
+              and (r.reservationDateTime > :afterDateTime
+                   or (r.reservationDateTime = :afterDateTime and r.id > :afterId))
+            order by r.reservationDateTime, r.id
+            """)
+    List<UserReservationDataDto> findUserReservationsPageAfter(@Param("userId") Long userId,
+                                                               @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                               @Param("afterId") Long afterId,
+                                                               Limit limit);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto(
+                r.id, s.salonName, eu.name, o.name, r.reservationDateTime)
+            from Reservation r
+            join r.salon s
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            where r.user.id = :userId
+              and r.updatedAt > :since
+            order by r.updatedAt, r.id
+            """)
+    List<UserReservationDataDto> findUserReservationsChangedSince(@Param("userId") Long userId,
+                                                                  @Param("since") LocalDateTime since);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow(
+                r.salon.id, r.user.id, r.offer.id, r.reservationDateTime)
+            from Reservation r
+            where r.reservationDateTime >= :from
+              and r.reservationDateTime < :to
+            order by r.reservationDateTime, r.id
+            """)
+    List<ReservationToTomorrow> findReservationsToRemind(@Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto(
+                r.id, c.email, o.name, s.salonName, s.street, s.number, s.city, r.reservationDateTime)
+            from Reservation r
+            join r.user c
+            join r.offer o
+            join r.salon s
+            where r.reservationDateTime >= :from
+              and r.reservationDateTime < :to
+              and r.remindedAt is null
+              and mod(s.id, :partitions) = :partition
+            order by r.reservationDateTime, r.id
+            """)
+    List<ReservationReminderDto> findReminders(@Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("partitions") int partitions,
+                                               @Param("partition") int partition);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto(
+                r.id, c.email, o.name, s.salonName, s.street, s.number, s.city, r.reservationDateTime)
+            from Reservation r
+            join r.user c
+            join r.offer o
+            join r.salon s
+            where r.id in :reservationIds
+            """)
+    List<ReservationReminderDto> findRemindersByIds(@Param("reservationIds") Collection<Long> reservationIds);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.UpcomingReservationDto(
+                r.id, r.reservationDateTime)
+            from Reservation r
+            where r.reservationDateTime >= :from
+              and r.reservationDateTime < :to
+            order by r.reservationDateTime
+            """)
+    List<UpcomingReservationDto> findUpcomingReservations(@Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("update Reservation r set r.remindedAt = :remindedAt where r.id in :reservationIds and r.remindedAt is null")
+    int markReminded(@Param("reservationIds") Collection<Long> reservationIds,
+                     @Param("remindedAt") LocalDateTime remindedAt);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto(
+                r.id, r.employee.id, r.reservationDateTime, r.offer.duration)
+            from Reservation r
+            where r.employee.id = :employeeId
+              and r.reservationDateTime >= :from
+              and r.reservationDateTime < :to
+            order by r.reservationDateTime
+            """)
+    List<ReservedTermDto> findReservedTerms(@Param("employeeId") Long employeeId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationOccupancyDto(
+                r.id, e.id, r.salon.id, eu.name, r.reservationDateTime, o.duration, o.name, o.price)
+            from Reservation r
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            where e.id = :employeeId
+              and r.reservationDateTime >= :from
+              and r.reservationDateTime < :to
+            order by r.reservationDateTime, r.id
+            """)
+    List<ReservationOccupancyDto> findOccupancyEntries(@Param("employeeId") Long employeeId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    /**
+     * Every reservation grouped by employee and ordered by time, for rebuilding the occupancy read model.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationOccupancyDto(
+                r.id, e.id, r.salon.id, eu.name, r.reservationDateTime, o.duration, o.name, o.price)
+            from Reservation r
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            order by e.id, r.reservationDateTime, r.id
+            """)
+    Stream<ReservationOccupancyDto> streamOccupancyEntries();
+
+    /**
+     * Live reservations summed per salon, employee, offer and day, revenue at the prices they were booked at;
+     * the employee and both bounds are optional.
+     */
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto(
+                r.salon.id, r.employee.id, o.id, cast(r.reservationDateTime as LocalDate), count(r),
+                sum(extract(hour from o.duration) * 60 + extract(minute from o.duration)), sum(r.price))
+            from Reservation r
+            join r.offer o
+            where (:employeeId is null or r.employee.id = :employeeId)
+              and (:from is null or r.reservationDateTime >= :from)
+              and (:to is null or r.reservationDateTime < :to)
+            group by r.salon.id, r.employee.id, o.id, cast(r.reservationDateTime as LocalDate)
+            """)
+    List<DailyBookingsDto> sumDailyBookings(@Param("employeeId") Long employeeId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Rows are pulled from a server-side cursor in batches of the fetch size; the caller has to consume
+     * the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto(
+                r.id, r.reservationDateTime, o.duration, eu.name, o.name, r.price, c.name, c.email)
+            from Reservation r
+            join r.employee e
+            join e.user eu
+            join r.offer o
+            join r.user c
+            where r.salon.id = :salonId
+              and (:employeeId is null or e.id = :employeeId)
+              and (:from is null or r.reservationDateTime >= :from)
+              and (:to is null or r.reservationDateTime < :to)
+            order by r.reservationDateTime, r.id
+            """)
+    Stream<ReservationExportRowDto> streamSalonExport(@Param("salonId") Long salonId,
+                                                      @Param("employeeId") Long employeeId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    /**
+     * Transaction-scoped Postgres advisory lock on one employee's day; it is released on commit or rollback.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:employeeId, :epochDay)) AS advisory", nativeQuery = true)
+    Integer lockEmployeeDay(@Param("employeeId") int employeeId, @Param("epochDay") int epochDay);
 }
 
 
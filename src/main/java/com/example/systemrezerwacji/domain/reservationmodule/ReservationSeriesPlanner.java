@@ -0,0 +1,88 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.CreateReservationSeriesDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.RecurrenceFrequency;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SkippedOccurrenceDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Expands a recurrence rule into reservation times and splits them into the ones that can be booked and the
+ * ones that have to be skipped, checking all of them against busy terms read once for the whole range.
+ */
+class ReservationSeriesPlanner {
+    private static final int MAX_OCCURRENCES = 52;
+
+    private final LocalTime duration;
+
+    ReservationSeriesPlanner(LocalTime duration) {
+        this.duration = duration;
+    }
+
+    static List<LocalDateTime> expand(CreateReservationSeriesDto dto) {
+        int count = dto.occurrences() != null ? Math.min(dto.occurrences(), MAX_OCCURRENCES) : MAX_OCCURRENCES;
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime occurrence = next(dto.firstReservationDateTime(), dto.frequency(), (long) i * dto.interval());
+            if (dto.until() != null && occurrence.toLocalDate().isAfter(dto.until())) {
+                break;
+            }
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    SeriesPlan plan(List<LocalDateTime> occurrences, List<ReservedTermDto> reservedTerms,
+                    List<AvailableTermWithDateDto> heldTerms, LocalDateTime now) {
+        Map<LocalDate, List<ReservedTermDto>> reservedByDate = reservedTerms.stream()
+                .collect(Collectors.groupingBy(term -> term.reservationDateTime().toLocalDate()));
+        Map<LocalDate, List<AvailableTermWithDateDto>> heldByDate = heldTerms.stream()
+                .collect(Collectors.groupingBy(AvailableTermWithDateDto::date));
+
+        List<LocalDateTime> accepted = new ArrayList<>();
+        List<SkippedOccurrenceDto> skipped = new ArrayList<>();
+        for (LocalDateTime start : occurrences) {
+            LocalDateTime end = plusDuration(start, duration);
+            LocalDate date = start.toLocalDate();
+            if (start.isBefore(now)) {
+                skipped.add(new SkippedOccurrenceDto(start, ValidationError.PAST_DATE.getMessage()));
+            } else if (reservedByDate.getOrDefault(date, List.of()).stream()
+                    .anyMatch(term -> overlaps(start, end, term.reservationDateTime(), plusDuration(term.reservationDateTime(), term.duration())))) {
+                skipped.add(new SkippedOccurrenceDto(start, ValidationError.EMPLOYEE_IS_BUSY.getMessage()));
+            } else if (heldByDate.getOrDefault(date, List.of()).stream()
+                    .anyMatch(term -> overlaps(start, end, date.atTime(term.startServices()), date.atTime(term.endServices())))) {
+                skipped.add(new SkippedOccurrenceDto(start, ValidationError.SLOT_HELD_FOR_WAITLIST.getMessage()));
+            } else {
+                accepted.add(start);
+            }
+        }
+        return new SeriesPlan(accepted, skipped);
+    }
+
+    private static LocalDateTime next(LocalDateTime first, RecurrenceFrequency frequency, long steps) {
+        return switch (frequency) {
+            case DAILY -> first.plusDays(steps);
+            case WEEKLY -> first.plusWeeks(steps);
+            case MONTHLY -> first.plusMonths(steps);
+        };
+    }
+
+    private static LocalDateTime plusDuration(LocalDateTime start, LocalTime duration) {
+        return start.plusHours(duration.getHour()).plusMinutes(duration.getMinute());
+    }
+
+    private static boolean overlaps(LocalDateTime start, LocalDateTime end, LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+
+    record SeriesPlan(List<LocalDateTime> accepted, List<SkippedOccurrenceDto> skipped) {
+    }
+}
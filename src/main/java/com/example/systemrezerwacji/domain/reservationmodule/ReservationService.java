@@ -3,92 +3,239 @@ package com.example.systemrezerwacji.domain.reservationmodule;
 import com.example.systemrezerwacji.domain.employeemodule.Employee;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
 import com.example.systemrezerwacji.domain.offermodule.Offer;
-import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportFormat;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangeType;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangedEvent;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UpcomingReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationChangesDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationPageDto;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.InvalidReservationCursorException;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationConflictException;
 import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationDeleteException;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDto;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 class ReservationService {
     private static final Logger log = LogManager.getLogger(ReservationService.class);
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
     private final ReservationRepository reservationRepository;
+    private final ReservationTombstoneRepository tombstoneRepository;
+    private final ReservationArchiveRepository archiveRepository;
     private final MapperReservationDto mapperReservationDto;
+    private final EmployeeDayLocks employeeDayLocks;
+    private final ReservationExportWriter exportWriter;
 
 
-    ReservationService(ReservationRepository reservationRepository, MapperReservationDto mapperReservationDto) {
+    ReservationService(ReservationRepository reservationRepository, ReservationTombstoneRepository tombstoneRepository,
+                       ReservationArchiveRepository archiveRepository, MapperReservationDto mapperReservationDto,
+                       EmployeeDayLocks employeeDayLocks, ReservationExportWriter exportWriter) {
         this.reservationRepository = reservationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.archiveRepository = archiveRepository;
         this.mapperReservationDto = mapperReservationDto;
+        this.employeeDayLocks = employeeDayLocks;
+        this.exportWriter = exportWriter;
         log.info("ReservationService initialized");
     }
 
     List<AvailableTermDto> getEmployeeBusyTerms(Long employeeId, LocalDate date) {
         log.debug("Fetching busy terms for employeeId: {} on date: {}", employeeId, date);
-        List<Reservation> allServicesOnSpecificDay = getReservations(employeeId, date);
+        List<ReservedTermDto> reservedTerms = getReservedTerms(employeeId, date);
 
-        if (allServicesOnSpecificDay.isEmpty()) {
+        if (reservedTerms.isEmpty()) {
             log.info("No reservations found for employeeId: {} on date: {}", employeeId, date);
             return Collections.emptyList();
         }
-        log.info("Found {} reservations for employeeId: {} on date: {}", allServicesOnSpecificDay.size(), employeeId, date);
-        return getAvailableTermDto(allServicesOnSpecificDay);
+        log.info("Found {} reservations for employeeId: {} on date: {}", reservedTerms.size(), employeeId, date);
+        return getAvailableTermDto(reservedTerms);
     }
 
-    void addNewReservation(Salon salon, Employee employee, User user, Offer offer, LocalDateTime reservationDateTime) {
+    /**
+     * Queues the caller behind the other writers of the employee's days in this JVM and runs {@code write},
+     * which opens its transaction only once it is the writer's turn. Waiting writers hold no connection.
+     */
+    <T> T inEmployeeDaysQueue(Long employeeId, Collection<LocalDate> dates, Supplier<T> write) {
+        return employeeDayLocks.callLocked(employeeId, dates, write);
+    }
+
+    /**
+     * Serializes writers of one employee's day across instances until the current transaction ends, through
+     * a Postgres advisory lock.
+     */
+    void lockEmployeeDay(Long employeeId, LocalDate date) {
+        if (employeeId == null || date == null) {
+            return;
+        }
+        log.debug("Locking day {} of employeeId: {}", date, employeeId);
+        reservationRepository.lockEmployeeDay(Math.toIntExact(employeeId), Math.toIntExact(date.toEpochDay()));
+    }
+
+    /**
+     * Like {@link #lockEmployeeDay} for several days of one employee; the advisory locks are taken in date
+     * order, the same order in every instance.
+     */
+    void lockEmployeeDays(Long employeeId, Collection<LocalDate> dates) {
+        if (employeeId == null || dates.isEmpty()) {
+            return;
+        }
+        SortedSet<LocalDate> days = new TreeSet<>(dates);
+        log.debug("Locking days {} of employeeId: {}", days, employeeId);
+        days.forEach(date -> reservationRepository.lockEmployeeDay(Math.toIntExact(employeeId), Math.toIntExact(date.toEpochDay())));
+    }
+
+    /**
+     * Reserved terms of the employee between two instants, read with one range query.
+     */
+    List<ReservedTermDto> getReservedTerms(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return reservationRepository.findReservedTerms(employeeId, from, to);
+    }
+
+    /**
+     * Saves the reservations together; ids come from a pooled sequence, so Hibernate sends the inserts
+     * as JDBC batches.
+     */
+    List<Reservation> addNewReservations(Salon salon, Employee employee, User user, Offer offer, List<LocalDateTime> reservationDateTimes) {
+        log.info("Adding {} reservations for userId: {} with employeeId: {}", reservationDateTimes.size(), user.getId(), employee.getId());
+        List<Reservation> reservations = reservationDateTimes.stream()
+                .map(reservationDateTime -> new Reservation(salon, employee, user, offer, reservationDateTime))
+                .toList();
+        reservationRepository.saveAll(reservations);
+        return reservations;
+    }
+
+    Reservation addNewReservation(Salon salon, Employee employee, User user, Offer offer, LocalDateTime reservationDateTime) {
         log.info("Adding new reservation for userId: {} with employeeId: {} at {}", user.getId(), employee.getId(), reservationDateTime);
         Reservation reservation = new Reservation(salon,employee,user,offer,reservationDateTime);
         log.info("Reservation saved for userId: {} at {}", user.getId(), reservationDateTime);
-        reservationRepository.save(reservation);
+        return reservationRepository.save(reservation);
     }
 
-    private List<Reservation> getReservations(Long employeeId, LocalDate date) {
-        return  reservationRepository.findAll().stream()
-                .filter(employee -> employee.getEmployee().getId().equals(employeeId))
-                .filter(data -> data.getReservationDateTime().toLocalDate().equals(date))
-                .toList();
-
+    private List<ReservedTermDto> getReservedTerms(Long employeeId, LocalDate date) {
+        return reservationRepository.findReservedTerms(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
     }
 
-    private List<AvailableTermDto> getAvailableTermDto(List<Reservation> allServicesOnSpecificDay) {
+    private List<AvailableTermDto> getAvailableTermDto(List<ReservedTermDto> reservedTerms) {
         log.debug("Getting reservations for employee");
-        List<AvailableTermDto> list = allServicesOnSpecificDay.stream()
-                .map(reservation -> {
-                    LocalTime start = reservation.getReservationDateTime().toLocalTime();
-                    LocalTime end = start.plusMinutes(reservation.getOffer().getDuration().getMinute());
+        return reservedTerms.stream()
+                .map(reservedTerm -> {
+                    LocalTime start = reservedTerm.reservationDateTime().toLocalTime();
+                    LocalTime duration = reservedTerm.duration();
+                    LocalTime end = start.plusHours(duration.getHour()).plusMinutes(duration.getMinute());
                     return new AvailableTermDto(start, end);
                 })
                 .toList();
-        return list;
     }
 
 
     public List<UserReservationDataDto> getReservationToCurrentUser(User user) {
-        log.debug("Mapping reservations to AvailableTermDto");
-        List<Reservation> allByUser = reservationRepository.findAllByUser(user);
-        log.info("Mapped {} reservations to AvailableTermDto", allByUser.size());
-        return mapperReservationDto.mapToUserReservationDataDtoList(allByUser);
+        log.debug("Fetching reservations of userId: {}", user.getId());
+        List<UserReservationDataDto> reservations = reservationRepository.findUserReservations(user.getId());
+        log.info("Found {} reservations of userId: {}", reservations.size(), user.getId());
+        return reservations;
+    }
+
+    UserReservationPageDto getUserReservationsPage(User user, LocalDateTime afterDateTime, Long afterId, int size) {
+        if ((afterDateTime == null) != (afterId == null)) {
+            throw new InvalidReservationCursorException("Reservation cursor must carry both afterDateTime and afterId");
+        }
+        Limit limit = Limit.of(size + 1);
+        List<UserReservationDataDto> reservations = afterDateTime == null
+                ? reservationRepository.findUserReservationsPage(user.getId(), limit)
+                : reservationRepository.findUserReservationsPageAfter(user.getId(), afterDateTime, afterId, limit);
+
+        if (reservations.size() <= size) {
+            return new UserReservationPageDto(reservations, null, null);
+        }
+        List<UserReservationDataDto> page = reservations.subList(0, size);
+        UserReservationDataDto last = page.get(size - 1);
+        return new UserReservationPageDto(page, last.reservationDateTime(), last.reservationId());
+    }
+
+    /**
+     * The next cursor trails the current time a little, so a change committed by a transaction that took its
+     * timestamp just before this read is picked up by the next sync; clients may get such a row twice.
+     */
+    UserReservationChangesDto getUserReservationChanges(User user, LocalDateTime since) {
+        LocalDateTime nextSince = LocalDateTime.now().minus(SYNC_OVERLAP);
+        List<UserReservationDataDto> changed = reservationRepository.findUserReservationsChangedSince(user.getId(), since);
+        List<Long> deletedIds = tombstoneRepository.findDeletedSince(user.getId(), since);
+        log.debug("Found {} changed and {} deleted reservations of userId: {} since {}",
+                changed.size(), deletedIds.size(), user.getId(), since);
+        return new UserReservationChangesDto(changed, deletedIds, nextSince.isAfter(since) ? nextSince : since);
     }
 
     public List<ReservationToTomorrow> getAllReservationToTomorrow() {
         log.info("Fetching reservations for tomorrow");
         LocalDateTime startOfTomorrow = LocalDate.now().plusDays(1).atStartOfDay();
-        LocalDateTime endOfTomorrow = startOfTomorrow.plusDays(1).minusSeconds(1);
+        LocalDateTime startOfDayAfterTomorrow = startOfTomorrow.plusDays(1);
+
+        List<ReservationToTomorrow> reservations = reservationRepository.findReservationsToRemind(startOfTomorrow, startOfDayAfterTomorrow);
+        log.info("Found {} reservations for tomorrow", reservations.size());
+        return reservations;
+    }
+
+    List<ReservationReminderDto> getReminders(LocalDate date, int partitions, int partition) {
+        List<ReservationReminderDto> reminders = reservationRepository.findReminders(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay(), partitions, partition);
+        log.info("Found {} reminders for {} in partition {} of {}", reminders.size(), date, partition, partitions);
+        return reminders;
+    }
+
+    List<ReservationReminderDto> getRemindersByIds(Collection<Long> reservationIds) {
+        return reservationRepository.findRemindersByIds(reservationIds);
+    }
+
+    List<UpcomingReservationDto> getUpcomingReservations(LocalDateTime from, LocalDateTime to) {
+        List<UpcomingReservationDto> upcoming = reservationRepository.findUpcomingReservations(from, to);
+        log.debug("Found {} reservations between {} and {}", upcoming.size(), from, to);
+        return upcoming;
+    }
+
+    List<DailyBookingsDto> sumDailyBookings(Long employeeId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        List<DailyBookingsDto> bookings = reservationRepository.sumDailyBookings(employeeId, start, end);
+        log.debug("Summed {} daily booking rows between {} and {}", bookings.size(), from, to);
+        return bookings;
+    }
 
-        List<Reservation> allByReservationDateTimeBetween = reservationRepository.findAllByReservationDateTimeBetween(startOfTomorrow, endOfTomorrow);
-        log.info("Found reservations for tomorrow");
-        return mapperReservationDto.mapToReservationToTomorrowList(allByReservationDateTimeBetween);
+    DailyBookingsDto bookingDelta(Reservation reservation, LocalDate date, int sign) {
+        return mapperReservationDto.mapToBookingDelta(reservation, date, sign);
+    }
+
+    SlotChangedEvent slotChange(Reservation reservation, LocalDateTime start, SlotChangeType type) {
+        return mapperReservationDto.mapToSlotChange(reservation, start, type);
+    }
+
+    void markReminded(Collection<Long> reservationIds) {
+        int marked = reservationRepository.markReminded(reservationIds, LocalDateTime.now());
+        log.debug("Marked {} of {} reservations as reminded", marked, reservationIds.size());
     }
 
     public Boolean deleteReservation(Long reservationId, User userByEmail) {
@@ -101,6 +248,7 @@ class ReservationService {
 
         if(userByEmail == reservation.getUser()) {
             reservationRepository.delete(reservation);
+            tombstoneRepository.save(new ReservationTombstone(reservationId, userByEmail.getId(), LocalDateTime.now()));
             log.info("Reservation deleted with id: {} for userId: {}", reservationId, userByEmail.getId());
             return true;
         }
@@ -117,7 +265,13 @@ class ReservationService {
                 });
 
         if(userByEmail == reservation.getUser()) {
+            if (overlapsOtherReservation(reservation, reservationDataTime)) {
+                log.warn("Employee is busy at {}, reservation id: {} not moved", reservationDataTime, reservationId);
+                throw new ReservationConflictException("Employee is busy during the selected time.");
+            }
             reservation.setReservationDateTime(reservationDataTime);
+            reservation.setRemindedAt(null);
+            reservation.setUpdatedAt(LocalDateTime.now());
             Reservation savedReservation = reservationRepository.save(reservation);
             log.info("Reservation updated for id: {} to new date: {}", reservationId, reservationDataTime);
             return mapperReservationDto.mapToUserReservationDto(savedReservation);
@@ -126,6 +280,20 @@ class ReservationService {
         throw new ReservationDeleteException("This is not a reservation for this user");
     }
 
+    private boolean overlapsOtherReservation(Reservation reservation, LocalDateTime newStart) {
+        LocalTime duration = reservation.getOffer().getDuration();
+        LocalDateTime newEnd = newStart.plusHours(duration.getHour()).plusMinutes(duration.getMinute());
+
+        return getReservedTerms(reservation.getEmployee().getId(), newStart.toLocalDate()).stream()
+                .filter(reservedTerm -> !Objects.equals(reservedTerm.reservationId(), reservation.getId()))
+                .anyMatch(reservedTerm -> {
+                    LocalDateTime busyStart = reservedTerm.reservationDateTime();
+                    LocalDateTime busyEnd = busyStart.plusHours(reservedTerm.duration().getHour())
+                            .plusMinutes(reservedTerm.duration().getMinute());
+                    return newStart.isBefore(busyEnd) && newEnd.isAfter(busyStart);
+                });
+    }
+
     public Reservation getReservation(Long reservationId) {
         log.debug("Fetching reservation by id: {}", reservationId);
         return reservationRepository.findById(reservationId)
@@ -135,11 +303,23 @@ class ReservationService {
                 });
     }
 
-    public Map<LocalDate, List<ReservationDto>> getAllReservationBySalonId(Long salonId) {
-        log.info("Fetching all reservations for salonId: {}", salonId);
-        List<Reservation> allBySalonId = reservationRepository.findAllBySalonId(salonId);
-        log.info("Found {} reservations for salonId: {}", allBySalonId.size(), salonId);
-        return mapperReservationDto.toMap(allBySalonId);
+    /**
+     * Archived rows are all older than the live ones, so streaming the archive first keeps the export in date order.
+     */
+    long exportSalonReservations(Long salonId, Long employeeId, LocalDate from, LocalDate to,
+                                 ReservationExportFormat format, OutputStream out) {
+        log.info("Exporting reservations of salonId: {} as {} (employeeId: {}, from: {}, to: {})",
+                salonId, format, employeeId, from, to);
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        try (Stream<ReservationExportRowDto> rows = Stream.concat(
+                archiveRepository.streamSalonExport(salonId, employeeId, start, end),
+                reservationRepository.streamSalonExport(salonId, employeeId, start, end))) {
+            long written = exportWriter.write(rows, format, out);
+            log.info("Exported {} reservations of salonId: {}", written, salonId);
+            return written;
+        }
     }
 
 }
@@ -0,0 +1,34 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Remembers a deleted reservation so clients syncing with a change cursor learn that it is gone.
+ * Reservation ids are never reused, so the id doubles as the primary key.
+ */
+@Entity
+@Getter
+@Table(name = "reservation_tombstone")
+class ReservationTombstone {
+    @Id
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    ReservationTombstone(Long reservationId, Long userId, LocalDateTime deletedAt) {
+        this.reservationId = reservationId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    protected ReservationTombstone() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+interface ReservationTombstoneRepository extends CrudRepository<ReservationTombstone, Long> {
+
+    @Query("""
+            select t.reservationId
+            from ReservationTombstone t
+            where t.userId = :userId
+              and t.deletedAt > :since
+            order by t.deletedAt, t.reservationId
+            """)
+    List<Long> findDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+}
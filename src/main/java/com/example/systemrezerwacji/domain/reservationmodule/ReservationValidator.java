@@ -2,6 +2,7 @@ package com.example.systemrezerwacji.domain.reservationmodule;
 
 
 import com.example.systemrezerwacji.domain.reservationmodule.dto.CreateReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.CreateReservationSeriesDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
 import org.springframework.stereotype.Component;
 
@@ -18,7 +19,6 @@ import static com.example.systemrezerwacji.domain.reservationmodule.ValidationEr
 class ReservationValidator {
     private final ReservationService reservationService;
     private static final String ERROR_DELIMITER = ",";
-    List<ValidationError> errors;
 
 
     ReservationValidator(ReservationService reservationService) {
@@ -27,19 +27,43 @@ class ReservationValidator {
 
     ReservationValidationResult validate(CreateReservationDto reservationDto, LocalTime duration) {
 
-        errors = new LinkedList<>();
+        List<ValidationError> errors = new LinkedList<>();
 
-        validateEmployeeId(reservationDto.employeeId());
-        validateOfferId(reservationDto.offerId());
-        validateSalonId(reservationDto.salonId());
-        validateEmail(reservationDto.userEmail());
-        validateTerm(reservationDto, duration);
+        validateEmployeeId(reservationDto.employeeId(), errors);
+        validateOfferId(reservationDto.offerId(), errors);
+        validateSalonId(reservationDto.salonId(), errors);
+        validateEmail(reservationDto.userEmail(), errors);
+        validateTerm(reservationDto, duration, errors);
 
-        return errors.isEmpty() ? ReservationValidationResult.success() : ReservationValidationResult.failure(getFailureMessage());
+        return errors.isEmpty() ? ReservationValidationResult.success() : ReservationValidationResult.failure(getFailureMessage(errors));
     }
 
 
-    void validateSalonId(Long salonId) {
+    /**
+     * Checks the series request itself; its dates are checked against busy terms in one go when it is planned.
+     */
+    ReservationValidationResult validateSeries(CreateReservationSeriesDto seriesDto) {
+
+        List<ValidationError> errors = new LinkedList<>();
+
+        validateEmployeeId(seriesDto.employeeId(), errors);
+        validateOfferId(seriesDto.offerId(), errors);
+        validateSalonId(seriesDto.salonId(), errors);
+        validateEmail(seriesDto.userEmail(), errors);
+        if (seriesDto.firstReservationDateTime() == null) {
+            errors.add(EMPTY_DATE);
+        }
+        if (seriesDto.frequency() == null || seriesDto.interval() == null || seriesDto.interval() <= 0
+                || (seriesDto.occurrences() == null && seriesDto.until() == null)
+                || (seriesDto.occurrences() != null && seriesDto.occurrences() <= 0)) {
+            errors.add(INVALID_RECURRENCE);
+        }
+
+        return errors.isEmpty() ? ReservationValidationResult.success() : ReservationValidationResult.failure(getFailureMessage(errors));
+    }
+
+
+    void validateSalonId(Long salonId, List<ValidationError> errors) {
         if(salonId == null) {
             errors.add(EMPTY_SALON_ID);
             return;
@@ -50,7 +74,7 @@ class ReservationValidator {
 
     }
 
-    void validateOfferId(Long offerId) {
+    void validateOfferId(Long offerId, List<ValidationError> errors) {
         if(offerId == null) {
             errors.add(EMPTY_OFFER_ID);
             return;
@@ -60,7 +84,7 @@ class ReservationValidator {
         }
     }
 
-    void validateEmployeeId(Long employeeId) {
+    void validateEmployeeId(Long employeeId, List<ValidationError> errors) {
         if(employeeId == null) {
             errors.add(EMPTY_EMPLOYEE_ID);
             return;
@@ -70,7 +94,7 @@ class ReservationValidator {
         }
     }
 
-    void validateEmail(String email) {
+    void validateEmail(String email, List<ValidationError> errors) {
         if (email == null || email.trim().isEmpty()) {
             errors.add(EMPTY_EMAIL);
             return;
@@ -81,7 +105,7 @@ class ReservationValidator {
     }
 
 
-    void validateTerm(CreateReservationDto reservationDto, LocalTime duration) {
+    void validateTerm(CreateReservationDto reservationDto, LocalTime duration, List<ValidationError> errors) {
         if(reservationDto.reservationDateTime().isBefore(LocalDateTime.now())) {
             errors.add(PAST_DATE);
         }
@@ -97,8 +121,7 @@ class ReservationValidator {
         boolean hasConflict = employeeBusyTerms.stream()
                 .anyMatch(busyTerm -> {
                     LocalTime busyStart = busyTerm.startServices();
-                    LocalTime busyEnd = busyStart.plusHours(duration.getHour())
-                            .plusMinutes(duration.getMinute());
+                    LocalTime busyEnd = busyTerm.endServices();
                     return startTime.isBefore(busyEnd) && endTime.isAfter(busyStart);
                 });
 
@@ -109,7 +132,7 @@ class ReservationValidator {
 
     }
 
-    private  String getFailureMessage() {
+    private  String getFailureMessage(List<ValidationError> errors) {
         return errors.stream()
                 .map(ValidationError::getMessage)
                 .collect(Collectors.joining(ERROR_DELIMITER));
@@ -9,7 +9,11 @@ enum ValidationError {
     EMPTY_EMAIL("Email shouldn't be empty"),
     INVALID_EMAIL("Email format is invalid"),
     EMPLOYEE_IS_BUSY("Employee is busy during the selected time."),
-    PAST_DATE("Date cannot be in the past");
+    PAST_DATE("Date cannot be in the past"),
+    SLOT_HELD_FOR_WAITLIST("The selected time is held for a customer from the waitlist."),
+    EMPTY_DATE("Date cannot be empty"),
+    INVALID_RECURRENCE("Recurrence needs a frequency, a positive interval and a number of occurrences or an end date"),
+    NO_FREE_OCCURRENCE("None of the dates in the series is free");
 
     final String message;
 
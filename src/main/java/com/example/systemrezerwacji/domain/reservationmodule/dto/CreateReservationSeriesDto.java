@@ -0,0 +1,21 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A reservation repeated every {@code interval} days, weeks or months from the first one, either
+ * {@code occurrences} times or until the given date, whichever ends first.
+ */
+public record CreateReservationSeriesDto(Long employeeId,
+                                         Long offerId,
+                                         Long salonId,
+                                         LocalDateTime firstReservationDateTime,
+                                         RecurrenceFrequency frequency,
+                                         Integer interval,
+                                         @Nullable Integer occurrences,
+                                         @Nullable LocalDate until,
+                                         String userEmail) {
+}
@@ -0,0 +1,17 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Bookings of one offer with one employee of a salon on one day. Also used as a signed delta when a single
+ * reservation is added (+1) or removed (-1).
+ */
+public record DailyBookingsDto(Long salonId,
+                               Long employeeId,
+                               Long offerId,
+                               LocalDate date,
+                               Long bookings,
+                               Long bookedMinutes,
+                               BigDecimal revenue) {
+}
@@ -0,0 +1,13 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record ReservationCalendarEntryDto(Long reservationId,
+                                          String employeeName,
+                                          String offerName,
+                                          BigDecimal price,
+                                          LocalDateTime reservationDateTime,
+                                          LocalTime duration) {
+}
@@ -0,0 +1,11 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record ReservationCalendarPageDto(LocalDate from,
+                                         LocalDate to,
+                                         Map<LocalDate, List<ReservationDto>> reservations,
+                                         LocalDate nextFrom) {
+}
@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a reservation is created, moved or deleted; {@code reservationDateTime} is {@code null}
+ * when the reservation no longer exists.
+ */
+public record ReservationChangedEvent(Long reservationId, LocalDateTime reservationDateTime) {
+
+    public boolean isDeleted() {
+        return reservationDateTime == null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record ReservationExportRowDto(Long reservationId,
+                                      LocalDateTime reservationDateTime,
+                                      LocalTime duration,
+                                      String employeeName,
+                                      String offerName,
+                                      BigDecimal price,
+                                      String clientName,
+                                      String clientEmail) {
+}
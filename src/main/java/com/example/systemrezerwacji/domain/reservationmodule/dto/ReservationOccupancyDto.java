@@ -0,0 +1,15 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record ReservationOccupancyDto(Long reservationId,
+                                      Long employeeId,
+                                      Long salonId,
+                                      String employeeName,
+                                      LocalDateTime reservationDateTime,
+                                      LocalTime duration,
+                                      String offerName,
+                                      BigDecimal price) {
+}
@@ -0,0 +1,13 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+
+public record ReservationReminderDto(Long reservationId,
+                                     String clientEmail,
+                                     String offerName,
+                                     String salonName,
+                                     String street,
+                                     String number,
+                                     String city,
+                                     LocalDateTime reservationDateTime) {
+}
@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record ReservedTermDto(Long reservationId, Long employeeId, LocalDateTime reservationDateTime, LocalTime duration) {
+}
@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+
+public record SkippedOccurrenceDto(LocalDateTime reservationDateTime, String reason) {
+}
@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+public enum SlotChangeType {
+    TAKEN,
+    FREED,
+    HELD
+}
@@ -0,0 +1,19 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a reservation takes or frees an employee's time; a moved reservation frees its old slot
+ * and takes the new one. Freed time the waitlist holds right away is streamed to clients as held.
+ */
+public record SlotChangedEvent(SlotChangeType type,
+                               Long salonId,
+                               Long employeeId,
+                               LocalDateTime start,
+                               LocalDateTime end) {
+
+    public LocalDate date() {
+        return start.toLocalDate();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reservations created or moved and ids of reservations deleted after the cursor the client sent.
+ * {@code nextSince} is the cursor for the next sync.
+ */
+public record UserReservationChangesDto(List<UserReservationDataDto> changed,
+                                        List<Long> deletedIds,
+                                        LocalDateTime nextSince) {
+}
@@ -0,0 +1,12 @@
+package com.example.systemrezerwacji.domain.reservationmodule.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The next page starts after {@code (nextAfterDateTime, nextAfterId)}; both are null on the last page.
+ */
+public record UserReservationPageDto(List<UserReservationDataDto> reservations,
+                                     LocalDateTime nextAfterDateTime,
+                                     Long nextAfterId) {
+}
@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.reservationmodule.exception;
+
+public class InvalidReservationCursorException extends RuntimeException {
+    public InvalidReservationCursorException(String message) {
+        super(message);
+    }
+}
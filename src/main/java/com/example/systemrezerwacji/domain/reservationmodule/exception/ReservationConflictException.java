@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.reservationmodule.exception;
+
+public class ReservationConflictException extends RuntimeException {
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.reservationmodule.response;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SkippedOccurrenceDto;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ReservationSeriesResponse(boolean isSuccess,
+                                        String message,
+                                        List<LocalDateTime> booked,
+                                        List<SkippedOccurrenceDto> skipped,
+                                        @Nullable String password) {
+}
@@ -1,6 +1,8 @@
 package com.example.systemrezerwacji.domain.salonmodule;
 
+import com.example.systemrezerwacji.domain.salonmodule.dto.ImageDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -8,5 +10,13 @@ import java.util.List;
 @Repository
 interface ImageRepository extends JpaRepository<Image, Long> {
     List<Image> findBySalonId(Long salonId);
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.salonmodule.dto.ImageDto(
+                i.id, i.name, i.imageUrl, i.imageId, i.salon.id)
+            from Image i
+            order by i.salon.id, i.id
+            """)
+    List<ImageDto> findCatalogImages();
 }
 
@@ -0,0 +1,32 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Centre point of one postcode area. The table is filled once from a postcode gazetteer by
+ * {@link SalonFacade#importPostcodes} and otherwise only read, so salons are geocoded without calling an
+ * external service.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "postcode_location")
+class PostcodeLocation {
+    @Id
+    @Column(name = "zip_code", length = 10)
+    private String zipCode;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+}
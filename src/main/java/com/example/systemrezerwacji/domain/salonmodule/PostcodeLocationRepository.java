@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+interface PostcodeLocationRepository extends Repository<PostcodeLocation, String> {
+    Optional<PostcodeLocation> findByZipCode(String zipCode);
+
+    long count();
+
+    <S extends PostcodeLocation> List<S> saveAll(Iterable<S> locations);
+}
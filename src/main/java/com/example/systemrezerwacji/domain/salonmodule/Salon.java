@@ -26,6 +26,8 @@ public class Salon {
     private String zipCode;
     private String street;
     private String number;
+    private Double latitude;
+    private Double longitude;
 
     @Setter
     @ManyToOne
@@ -60,6 +62,11 @@ public class Salon {
         openingHours = openingHoursList;
     }
 
+    void locate(PostcodeLocation location) {
+        latitude = location.getLatitude();
+        longitude = location.getLongitude();
+    }
+
 
     static class SalonBuilder {
         private String name;
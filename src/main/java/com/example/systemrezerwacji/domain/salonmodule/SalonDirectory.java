@@ -0,0 +1,160 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.openinghoursmodule.OpeningHoursFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The public salon catalog held in memory behind a single volatile reference. Catalog reads are map lookups
+ * on the current snapshot; a write only queues a rebuild, which loads the whole catalog with one query per
+ * table off the request thread and swaps the new snapshot in, spatial index of salon locations included.
+ * Writes arriving while a rebuild is queued are folded into it.
+ * <p>
+ * A failed rebuild keeps the previous snapshot, so the catalog is still served while the database is down.
+ * <p>
+ * The version stamps of the catalog and of a salon's offers move only once a snapshot that changed them is
+ * installed, so a reader never gets the previous snapshot under the new ETag.
+ */
+@Component
+class SalonDirectory {
+    private static final Logger log = LogManager.getLogger(SalonDirectory.class);
+
+    private final SalonService salonService;
+    private final OfferFacade offerFacade;
+    private final OpeningHoursFacade openingHoursFacade;
+    private final VersionStamps versionStamps;
+    private final Executor rebuilder;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile SalonDirectorySnapshot snapshot;
+
+    @Autowired
+    SalonDirectory(SalonService salonService, @Lazy OfferFacade offerFacade, OpeningHoursFacade openingHoursFacade,
+                   VersionStamps versionStamps) {
+        this(salonService, offerFacade, openingHoursFacade, versionStamps,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("salon-directory").daemon().factory()));
+    }
+
+    SalonDirectory(SalonService salonService, OfferFacade offerFacade, OpeningHoursFacade openingHoursFacade,
+                   VersionStamps versionStamps, Executor rebuilder) {
+        this.salonService = salonService;
+        this.offerFacade = offerFacade;
+        this.openingHoursFacade = openingHoursFacade;
+        this.versionStamps = versionStamps;
+        this.rebuilder = rebuilder;
+    }
+
+    /**
+     * Empty until the first rebuild succeeded; callers then read from the database.
+     */
+    Optional<SalonDirectorySnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * For reads the database cannot answer on its own: builds and installs the first snapshot when there is
+     * none yet, so only the first such read pays for the load. Empty while the database is down.
+     */
+    Optional<SalonDirectorySnapshot> currentOrRebuild() {
+        if (snapshot == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+            }
+        }
+        return current();
+    }
+
+    /**
+     * Queues a rebuild once the surrounding transaction committed, so it loads the write that triggered it.
+     */
+    void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queueRebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queueRebuild();
+            }
+        });
+    }
+
+    synchronized boolean rebuild() {
+        try {
+            SalonDirectorySnapshot rebuilt = load();
+            SalonDirectorySnapshot previous = snapshot;
+            snapshot = rebuilt;
+            bumpChanged(previous, rebuilt);
+            log.debug("Salon directory rebuilt with {} salons", rebuilt.salons().size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the salon directory, still serving the snapshot from {}: {}",
+                    snapshot == null ? "nowhere" : snapshot.builtAt(), e.getMessage());
+            return false;
+        }
+    }
+
+    private SalonDirectorySnapshot load() {
+        return SalonDirectorySnapshot.of(
+                salonService.getCatalogSalons(),
+                offerFacade.getAllOffersBySalon(),
+                openingHoursFacade.getAllOpeningHoursBySalon(),
+                salonService.getCatalogImages(),
+                salonService.getCatalogLocations());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (rebuilder instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Before the first snapshot the reads came from the database, which the snapshot matches, so there is
+     * nothing to bump.
+     */
+    private void bumpChanged(SalonDirectorySnapshot previous, SalonDirectorySnapshot rebuilt) {
+        if (previous == null) {
+            return;
+        }
+        if (!previous.salons().equals(rebuilt.salons())) {
+            versionStamps.bumpSalonCatalog();
+        }
+        Set<Long> salonIds = new HashSet<>(previous.offers().keySet());
+        salonIds.addAll(rebuilt.offers().keySet());
+        salonIds.stream()
+                .filter(salonId -> !Objects.equals(previous.offers(salonId), rebuilt.offers(salonId)))
+                .forEach(versionStamps::bumpSalon);
+    }
+
+    private void queueRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuilder.execute(() -> {
+            rebuildQueued.set(false);
+            rebuild();
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
+import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.ImageDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.NearbySalonDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One immutable copy of the public catalog: every collection is unmodifiable, so readers on any thread can
+ * use it without locking.
+ */
+record SalonDirectorySnapshot(List<SalonWithIdDto> salons,
+                              Map<Long, SalonWithIdDto> salonsById,
+                              Map<Long, List<OfferDto>> offers,
+                              Map<Long, List<OpeningHoursDto>> openingHours,
+                              Map<Long, List<ImageDto>> images,
+                              SalonGeoIndex geoIndex,
+                              LocalDateTime builtAt) {
+
+    static SalonDirectorySnapshot of(List<SalonWithIdDto> salons,
+                                     Map<Long, List<OfferDto>> offers,
+                                     Map<Long, List<OpeningHoursDto>> openingHours,
+                                     Map<Long, List<ImageDto>> images,
+                                     List<SalonLocationDto> locations) {
+        Map<Long, SalonWithIdDto> salonsById = salons.stream()
+                .collect(Collectors.toUnmodifiableMap(salon -> Long.valueOf(salon.id()), Function.identity()));
+        return new SalonDirectorySnapshot(List.copyOf(salons), salonsById, copy(offers), copy(openingHours),
+                copy(images), SalonGeoIndex.of(locations), LocalDateTime.now());
+    }
+
+    Optional<SalonWithIdDto> salon(Long salonId) {
+        return Optional.ofNullable(salonsById.get(salonId));
+    }
+
+    List<OfferDto> offers(Long salonId) {
+        return offers.getOrDefault(salonId, List.of());
+    }
+
+    List<OpeningHoursDto> openingHours(Long salonId) {
+        return openingHours.getOrDefault(salonId, List.of());
+    }
+
+    List<ImageDto> images(Long salonId) {
+        return images.getOrDefault(salonId, List.of());
+    }
+
+    /**
+     * Turns index hits into salons; a hit without a salon in this snapshot is skipped.
+     */
+    List<NearbySalonDto> toNearbySalons(List<SalonGeoIndex.SalonDistance> hits) {
+        return hits.stream()
+                .filter(hit -> salonsById.containsKey(hit.salonId()))
+                .map(hit -> new NearbySalonDto(salonsById.get(hit.salonId()), hit.distanceKm()))
+                .toList();
+    }
+
+    private static <T> Map<Long, List<T>> copy(Map<Long, List<T>> bySalon) {
+        return bySalon.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+}
@@ -9,25 +9,30 @@ import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
 import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
-import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarPageDto;
 import com.example.systemrezerwacji.domain.salonmodule.dto.*;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidLocationException;
 import com.example.systemrezerwacji.domain.salonmodule.exception.SalonCreationException;
+import com.example.systemrezerwacji.domain.salonmodule.exception.SalonNotFoundException;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
 import com.example.systemrezerwacji.domain.openinghoursmodule.OpeningHoursFacade;
 import com.example.systemrezerwacji.domain.salonmodule.dto.AddHoursResponseDto;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Future;
 
 @Component
 @AllArgsConstructor
 public class SalonFacade {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_NEARBY_COUNT = 10;
+    private static final double MAX_NEARBY_RADIUS_KM = 100;
 
     private final UserFacade userFacade;
     private final OpeningHoursFacade openingHoursFacade;
@@ -37,11 +42,14 @@ public class SalonFacade {
 
     private final SalonCreator salonCreator;
     private final SalonService salonService;
+    private final SalonDirectory salonDirectory;
+    private final SalonReadPermits salonReadPermits;
 
 
     public SalonFacadeResponseDto createNewSalon(CreateNewSalonDto salonDto) {
         try {
             Long salonId = salonCreator.create(salonDto);
+            salonDirectory.rebuildAfterCommit();
             return new SalonFacadeResponseDto(SalonValidationResult.SUCCESS_MESSAGE, salonId);
         } catch (SalonCreationException e) {
             return new SalonFacadeResponseDto(e.getMessage(), null);
@@ -54,6 +62,7 @@ public class SalonFacade {
 
         AddHoursResponseDto response = openingHoursFacade.addOpeningHours(openingHours, salon);
         salon.addOpeningHours(response.openingHours());
+        salonDirectory.rebuildAfterCommit();
 
         return new SalonFacadeResponseDto("success", salonId);
     }
@@ -65,18 +74,112 @@ public class SalonFacade {
     }
 
     public SalonOffersListDto getAllOffersToSalon(Long salonId) {
-        List<OfferDto> allOffers = offerFacade.getAllOffersToSalon(salonId);
+        List<OfferDto> allOffers = salonDirectory.current()
+                .map(directory -> directory.offers(salonId))
+                .orElseGet(() -> offerFacade.getAllOffersToSalon(salonId));
 
         return new SalonOffersListDto("success", allOffers);
     }
 
-    @Cacheable(value = "salons")
+    /**
+     * Everything the public salon page shows, in one call. The parts are read in parallel while read permits
+     * are free, see {@link SalonReadScope}.
+     */
+    public SalonDetailsDto getSalonDetails(Long salonId) {
+        try (SalonReadScope scope = salonReadPermits.open()) {
+            Future<Optional<SalonWithIdDto>> salon = scope.fork(() -> getSalonById(salonId));
+            Future<SalonOffersListDto> offers = scope.fork(() -> getAllOffersToSalon(salonId));
+            Future<List<ImageDto>> images = scope.fork(() -> findImagesBySalonId(salonId));
+            Future<List<EmployeeWithAllInformationDto>> employees = scope.fork(() -> employeeFacade.getAllEmployees(salonId));
+            Future<List<OpeningHoursDto>> openingHours = scope.fork(() -> getOpeningHours(salonId));
+            scope.join();
+
+            SalonWithIdDto details = salon.resultNow()
+                    .orElseThrow(() -> new SalonNotFoundException("Salon with id: " + salonId + " not found"));
+            return new SalonDetailsDto(details, offers.resultNow().offers(), images.resultNow(),
+                    employees.resultNow(), openingHours.resultNow());
+        }
+    }
+
+    /**
+     * Salons matching the filters in the requested order, starting after the given cursor or from the first one.
+     */
+    public SalonSearchPageDto searchSalons(SalonSearchDto search, String afterName, Long afterId, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        SalonSearchSort sort = search.sort() == null ? SalonSearchSort.NAME : search.sort();
+        return salonService.searchSalons(new SalonSearchDto(blankToNull(search.city()), blankToNull(search.category()),
+                search.namePrefix(), sort), afterName, afterId, pageSize);
+    }
+
     public List<SalonWithIdDto> getAllSalons() {
-        return salonService.getAllSalons();
+        return salonDirectory.current()
+                .map(SalonDirectorySnapshot::salons)
+                .orElseGet(salonService::getAllSalons);
     }
 
+    /**
+     * A salon created after the last rebuild is not in the snapshot yet and is read from the database.
+     */
     public Optional<SalonWithIdDto> getSalonById(Long id) {
-        return salonService.getSalonById(id);
+        return salonDirectory.current()
+                .flatMap(directory -> directory.salon(id))
+                .or(() -> salonService.getSalonById(id));
+    }
+
+    public List<OpeningHoursDto> getOpeningHours(Long salonId) {
+        return salonDirectory.current()
+                .map(directory -> directory.openingHours(salonId))
+                .orElseGet(() -> openingHoursFacade.getAllOpeningHoursBySalon().getOrDefault(salonId, List.of()));
+    }
+
+    /**
+     * Closest salons with a known location, nearest first; {@code category} optionally narrows the search.
+     */
+    public List<NearbySalonDto> findNearestSalons(double latitude, double longitude, Integer count, String category) {
+        checkCoordinates(latitude, longitude);
+        int limit = count == null ? DEFAULT_NEARBY_COUNT : Math.min(Math.max(count, 1), MAX_PAGE_SIZE);
+        return salonDirectory.currentOrRebuild()
+                .map(directory -> directory.toNearbySalons(
+                        directory.geoIndex().nearest(latitude, longitude, limit, blankToNull(category))))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Salons within the radius, nearest first; the radius is capped at {@value #MAX_NEARBY_RADIUS_KM} km.
+     */
+    public List<NearbySalonDto> findSalonsWithinRadius(double latitude, double longitude, double radiusKm,
+                                                       Integer count, String category) {
+        checkCoordinates(latitude, longitude);
+        if (!(radiusKm > 0)) {
+            throw new InvalidLocationException("Radius must be greater than 0 km");
+        }
+        int limit = count == null ? MAX_PAGE_SIZE : Math.min(Math.max(count, 1), MAX_PAGE_SIZE);
+        return salonDirectory.currentOrRebuild()
+                .map(directory -> directory.toNearbySalons(directory.geoIndex().within(latitude, longitude,
+                        Math.min(radiusKm, MAX_NEARBY_RADIUS_KM), limit, blankToNull(category))))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Rebuilds the catalog snapshot on the calling thread; false when the catalog could not be loaded.
+     */
+    public boolean rebuildDirectory() {
+        return salonDirectory.rebuild();
+    }
+
+    /**
+     * Salons located by the imported postcodes show up in nearby search once the queued rebuild installed them.
+     */
+    public int importPostcodes(List<PostcodeLocationDto> postcodes) {
+        int imported = salonService.importPostcodes(postcodes);
+        if (imported > 0) {
+            salonDirectory.rebuildAfterCommit();
+        }
+        return imported;
+    }
+
+    public void refreshDirectory() {
+        salonDirectory.rebuildAfterCommit();
     }
 
 
@@ -87,10 +190,13 @@ public class SalonFacade {
 //*******************************IMAGE*******************************************
     public void addImageToSalon(Long salonId, Image image) {
         Salon salon = salonService.addImageToSalon(salonId, image);
+        salonDirectory.rebuildAfterCommit();
     }
 
     public List<ImageDto> findImagesBySalonId(Long salonId) {
-        return salonService.findImagesBySalonId(salonId);
+        return salonDirectory.current()
+                .map(directory -> directory.images(salonId))
+                .orElseGet(() -> salonService.findImagesBySalonId(salonId));
 
     }
 //*******************************OWNER*******************************************
@@ -100,13 +206,34 @@ public class SalonFacade {
         return allSalons;
     }
 
-    public OwnerSalonWithAllInformation getSalonByIdToOwner(Long salonId, String email) {
-        Map<LocalDate, List<ReservationDto>> reservationDto = reservationFacade.getAllReservationBySalonId(salonId);
-        List<EmployeeWithAllInformationDto> employeeDto = employeeFacade.getAllEmployees(salonId);
-        List<OfferDto> offerDto = offerFacade.getAllOffersToSalon(salonId);
-        String salonName = salonService.getSalon(salonId).getSalonName();
+    public void checkSalonOwner(Long salonId, String email) {
+        User user = userFacade.getUserByEmail(email);
+        salonService.getSalonByIdAndCheckOwner(salonId, user);
+    }
+
+    public OwnerSalonWithAllInformation getSalonByIdToOwner(Long salonId, String email, LocalDate from, LocalDate to) {
+        try (SalonReadScope scope = salonReadPermits.open()) {
+            Future<ReservationCalendarPageDto> calendar = scope.fork(() -> reservationFacade.getSalonCalendar(salonId, from, to));
+            Future<List<EmployeeWithAllInformationDto>> employeeDto = scope.fork(() -> employeeFacade.getAllEmployees(salonId));
+            Future<List<OfferDto>> offerDto = scope.fork(() -> offerFacade.getAllOffersToSalon(salonId));
+            Future<String> salonName = scope.fork(() -> salonService.getSalon(salonId).getSalonName());
+            scope.join();
+
+            ReservationCalendarPageDto reservations = calendar.resultNow();
+            return new OwnerSalonWithAllInformation(reservations.reservations(), employeeDto.resultNow(),
+                    offerDto.resultNow(), salonName.resultNow(), reservations.from(), reservations.to(),
+                    reservations.nextFrom());
+        }
+    }
+
+    private static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidLocationException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
 
-        return new OwnerSalonWithAllInformation(reservationDto, employeeDto, offerDto, salonName);
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
     }
 }
 
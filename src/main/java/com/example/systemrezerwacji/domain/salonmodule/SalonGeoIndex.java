@@ -0,0 +1,272 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable spatial index over salon locations answering nearest and radius queries. Every location is a
+ * point on the unit sphere kept in a balanced 3-d tree laid out in flat arrays. Straight-line (chord) distance
+ * between two such points orders them exactly like the great-circle distance, so the tree is searched by chord
+ * length without trigonometry and only the returned hits are converted to kilometres. Unlike a tree over raw
+ * latitude and longitude this stays correct across the antimeridian and near the poles.
+ * <p>
+ * Besides the tree over all salons there is one tree per category, so a filtered query never visits salons
+ * of other categories.
+ */
+final class SalonGeoIndex {
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final KdTree all;
+    private final Map<String, KdTree> byCategory;
+
+    private SalonGeoIndex(KdTree all, Map<String, KdTree> byCategory) {
+        this.all = all;
+        this.byCategory = byCategory;
+    }
+
+    static SalonGeoIndex of(Collection<SalonLocationDto> locations) {
+        Map<String, KdTree> byCategory = new HashMap<>();
+        locations.stream()
+                .filter(location -> location.category() != null)
+                .collect(Collectors.groupingBy(location -> categoryKey(location.category())))
+                .forEach((category, inCategory) -> byCategory.put(category, new KdTree(inCategory)));
+        return new SalonGeoIndex(new KdTree(List.copyOf(locations)), Map.copyOf(byCategory));
+    }
+
+    int size() {
+        return all.size();
+    }
+
+    /**
+     * The {@code count} salons closest to the point, nearest first.
+     */
+    List<SalonDistance> nearest(double latitude, double longitude, int count, @Nullable String category) {
+        return search(latitude, longitude, count, Double.POSITIVE_INFINITY, category);
+    }
+
+    /**
+     * Salons at most {@code radiusKm} away from the point, nearest first and at most {@code limit} of them.
+     */
+    List<SalonDistance> within(double latitude, double longitude, double radiusKm, int limit,
+                               @Nullable String category) {
+        double chord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        return search(latitude, longitude, limit, chord * chord, category);
+    }
+
+    private List<SalonDistance> search(double latitude, double longitude, int limit, double maxSquaredChord,
+                                       @Nullable String category) {
+        KdTree tree = category == null ? all : byCategory.get(categoryKey(category));
+        if (tree == null || tree.size() == 0 || limit <= 0) {
+            return List.of();
+        }
+        double[] query = new double[3];
+        toUnitVector(latitude, longitude, query, 0);
+        Neighbours found = new Neighbours(Math.min(limit, tree.size()), maxSquaredChord);
+        tree.search(query, found);
+        return found.toDistances(tree);
+    }
+
+    private static String categoryKey(String category) {
+        return category.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[] target, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        target[offset] = cosLat * Math.cos(lon);
+        target[offset + 1] = cosLat * Math.sin(lon);
+        target[offset + 2] = Math.sin(lat);
+    }
+
+    private static double toKilometres(double squaredChord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(squaredChord) / 2));
+    }
+
+    record SalonDistance(long salonId, double distanceKm) {
+    }
+
+    /**
+     * Balanced tree stored implicitly: the node of the range {@code [lo, hi)} sits at its middle, the left
+     * subtree in {@code [lo, mid)} and the right one in {@code (mid, hi)}, split on x, y and z in turn.
+     */
+    private static final class KdTree {
+        private final long[] ids;
+        private final double[] points;
+
+        KdTree(List<SalonLocationDto> locations) {
+            int size = locations.size();
+            double[] unordered = new double[3 * size];
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                SalonLocationDto location = locations.get(i);
+                toUnitVector(location.latitude(), location.longitude(), unordered, 3 * i);
+                order[i] = i;
+            }
+            build(order, unordered, 0, size, 0);
+
+            ids = new long[size];
+            points = new double[3 * size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = locations.get(order[i]).salonId();
+                System.arraycopy(unordered, 3 * order[i], points, 3 * i, 3);
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        void search(double[] query, Neighbours found) {
+            search(0, ids.length, 0, query, found);
+        }
+
+        private void search(int lo, int hi, int axis, double[] query, Neighbours found) {
+            int mid = (lo + hi) >>> 1;
+            int point = 3 * mid;
+            double dx = query[0] - points[point];
+            double dy = query[1] - points[point + 1];
+            double dz = query[2] - points[point + 2];
+            found.offer(mid, dx * dx + dy * dy + dz * dz);
+
+            double diff = query[axis] - points[point + axis];
+            int next = axis == 2 ? 0 : axis + 1;
+            if (diff < 0) {
+                if (lo < mid) {
+                    search(lo, mid, next, query, found);
+                }
+                if (mid + 1 < hi && diff * diff <= found.bound()) {
+                    search(mid + 1, hi, next, query, found);
+                }
+            } else {
+                if (mid + 1 < hi) {
+                    search(mid + 1, hi, next, query, found);
+                }
+                if (lo < mid && diff * diff <= found.bound()) {
+                    search(lo, mid, next, query, found);
+                }
+            }
+        }
+
+        private static void build(int[] order, double[] coordinates, int lo, int hi, int axis) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(order, coordinates, lo, hi - 1, mid, axis);
+            int next = axis == 2 ? 0 : axis + 1;
+            build(order, coordinates, lo, mid, next);
+            build(order, coordinates, mid + 1, hi, next);
+        }
+
+        /**
+         * Quickselect: afterwards {@code order[k]} is the k-th point along the axis, with no larger point
+         * before it and no smaller point after it.
+         */
+        private static void select(int[] order, double[] coordinates, int lo, int hi, int k, int axis) {
+            while (lo < hi) {
+                double pivot = coordinates[3 * order[(lo + hi) >>> 1] + axis];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (coordinates[3 * order[i] + axis] < pivot) {
+                        i++;
+                    }
+                    while (coordinates[3 * order[j] + axis] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int swapped = order[i];
+                        order[i++] = order[j];
+                        order[j--] = swapped;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounded max-heap of the best nodes seen so far, keyed by squared chord length. Until it is full the
+     * search radius is the optional distance cap, afterwards the distance of the worst node kept.
+     */
+    private static final class Neighbours {
+        private final int[] nodes;
+        private final double[] distances;
+        private final double maxDistance;
+        private int size;
+
+        Neighbours(int capacity, double maxDistance) {
+            this.nodes = new int[capacity];
+            this.distances = new double[capacity];
+            this.maxDistance = maxDistance;
+        }
+
+        double bound() {
+            return size < nodes.length ? maxDistance : distances[0];
+        }
+
+        void offer(int node, double distance) {
+            if (distance > maxDistance) {
+                return;
+            }
+            if (size < nodes.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    nodes[i] = nodes[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                nodes[i] = node;
+                distances[i] = distance;
+            } else if (distance < distances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    nodes[i] = nodes[child];
+                    distances[i] = distances[child];
+                    i = child;
+                }
+                nodes[i] = node;
+                distances[i] = distance;
+            }
+        }
+
+        List<SalonDistance> toDistances(KdTree tree) {
+            List<SalonDistance> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new SalonDistance(tree.ids[nodes[i]], toKilometres(distances[i])));
+            }
+            result.sort(Comparator.comparingDouble(SalonDistance::distanceKm));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps how many salon page reads run on forked threads at once across all requests. Every forked read holds
+ * its own database connection, so the cap is half of the connection pool; the other half stays free for the
+ * request threads and the rest of the application.
+ */
+@Component
+class SalonReadPermits {
+    private final Semaphore permits;
+
+    SalonReadPermits(@Value("${spring.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.permits = new Semaphore(Math.max(1, maximumPoolSize / 2));
+    }
+
+    SalonReadScope open() {
+        return new SalonReadScope(permits);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the independent reads behind one salon page side by side, each on its own virtual thread, and
+ * joins them before the page is assembled. A read is only forked while one of the shared permits is free,
+ * otherwise it runs right away on the calling thread, so under load a page falls back to sequential reads
+ * instead of taking the whole connection pool. The first read that fails cancels the others and its exception is
+ * rethrown as is, so callers see the same {@code SalonNotFoundException} a sequential read would throw.
+ * Closing the scope waits for every forked thread, none of them outlives the request.
+ * <p>
+ * A forked read does not see the request's open session, so it has to load everything it returns inside its
+ * own transaction.
+ */
+final class SalonReadScope implements AutoCloseable {
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("salon-read-", 0).factory());
+    private final CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+    private final Semaphore permits;
+    private int forked;
+
+    SalonReadScope(Semaphore permits) {
+        this.permits = permits;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Future<T> fork(Callable<? extends T> read) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(readInline(read));
+        }
+        forked++;
+        return (Future<T>) completion.submit(() -> {
+            try {
+                return read.call();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Waits until every forked read finished; afterwards their results are available through
+     * {@link Future#resultNow()}.
+     */
+    void join() {
+        try {
+            for (int i = 0; i < forked; i++) {
+                Future<Object> done = completion.take();
+                if (done.state() == Future.State.FAILED) {
+                    executor.shutdownNow();
+                    throw rethrow(done.exceptionNow());
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading salon details", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+
+    private static <T> T readInline(Callable<? extends T> read) {
+        try {
+            return read.call();
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Could not load salon details", failure);
+    }
+}
@@ -1,12 +1,35 @@
 package com.example.systemrezerwacji.domain.salonmodule;
 
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
 import com.example.systemrezerwacji.domain.usermodule.User;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface SalonRepository extends CrudRepository<Salon, Long> {
+public interface SalonRepository extends CrudRepository<Salon, Long>, SalonSearchRepository {
     List<Salon> getSalonsByUser(User user);
+
+    List<Salon> findByLatitudeIsNullAndZipCodeIsNotNull();
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto(
+                cast(s.id as String), s.salonName, s.category, s.city, s.zipCode, s.street, s.number,
+                cast(s.user.id as String))
+            from Salon s
+            order by s.id
+            """)
+    List<SalonWithIdDto> findCatalog();
+
+    @Query("""
+            select new com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto(
+                s.id, s.category, s.latitude, s.longitude)
+            from Salon s
+            where s.latitude is not null
+              and s.longitude is not null
+            """)
+    List<SalonLocationDto> findCatalogLocations();
 }
@@ -0,0 +1,18 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * Salon search with optional filters. A filter that is not set is left out of the query instead of being
+ * switched off by a null check, so every filter that is set reaches the database as a plain, index-friendly
+ * condition, whatever plan the statement gets.
+ */
+interface SalonSearchRepository {
+    List<SalonWithIdDto> searchByName(String city, String category, String namePrefix, String afterName,
+                                      Long afterId, Limit limit);
+
+    List<SalonWithIdDto> searchNewest(String city, String category, String namePrefix, Long beforeId, Limit limit);
+}
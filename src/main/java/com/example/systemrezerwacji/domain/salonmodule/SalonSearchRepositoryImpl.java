@@ -0,0 +1,79 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class SalonSearchRepositoryImpl implements SalonSearchRepository {
+    private static final String SELECT = """
+            select new com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto(
+                cast(s.id as String), s.salonName, s.category, s.city, s.zipCode, s.street, s.number,
+                cast(s.user.id as String))
+            from Salon s
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SalonWithIdDto> searchByName(String city, String category, String namePrefix, String afterName,
+                                             Long afterId, Limit limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = filters(city, category, namePrefix, parameters);
+        if (afterId != null) {
+            conditions.add("s.salonName >= :afterName and (s.salonName > :afterName or s.id > :afterId)");
+            parameters.put("afterName", afterName);
+            parameters.put("afterId", afterId);
+        }
+        return search(conditions, parameters, "s.salonName, s.id", limit);
+    }
+
+    @Override
+    public List<SalonWithIdDto> searchNewest(String city, String category, String namePrefix, Long beforeId,
+                                             Limit limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = filters(city, category, namePrefix, parameters);
+        if (beforeId != null) {
+            conditions.add("s.id < :beforeId");
+            parameters.put("beforeId", beforeId);
+        }
+        return search(conditions, parameters, "s.id desc", limit);
+    }
+
+    private static List<String> filters(String city, String category, String namePrefix,
+                                        Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (city != null) {
+            conditions.add("s.city = :city");
+            parameters.put("city", city);
+        }
+        if (category != null) {
+            conditions.add("s.category = :category");
+            parameters.put("category", category);
+        }
+        if (namePrefix != null) {
+            conditions.add("lower(s.salonName) like :namePrefix escape '\\'");
+            parameters.put("namePrefix", namePrefix);
+        }
+        return conditions;
+    }
+
+    private List<SalonWithIdDto> search(List<String> conditions, Map<String, Object> parameters, String orderBy,
+                                        Limit limit) {
+        String where = conditions.isEmpty() ? "" : "where " + String.join("\n  and ", conditions) + "\n";
+        TypedQuery<SalonWithIdDto> query = entityManager.createQuery(
+                SELECT + where + "order by " + orderBy, SalonWithIdDto.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+}
@@ -2,15 +2,25 @@ package com.example.systemrezerwacji.domain.salonmodule;
 
 import com.example.systemrezerwacji.domain.salonmodule.dto.CreateNewSalonDto;
 import com.example.systemrezerwacji.domain.salonmodule.dto.ImageDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.PostcodeLocationDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonSearchDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonSearchPageDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonSearchSort;
 import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidCursorException;
 import com.example.systemrezerwacji.domain.salonmodule.exception.SalonNotFoundException;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.usermodule.exception.InvalidOwnerException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -21,11 +31,14 @@ class SalonService {
     private final SalonRepository salonRepository;
     private final MaperSalonToSalonWithIdDto mapper;
     private final ImageRepository imageRepository;
+    private final PostcodeLocationRepository postcodeLocationRepository;
 
-    SalonService(SalonRepository salonRepository, MaperSalonToSalonWithIdDto mapper, ImageRepository imageRepository) {
+    SalonService(SalonRepository salonRepository, MaperSalonToSalonWithIdDto mapper, ImageRepository imageRepository,
+                 PostcodeLocationRepository postcodeLocationRepository) {
         this.salonRepository = salonRepository;
         this.mapper = mapper;
         this.imageRepository = imageRepository;
+        this.postcodeLocationRepository = postcodeLocationRepository;
         log.info("SalonService initialized");
     }
 
@@ -40,6 +53,7 @@ class SalonService {
                 .addNumber(salonDto.number())
                 .addUser(user)
                 .build();
+        geocode(salon, salonDto.zipCode());
         salonRepository.save(salon);
         log.info("Salon created with id: {}", salon.getId());
         return salon.getId();
@@ -97,6 +111,90 @@ class SalonService {
     }
 
 
+    List<SalonWithIdDto> getCatalogSalons() {
+        log.debug("Loading salon catalog");
+        return salonRepository.findCatalog();
+    }
+
+    /**
+     * One page of matching salons; one row more than the page is read to tell whether another page follows.
+     */
+    SalonSearchPageDto searchSalons(SalonSearchDto search, String afterName, Long afterId, int size) {
+        log.debug("Searching salons by {} after ({}, {})", search, afterName, afterId);
+        boolean byName = search.sort() != SalonSearchSort.NEWEST;
+        if (afterName != null && afterId == null || byName && afterName == null && afterId != null) {
+            throw new InvalidCursorException("Search cursor must carry both afterName and afterId");
+        }
+        Limit limit = Limit.of(size + 1);
+        String namePrefix = namePattern(search.namePrefix());
+        List<SalonWithIdDto> salons = byName
+                ? salonRepository.searchByName(search.city(), search.category(), namePrefix, afterName, afterId, limit)
+                : salonRepository.searchNewest(search.city(), search.category(), namePrefix, afterId, limit);
+
+        if (salons.size() <= size) {
+            return new SalonSearchPageDto(salons, null, null);
+        }
+        List<SalonWithIdDto> page = salons.subList(0, size);
+        SalonWithIdDto last = page.get(size - 1);
+        return new SalonSearchPageDto(page, byName ? last.salonName() : null,
+                Long.valueOf(last.id()));
+    }
+
+    List<SalonLocationDto> getCatalogLocations() {
+        log.debug("Loading locations of the salon catalog");
+        return salonRepository.findCatalogLocations();
+    }
+
+    Map<Long, List<ImageDto>> getCatalogImages() {
+        log.debug("Loading image metadata of the salon catalog");
+        return imageRepository.findCatalogImages().stream()
+                .collect(Collectors.groupingBy(ImageDto::salonId));
+    }
+
+    /**
+     * Fills an empty postcode table and geocodes the salons created while their postcode was unknown; returns
+     * the number of postcodes imported, 0 when the table was already filled.
+     */
+    int importPostcodes(List<PostcodeLocationDto> postcodes) {
+        if (postcodeLocationRepository.count() > 0) {
+            log.info("Postcode locations already imported, skipping {} postcodes", postcodes.size());
+            return 0;
+        }
+        postcodeLocationRepository.saveAll(postcodes.stream()
+                .map(postcode -> new PostcodeLocation(postcode.zipCode(), postcode.latitude(), postcode.longitude()))
+                .toList());
+        List<Salon> located = new ArrayList<>();
+        for (Salon salon : salonRepository.findByLatitudeIsNullAndZipCodeIsNotNull()) {
+            postcodeLocationRepository.findByZipCode(salon.getZipCode().strip()).ifPresent(location -> {
+                salon.locate(location);
+                located.add(salon);
+            });
+        }
+        salonRepository.saveAll(located);
+        log.info("Imported {} postcode locations, geocoded {} salons", postcodes.size(), located.size());
+        return postcodes.size();
+    }
+
+    private void geocode(Salon salon, String zipCode) {
+        if (zipCode == null || zipCode.isBlank()) {
+            return;
+        }
+        postcodeLocationRepository.findByZipCode(zipCode.strip())
+                .ifPresentOrElse(salon::locate,
+                        () -> log.warn("No location known for zip code: {}, salon will not show up in nearby search", zipCode));
+    }
+
+    private static String namePattern(String namePrefix) {
+        if (namePrefix == null || namePrefix.isBlank()) {
+            return null;
+        }
+        String escaped = namePrefix.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
     public List<SalonWithIdDto> getAllSalons(User user) {
         log.debug("Fetching all salons for user id: {}", user.getId());
         List<Salon> salonsByUser = salonRepository.getSalonsByUser(user);
@@ -0,0 +1,5 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+public record NearbySalonDto(SalonWithIdDto salon,
+                             double distanceKm) {
+}
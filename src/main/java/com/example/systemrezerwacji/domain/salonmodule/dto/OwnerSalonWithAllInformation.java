@@ -8,5 +8,6 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
-public record OwnerSalonWithAllInformation(Map<LocalDate, List<ReservationDto>> reservationDto, List<EmployeeWithAllInformationDto> employeeDto, List<OfferDto> offerDto, String salonName) {
+public record OwnerSalonWithAllInformation(Map<LocalDate, List<ReservationDto>> reservationDto, List<EmployeeWithAllInformationDto> employeeDto, List<OfferDto> offerDto, String salonName,
+                                           LocalDate reservationsFrom, LocalDate reservationsTo, LocalDate nextReservationsFrom) {
 }
@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+public record PostcodeLocationDto(String zipCode,
+                                  double latitude,
+                                  double longitude) {
+}
@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeWithAllInformationDto;
+import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
+import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
+
+import java.util.List;
+
+public record SalonDetailsDto(SalonWithIdDto salon,
+                              List<OfferDto> offers,
+                              List<ImageDto> images,
+                              List<EmployeeWithAllInformationDto> employees,
+                              List<OpeningHoursDto> openingHours) {
+}
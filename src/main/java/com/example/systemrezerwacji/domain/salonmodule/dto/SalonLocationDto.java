@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+public record SalonLocationDto(Long salonId,
+                               String category,
+                               double latitude,
+                               double longitude) {
+}
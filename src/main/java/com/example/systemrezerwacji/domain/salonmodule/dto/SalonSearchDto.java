@@ -0,0 +1,12 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Filters left null are not applied; {@code namePrefix} matches the start of the salon name, ignoring case.
+ */
+public record SalonSearchDto(@Nullable String city,
+                             @Nullable String category,
+                             @Nullable String namePrefix,
+                             SalonSearchSort sort) {
+}
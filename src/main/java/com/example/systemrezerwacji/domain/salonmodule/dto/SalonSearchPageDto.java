@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * The next page starts after {@code (nextAfterName, nextAfterId)}; sorted by newest only the id is used.
+ * {@code nextAfterId} is null on the last page.
+ */
+public record SalonSearchPageDto(List<SalonWithIdDto> salons,
+                                 @Nullable String nextAfterName,
+                                 @Nullable Long nextAfterId) {
+}
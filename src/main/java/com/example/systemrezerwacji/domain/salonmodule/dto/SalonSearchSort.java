@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.salonmodule.dto;
+
+public enum SalonSearchSort {
+    NAME,
+    NEWEST
+}
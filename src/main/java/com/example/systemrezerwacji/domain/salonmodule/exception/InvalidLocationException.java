@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.domain.salonmodule.exception;
+
+public class InvalidLocationException extends RuntimeException {
+    public InvalidLocationException(String message) {
+        super(message);
+    }
+}
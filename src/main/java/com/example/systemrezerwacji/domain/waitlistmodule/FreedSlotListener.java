@@ -0,0 +1,42 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangeType;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangedEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Offers time freed by a cancelled or moved reservation to the waitlist once the change is committed. Runs
+ * before the other listeners, so the slot streams already see the holds it made.
+ */
+@Component
+class FreedSlotListener {
+    private static final Logger log = LogManager.getLogger(FreedSlotListener.class);
+
+    private final WaitlistFacade waitlistFacade;
+
+    FreedSlotListener(WaitlistFacade waitlistFacade) {
+        this.waitlistFacade = waitlistFacade;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    void onSlotChanged(SlotChangedEvent event) {
+        if (event.type() != SlotChangeType.FREED) {
+            return;
+        }
+        try {
+            int holds = waitlistFacade.offerFreedSlot(event.salonId(), event.employeeId(), event.start(), event.end());
+            if (holds > 0) {
+                log.info("Held {} freed terms of employeeId: {} on {} for the waitlist", holds, event.employeeId(), event.date());
+            }
+        } catch (RuntimeException e) {
+            // the cancellation is committed already; the term stays bookable for everyone
+            log.error("Could not offer freed term of employeeId: {} to the waitlist", event.employeeId(), e);
+        }
+    }
+}
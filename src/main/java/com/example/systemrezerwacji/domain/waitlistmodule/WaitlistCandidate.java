@@ -0,0 +1,30 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * What the matcher needs of a waiting entry; the daily window is kept in minutes of the day.
+ */
+record WaitlistCandidate(Long id,
+                         Long salonId,
+                         Long offerId,
+                         Long employeeId,
+                         String email,
+                         LocalDate dateFrom,
+                         LocalDate dateTo,
+                         int windowStart,
+                         int windowEnd,
+                         LocalDateTime createdAt) {
+
+    static WaitlistCandidate of(WaitlistEntry entry) {
+        return new WaitlistCandidate(entry.getId(), entry.getSalonId(), entry.getOfferId(), entry.getEmployeeId(),
+                entry.getEmail(), entry.getDateFrom(), entry.getDateTo(),
+                entry.getWindowStart().toSecondOfDay() / 60, entry.getWindowEnd().toSecondOfDay() / 60,
+                entry.getCreatedAt());
+    }
+
+    boolean anyEmployee() {
+        return employeeId == null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A customer waiting for any free term of an offer between two dates and inside a daily time window.
+ * Without an employee any employee of the salon who performs the offer will do. Once a term is found the
+ * entry holds it for a short while and the customer is told to book it.
+ */
+@Entity
+@Getter
+@Table(name = "waitlist_entry",
+        indexes = {
+                @Index(name = "idx_waitlist_entry_status_date_to", columnList = "status, date_to"),
+                @Index(name = "idx_waitlist_entry_waiting", columnList = "salon_id, date_from"),
+                @Index(name = "idx_waitlist_entry_hold", columnList = "hold_employee_id, hold_start")
+        })
+class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long salonId;
+
+    @Column(nullable = false)
+    private Long offerId;
+
+    private Long employeeId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "date_from", nullable = false)
+    private LocalDate dateFrom;
+
+    @Column(name = "date_to", nullable = false)
+    private LocalDate dateTo;
+
+    @Column(nullable = false)
+    private LocalTime windowStart;
+
+    @Column(nullable = false)
+    private LocalTime windowEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "hold_employee_id")
+    private Long holdEmployeeId;
+
+    @Column(name = "hold_start")
+    private LocalDateTime holdStart;
+
+    private LocalDateTime holdEnd;
+
+    private LocalDateTime holdUntil;
+
+    WaitlistEntry(Long salonId, Long offerId, Long employeeId, String email, LocalDate dateFrom, LocalDate dateTo,
+                  LocalTime windowStart, LocalTime windowEnd) {
+        this.salonId = salonId;
+        this.offerId = offerId;
+        this.employeeId = employeeId;
+        this.email = email;
+        this.dateFrom = dateFrom;
+        this.dateTo = dateTo;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.status = WaitlistStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    protected WaitlistEntry() {
+    }
+
+    void cancel() {
+        this.status = WaitlistStatus.CANCELLED;
+    }
+
+    void fulfil() {
+        this.status = WaitlistStatus.FULFILLED;
+    }
+
+    void expire() {
+        this.status = WaitlistStatus.EXPIRED;
+    }
+
+    boolean isOpen() {
+        return status == WaitlistStatus.WAITING || status == WaitlistStatus.HELD;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+enum WaitlistError {
+
+    EMPTY_OFFER_ID("Offer id cannot be empty"),
+    INVALID_EMAIL("Email format is invalid"),
+    EMPTY_DATES("Dates cannot be empty"),
+    INVALID_DATES("Date to cannot be before date from"),
+    PAST_DATE("Date cannot be in the past"),
+    RANGE_TOO_LONG("Date range is too long"),
+    INVALID_WINDOW("Time window end has to be after its start"),
+    EMPLOYEE_WITHOUT_OFFER("Employee does not perform this offer"),
+    ENTRY_NOT_FOUND("Waitlist entry not found");
+
+    final String message;
+
+    WaitlistError(String message) {
+        this.message = message;
+    }
+
+    String getMessage() {
+        return message;
+    }
+}
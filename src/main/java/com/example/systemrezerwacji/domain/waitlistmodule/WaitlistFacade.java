@@ -0,0 +1,241 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
+import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.AvailableDatesReservationDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.dto.CreateWaitlistEntryDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.response.WaitlistFacadeResponse;
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class WaitlistFacade {
+    private static final String SUCCESS = "success";
+
+    private final OfferFacade offerFacade;
+    private final EmployeeFacade employeeFacade;
+    private final ReservationFacade reservationFacade;
+    private final NotificationFacade notificationFacade;
+    private final WaitlistService waitlistService;
+    private final VersionStamps versionStamps;
+    private final Duration hold;
+
+    public WaitlistFacade(@Lazy OfferFacade offerFacade,
+                          @Lazy EmployeeFacade employeeFacade,
+                          @Lazy ReservationFacade reservationFacade,
+                          @Lazy NotificationFacade notificationFacade,
+                          WaitlistService waitlistService,
+                          VersionStamps versionStamps,
+                          @Value("${waitlist.hold:PT15M}") Duration hold) {
+        this.offerFacade = offerFacade;
+        this.employeeFacade = employeeFacade;
+        this.reservationFacade = reservationFacade;
+        this.notificationFacade = notificationFacade;
+        this.waitlistService = waitlistService;
+        this.versionStamps = versionStamps;
+        this.hold = hold;
+    }
+
+    @Transactional
+    public WaitlistFacadeResponse register(CreateWaitlistEntryDto dto) {
+        Optional<String> error = waitlistService.validate(dto);
+        if (error.isPresent()) {
+            return new WaitlistFacadeResponse(false, error.get(), null);
+        }
+        Offer offer = offerFacade.getOffer(dto.offerId());
+        if (dto.employeeId() != null && !employeesOf(dto.offerId()).contains(dto.employeeId())) {
+            return new WaitlistFacadeResponse(false, WaitlistError.EMPLOYEE_WITHOUT_OFFER.getMessage(), null);
+        }
+        WaitlistEntry entry = waitlistService.register(offer.getSalon().getId(), dto);
+        return new WaitlistFacadeResponse(true, SUCCESS, entry.getId());
+    }
+
+    @Transactional
+    public WaitlistFacadeResponse cancel(Long entryId, String email) {
+        Optional<WaitlistEntry> cancelled = waitlistService.cancel(entryId, email);
+        if (cancelled.isEmpty()) {
+            return new WaitlistFacadeResponse(false, WaitlistError.ENTRY_NOT_FOUND.getMessage(), entryId);
+        }
+        WaitlistEntry entry = cancelled.get();
+        if (entry.getHoldEmployeeId() != null) {
+            versionStamps.bumpEmployeeDay(entry.getHoldEmployeeId(), entry.getHoldStart().toLocalDate());
+        }
+        return new WaitlistFacadeResponse(true, SUCCESS, entryId);
+    }
+
+    /**
+     * Whether part of {@code [start, end)} is held for another waitlisted customer. Called by the booking
+     * while it holds the lock of the employee's day.
+     */
+    public boolean isSlotHeldForOthers(Long employeeId, LocalDateTime start, LocalDateTime end, String email) {
+        return waitlistService.isHeldForOthers(employeeId, start, end, email);
+    }
+
+    /**
+     * Terms of the employees' day held for waitlisted customers, by employee. Nobody but the waiting customer
+     * can book them, so the availability reads treat them as busy.
+     */
+    public Map<Long, List<AvailableTermDto>> getHeldTerms(Collection<Long> employeeIds, LocalDate date) {
+        return waitlistService.getHeldTerms(employeeIds, date);
+    }
+
+    /**
+     * Terms of the employee between {@code from} and {@code to} held for waitlisted customers.
+     */
+    public List<AvailableTermWithDateDto> getHeldTerms(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return waitlistService.getHeldTerms(employeeId, from, to);
+    }
+
+    /**
+     * Terms between {@code from} and {@code to} held for waitlisted customers other than the given one.
+     */
+    public List<AvailableTermWithDateDto> getTermsHeldForOthers(Long employeeId, LocalDateTime from, LocalDateTime to,
+                                                                String email) {
+        return waitlistService.getHeldTermsOfOthers(employeeId, from, to, email);
+    }
+
+    /**
+     * Closes the customer's holds the booking of {@code [start, end)} used up.
+     */
+    @Transactional
+    public int completeHold(Long employeeId, LocalDateTime start, LocalDateTime end, String email) {
+        return waitlistService.completeHolds(employeeId, start, end, email);
+    }
+
+    /**
+     * Holds terms inside the freed time for the first waiting customers they suit and queues a notification for
+     * each of them. Runs in its own transaction under the lock of the employee's day, so it cannot race a booking.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int offerFreedSlot(Long salonId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        return holdFreedTime(salonId, employeeId, start, end);
+    }
+
+    /**
+     * Expires holds nobody booked and offers their terms to the next customers in line. Each hold is released in
+     * its own transaction under the lock of its employee's day, taken the way a booking takes it, so a run never
+     * holds the locks of several days at once.
+     */
+    public int releaseExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        for (WaitlistEntry entry : waitlistService.findExpiredHolds(now)) {
+            if (reservationFacade.callWithEmployeeDayLocked(entry.getHoldEmployeeId(), entry.getHoldStart().toLocalDate(),
+                    () -> releaseHold(entry.getId(), now))) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    @Transactional
+    public int expireOutdatedEntries() {
+        return waitlistService.expireOutdated(LocalDate.now());
+    }
+
+/*****************************Private Method *********************************/
+
+    /**
+     * The hold is read again under the lock; the customer may have booked it since the expired holds were listed.
+     */
+    private boolean releaseHold(Long entryId, LocalDateTime now) {
+        Optional<WaitlistEntry> expired = waitlistService.expireHold(entryId, now);
+        expired.ifPresent(entry -> {
+            versionStamps.bumpEmployeeDay(entry.getHoldEmployeeId(), entry.getHoldStart().toLocalDate());
+            holdFreedTime(entry.getSalonId(), entry.getHoldEmployeeId(), entry.getHoldStart(), entry.getHoldEnd());
+        });
+        return expired.isPresent();
+    }
+
+    private int holdFreedTime(Long salonId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!end.isAfter(now)) {
+            return 0;
+        }
+        LocalDate date = start.toLocalDate();
+        reservationFacade.lockEmployeeDay(employeeId, date);
+        List<WaitlistCandidate> candidates = waitlistService.findCandidates(salonId, employeeId, start, end);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<AvailableTermDto> heldTerms = waitlistService.getHeldTerms(employeeId, date);
+        Map<Long, Set<Long>> employeesByOffer = new HashMap<>();
+        Map<Long, List<AvailableTermDto>> freeTermsByOffer = new HashMap<>();
+        LocalTime freedStart = start.toLocalTime();
+        LocalTime freedEnd = end.toLocalDate().isAfter(date) ? LocalTime.MAX : end.toLocalTime();
+        int holds = 0;
+
+        for (WaitlistCandidate candidate : candidates) {
+            if (candidate.anyEmployee()
+                    && !employeesByOffer.computeIfAbsent(candidate.offerId(), this::employeesOf).contains(employeeId)) {
+                continue;
+            }
+            List<AvailableTermDto> freeTerms = freeTermsByOffer.computeIfAbsent(candidate.offerId(),
+                    offerId -> employeeFacade.getAvailableHours(new AvailableDatesReservationDto(date, employeeId, offerId)));
+            Optional<AvailableTermDto> term = freeTerms.stream()
+                    .filter(free -> fitsWindow(candidate, free))
+                    .filter(free -> overlaps(free, freedStart, freedEnd))
+                    .filter(free -> heldTerms.stream().noneMatch(held -> overlaps(free, held.startServices(), held.endServices())))
+                    .findFirst();
+            if (term.isEmpty()) {
+                continue;
+            }
+
+            LocalDateTime holdStart = date.atTime(term.get().startServices());
+            LocalDateTime holdEnd = date.atTime(term.get().endServices());
+            LocalDateTime holdUntil = now.plus(hold);
+            if (waitlistService.hold(candidate, employeeId, holdStart, holdEnd, holdUntil)) {
+                heldTerms.add(term.get());
+                versionStamps.bumpEmployeeDay(employeeId, date);
+                queueHoldNotification(candidate, holdStart, holdUntil);
+                holds++;
+            }
+        }
+        return holds;
+    }
+
+    private Set<Long> employeesOf(Long offerId) {
+        return employeeFacade.getEmployeesToOffer(offerId).stream()
+                .map(EmployeeToOfferDto::employeeId)
+                .collect(Collectors.toSet());
+    }
+
+    private void queueHoldNotification(WaitlistCandidate candidate, LocalDateTime holdStart, LocalDateTime holdUntil) {
+        Offer offer = offerFacade.getOffer(candidate.offerId());
+        notificationFacade.queueWaitlistHoldEmail(candidate.email(), offer.getName(), holdStart,
+                offer.getSalon().getSalonName(), holdUntil);
+    }
+
+    private static boolean fitsWindow(WaitlistCandidate candidate, AvailableTermDto term) {
+        int start = term.startServices().toSecondOfDay() / 60;
+        int end = term.endServices().toSecondOfDay() / 60;
+        return start >= candidate.windowStart() && end <= candidate.windowEnd() && end > start;
+    }
+
+    private static boolean overlaps(AvailableTermDto term, LocalTime start, LocalTime end) {
+        return term.startServices().isBefore(end) && term.endServices().isAfter(start);
+    }
+}
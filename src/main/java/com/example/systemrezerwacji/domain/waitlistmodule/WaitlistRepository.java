@@ -0,0 +1,98 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+interface WaitlistRepository extends CrudRepository<WaitlistEntry, Long> {
+
+    /**
+     * Waiting entries of the salon that accept the employee on {@code date} and whose daily window overlaps
+     * {@code [from, to)}, first registered first.
+     */
+    @Query("""
+            select w from WaitlistEntry w
+            where w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.WAITING
+              and w.salonId = :salonId
+              and (w.employeeId is null or w.employeeId = :employeeId)
+              and w.dateFrom <= :date
+              and w.dateTo >= :date
+              and w.windowStart < :to
+              and w.windowEnd > :from
+            order by w.createdAt, w.id
+            """)
+    List<WaitlistEntry> findCandidates(@Param("salonId") Long salonId,
+                                       @Param("employeeId") Long employeeId,
+                                       @Param("date") LocalDate date,
+                                       @Param("from") LocalTime from,
+                                       @Param("to") LocalTime to);
+
+    /**
+     * Holds a term for the entry only if it is still waiting, so a cancellation racing the matcher wins.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update WaitlistEntry w
+            set w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.HELD,
+                w.holdEmployeeId = :employeeId, w.holdStart = :start, w.holdEnd = :end, w.holdUntil = :holdUntil
+            where w.id = :id
+              and w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.WAITING
+            """)
+    int hold(@Param("id") Long id,
+             @Param("employeeId") Long employeeId,
+             @Param("start") LocalDateTime start,
+             @Param("end") LocalDateTime end,
+             @Param("holdUntil") LocalDateTime holdUntil);
+
+    @Query("""
+            select w from WaitlistEntry w
+            where w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.HELD
+              and w.holdEmployeeId = :employeeId
+              and w.holdStart < :to
+              and w.holdEnd > :from
+              and w.holdUntil > :now
+            """)
+    List<WaitlistEntry> findActiveHolds(@Param("employeeId") Long employeeId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("now") LocalDateTime now);
+
+    @Query("""
+            select w from WaitlistEntry w
+            where w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.HELD
+              and w.holdEmployeeId in :employeeIds
+              and w.holdStart < :to
+              and w.holdEnd > :from
+              and w.holdUntil > :now
+            """)
+    List<WaitlistEntry> findActiveHoldsOfEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("now") LocalDateTime now);
+
+    @Query("""
+            select w from WaitlistEntry w
+            where w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.HELD
+              and w.holdUntil <= :now
+            order by w.holdUntil, w.id
+            """)
+    List<WaitlistEntry> findExpiredHolds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update WaitlistEntry w
+            set w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.EXPIRED
+            where w.status = com.example.systemrezerwacji.domain.waitlistmodule.WaitlistStatus.WAITING
+              and w.dateTo < :today
+            """)
+    int expireOutdated(@Param("today") LocalDate today);
+}
@@ -0,0 +1,178 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.dto.CreateWaitlistEntryDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.example.systemrezerwacji.domain.waitlistmodule.WaitlistError.*;
+
+@Service
+class WaitlistService {
+    private static final Logger log = LogManager.getLogger(WaitlistService.class);
+    private static final String ERROR_DELIMITER = ",";
+    // TIME columns keep whole seconds, LocalTime.MAX would be rounded past midnight
+    private static final LocalTime END_OF_DAY = LocalTime.MAX.truncatedTo(ChronoUnit.SECONDS);
+
+    private final WaitlistRepository waitlistRepository;
+    private final int maxRangeDays;
+
+    WaitlistService(WaitlistRepository waitlistRepository,
+                    @Value("${waitlist.max-range-days:31}") int maxRangeDays) {
+        this.waitlistRepository = waitlistRepository;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    Optional<String> validate(CreateWaitlistEntryDto dto) {
+        List<WaitlistError> errors = new LinkedList<>();
+        if (dto.offerId() == null || dto.offerId() <= 0) {
+            errors.add(EMPTY_OFFER_ID);
+        }
+        if (dto.email() == null || !dto.email().matches("^[\\w\\.-]+@[\\w\\.-]+\\.\\w{2,}$")) {
+            errors.add(INVALID_EMAIL);
+        }
+        if (dto.dateFrom() == null || dto.dateTo() == null) {
+            errors.add(EMPTY_DATES);
+        } else if (dto.dateTo().isBefore(dto.dateFrom())) {
+            errors.add(INVALID_DATES);
+        } else if (dto.dateTo().isBefore(LocalDate.now())) {
+            errors.add(PAST_DATE);
+        } else if (dto.dateTo().isAfter(dto.dateFrom().plusDays(maxRangeDays - 1L))) {
+            errors.add(RANGE_TOO_LONG);
+        }
+        if (dto.windowStart() == null || dto.windowEnd() == null || !dto.windowEnd().isAfter(dto.windowStart())) {
+            errors.add(INVALID_WINDOW);
+        }
+        return errors.isEmpty()
+                ? Optional.empty()
+                : Optional.of(errors.stream().map(WaitlistError::getMessage).collect(Collectors.joining(ERROR_DELIMITER)));
+    }
+
+    WaitlistEntry register(Long salonId, CreateWaitlistEntryDto dto) {
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(salonId, dto.offerId(), dto.employeeId(),
+                dto.email(), dto.dateFrom(), dto.dateTo(), dto.windowStart(), dto.windowEnd()));
+        log.debug("Registered waitlist entry with id: {}", entry.getId());
+        return entry;
+    }
+
+    Optional<WaitlistEntry> cancel(Long entryId, String email) {
+        Optional<WaitlistEntry> found = waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getEmail().equalsIgnoreCase(email))
+                .filter(WaitlistEntry::isOpen);
+        if (found.isEmpty()) {
+            return found;
+        }
+        WaitlistEntry entry = found.get();
+        entry.cancel();
+        waitlistRepository.save(entry);
+        return found;
+    }
+
+    /**
+     * Waiting entries that could use the freed time {@code [start, end)} of the employee, first registered first.
+     * They are read from the table, so an entry registered through any instance is matched.
+     */
+    List<WaitlistCandidate> findCandidates(Long salonId, Long employeeId, LocalDateTime start, LocalDateTime end) {
+        LocalDate date = start.toLocalDate();
+        LocalTime to = end.toLocalDate().isAfter(date) ? END_OF_DAY : end.toLocalTime();
+        return waitlistRepository.findCandidates(salonId, employeeId, date, start.toLocalTime(), to).stream()
+                .map(WaitlistCandidate::of)
+                .toList();
+    }
+
+    /**
+     * Terms of the employee's day that are held for waitlisted customers and not expired yet.
+     */
+    List<AvailableTermDto> getHeldTerms(Long employeeId, LocalDate date) {
+        return waitlistRepository.findActiveHolds(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                        LocalDateTime.now()).stream()
+                .map(entry -> new AvailableTermDto(entry.getHoldStart().toLocalTime(), entry.getHoldEnd().toLocalTime()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    Map<Long, List<AvailableTermDto>> getHeldTerms(Collection<Long> employeeIds, LocalDate date) {
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return waitlistRepository.findActiveHoldsOfEmployees(employeeIds, date.atStartOfDay(),
+                        date.plusDays(1).atStartOfDay(), LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(WaitlistEntry::getHoldEmployeeId, Collectors.mapping(
+                        entry -> new AvailableTermDto(entry.getHoldStart().toLocalTime(), entry.getHoldEnd().toLocalTime()),
+                        Collectors.toList())));
+    }
+
+    List<AvailableTermWithDateDto> getHeldTerms(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return waitlistRepository.findActiveHolds(employeeId, from, to, LocalDateTime.now()).stream()
+                .map(entry -> new AvailableTermWithDateDto(entry.getHoldStart().toLocalTime(),
+                        entry.getHoldEnd().toLocalTime(), entry.getHoldStart().toLocalDate()))
+                .toList();
+    }
+
+    List<AvailableTermWithDateDto> getHeldTermsOfOthers(Long employeeId, LocalDateTime from, LocalDateTime to, String email) {
+        return waitlistRepository.findActiveHolds(employeeId, from, to, LocalDateTime.now()).stream()
+                .filter(entry -> !entry.getEmail().equalsIgnoreCase(email))
+                .map(entry -> new AvailableTermWithDateDto(entry.getHoldStart().toLocalTime(),
+                        entry.getHoldEnd().toLocalTime(), entry.getHoldStart().toLocalDate()))
+                .toList();
+    }
+
+    boolean isHeldForOthers(Long employeeId, LocalDateTime start, LocalDateTime end, String email) {
+        return waitlistRepository.findActiveHolds(employeeId, start, end, LocalDateTime.now()).stream()
+                .anyMatch(entry -> !entry.getEmail().equalsIgnoreCase(email));
+    }
+
+    int completeHolds(Long employeeId, LocalDateTime start, LocalDateTime end, String email) {
+        List<WaitlistEntry> holds = waitlistRepository.findActiveHolds(employeeId, start, end, LocalDateTime.now()).stream()
+                .filter(entry -> entry.getEmail().equalsIgnoreCase(email))
+                .toList();
+        holds.forEach(WaitlistEntry::fulfil);
+        waitlistRepository.saveAll(holds);
+        return holds.size();
+    }
+
+    /**
+     * Claims the term for the candidate unless the entry left the waiting state in the meantime.
+     */
+    boolean hold(WaitlistCandidate candidate, Long employeeId, LocalDateTime start, LocalDateTime end,
+                 LocalDateTime holdUntil) {
+        return waitlistRepository.hold(candidate.id(), employeeId, start, end, holdUntil) > 0;
+    }
+
+    List<WaitlistEntry> findExpiredHolds(LocalDateTime now) {
+        return waitlistRepository.findExpiredHolds(now);
+    }
+
+    /**
+     * Expires the hold unless it was booked or cancelled in the meantime.
+     */
+    Optional<WaitlistEntry> expireHold(Long entryId, LocalDateTime now) {
+        Optional<WaitlistEntry> expired = waitlistRepository.findById(entryId)
+                .filter(entry -> entry.getStatus() == WaitlistStatus.HELD && !entry.getHoldUntil().isAfter(now));
+        expired.ifPresent(entry -> {
+            entry.expire();
+            waitlistRepository.save(entry);
+        });
+        return expired;
+    }
+
+    int expireOutdated(LocalDate today) {
+        int expired = waitlistRepository.expireOutdated(today);
+        log.debug("Expired {} outdated waitlist entries", expired);
+        return expired;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+enum WaitlistStatus {
+    WAITING,
+    HELD,
+    FULFILLED,
+    CANCELLED,
+    EXPIRED
+}
@@ -0,0 +1,19 @@
+package com.example.systemrezerwacji.domain.waitlistmodule.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Dates are inclusive, the window is the part of each day the customer can come in; without an employee
+ * any employee performing the offer will do.
+ */
+public record CreateWaitlistEntryDto(Long offerId,
+                                     @Nullable Long employeeId,
+                                     LocalDate dateFrom,
+                                     LocalDate dateTo,
+                                     LocalTime windowStart,
+                                     LocalTime windowEnd,
+                                     String email) {
+}
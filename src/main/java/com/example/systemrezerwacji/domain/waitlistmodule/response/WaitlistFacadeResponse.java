@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.domain.waitlistmodule.response;
+
+import jakarta.annotation.Nullable;
+
+public record WaitlistFacadeResponse(boolean isSuccess, String message, @Nullable Long entryId) {
+}
@@ -0,0 +1,9 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Tells the other instances to drop an entry, or the whole cache when the key is null, from their local tier.
+ */
+record CacheInvalidation(String origin, String cacheName, @Nullable String key) {
+}
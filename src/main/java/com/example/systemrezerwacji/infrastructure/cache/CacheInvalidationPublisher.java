@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+@FunctionalInterface
+interface CacheInvalidationPublisher {
+    void publish(CacheInvalidation invalidation);
+}
@@ -0,0 +1,30 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+@Log4j2
+class RedisCacheInvalidationListener implements MessageListener {
+    private final TwoTierCacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    RedisCacheInvalidationListener(TwoTierCacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            cacheManager.evictLocal(objectMapper.readValue(body, CacheInvalidation.class));
+        } catch (JsonProcessingException e) {
+            log.error("Dropping unreadable cache invalidation {}: {}", body, e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package com.example.systemrezerwacji.infrastructure.cache;
 
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStampPublisher;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
 @Configuration
-@EnableCaching
 @ConditionalOnProperty(value = "spring.cache.type", havingValue = "redis")
 class RedisConfiguration {
 
@@ -34,4 +46,62 @@ class RedisConfiguration {
         redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         return redisTemplate;
     }
+
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        return new StringRedisTemplate(redisConnectionFactory);
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            ObjectMapper objectMapper,
+                                            TwoTierCacheProperties properties,
+                                            @Value("${spring.cache.redis.time-to-live:PT30M}") Duration timeToLive) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(timeToLive))
+                .build();
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+                .maximumSize(properties.localMaximumSize())
+                .expireAfterWrite(properties.localTimeToLive())
+                .recordStats();
+        CacheInvalidationPublisher publisher = invalidation ->
+                stringRedisTemplate.convertAndSend(properties.invalidationChannel(), toJson(objectMapper, invalidation));
+        return new TwoTierCacheManager(redisCacheManager, localSpec, publisher, properties.names());
+    }
+
+    @Bean
+    public VersionStampPublisher versionStampPublisher(StringRedisTemplate stringRedisTemplate,
+                                                       ObjectMapper objectMapper,
+                                                       TwoTierCacheProperties properties) {
+        return bump -> stringRedisTemplate.convertAndSend(properties.versionStampChannel(), toJson(objectMapper, bump));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            VersionStamps versionStamps,
+                                                                            ObjectMapper objectMapper,
+                                                                            TwoTierCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(new RedisCacheInvalidationListener(cacheManager, objectMapper),
+                new ChannelTopic(properties.invalidationChannel()));
+        container.addMessageListener(new RedisVersionStampListener(versionStamps, objectMapper),
+                new ChannelTopic(properties.versionStampChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return TwoTierCacheMetrics::new;
+    }
+
+    private static String toJson(ObjectMapper objectMapper, Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStampBump;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+@Log4j2
+class RedisVersionStampListener implements MessageListener {
+    private final VersionStamps versionStamps;
+    private final ObjectMapper objectMapper;
+
+    RedisVersionStampListener(VersionStamps versionStamps, ObjectMapper objectMapper) {
+        this.versionStamps = versionStamps;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            versionStamps.applyRemote(objectMapper.readValue(body, VersionStampBump.class));
+        } catch (JsonProcessingException e) {
+            log.error("Dropping unreadable version stamp bump {}: {}", body, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded in-process Caffeine tier in front of the shared Redis tier. Reads try the local tier first and
+ * copy a Redis hit into it; a miss on both is loaded once per key on this instance and written to both.
+ * <p>
+ * Local entries are keyed by the string form of the key, the same form Redis uses, so an eviction published
+ * by another instance finds the entry here. Redis being down only costs the shared tier: its errors are
+ * logged and the read falls through to the loader.
+ */
+@Log4j2
+class TwoTierCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final String origin;
+    private final CacheInvalidationPublisher publisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                 String origin, CacheInvalidationPublisher publisher) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.origin = origin;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object stored = local.getIfPresent(localKey);
+        if (stored != null) {
+            localHits.increment();
+            return stored;
+        }
+        ValueWrapper shared = remoteGet(key);
+        if (shared == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        stored = toStoreValue(shared.get());
+        local.put(localKey, stored);
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object stored = local.getIfPresent(localKey);
+        if (stored != null) {
+            localHits.increment();
+            return (T) fromStoreValue(stored);
+        }
+        return (T) fromStoreValue(local.get(localKey, ignored -> loadThrough(key, valueLoader)));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        puts.increment();
+        local.put(localKey(key), toStoreValue(value));
+        remotePut(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict key {} from shared cache {}: {}", key, name, e.getMessage());
+        }
+        publish(localKey);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Could not clear shared cache {}: {}", name, e.getMessage());
+        }
+        publish(null);
+    }
+
+    void evictLocal(@Nullable String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    long localHitCount() {
+        return localHits.sum();
+    }
+
+    long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    private Object loadThrough(Object key, Callable<?> valueLoader) {
+        ValueWrapper shared = remoteGet(key);
+        if (shared != null) {
+            remoteHits.increment();
+            return toStoreValue(shared.get());
+        }
+        misses.increment();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        puts.increment();
+        remotePut(key, value);
+        return toStoreValue(value);
+    }
+
+    @Nullable
+    private ValueWrapper remoteGet(Object key) {
+        try {
+            return remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not read key {} from shared cache {}: {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, @Nullable Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Could not write key {} to shared cache {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private void publish(@Nullable String localKey) {
+        try {
+            publisher.publish(new CacheInvalidation(origin, name, localKey));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish eviction of cache {} to other instances: {}", name, e.getMessage());
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds a {@link TwoTierCache} per cache name on top of the shared cache manager. Caches are transaction
+ * aware, so an eviction inside a transaction happens after the commit, when readers already see the write.
+ */
+@Log4j2
+class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+    private final CacheManager remote;
+    private final Caffeine<Object, Object> localSpec;
+    private final CacheInvalidationPublisher publisher;
+    private final Collection<String> cacheNames;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    TwoTierCacheManager(CacheManager remote, Caffeine<Object, Object> localSpec,
+                        CacheInvalidationPublisher publisher, Collection<String> cacheNames) {
+        this.remote = remote;
+        this.localSpec = localSpec;
+        this.publisher = publisher;
+        this.cacheNames = List.copyOf(cacheNames);
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream().map(this::twoTierCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return twoTierCache(name);
+    }
+
+    /**
+     * Applies an eviction published by another instance to the local tier; the shared tier was already
+     * evicted by the publisher, and our own messages are ignored.
+     */
+    void evictLocal(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        log.debug("Evicting {} from local cache {} on request of {}",
+                invalidation.key() == null ? "all entries" : invalidation.key(), invalidation.cacheName(),
+                invalidation.origin());
+        cache.evictLocal(invalidation.key());
+    }
+
+    private TwoTierCache twoTierCache(String name) {
+        return caches.computeIfAbsent(name, cacheName ->
+                new TwoTierCache(cacheName, localSpec.build(), remote.getCache(cacheName), origin, publisher));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * The standard {@code cache.*} meters of a two-tier cache, where a hit on either tier counts as a hit,
+ * plus {@code cache.tier.hits} split by the tier that answered.
+ */
+class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+    TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoTierCache cache = getCache();
+        return cache == null ? null : cache.getNativeCache().estimatedSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoTierCache cache = getCache();
+        return cache == null ? 0 : cache.localHitCount() + cache.remoteHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoTierCache cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoTierCache cache = getCache();
+        return cache == null ? null : cache.getNativeCache().stats().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoTierCache cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TwoTierCache cache = getCache();
+        FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::localHitCount)
+                .tags(getTagsWithCacheName()).tag("tier", "local")
+                .description("Hits answered by the in-process tier")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.hits", cache, TwoTierCache::remoteHitCount)
+                .tags(getTagsWithCacheName()).tag("tier", "remote")
+                .description("Hits answered by the shared Redis tier")
+                .register(registry);
+    }
+}
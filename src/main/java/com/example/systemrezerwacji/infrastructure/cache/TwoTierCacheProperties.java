@@ -0,0 +1,16 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(value = "cache.two-tier")
+public record TwoTierCacheProperties(
+        List<String> names,
+        long localMaximumSize,
+        Duration localTimeToLive,
+        String invalidationChannel,
+        String versionStampChannel
+) {
+}
@@ -1,5 +1,6 @@
 package com.example.systemrezerwacji.infrastructure.emailSender.http;
 
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
 import com.example.systemrezerwacji.infrastructure.emailSender.http.dto.EmailRemindDto;
 import com.example.systemrezerwacji.infrastructure.emailSender.http.dto.EmailRequestDto;
 import com.example.systemrezerwacji.infrastructure.emailSender.http.dto.EmailRequestWithPasswordDto;
@@ -15,12 +16,16 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Log4j2
 @AllArgsConstructor
 public class SendMailHttpClient implements SendMail {
+    private static final DateTimeFormatter SUMMARY_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter HOLD_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
     private final RestTemplate restTemplate;
     private final String uri;
     private final int port;
@@ -76,14 +81,17 @@ public class SendMailHttpClient implements SendMail {
     }
 
     @Override
-    public void sendRemind(String to, String reservationName, String salonName, String street, String number, String city, LocalDateTime time) {
-        log.info("Started sending remind");
+    public Boolean sendReminders(List<ReservationReminderDto> reminders) {
+        log.info("Started sending {} reminders", reminders.size());
         try {
             String urlForService = getUrlForService("/api/mail/send-reminders");
             final String url = UriComponentsBuilder.fromHttpUrl(urlForService).toUriString();
 
-            EmailRemindDto emailRequest = new EmailRemindDto(to, reservationName, salonName, street, number, city, time);
-            List<EmailRemindDto> requestBody = Collections.singletonList(emailRequest);
+            List<EmailRemindDto> requestBody = reminders.stream()
+                    .map(reminder -> new EmailRemindDto(reminder.clientEmail(), reminder.offerName(),
+                            reminder.salonName(), reminder.street(), reminder.number(), reminder.city(),
+                            reminder.reservationDateTime()))
+                    .toList();
 
             HttpHeaders headers = getDefaultHeaders();
             HttpEntity<List<EmailRemindDto>> requestEntity = new HttpEntity<>(requestBody, headers);
@@ -96,17 +104,47 @@ public class SendMailHttpClient implements SendMail {
                     }
             );
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Response from server: {}", response.getBody() + " for " + to);
-            } else {
+            if (!response.getStatusCode().is2xxSuccessful()) {
                 log.error("Error from server: {}", response.getStatusCode());
+                return false;
             }
+            List<EmailResponseDto> results = response.getBody();
+            boolean allSent = results != null && results.stream()
+                    .allMatch(result -> Boolean.TRUE.equals(result.getIsSuccess()));
+            log.info("Server accepted {} reminders, all sent: {}", results == null ? 0 : results.size(), allSent);
+            return allSent;
         } catch (RestClientException e) {
-            log.error("Error sending remind: {}", e.getMessage());
+            log.error("Error sending reminders: {}", e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * The mail service has no series template, so the series goes out as one confirmation of its first date
+     * through the existing endpoints, with every booked date listed after the offer name.
+     */
+    @Override
+    public Boolean sendSeriesConfirmation(String to, String offerName, List<LocalDateTime> times, String company, String password) {
+        log.info("Started sending series email with {} dates", times.size());
+        String summary = "%s, %d dates: %s".formatted(offerName, times.size(), times.stream()
+                .map(SUMMARY_DATE_TIME::format)
+                .collect(Collectors.joining(", ")));
+        return password == null
+                ? sendEmail(to, summary, times.get(0), company)
+                : sendEmailWithPassword(to, summary, times.get(0), company, password);
+    }
 
+    /**
+     * Like the series, a hold has no template of its own at the mail service; it is sent through {@code /send}
+     * for the held time, with the end of the hold after the offer name.
+     */
+    @Override
+    public Boolean sendWaitlistHold(String to, String offerName, LocalDateTime time, String company, LocalDateTime holdUntil) {
+        log.info("Started sending waitlist hold email");
+        String summary = "%s, held for you from the waitlist until %s: book it by then to keep it"
+                .formatted(offerName, HOLD_TIME.format(holdUntil));
+        return sendEmail(to, summary, time, company);
+    }
 
     private HttpHeaders getDefaultHeaders() {
         HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,94 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Getter
+@Table(name = "email_outbox")
+class EmailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private String recipient;
+    private String offerName;
+    private String companyName;
+    private LocalDateTime reservationDateTime;
+    private String encryptedPassword;
+    private LocalDateTime holdUntil;
+
+    @Convert(converter = ReservationDateTimesConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<LocalDateTime> seriesDateTimes;
+
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+
+    EmailOutboxMessage(EmailOutboxType type, String recipient, String offerName, String companyName,
+                       LocalDateTime reservationDateTime, String encryptedPassword) {
+        this(type, recipient, offerName, companyName, reservationDateTime, encryptedPassword, null);
+    }
+
+    EmailOutboxMessage(EmailOutboxType type, String recipient, String offerName, String companyName,
+                       LocalDateTime reservationDateTime, String encryptedPassword, LocalDateTime holdUntil) {
+        this.type = type;
+        this.status = EmailOutboxStatus.PENDING;
+        this.recipient = recipient;
+        this.offerName = offerName;
+        this.companyName = companyName;
+        this.reservationDateTime = reservationDateTime;
+        this.encryptedPassword = encryptedPassword;
+        this.holdUntil = holdUntil;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    static EmailOutboxMessage series(String recipient, String offerName, String companyName,
+                                     List<LocalDateTime> seriesDateTimes, String encryptedPassword) {
+        EmailOutboxMessage message = new EmailOutboxMessage(EmailOutboxType.RESERVATION_SERIES_CONFIRMATION,
+                recipient, offerName, companyName, seriesDateTimes.get(0), encryptedPassword);
+        message.seriesDateTimes = List.copyOf(seriesDateTimes);
+        return message;
+    }
+
+    protected EmailOutboxMessage() {
+    }
+
+    void claim(LocalDateTime leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    void markSent() {
+        this.status = EmailOutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.encryptedPassword = null;
+        this.lastError = null;
+    }
+
+    void markFailed(String error, int maxAttempts, LocalDateTime retryAt) {
+        this.lastError = error;
+        if (attempts >= maxAttempts) {
+            this.status = EmailOutboxStatus.FAILED;
+            this.encryptedPassword = null;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "notification.outbox")
+public record EmailOutboxProperties(
+        int batchSize,
+        int maxAttempts,
+        Duration retryBackoff,
+        Duration lease,
+        String passwordKey
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+interface EmailOutboxRepository extends CrudRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Locks due messages with SKIP LOCKED, so several application instances can drain the outbox side by side.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<EmailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(EmailOutboxStatus status,
+                                                                                 LocalDateTime now,
+                                                                                 Limit limit);
+}
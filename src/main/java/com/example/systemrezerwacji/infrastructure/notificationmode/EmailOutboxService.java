@@ -0,0 +1,131 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Log4j2
+class EmailOutboxService {
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final EmailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPasswordCipher passwordCipher;
+
+    EmailOutboxService(EmailOutboxRepository emailOutboxRepository, EmailService emailService,
+                       EmailOutboxProperties properties, TransactionTemplate transactionTemplate,
+                       OutboxPasswordCipher passwordCipher) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordCipher = passwordCipher;
+    }
+
+    @Transactional
+    void enqueue(EmailOutboxType type, String to, String offerName, String companyName, LocalDateTime time, String password) {
+        EmailOutboxMessage message = emailOutboxRepository.save(
+                new EmailOutboxMessage(type, to, offerName, companyName, time, passwordCipher.encrypt(password)));
+        log.debug("Queued {} email with id: {}", type, message.getId());
+    }
+
+    @Transactional
+    void enqueueWaitlistHold(String to, String offerName, String companyName, LocalDateTime time, LocalDateTime holdUntil) {
+        EmailOutboxMessage message = emailOutboxRepository.save(new EmailOutboxMessage(
+                EmailOutboxType.WAITLIST_SLOT_HELD, to, offerName, companyName, time, null, holdUntil));
+        log.debug("Queued {} email with id: {}", EmailOutboxType.WAITLIST_SLOT_HELD, message.getId());
+    }
+
+    @Transactional
+    void enqueueSeries(String to, String offerName, String companyName, List<LocalDateTime> times, String password) {
+        EmailOutboxMessage message = emailOutboxRepository.save(
+                EmailOutboxMessage.series(to, offerName, companyName, times, passwordCipher.encrypt(password)));
+        log.debug("Queued {} email with id: {}", EmailOutboxType.RESERVATION_SERIES_CONFIRMATION, message.getId());
+    }
+
+    /**
+     * Claims due messages in a short transaction, sends them without holding a connection
+     * and records the outcome of the whole batch in a second transaction.
+     */
+    int dispatchPending() {
+        int sent = 0;
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            Map<Long, Boolean> results = new HashMap<>();
+            batch.forEach(message -> results.put(message.getId(), send(message)));
+            transactionTemplate.executeWithoutResult(status -> completeBatch(results));
+
+            sent += (int) results.values().stream().filter(Boolean::booleanValue).count();
+        } while (batch.size() == properties.batchSize());
+
+        if (sent > 0) {
+            log.info("Dispatched {} queued emails", sent);
+        }
+        return sent;
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> batch = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                EmailOutboxStatus.PENDING, now, Limit.of(properties.batchSize()));
+        batch.forEach(message -> message.claim(now.plus(properties.lease())));
+        emailOutboxRepository.saveAll(batch);
+        return batch;
+    }
+
+    private boolean send(EmailOutboxMessage message) {
+        return switch (message.getType()) {
+            case RESERVATION_CONFIRMATION -> emailService.sendHtmlEmail(
+                    message.getRecipient(), message.getOfferName(),
+                    message.getReservationDateTime(), message.getCompanyName());
+            case RESERVATION_CONFIRMATION_WITH_PASSWORD -> emailService.sendHtmlEmailWithPassword(
+                    message.getRecipient(), message.getOfferName(), passwordCipher.decrypt(message.getEncryptedPassword()),
+                    message.getReservationDateTime(), message.getCompanyName());
+            case WAITLIST_SLOT_HELD -> emailService.sendWaitlistHoldEmail(
+                    message.getRecipient(), message.getOfferName(), message.getReservationDateTime(),
+                    message.getCompanyName(), message.getHoldUntil());
+            case RESERVATION_SERIES_CONFIRMATION -> emailService.sendSeriesConfirmationEmail(
+                    message.getRecipient(), message.getOfferName(), message.getSeriesDateTimes(),
+                    message.getCompanyName(), passwordCipher.decrypt(message.getEncryptedPassword()));
+        };
+    }
+
+    private void completeBatch(Map<Long, Boolean> results) {
+        List<EmailOutboxMessage> messages = (List<EmailOutboxMessage>) emailOutboxRepository.findAllById(results.keySet());
+        messages.forEach(message -> {
+            if (results.get(message.getId())) {
+                message.markSent();
+            } else {
+                message.markFailed("Mail service did not accept the message",
+                        properties.maxAttempts(),
+                        LocalDateTime.now().plus(backoff(message.getAttempts())));
+                if (message.getStatus() == EmailOutboxStatus.FAILED) {
+                    log.error("Giving up on email {} to {} after {} attempts",
+                            message.getId(), message.getRecipient(), message.getAttempts());
+                }
+            }
+        });
+        emailOutboxRepository.saveAll(messages);
+    }
+
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_EXPONENT);
+        return properties.retryBackoff().multipliedBy(1L << exponent);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+enum EmailOutboxType {
+    RESERVATION_CONFIRMATION,
+    RESERVATION_CONFIRMATION_WITH_PASSWORD,
+    WAITLIST_SLOT_HELD,
+    RESERVATION_SERIES_CONFIRMATION
+}
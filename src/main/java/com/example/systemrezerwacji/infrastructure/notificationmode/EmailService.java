@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @AllArgsConstructor
@@ -33,22 +34,22 @@ class EmailService {
         return true;
     }
 
-    public Boolean sendHtmlEmailToRemindAboutReservation(String to, String offerName, String salonName, String city, String street, String number, LocalDateTime time) {
+    public Boolean sendWaitlistHoldEmail(String to, String offerName, LocalDateTime time, String companyName, LocalDateTime holdUntil) {
         try {
-            log.info("Sending email to remind about reservation");
-            log.info("To: " + to);
-            log.info("Offer name: " + offerName);
-            log.info("Salon name: " + salonName);
-            log.info("City: " + city);
-            log.info("Street: " + street);
-            log.info("Number: " + number);
-            log.info("Time: " + time);
-            sendMail.sendRemind(to, offerName, salonName, street, number, city, time);
+            return sendMail.sendWaitlistHold(to, offerName, time, companyName, holdUntil);
         } catch (Exception e) {
-            System.err.println("Error while sending email: " + e.getMessage());
+            log.error("Error while sending waitlist email: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public Boolean sendSeriesConfirmationEmail(String to, String offerName, List<LocalDateTime> times, String companyName, String password) {
+        try {
+            return sendMail.sendSeriesConfirmation(to, offerName, times, companyName, password);
+        } catch (Exception e) {
+            log.error("Error while sending series email: {}", e.getMessage());
             return false;
         }
-        return true;
     }
 
 }
\ No newline at end of file
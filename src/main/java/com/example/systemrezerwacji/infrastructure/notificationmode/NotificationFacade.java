@@ -1,19 +1,16 @@
 package com.example.systemrezerwacji.infrastructure.notificationmode;
 
-import com.example.systemrezerwacji.domain.offermodule.Offer;
-import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
-import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
-import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
-import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
-import com.example.systemrezerwacji.domain.usermodule.UserFacade;
-import com.example.systemrezerwacji.domain.usermodule.dto.UserRegisterDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
 import com.example.systemrezerwacji.infrastructure.notificationmode.response.NotificationFacadeResponse;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +20,11 @@ import java.util.Optional;
 public class NotificationFacade {
     private final EmailService emailService;
     private final ReservationFacade reservationFacade;
-    private final SalonFacade salonFacade;
-    private final UserFacade userFacade;
-    private final OfferFacade offerFacade;
+    private final EmailOutboxService emailOutboxService;
+    private final ReminderService reminderService;
+    private final ReminderLeaseService reminderLeaseService;
+    private final ReminderWheelService reminderWheelService;
+    private final ReminderProperties reminderProperties;
 
     public NotificationFacadeResponse sendAnEmailWhenClientHasAccount(String to, String offerName, LocalDateTime time,String companyName) {
         Boolean isSuccess = emailService.sendHtmlEmail(to, offerName, time,companyName);
@@ -37,37 +36,84 @@ public class NotificationFacade {
         return new NotificationFacadeResponse(isSuccess);
     }
 
-    public List<NotificationFacadeResponse> sendRemind() {
-        List<ReservationToTomorrow> allReservations = reservationFacade.getAllReservationToTomorrow();
-        log.info(allReservations.size() + " reservations to remind about");
-
-        return allReservations.stream()
-                .map(reservation -> {
-                    Optional<SalonWithIdDto> salonOpt = salonFacade.getSalonById(reservation.salonId());
-                    Optional<UserRegisterDto> userOpt = userFacade.getUserById(reservation.userId());
-                    Offer offer = offerFacade.getOffer(reservation.offerId());
-
-                    if (salonOpt.isPresent() && userOpt.isPresent()) {
-                        SalonWithIdDto salon = salonOpt.get();
-                        UserRegisterDto user = userOpt.get();
-
-                        return remindUserToReservation(
-                                user.email(),
-                                offer.getName(),
-                                salon,
-                                reservation.reservationDataTime()
-                        );
-                    } else {
-                        return new NotificationFacadeResponse(false);
-                    }
-                })
-                .toList();
+    public void queueEmailWhenClientHasAccount(String to, String offerName, LocalDateTime time, String companyName) {
+        emailOutboxService.enqueue(EmailOutboxType.RESERVATION_CONFIRMATION, to, offerName, companyName, time, null);
     }
 
-    private NotificationFacadeResponse remindUserToReservation(String to, String offerName, SalonWithIdDto salon, LocalDateTime time ) {
-        Boolean isSuccess = emailService.sendHtmlEmailToRemindAboutReservation(to,offerName,salon.salonName(),salon.city(),
-                salon.street(),salon.number(),time);
-        return new NotificationFacadeResponse(isSuccess);
+    public void queueEmailWhenClientDoNotHasAccount(String to, String offerName, String password, LocalDateTime time, String companyName) {
+        emailOutboxService.enqueue(EmailOutboxType.RESERVATION_CONFIRMATION_WITH_PASSWORD, to, offerName, companyName, time, password);
+    }
+
+    /**
+     * One email for all reservations of a series; the password is only set when the booking created the account.
+     */
+    public void queueSeriesConfirmationEmail(String to, String offerName, List<LocalDateTime> times, String companyName, String password) {
+        emailOutboxService.enqueueSeries(to, offerName, companyName, times, password);
+    }
+
+    /**
+     * Tells a waitlisted customer which term is held for them and until when they can book it.
+     */
+    public void queueWaitlistHoldEmail(String to, String offerName, LocalDateTime time, String companyName, LocalDateTime holdUntil) {
+        emailOutboxService.enqueueWaitlistHold(to, offerName, companyName, time, holdUntil);
+    }
+
+    public int dispatchQueuedEmails() {
+        return emailOutboxService.dispatchPending();
+    }
+
+    public void refillReminderWheel() {
+        reminderWheelService.refill();
+    }
+
+    public List<RemindBatchResponse> sendDueReminders() {
+        return reminderWheelService.sendDue();
+    }
+
+    /**
+     * Works through tomorrow's reminder partitions that no other node holds. A partition is completed only when
+     * all of its batches went out; otherwise it is handed back and {@link #retryRemind()} picks it up again
+     * after the retry delay, sending only the reservations that are still not marked as reminded.
+     */
+    public List<RemindBatchResponse> sendRemind() {
+        LocalDate reminderDate = LocalDate.now().plusDays(1);
+        reminderLeaseService.createPartitions(reminderDate);
+        return sendPartitions(reminderDate);
+    }
+
+    /**
+     * Goes back to every day from today on whose partitions are not all completed yet: the ones whose batches
+     * failed and the ones left behind by a node that died while sending.
+     */
+    public List<RemindBatchResponse> retryRemind() {
+        List<RemindBatchResponse> responses = new ArrayList<>();
+        for (LocalDate reminderDate : reminderLeaseService.findIncompleteDates(LocalDate.now())) {
+            responses.addAll(sendPartitions(reminderDate));
+        }
+        return responses;
+    }
+
+    private List<RemindBatchResponse> sendPartitions(LocalDate reminderDate) {
+        List<RemindBatchResponse> responses = new ArrayList<>();
+        Optional<Integer> claimed;
+        while ((claimed = reminderLeaseService.claimNext(reminderDate)).isPresent()) {
+            int partition = claimed.get();
+            List<ReservationReminderDto> reminders = reservationFacade.getReminders(
+                    reminderDate, reminderProperties.partitions(), partition);
+            log.info("{} reservations to remind about in partition {} of {}", reminders.size(), partition, reminderDate);
+
+            List<RemindBatchResponse> partitionResponses = reminderService.sendInBatches(reminders, delivered -> {
+                reservationFacade.markReminded(delivered);
+                reminderLeaseService.renew(reminderDate, partition);
+            });
+            if (partitionResponses.stream().allMatch(RemindBatchResponse::isSuccess)) {
+                reminderLeaseService.complete(reminderDate, partition);
+            } else {
+                reminderLeaseService.postpone(reminderDate, partition);
+            }
+            responses.addAll(partitionResponses);
+        }
+        return responses;
     }
 
 }
@@ -0,0 +1,35 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks one reminder of one reservation as taken by a node. The reservation time is part of the key, so
+ * moving a reservation makes its reminders due again. There is deliberately no foreign key to the
+ * reservation, deleting a reservation must not wait for its reminders.
+ */
+@Entity
+@Getter
+@Table(name = "reservation_reminder",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"reservation_id", "offset_minutes", "reservation_date_time"}))
+class ReminderClaim {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "offset_minutes", nullable = false)
+    private long offsetMinutes;
+
+    @Column(name = "reservation_date_time", nullable = false)
+    private LocalDateTime reservationDateTime;
+
+    private LocalDateTime claimedAt;
+
+    protected ReminderClaim() {
+    }
+}
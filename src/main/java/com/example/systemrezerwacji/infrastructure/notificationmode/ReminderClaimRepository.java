@@ -0,0 +1,38 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+interface ReminderClaimRepository extends CrudRepository<ReminderClaim, Long> {
+
+    /**
+     * Returns 1 for the node that inserted the claim and 0 for every node that came later.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reservation_reminder (reservation_id, offset_minutes, reservation_date_time, claimed_at)
+            VALUES (:reservationId, :offsetMinutes, :reservationDateTime, :claimedAt)
+            ON CONFLICT (reservation_id, offset_minutes, reservation_date_time) DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("reservationId") Long reservationId,
+              @Param("offsetMinutes") long offsetMinutes,
+              @Param("reservationDateTime") LocalDateTime reservationDateTime,
+              @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("""
+            delete from ReminderClaim c
+            where c.reservationId = :reservationId
+              and c.offsetMinutes = :offsetMinutes
+              and c.reservationDateTime = :reservationDateTime
+            """)
+    int release(@Param("reservationId") Long reservationId,
+                @Param("offsetMinutes") long offsetMinutes,
+                @Param("reservationDateTime") LocalDateTime reservationDateTime);
+}
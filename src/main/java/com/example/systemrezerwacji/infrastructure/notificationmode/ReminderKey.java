@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import java.time.Duration;
+
+record ReminderKey(Long reservationId, Duration offset) {
+}
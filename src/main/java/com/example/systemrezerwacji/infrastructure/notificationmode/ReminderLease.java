@@ -0,0 +1,47 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One partition of a day's reminders. A node owns the partition while {@code leasedUntil} lies in the future;
+ * a lease that runs out without {@code completedAt} is free to be claimed again.
+ */
+@Entity
+@Getter
+@Table(name = "reminder_lease",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"reminder_date", "partition_number"}))
+class ReminderLease {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reminder_date", nullable = false)
+    private LocalDate reminderDate;
+
+    @Column(name = "partition_number", nullable = false)
+    private int partitionNumber;
+
+    private String owner;
+    private LocalDateTime leasedUntil;
+    private LocalDateTime completedAt;
+
+    protected ReminderLease() {
+    }
+
+    void claim(String owner, LocalDateTime leasedUntil) {
+        this.owner = owner;
+        this.leasedUntil = leasedUntil;
+    }
+
+    void renew(LocalDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+}
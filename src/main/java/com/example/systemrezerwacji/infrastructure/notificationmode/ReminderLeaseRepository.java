@@ -0,0 +1,58 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+interface ReminderLeaseRepository extends CrudRepository<ReminderLease, Long> {
+
+    /**
+     * Creates the leases of a day; rows another node has already inserted are left alone.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reminder_lease (reminder_date, partition_number)
+            SELECT :reminderDate, partition_number FROM generate_series(0, :partitions - 1) AS partition_number
+            ON CONFLICT (reminder_date, partition_number) DO NOTHING
+            """, nativeQuery = true)
+    int createPartitions(@Param("reminderDate") LocalDate reminderDate, @Param("partitions") int partitions);
+
+    /**
+     * Locks free partitions with SKIP LOCKED, so nodes starting at the same moment take different partitions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select l from ReminderLease l
+            where l.reminderDate = :reminderDate
+              and l.completedAt is null
+              and (l.leasedUntil is null or l.leasedUntil < :now)
+            order by l.partitionNumber
+            """)
+    List<ReminderLease> findClaimable(@Param("reminderDate") LocalDate reminderDate,
+                                      @Param("now") LocalDateTime now,
+                                      Limit limit);
+
+    @Query("""
+            select distinct l.reminderDate from ReminderLease l
+            where l.reminderDate >= :from
+              and l.completedAt is null
+            order by l.reminderDate
+            """)
+    List<LocalDate> findIncompleteDates(@Param("from") LocalDate from);
+
+    Optional<ReminderLease> findByReminderDateAndPartitionNumber(LocalDate reminderDate, int partitionNumber);
+}
@@ -0,0 +1,110 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Log4j2
+class ReminderLeaseService {
+
+    private final ReminderLeaseRepository reminderLeaseRepository;
+    private final ReminderProperties properties;
+    private final String nodeId;
+
+    ReminderLeaseService(ReminderLeaseRepository reminderLeaseRepository, ReminderProperties properties) {
+        this.reminderLeaseRepository = reminderLeaseRepository;
+        this.properties = properties;
+        this.nodeId = hostName() + "/" + UUID.randomUUID();
+    }
+
+    @Transactional
+    void createPartitions(LocalDate reminderDate) {
+        int created = reminderLeaseRepository.createPartitions(reminderDate, properties.partitions());
+        log.debug("Created {} reminder partitions for {}", created, reminderDate);
+    }
+
+    /**
+     * Takes the lowest free partition of the day, or nothing when every partition is done or leased elsewhere.
+     */
+    @Transactional
+    Optional<Integer> claimNext(LocalDate reminderDate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReminderLease> claimable = reminderLeaseRepository.findClaimable(reminderDate, now, Limit.of(1));
+        if (claimable.isEmpty()) {
+            return Optional.empty();
+        }
+        ReminderLease lease = claimable.get(0);
+        lease.claim(nodeId, now.plus(properties.lease()));
+        reminderLeaseRepository.save(lease);
+        log.info("Node {} claimed reminder partition {} of {}", nodeId, lease.getPartitionNumber(), reminderDate);
+        return Optional.of(lease.getPartitionNumber());
+    }
+
+    /**
+     * Extends the lease of a partition this node is still sending, so it is not taken over mid-run. Returns
+     * false when the lease was lost in the meantime.
+     */
+    @Transactional
+    boolean renew(LocalDate reminderDate, int partition) {
+        boolean renewed = extendOwnLease(reminderDate, partition, properties.lease());
+        if (!renewed) {
+            log.warn("Node {} lost the lease of reminder partition {} of {}", nodeId, partition, reminderDate);
+        }
+        return renewed;
+    }
+
+    /**
+     * Hands an unfinished partition back; it becomes claimable again once the retry delay has passed.
+     */
+    @Transactional
+    void postpone(LocalDate reminderDate, int partition) {
+        extendOwnLease(reminderDate, partition, properties.retryDelay());
+    }
+
+    @Transactional
+    void complete(LocalDate reminderDate, int partition) {
+        reminderLeaseRepository.findByReminderDateAndPartitionNumber(reminderDate, partition)
+                .filter(lease -> nodeId.equals(lease.getOwner()))
+                .ifPresent(lease -> {
+                    lease.complete();
+                    reminderLeaseRepository.save(lease);
+                });
+    }
+
+    /**
+     * Days from {@code from} on that still have partitions not completed, oldest first.
+     */
+    @Transactional(readOnly = true)
+    List<LocalDate> findIncompleteDates(LocalDate from) {
+        return reminderLeaseRepository.findIncompleteDates(from);
+    }
+
+    private boolean extendOwnLease(LocalDate reminderDate, int partition, Duration duration) {
+        Optional<ReminderLease> lease = reminderLeaseRepository.findByReminderDateAndPartitionNumber(reminderDate, partition)
+                .filter(owned -> nodeId.equals(owned.getOwner()) && owned.getCompletedAt() == null);
+        lease.ifPresent(owned -> {
+            owned.renew(LocalDateTime.now().plus(duration));
+            reminderLeaseRepository.save(owned);
+        });
+        return lease.isPresent();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
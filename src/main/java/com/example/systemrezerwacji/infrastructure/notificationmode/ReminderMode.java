@@ -0,0 +1,6 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+public enum ReminderMode {
+    DAILY,
+    WHEEL
+}
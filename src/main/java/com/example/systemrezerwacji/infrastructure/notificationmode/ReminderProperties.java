@@ -0,0 +1,21 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(value = "notification.reminder")
+public record ReminderProperties(
+        int batchSize,
+        int parallelism,
+        int partitions,
+        Duration lease,
+        ReminderMode mode,
+        List<Duration> offsets,
+        Duration horizon,
+        Duration tick,
+        Duration refillInterval,
+        Duration retryDelay
+) {
+}
@@ -0,0 +1,83 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+@Service
+@Log4j2
+class ReminderService {
+
+    private final SendMail sendMail;
+    private final ReminderProperties properties;
+    private final ExecutorService executor;
+
+    ReminderService(SendMail sendMail, ReminderProperties properties) {
+        this.sendMail = sendMail;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.parallelism()),
+                Thread.ofPlatform().name("reminder-sender-", 0).daemon().factory());
+    }
+
+    /**
+     * Splits the reminders into batches for the mail service's list endpoint and posts them with at most
+     * {@code parallelism} requests in flight, shared by all callers. Every batch is reported, a failed one does not stop the rest.
+     * Ids of the reminders in a delivered batch are handed to {@code onDelivered} right away, so a crash later
+     * in the run does not send them twice.
+     */
+    List<RemindBatchResponse> sendInBatches(List<ReservationReminderDto> reminders, Consumer<List<Long>> onDelivered) {
+        List<List<ReservationReminderDto>> batches = chunk(reminders, Math.max(1, properties.batchSize()));
+        if (batches.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<RemindBatchResponse>> futures = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            int batchNumber = i;
+            List<ReservationReminderDto> batch = batches.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> send(batchNumber, batch, onDelivered), executor));
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private RemindBatchResponse send(int batchNumber, List<ReservationReminderDto> batch, Consumer<List<Long>> onDelivered) {
+        boolean isSuccess;
+        try {
+            isSuccess = Boolean.TRUE.equals(sendMail.sendReminders(batch));
+            if (isSuccess) {
+                onDelivered.accept(batch.stream().map(ReservationReminderDto::reservationId).toList());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error while sending reminder batch {}: {}", batchNumber, e.getMessage());
+            isSuccess = false;
+        }
+        if (!isSuccess) {
+            log.warn("Reminder batch {} with {} reminders was not delivered", batchNumber, batch.size());
+        }
+        return new RemindBatchResponse(batchNumber, batch.size(), isSuccess);
+    }
+
+    private static List<List<ReservationReminderDto>> chunk(List<ReservationReminderDto> reminders, int size) {
+        List<List<ReservationReminderDto>> batches = new ArrayList<>((reminders.size() + size - 1) / size);
+        for (int from = 0; from < reminders.size(); from += size) {
+            batches.add(reminders.subList(from, Math.min(reminders.size(), from + size)));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationChangedEvent;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UpcomingReservationDto;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the reminders due within the horizon in a timing wheel. The wheel is filled from the reservation
+ * table on start and then every refill interval, and is kept current by reservation change events in between,
+ * so each tick only looks at the reminders that are due instead of scanning reservations per offset.
+ * Nodes share the work through the reservation_reminder claim table: whoever inserts the claim sends.
+ * Delivered reminders are marked on the reservation like the daily run does, so switching the mode back does
+ * not remind anyone a second time.
+ */
+@Service
+@Log4j2
+class ReminderWheelService {
+    private static final int WHEEL_SIZE = 4096;
+
+    private final ReservationFacade reservationFacade;
+    private final ReminderService reminderService;
+    private final ReminderClaimRepository reminderClaimRepository;
+    private final ReminderProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TimingWheel<ReminderKey> wheel;
+    private final Duration smallestOffset;
+    private final Duration largestOffset;
+
+    ReminderWheelService(ReservationFacade reservationFacade, ReminderService reminderService,
+                         ReminderClaimRepository reminderClaimRepository, ReminderProperties properties,
+                         TransactionTemplate transactionTemplate) {
+        this.reservationFacade = reservationFacade;
+        this.reminderService = reminderService;
+        this.reminderClaimRepository = reminderClaimRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.wheel = new TimingWheel<>(properties.tick().toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+        this.smallestOffset = Collections.min(properties.offsets());
+        this.largestOffset = Collections.max(properties.offsets());
+    }
+
+    void refill() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.plus(smallestOffset).minus(properties.refillInterval());
+        List<UpcomingReservationDto> upcoming = reservationFacade.getUpcomingReservations(
+                from.isAfter(now) ? from : now,
+                now.plus(properties.horizon()).plus(largestOffset));
+
+        upcoming.forEach(reservation -> schedule(reservation.reservationId(), reservation.reservationDateTime(), now));
+        log.info("Loaded {} upcoming reservations, {} reminders waiting in the wheel", upcoming.size(), wheel.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onReservationChanged(ReservationChangedEvent event) {
+        if (properties.mode() != ReminderMode.WHEEL || event.reservationId() == null) {
+            return;
+        }
+        if (event.isDeleted()) {
+            properties.offsets().forEach(offset -> wheel.cancel(new ReminderKey(event.reservationId(), offset)));
+            return;
+        }
+        schedule(event.reservationId(), event.reservationDateTime(), LocalDateTime.now());
+    }
+
+    List<RemindBatchResponse> sendDue() {
+        List<ReminderKey> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> reservationIds = due.stream().map(ReminderKey::reservationId).collect(Collectors.toSet());
+        Map<Long, ReservationReminderDto> reminders = reservationFacade.getRemindersByIds(reservationIds).stream()
+                .collect(Collectors.toMap(ReservationReminderDto::reservationId, Function.identity()));
+
+        List<ReservationReminderDto> toSend = new ArrayList<>();
+        List<ReminderKey> claimed = new ArrayList<>();
+        for (ReminderKey key : due) {
+            ReservationReminderDto reminder = reminders.get(key.reservationId());
+            if (reminder == null || !reminder.reservationDateTime().isAfter(now)) {
+                continue;
+            }
+            LocalDateTime deadline = reminder.reservationDateTime().minus(key.offset());
+            if (deadline.isAfter(now.plus(properties.tick()))) {
+                // moved to a later time on another node
+                wheel.schedule(key, toMillis(deadline));
+                continue;
+            }
+            if (claim(key, reminder.reservationDateTime(), now)) {
+                toSend.add(reminder);
+                claimed.add(key);
+            }
+        }
+        if (toSend.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> delivered = Collections.synchronizedSet(new HashSet<>());
+        List<RemindBatchResponse> responses = reminderService.sendInBatches(toSend, ids -> {
+            delivered.addAll(ids);
+            reservationFacade.markReminded(ids);
+        });
+        retryUndelivered(claimed, reminders, delivered, now);
+        return responses;
+    }
+
+    private void schedule(Long reservationId, LocalDateTime reservationDateTime, LocalDateTime now) {
+        for (Duration offset : properties.offsets()) {
+            ReminderKey key = new ReminderKey(reservationId, offset);
+            LocalDateTime deadline = reservationDateTime.minus(offset);
+            boolean tooLate = deadline.isBefore(now.minus(properties.refillInterval())) || !reservationDateTime.isAfter(now);
+            boolean beyondHorizon = deadline.isAfter(now.plus(properties.horizon()));
+            if (tooLate || beyondHorizon) {
+                wheel.cancel(key);
+            } else {
+                wheel.schedule(key, toMillis(deadline));
+            }
+        }
+    }
+
+    private boolean claim(ReminderKey key, LocalDateTime reservationDateTime, LocalDateTime now) {
+        Integer inserted = transactionTemplate.execute(status -> reminderClaimRepository.claim(
+                key.reservationId(), key.offset().toMinutes(), reservationDateTime, now));
+        return inserted != null && inserted == 1;
+    }
+
+    private void retryUndelivered(List<ReminderKey> claimed, Map<Long, ReservationReminderDto> reminders,
+                                  Set<Long> delivered, LocalDateTime now) {
+        for (ReminderKey key : claimed) {
+            if (delivered.contains(key.reservationId())) {
+                continue;
+            }
+            LocalDateTime reservationDateTime = reminders.get(key.reservationId()).reservationDateTime();
+            transactionTemplate.executeWithoutResult(status -> reminderClaimRepository.release(
+                    key.reservationId(), key.offset().toMinutes(), reservationDateTime));
+            wheel.schedule(key, toMillis(now.plus(properties.retryDelay())));
+            log.warn("Reminder {} of reservation {} not delivered, retrying in {}",
+                    key.offset(), key.reservationId(), properties.retryDelay());
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the dates of a reservation series as one comma separated list of ISO date-times.
+ */
+@Converter
+class ReservationDateTimesConverter implements AttributeConverter<List<LocalDateTime>, String> {
+    private static final String DELIMITER = ",";
+
+    @Override
+    public String convertToDatabaseColumn(List<LocalDateTime> dateTimes) {
+        if (dateTimes == null || dateTimes.isEmpty()) {
+            return null;
+        }
+        return dateTimes.stream().map(LocalDateTime::toString).collect(Collectors.joining(DELIMITER));
+    }
+
+    @Override
+    public List<LocalDateTime> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(column.split(DELIMITER)).map(LocalDateTime::parse).toList();
+    }
+}
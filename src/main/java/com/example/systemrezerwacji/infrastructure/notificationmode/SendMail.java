@@ -1,9 +1,14 @@
 package com.example.systemrezerwacji.infrastructure.notificationmode;
 
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SendMail {
     Boolean sendEmail(String to, String offerName, LocalDateTime time, String company);
     Boolean sendEmailWithPassword(String to, String offerName, LocalDateTime time, String company, String password);
-    void sendRemind(String to, String reservationName,String salonName, String street, String number, String city, LocalDateTime time);
+    Boolean sendReminders(List<ReservationReminderDto> reminders);
+    Boolean sendSeriesConfirmation(String to, String offerName, List<LocalDateTime> times, String company, String password);
+    Boolean sendWaitlistHold(String to, String offerName, LocalDateTime time, String company, LocalDateTime holdUntil);
 }
@@ -0,0 +1,95 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel. A deadline is rounded up to a tick and hashed into one of {@code wheelSize} buckets,
+ * so scheduling and cancelling are O(1) and advancing the clock only visits the buckets of the ticks that
+ * passed. Keys further away than one revolution wait in their bucket until the wheel reaches their tick.
+ * Scheduling an existing key moves it. All methods are synchronized; the wheel is shared between the
+ * ticking thread and the threads that report reservation changes.
+ */
+class TimingWheel<K> {
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<K>> buckets;
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * A deadline that already passed fires on the next advance.
+     */
+    synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        deadlineTicks.put(key, tick);
+        bucket(tick).add(key);
+    }
+
+    synchronized boolean cancel(K key) {
+        Long tick = deadlineTicks.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        bucket(tick).remove(key);
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and removes every key whose deadline is not after it.
+     */
+    synchronized List<K> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<K> expired = new ArrayList<>();
+        if (nowTick <= currentTick) {
+            return expired;
+        }
+
+        if (nowTick - currentTick > mask) {
+            buckets.forEach(bucket -> expire(bucket, nowTick, expired));
+        } else {
+            for (long tick = currentTick + 1; tick <= nowTick; tick++) {
+                expire(bucket(tick), nowTick, expired);
+            }
+        }
+        currentTick = nowTick;
+        return expired;
+    }
+
+    synchronized int size() {
+        return deadlineTicks.size();
+    }
+
+    private void expire(Set<K> bucket, long nowTick, List<K> expired) {
+        bucket.removeIf(key -> {
+            if (deadlineTicks.get(key) > nowTick) {
+                return false;
+            }
+            deadlineTicks.remove(key);
+            expired.add(key);
+            return true;
+        });
+    }
+
+    private Set<K> bucket(long tick) {
+        return buckets.get((int) (tick & mask));
+    }
+}
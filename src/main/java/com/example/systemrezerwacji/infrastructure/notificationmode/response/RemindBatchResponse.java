@@ -0,0 +1,4 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode.response;
+
+public record RemindBatchResponse(int batch, int reminders, Boolean isSuccess) {
+}
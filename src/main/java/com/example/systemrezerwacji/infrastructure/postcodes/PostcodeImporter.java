@@ -0,0 +1,85 @@
+package com.example.systemrezerwacji.infrastructure.postcodes;
+
+import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import com.example.systemrezerwacji.domain.salonmodule.dto.PostcodeLocationDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Imports the postcode gazetteer named by {@code salon-directory.postcodes-file} on startup: a CSV with a
+ * header line and {@code zip_code,latitude,longitude} rows. Nothing is imported while the property is blank or
+ * once the table holds postcodes, so a new gazetteer is loaded by emptying the table and restarting.
+ */
+@Component
+@Log4j2
+public class PostcodeImporter {
+
+    private final SalonFacade salonFacade;
+    private final ResourceLoader resourceLoader;
+    private final String postcodesFile;
+
+    public PostcodeImporter(SalonFacade salonFacade, ResourceLoader resourceLoader,
+                            @Value("${salon-directory.postcodes-file:}") String postcodesFile) {
+        this.salonFacade = salonFacade;
+        this.resourceLoader = resourceLoader;
+        this.postcodesFile = postcodesFile;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importPostcodes() {
+        if (postcodesFile.isBlank()) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(postcodesFile);
+        if (!resource.exists()) {
+            log.warn("Postcode file {} not found, salons without coordinates stay out of nearby search", postcodesFile);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            List<PostcodeLocationDto> postcodes = reader.lines()
+                    .skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(PostcodeImporter::parse)
+                    .flatMap(Optional::stream)
+                    .toList();
+            int imported = salonFacade.importPostcodes(postcodes);
+            if (imported > 0) {
+                log.info("Imported {} postcode locations from {}", imported, postcodesFile);
+            }
+        } catch (IOException e) {
+            log.error("Could not read postcode file {}: {}", postcodesFile, e.getMessage());
+        }
+    }
+
+    private static Optional<PostcodeLocationDto> parse(String line) {
+        String[] columns = line.split(",", -1);
+        try {
+            if (columns.length == 3) {
+                String zipCode = columns[0].strip();
+                double latitude = Double.parseDouble(columns[1].strip());
+                double longitude = Double.parseDouble(columns[2].strip());
+                if (!zipCode.isEmpty() && zipCode.length() <= 10 && Math.abs(latitude) <= 90
+                        && Math.abs(longitude) <= 180) {
+                    return Optional.of(new PostcodeLocationDto(zipCode, latitude, longitude));
+                }
+            }
+        } catch (NumberFormatException e) {
+            // reported below like any other malformed row
+        }
+        log.warn("Skipping malformed postcode row: {}", line);
+        return Optional.empty();
+    }
+}
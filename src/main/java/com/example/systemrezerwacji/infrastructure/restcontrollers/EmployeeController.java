@@ -3,12 +3,19 @@ package com.example.systemrezerwacji.infrastructure.restcontrollers;
 import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AddOfferRequestDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithEmployeesDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeFacadeResponseDto;
 import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.AvailableDatesReservationDto;
+import com.example.systemrezerwacji.infrastructure.slotstream.SlotStreamFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,25 +24,38 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class EmployeeController {
     private final EmployeeFacade employeeFacade;
+    private final SlotStreamFacade slotStreamFacade;
+    private final VersionStamps versionStamps;
 
-    public EmployeeController(EmployeeFacade employeeFacade) {
+    public EmployeeController(EmployeeFacade employeeFacade, SlotStreamFacade slotStreamFacade, VersionStamps versionStamps) {
         this.employeeFacade = employeeFacade;
+        this.slotStreamFacade = slotStreamFacade;
+        this.versionStamps = versionStamps;
     }
 
     @GetMapping("/employee-to-offer/{offerId}")
-    public ResponseEntity<List<EmployeeToOfferDto>> getEmployeeToOffer(@PathVariable Integer offerId) {
+    public ResponseEntity<List<EmployeeToOfferDto>> getEmployeeToOffer(@PathVariable Integer offerId, WebRequest request) {
+        String eTag = versionStamps.offerEmployeesTag(offerId.longValue());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<EmployeeToOfferDto> employeesToOffer = employeeFacade.getEmployeesToOffer(offerId.longValue());
 
-        return ResponseEntity.ok(employeesToOffer);
+        return ResponseEntity.ok().eTag(eTag).body(employeesToOffer);
     }
 
     @GetMapping("/employee/available-dates")
     public ResponseEntity<List<AvailableTermDto>> getAvailableHours(
             @RequestParam("date") String date,
             @RequestParam("employeeId") Long employeeId,
-            @RequestParam("offerId") Long offerId
+            @RequestParam("offerId") Long offerId,
+            WebRequest request
     ) {
         AvailableDatesReservationDto availableDate = new AvailableDatesReservationDto(LocalDate.parse(date), employeeId, offerId);
+        String eTag = versionStamps.availableHoursTag(employeeId, offerId, availableDate.date());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
 
         List<AvailableTermDto> availableHours = employeeFacade.getAvailableHours(availableDate);
 
@@ -43,6 +63,39 @@ public class EmployeeController {
             return ResponseEntity.notFound().build();
         }
 
+        return ResponseEntity.ok().eTag(eTag).body(availableHours);
+    }
+
+    /**
+     * Streams slot-taken, slot-freed and slot-held events of one day, either of a salon or of one employee, so
+     * an open booking screen can update its terms without polling.
+     */
+    @GetMapping(value = "/employee/available-dates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSlotChanges(
+            @RequestParam(required = false) Long salonId,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        if ((salonId == null) == (employeeId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = salonId != null
+                ? slotStreamFacade.subscribeToSalon(salonId, date)
+                : slotStreamFacade.subscribeToEmployee(employeeId, date);
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/offers/{offerId}/available-dates")
+    public ResponseEntity<List<AvailableTermWithEmployeesDto>> getAvailableHoursForOffer(
+            @PathVariable Long offerId,
+            @RequestParam("date") String date
+    ) {
+        List<AvailableTermWithEmployeesDto> availableHours = employeeFacade.getAvailableHoursForOffer(offerId, LocalDate.parse(date));
+
+        if (availableHours.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
         return ResponseEntity.ok(availableHours);
     }
 
@@ -6,8 +6,10 @@ import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
 import com.example.systemrezerwacji.domain.offermodule.response.OfferFacadeResponse;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.salonmodule.dto.SalonOffersListDto;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -19,10 +21,12 @@ public class OfferController {
 
     private final OfferFacade offerFacade;
     private final SalonFacade salonFacade;
+    private final VersionStamps versionStamps;
 
-    public OfferController(OfferFacade offerFacade, SalonFacade salonFacade) {
+    public OfferController(OfferFacade offerFacade, SalonFacade salonFacade, VersionStamps versionStamps) {
         this.offerFacade = offerFacade;
         this.salonFacade = salonFacade;
+        this.versionStamps = versionStamps;
     }
 
     @PostMapping("/offer")
@@ -38,9 +42,13 @@ public class OfferController {
     }
 
     @GetMapping("/offers/{salonId}")
-    public ResponseEntity<List<OfferDto>> getOffers(@PathVariable Integer salonId) {
+    public ResponseEntity<List<OfferDto>> getOffers(@PathVariable Integer salonId, WebRequest request) {
+        String eTag = versionStamps.salonOffersTag(salonId.longValue());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         SalonOffersListDto allOffers = salonFacade.getAllOffersToSalon(salonId.longValue());
-        return ResponseEntity.ok(allOffers.offers());
+        return ResponseEntity.ok().eTag(eTag).body(allOffers.offers());
     }
 
 
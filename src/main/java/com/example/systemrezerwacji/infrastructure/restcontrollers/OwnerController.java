@@ -1,12 +1,22 @@
 package com.example.systemrezerwacji.infrastructure.restcontrollers;
 
+import com.example.systemrezerwacji.domain.analyticsmodule.AnalyticsFacade;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeUtilizationDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferRevenueDto;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportFormat;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.salonmodule.dto.OwnerSalonWithAllInformation;
 import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +26,8 @@ import java.util.List;
 public class OwnerController {
 
     private final SalonFacade salonFacade;
+    private final ReservationFacade reservationFacade;
+    private final AnalyticsFacade analyticsFacade;
 
     @GetMapping("/salons")
     public ResponseEntity<List<SalonWithIdDto>> getAllSalonsToOwner(@RequestParam String email) {
@@ -24,12 +36,60 @@ public class OwnerController {
     }
 
     @GetMapping("/salon/{salonId}")
-    public ResponseEntity<OwnerSalonWithAllInformation> getSalonById(@PathVariable Long salonId, @RequestParam String email) {
-        OwnerSalonWithAllInformation salon = salonFacade.getSalonByIdToOwner(salonId, email);
+    public ResponseEntity<OwnerSalonWithAllInformation> getSalonById(
+            @PathVariable Long salonId,
+            @RequestParam String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        OwnerSalonWithAllInformation salon = salonFacade.getSalonByIdToOwner(salonId, email, from, to);
 
         return ResponseEntity.ok(salon);
     }
 
+    @GetMapping("/salon/{salonId}/reservations/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @PathVariable Long salonId,
+            @RequestParam String email,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ReservationExportFormat format
+    ) {
+        salonFacade.checkSalonOwner(salonId, email);
+
+        StreamingResponseBody body = out ->
+                reservationFacade.exportSalonReservations(salonId, employeeId, from, to, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservations-" + salonId + "." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/salon/{salonId}/analytics/utilization")
+    public ResponseEntity<List<EmployeeUtilizationDto>> getEmployeeUtilization(
+            @PathVariable Long salonId,
+            @RequestParam String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        salonFacade.checkSalonOwner(salonId, email);
+        return ResponseEntity.ok(analyticsFacade.getEmployeeUtilization(salonId, from, to));
+    }
+
+    @GetMapping("/salon/{salonId}/analytics/revenue")
+    public ResponseEntity<List<OfferRevenueDto>> getOfferRevenue(
+            @PathVariable Long salonId,
+            @RequestParam String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        salonFacade.checkSalonOwner(salonId, email);
+        return ResponseEntity.ok(analyticsFacade.getOfferRevenue(salonId, from, to));
+    }
+
 
 
 
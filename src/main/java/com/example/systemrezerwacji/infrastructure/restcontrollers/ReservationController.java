@@ -5,11 +5,14 @@ import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithD
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.*;
 import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationFacadeResponse;
+import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationSeriesResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -35,6 +38,17 @@ public class ReservationController {
         }
     }
 
+    @PostMapping("/reservation/series")
+    public ResponseEntity<ReservationSeriesResponse> createReservationSeries(@RequestBody CreateReservationSeriesDto seriesDto) {
+        ReservationSeriesResponse response = reservationFacade.createReservationSeries(seriesDto);
+
+        if (response.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @GetMapping("/reservations")
     public ResponseEntity<List<UserReservationDataDto>> showReservationToCurrentUser(@RequestParam String email) {
         List<UserReservationDataDto> userReservationList =  reservationFacade.getUserReservation(email);
@@ -42,6 +56,28 @@ public class ReservationController {
         return ResponseEntity.ok(userReservationList);
     }
 
+    @GetMapping("/reservations/page")
+    public ResponseEntity<UserReservationPageDto> showReservationPageToCurrentUser(
+            @RequestParam String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDateTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        UserReservationPageDto page = reservationFacade.getUserReservationsPage(email, afterDateTime, afterId, size);
+
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/reservations/changes")
+    public ResponseEntity<UserReservationChangesDto> showReservationChangesToCurrentUser(
+            @RequestParam String email,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since
+    ) {
+        UserReservationChangesDto changes = reservationFacade.getUserReservationChanges(email, since);
+
+        return ResponseEntity.ok(changes);
+    }
+
     @DeleteMapping("/reservation")
     public ResponseEntity<ReservationFacadeResponse> deleteReservation(@RequestBody DeleteReservationDto deleteReservationDto) {
         ReservationFacadeResponse response = reservationFacade.deleteReservation(deleteReservationDto);
@@ -7,9 +7,11 @@ import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.salonmodule.dto.*;
 import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
 import com.example.systemrezerwacji.infrastructure.claudinary.CloudinaryService;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 import java.util.List;
@@ -26,10 +28,12 @@ import java.util.Map;
 public class SalonController {
     private final SalonFacade salonFacade;
     private final CloudinaryService cloudinaryService;
+    private final VersionStamps versionStamps;
 
-    public SalonController(SalonFacade salonFacade, CloudinaryService cloudinaryService) {
+    public SalonController(SalonFacade salonFacade, CloudinaryService cloudinaryService, VersionStamps versionStamps) {
         this.salonFacade = salonFacade;
         this.cloudinaryService = cloudinaryService;
+        this.versionStamps = versionStamps;
     }
 
 
@@ -56,10 +60,45 @@ public class SalonController {
     }
 
     @GetMapping("/salons")
-    public ResponseEntity<List<SalonWithIdDto>> getAllSalons() {
+    public ResponseEntity<List<SalonWithIdDto>> getAllSalons(WebRequest request) {
+        String eTag = versionStamps.salonCatalogTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<SalonWithIdDto> allSalons = salonFacade.getAllSalons();
 
-        return ResponseEntity.ok(allSalons);
+        return ResponseEntity.ok().eTag(eTag).body(allSalons);
+    }
+
+    @GetMapping("/salons/search")
+    public ResponseEntity<SalonSearchPageDto> searchSalons(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "NAME") SalonSearchSort sort,
+            @RequestParam(required = false) String afterName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        SalonSearchPageDto page = salonFacade.searchSalons(new SalonSearchDto(city, category, name, sort),
+                afterName, afterId, size);
+
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/salons/nearby")
+    public ResponseEntity<List<NearbySalonDto>> findNearbySalons(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer count
+    ) {
+        List<NearbySalonDto> salons = radiusKm == null
+                ? salonFacade.findNearestSalons(latitude, longitude, count, category)
+                : salonFacade.findSalonsWithinRadius(latitude, longitude, radiusKm, count, category);
+
+        return ResponseEntity.ok(salons);
     }
 
     @GetMapping("/salons/{id}")
@@ -69,6 +108,16 @@ public class SalonController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/salons/{id}/details")
+    public ResponseEntity<SalonDetailsDto> getSalonDetails(@PathVariable Long id) {
+        return ResponseEntity.ok(salonFacade.getSalonDetails(id));
+    }
+
+    @GetMapping("/salons/{id}/opening-hours")
+    public ResponseEntity<List<OpeningHoursDto>> getOpeningHours(@PathVariable Integer id) {
+        return ResponseEntity.ok(salonFacade.getOpeningHours(id.longValue()));
+    }
+
     @PostMapping("/salon/{id}/employee")
     public ResponseEntity<CreateEmployeeResponseDto> addEmployeeToSalon(@PathVariable Long id, @RequestBody EmployeeDto employeeDto) {
         EmployeeDto updatedEmployeeDto = new EmployeeDto(id, employeeDto.name(), employeeDto.email(), employeeDto.availability());
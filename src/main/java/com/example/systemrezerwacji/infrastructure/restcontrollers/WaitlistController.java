@@ -0,0 +1,42 @@
+package com.example.systemrezerwacji.infrastructure.restcontrollers;
+
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
+import com.example.systemrezerwacji.domain.waitlistmodule.dto.CreateWaitlistEntryDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.response.WaitlistFacadeResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Log4j2
+@CrossOrigin(origins = "http://localhost:3000")
+public class WaitlistController {
+    private final WaitlistFacade waitlistFacade;
+
+    public WaitlistController(WaitlistFacade waitlistFacade) {
+        this.waitlistFacade = waitlistFacade;
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistFacadeResponse> joinWaitlist(@RequestBody CreateWaitlistEntryDto entryDto) {
+        WaitlistFacadeResponse response = waitlistFacade.register(entryDto);
+
+        if (response.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<WaitlistFacadeResponse> leaveWaitlist(@PathVariable Long entryId, @RequestParam String email) {
+        WaitlistFacadeResponse response = waitlistFacade.cancel(entryId, email);
+
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.systemrezerwacji.infrastructure.restcontrollers.handler;
 
 import com.example.systemrezerwacji.domain.offermodule.exception.OfferNotFoundException;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.InvalidReservationCursorException;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationConflictException;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidCursorException;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidLocationException;
 import com.example.systemrezerwacji.domain.salonmodule.exception.SalonNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +24,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    @ExceptionHandler(ReservationConflictException.class)
+    public ResponseEntity<String> handleReservationConflictException(ReservationConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidLocationException.class)
+    public ResponseEntity<String> handleInvalidLocationException(InvalidLocationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidReservationCursorException.class)
+    public ResponseEntity<String> handleInvalidReservationCursorException(InvalidReservationCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
 
 
 
@@ -0,0 +1,58 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.AnalyticsFacade;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.BookingStatsCheckDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Rebuilds the booking counters on startup when asked to and checks the recent and upcoming days every night,
+ * rewriting them from the reservations when they drifted.
+ */
+@Component
+@Log4j2
+public class BookingStatsScheduler {
+
+    private final AnalyticsFacade analyticsFacade;
+    private final boolean rebuildOnStartup;
+    private final int checkDaysBack;
+    private final int checkDaysAhead;
+
+    public BookingStatsScheduler(AnalyticsFacade analyticsFacade,
+                                 @Value("${analytics.stats.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                                 @Value("${analytics.stats.check-days-back:7}") int checkDaysBack,
+                                 @Value("${analytics.stats.check-days-ahead:60}") int checkDaysAhead) {
+        this.analyticsFacade = analyticsFacade;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.checkDaysBack = checkDaysBack;
+        this.checkDaysAhead = checkDaysAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildBookingStats() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        log.info("Rebuilding booking stats");
+        long rows = analyticsFacade.rebuild();
+        log.info("Booking stats rebuilt with {} rows", rows);
+    }
+
+    @Scheduled(cron = "${analytics.stats.check-cron}")
+    public void checkBookingStats() {
+        LocalDate today = LocalDate.now();
+        BookingStatsCheckDto check = analyticsFacade.checkConsistency(
+                today.minusDays(checkDaysBack), today.plusDays(checkDaysAhead), true);
+        if (check.mismatchedRows() > 0) {
+            log.warn("Repaired {} booking stats rows between {} and {}", check.mismatchedRows(), check.from(), check.to());
+        } else {
+            log.info("Booking stats between {} and {} are consistent", check.from(), check.to());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+public class EmailOutboxScheduler {
+
+    private final NotificationFacade notificationFacade;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.dispatch-delay}")
+    public void dispatchQueuedEmails() {
+        log.debug("Start dispatching queued emails");
+        notificationFacade.dispatchQueuedEmails();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the occupancy read model once on startup, e.g. after it was introduced or changed shape.
+ */
+@Component
+@AllArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "reservation.occupancy.rebuild-on-startup", havingValue = "true")
+public class OccupancyRebuildScheduler {
+
+    private final ReservationFacade reservationFacade;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOccupancy() {
+        log.info("Rebuilding employee day occupancy");
+        long days = reservationFacade.rebuildOccupancy();
+        log.info("Employee day occupancy rebuilt with {} days", days);
+    }
+}
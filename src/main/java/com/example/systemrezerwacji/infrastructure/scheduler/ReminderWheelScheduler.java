@@ -0,0 +1,42 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "notification.reminder.mode", havingValue = "wheel")
+public class ReminderWheelScheduler {
+
+    private final NotificationFacade notificationFacade;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadReminderWheel() {
+        log.info("Loading upcoming reminders");
+        notificationFacade.refillReminderWheel();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.reminder.refill-interval}",
+            initialDelayString = "${notification.reminder.refill-interval}")
+    public void refillReminderWheel() {
+        notificationFacade.refillReminderWheel();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.reminder.tick}")
+    public void sendDueReminders() {
+        List<RemindBatchResponse> batches = notificationFacade.sendDueReminders();
+        batches.stream()
+                .filter(batch -> !batch.isSuccess())
+                .forEach(batch -> log.warn("Reminder batch {} with {} reminders failed", batch.batch(), batch.reminders()));
+    }
+}
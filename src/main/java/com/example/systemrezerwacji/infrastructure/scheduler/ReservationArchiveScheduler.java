@@ -0,0 +1,29 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+@Log4j2
+public class ReservationArchiveScheduler {
+
+    private final ReservationFacade reservationFacade;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitions() {
+        reservationFacade.createUpcomingReservationPartitions();
+    }
+
+    @Scheduled(cron = "${reservation.archive.cron}")
+    public void archivePastReservations() {
+        log.info("Start archiving past reservations");
+        long archived = reservationFacade.archivePastReservations();
+        log.info("Archived {} past reservations", archived);
+    }
+}
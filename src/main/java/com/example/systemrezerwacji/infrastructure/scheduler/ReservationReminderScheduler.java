@@ -2,14 +2,19 @@ package com.example.systemrezerwacji.infrastructure.scheduler;
 
 
 import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @AllArgsConstructor
 @Log4j2
+@ConditionalOnProperty(name = "notification.reminder.mode", havingValue = "daily", matchIfMissing = true)
 public class ReservationReminderScheduler {
 
     private final NotificationFacade notificationFacade;
@@ -17,6 +22,26 @@ public class ReservationReminderScheduler {
     @Scheduled(cron = "${reservation.send-remind}")
     public void sendRemindToUserWhoHaveReservationToTomorrow() {
         log.info("Start sending remind to service");
-        notificationFacade.sendRemind();
+        report(notificationFacade.sendRemind());
+    }
+
+    @Scheduled(fixedDelayString = "${notification.reminder.retry-delay}",
+            initialDelayString = "${notification.reminder.retry-delay}")
+    public void retryUnfinishedReminders() {
+        List<RemindBatchResponse> batches = notificationFacade.retryRemind();
+        if (!batches.isEmpty()) {
+            report(batches);
+        }
+    }
+
+    private void report(List<RemindBatchResponse> batches) {
+        List<RemindBatchResponse> failed = batches.stream()
+                .filter(batch -> !batch.isSuccess())
+                .toList();
+        if (failed.isEmpty()) {
+            log.info("Sent {} reminder batches", batches.size());
+        } else {
+            log.warn("{} of {} reminder batches failed: {}", failed.size(), batches.size(), failed);
+        }
     }
 }
@@ -0,0 +1,34 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the salon directory on startup and reloads it periodically, which also picks up catalog writes
+ * made through other instances.
+ */
+@Component
+@AllArgsConstructor
+@Log4j2
+public class SalonDirectoryScheduler {
+
+    private final SalonFacade salonFacade;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDirectory() {
+        if (salonFacade.rebuildDirectory()) {
+            log.info("Salon directory loaded");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${salon-directory.refresh-interval}",
+            initialDelayString = "${salon-directory.refresh-interval}")
+    public void refreshDirectory() {
+        salonFacade.rebuildDirectory();
+    }
+}
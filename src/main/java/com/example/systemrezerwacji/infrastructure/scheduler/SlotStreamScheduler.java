@@ -0,0 +1,18 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.infrastructure.slotstream.SlotStreamFacade;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class SlotStreamScheduler {
+
+    private final SlotStreamFacade slotStreamFacade;
+
+    @Scheduled(fixedDelayString = "${slot-stream.heartbeat}", initialDelayString = "${slot-stream.heartbeat}")
+    public void sendHeartbeat() {
+        slotStreamFacade.sendHeartbeat();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.systemrezerwacji.infrastructure.scheduler;
+
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands expired holds to the next customers in line and drops entries whose dates have passed.
+ */
+@Component
+@AllArgsConstructor
+@Log4j2
+public class WaitlistScheduler {
+
+    private final WaitlistFacade waitlistFacade;
+
+    @Scheduled(fixedDelayString = "${waitlist.release-interval}")
+    public void releaseExpiredHolds() {
+        int released = waitlistFacade.releaseExpiredHolds();
+        if (released > 0) {
+            log.info("Released {} expired waitlist holds", released);
+        }
+    }
+
+    @Scheduled(cron = "${waitlist.cleanup-cron}")
+    public void expireOutdatedEntries() {
+        int expired = waitlistFacade.expireOutdatedEntries();
+        log.info("Expired {} outdated waitlist entries", expired);
+    }
+}
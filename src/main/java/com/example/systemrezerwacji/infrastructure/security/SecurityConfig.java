@@ -59,6 +59,8 @@ public class SecurityConfig {
                                 .requestMatchers("/salons/**").permitAll()
                                 .requestMatchers("/salons").permitAll()
                                 .requestMatchers("/reservation").permitAll()
+                                .requestMatchers("/reservation/series").permitAll()
+                                .requestMatchers("/waitlist/**").permitAll()
                                 .requestMatchers("/employee-to-offer/**").permitAll()
                                 .requestMatchers("/offers/**").permitAll()
                                 .requestMatchers("/employee/available-dates/**").permitAll()
@@ -0,0 +1,25 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+
+@Component
+@AllArgsConstructor
+public class SlotStreamFacade {
+    private final SlotStreamService slotStreamService;
+
+    public SseEmitter subscribeToSalon(Long salonId, LocalDate date) {
+        return slotStreamService.subscribe(SlotTopic.ofSalon(salonId, date));
+    }
+
+    public SseEmitter subscribeToEmployee(Long employeeId, LocalDate date) {
+        return slotStreamService.subscribe(SlotTopic.ofEmployee(employeeId, date));
+    }
+
+    public void sendHeartbeat() {
+        slotStreamService.sendHeartbeat();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "slot-stream")
+public record SlotStreamProperties(
+        int bufferSize,
+        Duration timeout,
+        Duration heartbeat
+) {
+}
@@ -0,0 +1,195 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangeType;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangedEvent;
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process fan-out of committed slot changes to open event streams. The listener never blocks on a client:
+ * it drops the event into each subscriber's bounded buffer and a virtual thread of that subscriber writes it
+ * out, so a client that stops reading only parks its own sender. A client whose buffer overflows is
+ * disconnected and has to reconnect and reload its slots.
+ */
+@Service
+@Log4j2
+class SlotStreamService {
+    private final Map<SlotTopic, Set<SlotSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final SlotStreamProperties properties;
+    private final WaitlistFacade waitlistFacade;
+    private final ExecutorService sender;
+
+    SlotStreamService(SlotStreamProperties properties, @Lazy WaitlistFacade waitlistFacade) {
+        this.properties = properties;
+        this.waitlistFacade = waitlistFacade;
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("slot-stream-", 0).factory());
+    }
+
+    SseEmitter subscribe(SlotTopic topic) {
+        return register(topic, new SseEmitter(properties.timeout().toMillis()));
+    }
+
+    SseEmitter register(SlotTopic topic, SseEmitter emitter) {
+        SlotSubscriber subscriber = new SlotSubscriber(topic, emitter, properties.bufferSize());
+        subscribers.compute(topic, (key, topicSubscribers) -> {
+            Set<SlotSubscriber> result = topicSubscribers != null ? topicSubscribers : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        log.debug("Slot stream opened for {}", topic);
+        return emitter;
+    }
+
+    /**
+     * Runs after the waitlist had its turn with freed time. Terms it held right away go out as held, and the
+     * freed event only when part of the freed time stayed bookable.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    void onSlotChanged(SlotChangedEvent event) {
+        SlotTopic salonTopic = SlotTopic.ofSalon(event.salonId(), event.date());
+        SlotTopic employeeTopic = SlotTopic.ofEmployee(event.employeeId(), event.date());
+        if (!subscribers.containsKey(salonTopic) && !subscribers.containsKey(employeeTopic)) {
+            return;
+        }
+        for (SlotChangedEvent change : announced(event)) {
+            publish(salonTopic, eventName(change.type()), change);
+            publish(employeeTopic, eventName(change.type()), change);
+        }
+    }
+
+    /**
+     * Sends a comment to every stream, which keeps proxies from closing idle connections and
+     * surfaces clients that went away without closing.
+     */
+    void sendHeartbeat() {
+        subscribers.values().forEach(topicSubscribers ->
+                topicSubscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        List<SlotSubscriber> open = subscribers.values().stream().flatMap(Set::stream).toList();
+        open.forEach(subscriber -> close(subscriber, false));
+    }
+
+    private List<SlotChangedEvent> announced(SlotChangedEvent event) {
+        if (event.type() != SlotChangeType.FREED) {
+            return List.of(event);
+        }
+        List<SlotChangedEvent> held = waitlistFacade.getHeldTerms(event.employeeId(), event.start(), event.end()).stream()
+                .map(term -> new SlotChangedEvent(SlotChangeType.HELD, event.salonId(), event.employeeId(),
+                        term.date().atTime(term.startServices()), term.date().atTime(term.endServices())))
+                .sorted(Comparator.comparing(SlotChangedEvent::start))
+                .toList();
+        List<SlotChangedEvent> changes = new ArrayList<>();
+        if (!covers(held, event.start(), event.end())) {
+            changes.add(event);
+        }
+        changes.addAll(held);
+        return changes;
+    }
+
+    private static boolean covers(List<SlotChangedEvent> held, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime covered = start;
+        for (SlotChangedEvent term : held) {
+            if (term.start().isAfter(covered)) {
+                return false;
+            }
+            if (term.end().isAfter(covered)) {
+                covered = term.end();
+            }
+        }
+        return !covered.isBefore(end);
+    }
+
+    private static String eventName(SlotChangeType type) {
+        return switch (type) {
+            case TAKEN -> "slot-taken";
+            case FREED -> "slot-freed";
+            case HELD -> "slot-held";
+        };
+    }
+
+    private void publish(SlotTopic topic, String name, SlotChangedEvent event) {
+        Set<SlotSubscriber> topicSubscribers = subscribers.get(topic);
+        if (topicSubscribers == null) {
+            return;
+        }
+        topicSubscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().name(name).data(event)));
+    }
+
+    private void enqueue(SlotSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event)) {
+            log.info("Disconnecting slow slot stream subscriber of {}", subscriber.topic());
+            close(subscriber, false);
+            return;
+        }
+        if (subscriber.startDraining()) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(SlotSubscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.isClosed() && (event = subscriber.poll()) != null) {
+                subscriber.emitter().send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Slot stream of {} failed: {}", subscriber.topic(), e.getMessage());
+            close(subscriber, true);
+        } finally {
+            subscriber.stopDraining();
+        }
+        // an event may have arrived between the last poll and releasing the drain flag
+        if (subscriber.hasPending() && subscriber.startDraining()) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void close(SlotSubscriber subscriber, boolean failed) {
+        remove(subscriber);
+        if (!subscriber.close() || failed) {
+            return;
+        }
+        try {
+            subscriber.emitter().complete();
+        } catch (IllegalStateException e) {
+            log.debug("Slot stream of {} was already completed", subscriber.topic());
+        }
+    }
+
+    private void remove(SlotSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.topic(), (key, topicSubscribers) -> {
+            topicSubscribers.remove(subscriber);
+            return topicSubscribers.isEmpty() ? null : topicSubscribers;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open stream with its own bounded buffer. Publishers only enqueue; at most one sender thread drains
+ * the buffer at a time, so events reach the client in publish order.
+ */
+class SlotSubscriber {
+    private final SlotTopic topic;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SlotSubscriber(SlotTopic topic, SseEmitter emitter, int bufferSize) {
+        this.topic = topic;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    SlotTopic topic() {
+        return topic;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * @return false when the buffer is full, i.e. the client does not keep up
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        return buffer.offer(event);
+    }
+
+    SseEmitter.SseEventBuilder poll() {
+        return buffer.poll();
+    }
+
+    boolean hasPending() {
+        return !buffer.isEmpty();
+    }
+
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+}
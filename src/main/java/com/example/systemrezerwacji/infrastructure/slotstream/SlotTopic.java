@@ -0,0 +1,17 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import java.time.LocalDate;
+
+/**
+ * Slot changes of one day, either of a whole salon or of a single employee; the other id is null.
+ */
+record SlotTopic(Long salonId, Long employeeId, LocalDate date) {
+
+    static SlotTopic ofSalon(Long salonId, LocalDate date) {
+        return new SlotTopic(salonId, null, date);
+    }
+
+    static SlotTopic ofEmployee(Long employeeId, LocalDate date) {
+        return new SlotTopic(null, employeeId, date);
+    }
+}
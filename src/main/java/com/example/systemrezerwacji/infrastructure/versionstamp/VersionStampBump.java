@@ -0,0 +1,10 @@
+package com.example.systemrezerwacji.infrastructure.versionstamp;
+
+/**
+ * Tells the other instances that a stripe of one kind of stamp moved, so they stop answering the old ETag
+ * with {@code 304}.
+ */
+public record VersionStampBump(String origin, Kind kind, int stripe) {
+
+    public enum Kind { SALON_CATALOG, SALON, OFFER, EMPLOYEE_DAY }
+}
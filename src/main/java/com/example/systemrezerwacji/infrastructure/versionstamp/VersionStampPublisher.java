@@ -0,0 +1,9 @@
+package com.example.systemrezerwacji.infrastructure.versionstamp;
+
+@FunctionalInterface
+public interface VersionStampPublisher {
+    VersionStampPublisher NONE = bump -> {
+    };
+
+    void publish(VersionStampBump bump);
+}
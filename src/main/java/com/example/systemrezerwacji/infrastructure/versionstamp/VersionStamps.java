@@ -0,0 +1,161 @@
+package com.example.systemrezerwacji.infrastructure.versionstamp;
+
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStampBump.Kind;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process version stamps for strong ETags of the catalog and availability reads. Facades bump a stamp
+ * after every write that changes what one of those reads returns; a controller builds the ETag from the
+ * stamps alone, so a matching {@code If-None-Match} is answered without touching the database.
+ * <p>
+ * Salons, offers and employee days are hashed onto fixed stripes, so a collision only invalidates a
+ * neighbour's ETag early. Every bump takes the next value of one sequence, and the tag carries the start
+ * time of this instance, so a stamp never repeats, not even across restarts.
+ * <p>
+ * Every local bump is also published, and a bump published by another instance moves the same stripe here,
+ * so no instance keeps answering {@code 304} for data changed elsewhere. Remote bumps arrive a moment after
+ * the commit, the same delay the local cache tier is invalidated with. Without a publisher configured the
+ * stamps only cover this instance.
+ */
+@Log4j2
+@Component
+public class VersionStamps {
+    private static final int STRIPES = 4096;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong salonCatalog = new AtomicLong();
+    private final AtomicLongArray salons = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray offers = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray employeeDays = new AtomicLongArray(STRIPES);
+    private final VersionStampPublisher publisher;
+
+    public VersionStamps() {
+        this(VersionStampPublisher.NONE);
+    }
+
+    public VersionStamps(VersionStampPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Autowired
+    VersionStamps(ObjectProvider<VersionStampPublisher> publisher) {
+        this(publisher.getIfAvailable(() -> VersionStampPublisher.NONE));
+    }
+
+    public void bumpSalonCatalog() {
+        afterCommit(Kind.SALON_CATALOG, 0);
+    }
+
+    public void bumpSalon(Long salonId) {
+        afterCommit(Kind.SALON, stripe(salonId));
+    }
+
+    public void bumpOffer(Long offerId) {
+        afterCommit(Kind.OFFER, stripe(offerId));
+    }
+
+    public void bumpEmployeeDay(Long employeeId, LocalDate date) {
+        afterCommit(Kind.EMPLOYEE_DAY, stripe(employeeId, date));
+    }
+
+    /**
+     * Applies a bump published by another instance; our own bumps coming back over the channel are ignored.
+     */
+    public void applyRemote(VersionStampBump bump) {
+        if (origin.equals(bump.origin())) {
+            return;
+        }
+        log.debug("Applying {} stamp bump of stripe {} from {}", bump.kind(), bump.stripe(), bump.origin());
+        bump(bump.kind(), bump.stripe());
+    }
+
+    public String salonCatalogTag() {
+        return tag("c" + salonCatalog.get());
+    }
+
+    public String salonOffersTag(Long salonId) {
+        return tag("s" + salons.get(stripe(salonId)));
+    }
+
+    public String offerEmployeesTag(Long offerId) {
+        return tag("o" + offers.get(stripe(offerId)));
+    }
+
+    /**
+     * Today's terms also depend on the clock: terms that already started are left out, so the tag of
+     * today changes every minute, and a day that passed gets a tag of its own.
+     */
+    public String availableHoursTag(Long employeeId, Long offerId, LocalDate date) {
+        LocalDate today = LocalDate.now();
+        String clock = date.isAfter(today) ? "f"
+                : date.isEqual(today) ? "t" + LocalTime.now().toSecondOfDay() / 60
+                : "p";
+        return tag("e" + employeeDays.get(stripe(employeeId, date)) + "o" + offers.get(stripe(offerId)) + clock);
+    }
+
+    private String tag(String version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    private void bump(Kind kind, int stripe) {
+        long version = sequence.incrementAndGet();
+        switch (kind) {
+            case SALON_CATALOG -> salonCatalog.set(version);
+            case SALON -> salons.set(stripe, version);
+            case OFFER -> offers.set(stripe, version);
+            case EMPLOYEE_DAY -> employeeDays.set(stripe, version);
+        }
+    }
+
+    private void bumpAndPublish(Kind kind, int stripe) {
+        bump(kind, stripe);
+        try {
+            publisher.publish(new VersionStampBump(origin, kind, stripe));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} stamp bump of stripe {}: {}", kind, stripe, e.getMessage());
+        }
+    }
+
+    /**
+     * Readers must not see the new stamp before the write is visible, or they would cache the old body
+     * under it; inside a transaction the bump waits for the commit.
+     */
+    private void afterCommit(Kind kind, int stripe) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpAndPublish(kind, stripe);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bumpAndPublish(kind, stripe);
+            }
+        });
+    }
+
+    private static int stripe(Long id) {
+        int hash = Objects.hashCode(id);
+        hash ^= hash >>> 16;
+        return hash & (STRIPES - 1);
+    }
+
+    private static int stripe(Long employeeId, LocalDate date) {
+        int hash = 31 * Objects.hashCode(employeeId) + Long.hashCode(date.toEpochDay());
+        hash ^= hash >>> 16;
+        return hash & (STRIPES - 1);
+    }
+}
@@ -1,3 +1,4 @@
+-- owns the whole schema, Hibernate does not generate DDL (ddl-auto: none), so the partitioning below applies
 --SELECT * FROM "users"
 CREATE TABLE IF NOT EXISTS "users" (
                                        id SERIAL PRIMARY KEY,
@@ -28,10 +29,30 @@ CREATE TABLE IF NOT EXISTS "salon" (
     zip_code VARCHAR(10),
     street VARCHAR(250),
     number VARCHAR(220),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
     user_id BIGINT,
     FOREIGN KEY (user_id) REFERENCES "users"(id)
     );
 
+-- centre points of postcode areas, imported on startup from the gazetteer in POSTCODES_FILE
+CREATE TABLE IF NOT EXISTS "postcode_location" (
+    zip_code VARCHAR(10) PRIMARY KEY,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+    );
+
+CREATE INDEX IF NOT EXISTS idx_salon_city_category
+    ON "salon" (city, category);
+
+CREATE INDEX IF NOT EXISTS idx_salon_name_id
+    ON "salon" (salon_name, id);
+
+-- serves the case-insensitive name prefix filter of the salon search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_salon_name_trgm
+    ON "salon" USING gin (lower(salon_name) gin_trgm_ops);
+
 CREATE TABLE IF NOT EXISTS "image" (
                                        id SERIAL PRIMARY KEY,
                                        name VARCHAR(255) NOT NULL,
@@ -95,15 +116,160 @@ CREATE TABLE IF NOT EXISTS "employee_offers" (
     FOREIGN KEY (offer_id) REFERENCES "offer"(id) ON DELETE CASCADE
     );
 
+-- partitioned by month; ReservationArchiveService creates the default and the monthly partitions on startup
+-- ids are handed out in blocks of 50 (allocationSize of Reservation), so series inserts can be batched
+CREATE SEQUENCE IF NOT EXISTS reservation_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reservation_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS "reservation" (
-                                             id SERIAL PRIMARY KEY,
+                                             id BIGINT NOT NULL DEFAULT nextval('reservation_id_seq'),
                                              salon_id BIGINT NOT NULL,
                                              employee_id BIGINT NOT NULL,
                                              user_id BIGINT NOT NULL,
                                              offer_id BIGINT NOT NULL,
-                                             reservation_date_time TIMESTAMP,
+                                             reservation_date_time TIMESTAMP NOT NULL,
+                                             price DECIMAL(10, 2),
+                                             reminded_at TIMESTAMP,
+                                             updated_at TIMESTAMP,
+                                             PRIMARY KEY (id, reservation_date_time),
                                              FOREIGN KEY (salon_id) REFERENCES "salon"(id),
     FOREIGN KEY (employee_id) REFERENCES "employee"(id),
     FOREIGN KEY (user_id) REFERENCES "users"(id),
     FOREIGN KEY (offer_id) REFERENCES "offer"(id)
+    ) PARTITION BY RANGE (reservation_date_time);
+
+CREATE TABLE IF NOT EXISTS "reservation_archive" (
+                                                     id BIGINT PRIMARY KEY,
+                                                     salon_id BIGINT NOT NULL,
+                                                     employee_id BIGINT NOT NULL,
+                                                     user_id BIGINT NOT NULL,
+                                                     reservation_date_time TIMESTAMP NOT NULL,
+                                                     duration TIME,
+                                                     employee_name VARCHAR(100),
+    offer_name VARCHAR(255),
+    price DECIMAL(10, 2),
+    client_name VARCHAR(100),
+    client_email VARCHAR(100),
+    archived_at TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_reservation_archive_salon_date_time
+    ON "reservation_archive" (salon_id, reservation_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_employee_date_time
+    ON "reservation" (employee_id, reservation_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_salon_date_time
+    ON "reservation" (salon_id, reservation_date_time);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_user_date_time
+    ON "reservation" (user_id, reservation_date_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_user_updated_at
+    ON "reservation" (user_id, updated_at);
+
+CREATE TABLE IF NOT EXISTS "employee_day_occupancy" (
+                                                        employee_id BIGINT NOT NULL,
+                                                        occupancy_date DATE NOT NULL,
+                                                        salon_id BIGINT,
+                                                        employee_name VARCHAR(100),
+    slots TEXT,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (employee_id, occupancy_date)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_employee_day_occupancy_salon_date
+    ON "employee_day_occupancy" (salon_id, occupancy_date);
+
+CREATE TABLE IF NOT EXISTS "booking_daily_stats" (
+                                                     salon_id BIGINT NOT NULL,
+                                                     employee_id BIGINT NOT NULL,
+                                                     offer_id BIGINT NOT NULL,
+                                                     stats_date DATE NOT NULL,
+                                                     bookings BIGINT NOT NULL,
+                                                     booked_minutes BIGINT NOT NULL,
+                                                     revenue DECIMAL(12, 2) NOT NULL,
+    PRIMARY KEY (salon_id, employee_id, offer_id, stats_date)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_booking_daily_stats_salon_date
+    ON "booking_daily_stats" (salon_id, stats_date);
+
+CREATE TABLE IF NOT EXISTS "reservation_tombstone" (
+                                                       reservation_id BIGINT PRIMARY KEY,
+                                                       user_id BIGINT NOT NULL,
+                                                       deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_tombstone_user_deleted_at
+    ON "reservation_tombstone" (user_id, deleted_at);
+
+CREATE TABLE IF NOT EXISTS "email_outbox" (
+                                              id SERIAL PRIMARY KEY,
+                                              type VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    offer_name VARCHAR(255),
+    company_name VARCHAR(255),
+    reservation_date_time TIMESTAMP,
+    encrypted_password VARCHAR(255),
+    hold_until TIMESTAMP,
+    series_date_times TEXT,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(255),
+    created_at TIMESTAMP,
+    next_attempt_at TIMESTAMP,
+    sent_at TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending
+    ON "email_outbox" (next_attempt_at, id) WHERE status = 'PENDING';
+
+CREATE TABLE IF NOT EXISTS "waitlist_entry" (
+                                                id SERIAL PRIMARY KEY,
+                                                salon_id BIGINT NOT NULL,
+                                                offer_id BIGINT NOT NULL,
+                                                employee_id BIGINT,
+                                                email VARCHAR(255) NOT NULL,
+    date_from DATE NOT NULL,
+    date_to DATE NOT NULL,
+    window_start TIME NOT NULL,
+    window_end TIME NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP,
+    hold_employee_id BIGINT,
+    hold_start TIMESTAMP,
+    hold_end TIMESTAMP,
+    hold_until TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_entry_status_date_to
+    ON "waitlist_entry" (status, date_to);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_entry_waiting
+    ON "waitlist_entry" (salon_id, date_from) WHERE status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_entry_hold
+    ON "waitlist_entry" (hold_employee_id, hold_start) WHERE status = 'HELD';
+
+CREATE INDEX IF NOT EXISTS idx_reservation_not_reminded
+    ON "reservation" (reservation_date_time) WHERE reminded_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS "reminder_lease" (
+                                                id SERIAL PRIMARY KEY,
+                                                reminder_date DATE NOT NULL,
+    partition_number INT NOT NULL,
+    owner VARCHAR(255),
+    leased_until TIMESTAMP,
+    completed_at TIMESTAMP,
+    UNIQUE (reminder_date, partition_number)
+    );
+
+CREATE TABLE IF NOT EXISTS "reservation_reminder" (
+                                                      id SERIAL PRIMARY KEY,
+                                                      reservation_id BIGINT NOT NULL,
+    offset_minutes BIGINT NOT NULL,
+    reservation_date_time TIMESTAMP NOT NULL,
+    claimed_at TIMESTAMP,
+    UNIQUE (reservation_id, offset_minutes, reservation_date_time)
     );
@@ -0,0 +1,28 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class AnalyticsConfiguration {
+
+    @Mock
+    ReservationFacade reservationFacade;
+
+    @Mock
+    EmployeeFacade employeeFacade;
+
+    @Mock
+    OfferFacade offerFacade;
+
+    public AnalyticsConfiguration() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    AnalyticsFacade createForTest(BookingStatsRepository bookingStatsRepository) {
+        BookingStatsService bookingStatsService = new BookingStatsService(bookingStatsRepository);
+        return new AnalyticsFacade(reservationFacade, employeeFacade, offerFacade, bookingStatsService);
+    }
+}
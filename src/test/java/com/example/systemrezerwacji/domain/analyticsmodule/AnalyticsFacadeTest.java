@@ -0,0 +1,150 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.BookingStatsCheckDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeUtilizationDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferRevenueDto;
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeAvailabilityDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeWithAllInformationDto;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsFacadeTest {
+
+    BookingStatsRepositoryTestImpl bookingStatsRepository = new BookingStatsRepositoryTestImpl();
+
+    @Mock
+    private ReservationFacade reservationFacade;
+
+    @Mock
+    private EmployeeFacade employeeFacade;
+
+    @Mock
+    private OfferFacade offerFacade;
+
+    private AnalyticsFacade analyticsFacade;
+
+    private final Long salonId = 1L;
+    private final LocalDate monday = LocalDate.now().minusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsConfiguration configuration = new AnalyticsConfiguration();
+        configuration.reservationFacade = reservationFacade;
+        configuration.employeeFacade = employeeFacade;
+        configuration.offerFacade = offerFacade;
+        analyticsFacade = configuration.createForTest(bookingStatsRepository);
+        lenient().when(reservationFacade.callWithEmployeeDayLocked(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
+    @Test
+    void should_sum_revenue_per_offer_from_incremental_bookings() {
+        // given
+        when(offerFacade.getAllOffersToSalon(salonId)).thenReturn(List.of(
+                new OfferDto(10L, "Haircut", null, BigDecimal.valueOf(50), LocalTime.of(1, 0)),
+                new OfferDto(20L, "Shave", null, BigDecimal.valueOf(30), LocalTime.of(0, 30))));
+        analyticsFacade.recordBookings(booking(1L, 10L, monday, 1, 60, 50));
+        analyticsFacade.recordBookings(booking(1L, 10L, monday.plusDays(1), 1, 60, 50));
+        analyticsFacade.recordBookings(booking(2L, 20L, monday, 1, 30, 30));
+        analyticsFacade.recordBookings(booking(1L, 10L, monday.plusDays(1), -1, -60, -50));
+
+        // when
+        List<OfferRevenueDto> revenue = analyticsFacade.getOfferRevenue(salonId, monday, monday.plusDays(6));
+
+        // then
+        assertThat(revenue).extracting(OfferRevenueDto::offerName, OfferRevenueDto::bookings)
+                .containsExactly(
+                        tuple("Haircut", 1L),
+                        tuple("Shave", 1L));
+        assertThat(revenue.get(0).revenue()).isEqualByComparingTo("50");
+        assertThat(bookingStatsRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_report_weekly_utilization_against_working_hours() {
+        // given
+        when(employeeFacade.getAllEmployees(salonId)).thenReturn(List.of(new EmployeeWithAllInformationDto(
+                1L, salonId, "Anna", "anna@example.com",
+                List.of(new EmployeeAvailabilityDto("MONDAY", LocalTime.of(9, 0), LocalTime.of(17, 0)),
+                        new EmployeeAvailabilityDto("TUESDAY", LocalTime.of(9, 0), LocalTime.of(17, 0))),
+                List.of())));
+        analyticsFacade.recordBookings(booking(1L, 10L, monday, 1, 120, 100));
+        analyticsFacade.recordBookings(booking(1L, 20L, monday.plusDays(1), 1, 120, 60));
+
+        // when
+        List<EmployeeUtilizationDto> utilization = analyticsFacade.getEmployeeUtilization(salonId, monday, monday.plusDays(6));
+
+        // then
+        assertThat(utilization).hasSize(1);
+        assertThat(utilization.get(0).weekStart()).isEqualTo(monday);
+        assertThat(utilization.get(0).bookings()).isEqualTo(2);
+        assertThat(utilization.get(0).availableMinutes()).isEqualTo(960);
+        assertThat(utilization.get(0).utilization()).isEqualTo(0.25);
+    }
+
+    @Test
+    void should_repair_counters_that_drifted_from_reservations() {
+        // given
+        analyticsFacade.recordBookings(booking(1L, 10L, monday, 1, 60, 50));
+        analyticsFacade.recordBookings(booking(1L, 20L, monday, 1, 30, 30));
+        when(reservationFacade.getDailyBookings(monday, monday)).thenReturn(List.of(booking(1L, 10L, monday, 2, 120, 100)));
+        when(reservationFacade.getEmployeeDailyBookings(1L, monday)).thenReturn(List.of(booking(1L, 10L, monday, 2, 120, 100)));
+
+        // when
+        BookingStatsCheckDto firstCheck = analyticsFacade.checkConsistency(monday, monday, true);
+        BookingStatsCheckDto secondCheck = analyticsFacade.checkConsistency(monday, monday, false);
+
+        // then
+        assertThat(firstCheck.mismatchedRows()).isEqualTo(2);
+        assertThat(firstCheck.repaired()).isTrue();
+        assertThat(secondCheck.mismatchedRows()).isZero();
+        assertThat(bookingStatsRepository.findByDateBetween(monday, monday)).singleElement()
+                .extracting(BookingStats::getBookings).isEqualTo(2L);
+    }
+
+    @Test
+    void should_rebuild_counters_from_oldest_live_reservation_and_keep_older_days() {
+        // given
+        LocalDate archivedDay = monday.minusYears(3);
+        analyticsFacade.recordBookings(booking(1L, 10L, archivedDay, 1, 60, 50));
+        analyticsFacade.recordBookings(booking(1L, 10L, monday.plusDays(2), 1, 60, 50));
+        when(reservationFacade.getDailyBookings(null, null)).thenReturn(List.of(booking(1L, 10L, monday, 1, 60, 50)));
+        when(reservationFacade.getEmployeeDailyBookings(1L, monday)).thenReturn(List.of(booking(1L, 10L, monday, 1, 60, 50)));
+        when(reservationFacade.getEmployeeDailyBookings(1L, monday.plusDays(2))).thenReturn(List.of());
+
+        // when
+        long rows = analyticsFacade.rebuild();
+
+        // then
+        assertThat(rows).isEqualTo(1);
+        assertThat(bookingStatsRepository.findAll()).extracting(BookingStats::getDate)
+                .containsExactlyInAnyOrder(archivedDay, monday);
+    }
+
+    private DailyBookingsDto booking(Long employeeId, Long offerId, LocalDate date, long bookings, long minutes, long revenue) {
+        return new DailyBookingsDto(salonId, employeeId, offerId, date, bookings, minutes, BigDecimal.valueOf(revenue));
+    }
+}
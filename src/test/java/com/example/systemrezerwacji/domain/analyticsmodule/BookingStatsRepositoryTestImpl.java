@@ -0,0 +1,137 @@
+package com.example.systemrezerwacji.domain.analyticsmodule;
+
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.EmployeeDayBookingsDto;
+import com.example.systemrezerwacji.domain.analyticsmodule.dto.OfferBookingsDto;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class BookingStatsRepositoryTestImpl implements BookingStatsRepository {
+
+    private final Map<BookingStats.Key, BookingStats> rows = new ConcurrentHashMap<>();
+
+    @Override
+    public List<EmployeeDayBookingsDto> sumByEmployeeAndDay(Long salonId, LocalDate from, LocalDate to) {
+        Map<Long, Map<LocalDate, long[]>> sums = new TreeMap<>();
+        inRange(salonId, from, to).forEach(row -> {
+            long[] sum = sums.computeIfAbsent(row.getEmployeeId(), id -> new TreeMap<>())
+                    .computeIfAbsent(row.getDate(), date -> new long[2]);
+            sum[0] += row.getBookings();
+            sum[1] += row.getBookedMinutes();
+        });
+        return sums.entrySet().stream()
+                .flatMap(employee -> employee.getValue().entrySet().stream()
+                        .map(day -> new EmployeeDayBookingsDto(employee.getKey(), day.getKey(),
+                                day.getValue()[0], day.getValue()[1])))
+                .toList();
+    }
+
+    @Override
+    public List<OfferBookingsDto> sumByOffer(Long salonId, LocalDate from, LocalDate to) {
+        Map<Long, OfferBookingsDto> sums = new TreeMap<>();
+        inRange(salonId, from, to).forEach(row -> sums.merge(row.getOfferId(),
+                new OfferBookingsDto(row.getOfferId(), row.getBookings(), row.getRevenue()),
+                (a, b) -> new OfferBookingsDto(a.offerId(), a.bookings() + b.bookings(), a.revenue().add(b.revenue()))));
+        return sums.values().stream()
+                .sorted(Comparator.comparing(OfferBookingsDto::revenue, Comparator.reverseOrder()))
+                .toList();
+    }
+
+    @Override
+    public List<BookingStats> findByDateBetween(LocalDate from, LocalDate to) {
+        return rows.values().stream()
+                .filter(row -> !row.getDate().isBefore(from) && !row.getDate().isAfter(to))
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDate> findLatestDate() {
+        return rows.values().stream().map(BookingStats::getDate).max(Comparator.naturalOrder());
+    }
+
+    @Override
+    public int deleteByEmployeeDay(Long employeeId, LocalDate date) {
+        List<BookingStats> removed = rows.values().stream()
+                .filter(row -> Objects.equals(row.getEmployeeId(), employeeId) && row.getDate().equals(date))
+                .toList();
+        removed.forEach(this::delete);
+        return removed.size();
+    }
+
+    private Stream<BookingStats> inRange(Long salonId, LocalDate from, LocalDate to) {
+        return findByDateBetween(from, to).stream().filter(row -> Objects.equals(row.getSalonId(), salonId));
+    }
+
+    private static BookingStats.Key keyOf(BookingStats row) {
+        return new BookingStats.Key(row.getSalonId(), row.getEmployeeId(), row.getOfferId(), row.getDate());
+    }
+
+    @Override
+    public <S extends BookingStats> S save(S entity) {
+        rows.put(keyOf(entity), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends BookingStats> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<BookingStats> findById(BookingStats.Key key) {
+        return Optional.ofNullable(rows.get(key));
+    }
+
+    @Override
+    public boolean existsById(BookingStats.Key key) {
+        return rows.containsKey(key);
+    }
+
+    @Override
+    public Iterable<BookingStats> findAll() {
+        return List.copyOf(rows.values());
+    }
+
+    @Override
+    public Iterable<BookingStats> findAllById(Iterable<BookingStats.Key> keys) {
+        return null;
+    }
+
+    @Override
+    public long count() {
+        return rows.size();
+    }
+
+    @Override
+    public void deleteById(BookingStats.Key key) {
+        rows.remove(key);
+    }
+
+    @Override
+    public void delete(BookingStats entity) {
+        rows.remove(keyOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends BookingStats.Key> keys) {
+
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends BookingStats> entities) {
+
+    }
+
+    @Override
+    public void deleteAll() {
+        rows.clear();
+    }
+}
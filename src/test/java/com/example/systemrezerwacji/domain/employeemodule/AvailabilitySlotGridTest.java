@@ -0,0 +1,184 @@
+package com.example.systemrezerwacji.domain.employeemodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilitySlotGridTest {
+
+    @Test
+    void should_return_all_terms_that_fit_into_empty_window() {
+        // given
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(LocalTime.of(9, 0), LocalTime.of(10, 0), 15);
+
+        // when
+        List<AvailableTermDto> terms = grid.findTerms(LocalTime.of(0, 30));
+
+        // then
+        assertThat(terms).containsExactly(
+                new AvailableTermDto(LocalTime.of(9, 0), LocalTime.of(9, 30)),
+                new AvailableTermDto(LocalTime.of(9, 15), LocalTime.of(9, 45)),
+                new AvailableTermDto(LocalTime.of(9, 30), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void should_skip_terms_overlapping_busy_interval() {
+        // given
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(LocalTime.of(9, 0), LocalTime.of(11, 0), 15);
+        grid.markBusy(LocalTime.of(9, 30), LocalTime.of(10, 15));
+
+        // when
+        List<AvailableTermDto> terms = grid.findTerms(LocalTime.of(0, 30));
+
+        // then
+        assertThat(terms).extracting(AvailableTermDto::startServices)
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(10, 15), LocalTime.of(10, 30));
+    }
+
+    @Test
+    void should_allow_term_ending_inside_unaligned_window_end() {
+        // given
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(LocalTime.of(9, 0), LocalTime.of(9, 55), 15);
+
+        // when
+        List<AvailableTermDto> terms = grid.findTerms(LocalTime.of(0, 50));
+
+        // then
+        assertThat(terms).containsExactly(new AvailableTermDto(LocalTime.of(9, 0), LocalTime.of(9, 50)));
+    }
+
+    @Test
+    void should_find_runs_longer_than_one_word() {
+        // given
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(LocalTime.of(0, 0), LocalTime.of(23, 59), 5);
+        grid.markBusy(LocalTime.of(6, 0), LocalTime.of(6, 5));
+
+        // when
+        List<AvailableTermDto> terms = grid.findTerms(LocalTime.of(8, 0));
+
+        // then
+        assertThat(terms).isNotEmpty();
+        assertThat(terms.get(0).startServices()).isEqualTo(LocalTime.of(6, 5));
+        assertThat(terms).noneMatch(term -> term.startServices().isBefore(LocalTime.of(6, 5)));
+    }
+
+    @Test
+    void should_return_no_terms_when_duration_exceeds_window() {
+        // given
+        AvailabilitySlotGrid grid = new AvailabilitySlotGrid(LocalTime.of(9, 0), LocalTime.of(10, 0), 15);
+
+        // when
+        List<AvailableTermDto> terms = grid.findTerms(LocalTime.of(1, 15));
+
+        // then
+        assertThat(terms).isEmpty();
+    }
+
+    @Test
+    void should_match_pairwise_overlap_check_for_slot_aligned_reservations() {
+        // given
+        Random random = new Random(42);
+        LocalTime start = LocalTime.of(8, 0);
+        LocalTime end = LocalTime.of(20, 0);
+
+        for (int round = 0; round < 500; round++) {
+            List<AvailableTermDto> busy = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(10); i++) {
+                LocalTime busyStart = start.plusMinutes(15L * random.nextInt(48));
+                busy.add(new AvailableTermDto(busyStart, busyStart.plusMinutes(5 + random.nextInt(120))));
+            }
+            LocalTime duration = LocalTime.of(0, 0).plusMinutes(5 + random.nextInt(180));
+
+            AvailabilitySlotGrid grid = new AvailabilitySlotGrid(start, end, 15);
+            grid.markBusy(busy);
+
+            // when
+            List<AvailableTermDto> terms = grid.findTerms(duration);
+
+            // then
+            assertThat(terms).isEqualTo(pairwiseTerms(start, end, duration, busy));
+        }
+    }
+
+    /**
+     * Wall-clock benchmark against the pairwise check the grid replaced, excluded from the regular build; run it
+     * with {@code mvn test -Dtest=AvailabilitySlotGridTest -Dgroups=benchmark -Dsurefire.excludedGroups=}.
+     */
+    @Test
+    @Tag("benchmark")
+    void should_find_terms_faster_than_pairwise_overlap_check() {
+        // given
+        Random random = new Random(42);
+        LocalTime start = LocalTime.of(8, 0);
+        LocalTime end = LocalTime.of(20, 0);
+        List<List<AvailableTermDto>> days = new ArrayList<>();
+        for (int day = 0; day < 1_000; day++) {
+            List<AvailableTermDto> busy = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                LocalTime busyStart = start.plusMinutes(15L * random.nextInt(48));
+                busy.add(new AvailableTermDto(busyStart, busyStart.plusMinutes(15L * (1 + random.nextInt(4)))));
+            }
+            days.add(busy);
+        }
+        LocalTime duration = LocalTime.of(1, 0);
+        // warm up the JIT before measuring
+        for (int i = 0; i < 20; i++) {
+            runGrid(start, end, duration, days);
+            runPairwise(start, end, duration, days);
+        }
+
+        // when
+        double gridMicros = runGrid(start, end, duration, days);
+        double pairwiseMicros = runPairwise(start, end, duration, days);
+
+        // then
+        assertThat(gridMicros)
+                .as("free terms of a day with 20 busy terms: grid %.2f us, pairwise %.2f us", gridMicros, pairwiseMicros)
+                .isLessThan(pairwiseMicros);
+    }
+
+    private static double runGrid(LocalTime start, LocalTime end, LocalTime duration, List<List<AvailableTermDto>> days) {
+        long terms = 0;
+        long begin = System.nanoTime();
+        for (List<AvailableTermDto> busy : days) {
+            AvailabilitySlotGrid grid = new AvailabilitySlotGrid(start, end, 15);
+            grid.markBusy(busy);
+            terms += grid.findTerms(duration).size();
+        }
+        long elapsed = System.nanoTime() - begin;
+        assertThat(terms).isPositive();
+        return elapsed / 1_000.0 / days.size();
+    }
+
+    private static double runPairwise(LocalTime start, LocalTime end, LocalTime duration, List<List<AvailableTermDto>> days) {
+        long terms = 0;
+        long begin = System.nanoTime();
+        for (List<AvailableTermDto> busy : days) {
+            terms += pairwiseTerms(start, end, duration, busy).size();
+        }
+        long elapsed = System.nanoTime() - begin;
+        assertThat(terms).isPositive();
+        return elapsed / 1_000.0 / days.size();
+    }
+
+    private static List<AvailableTermDto> pairwiseTerms(LocalTime start, LocalTime end, LocalTime duration, List<AvailableTermDto> busy) {
+        int durationMinutes = duration.getHour() * 60 + duration.getMinute();
+        List<AvailableTermDto> terms = new ArrayList<>();
+        for (LocalTime current = start; !current.plusMinutes(durationMinutes).isAfter(end); current = current.plusMinutes(15)) {
+            LocalTime termStart = current;
+            LocalTime termEnd = current.plusMinutes(durationMinutes);
+            boolean free = busy.stream().noneMatch(b -> termStart.isBefore(b.endServices()) && termEnd.isAfter(b.startServices()));
+            if (free) {
+                terms.add(new AvailableTermDto(termStart, termEnd));
+            }
+        }
+        return terms;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.systemrezerwacji.domain.employeemodule;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,6 +20,21 @@ public class EmployeeAvailabilityRepositoryTestImpl implements EmployeeAvailabil
                 .findFirst();
     }
 
+    @Override
+    public List<EmployeeAvailability> findAllByEmployeeIdInAndDayOfWeek(Collection<Long> employeeIds, DayOfWeek dayOfWeek) {
+        return employeeAvailabilityDataBase.values().stream()
+                .filter(employeeAvailability -> employeeIds.contains(employeeAvailability.getEmployee().getId()))
+                .filter(employeeAvailability -> employeeAvailability.getDayOfWeek().equals(dayOfWeek))
+                .toList();
+    }
+
+    @Override
+    public List<EmployeeAvailability> findAllByEmployeeId(Long employeeId) {
+        return employeeAvailabilityDataBase.values().stream()
+                .filter(employeeAvailability -> employeeAvailability.getEmployee().getId().equals(employeeId))
+                .toList();
+    }
+
     @Override
     public <S extends EmployeeAvailability> S save(S entity) {
         employeeAvailabilityDataBase.put(id, entity);
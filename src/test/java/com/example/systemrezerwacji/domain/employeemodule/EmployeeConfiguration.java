@@ -3,6 +3,7 @@ package com.example.systemrezerwacji.domain.employeemodule;
 import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -24,7 +25,7 @@ public class EmployeeConfiguration {
     EmployeeFacade createForTest(EmployeeRepository employeeRepository,EmployeeAvailabilityRepository employeeAvailabilityRepository) {
         EmployeeAvailabilityService employeeAvailabilityService = createEmployeeAvailabilityServiceForTest(employeeAvailabilityRepository);
         EmployeeService employeeService = new EmployeeService(employeeRepository,employeeAvailabilityService);
-        return new EmployeeFacade(userFacade,offerFacade,reservationFacade,employeeService);
+        return new EmployeeFacade(userFacade,offerFacade,reservationFacade,employeeService, new VersionStamps());
     }
 
     private EmployeeAvailabilityService createEmployeeAvailabilityServiceForTest(EmployeeAvailabilityRepository employeeAvailabilityRepository) {
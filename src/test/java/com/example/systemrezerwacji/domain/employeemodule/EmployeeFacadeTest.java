@@ -24,6 +24,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -151,6 +153,93 @@ class EmployeeFacadeTest {
                 .size().isGreaterThan(10);
     }
 
+    @Test
+    void should_find_nearest_terms_across_weeks_and_skip_busy_ones() {
+        // given
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        Employee employee = saveEmployeeAvailableOn(firstDay.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(reservationFacade.getEmployeeBusyTerms(employee.getId(), firstDay, firstDay.plusDays(34)))
+                .thenReturn(Map.of(firstDay, List.of(new AvailableTermDto(LocalTime.of(9, 0), LocalTime.of(10, 0)))));
+
+        // when
+        List<AvailableTermWithDateDto> result = employeeFacade.findNearestAvailableTerms(employee.getId(), 1L, firstDay, 35, 3);
+
+        // then
+        assertThat(result)
+                .extracting(AvailableTermWithDateDto::date)
+                .containsExactly(firstDay.plusWeeks(1), firstDay.plusWeeks(2), firstDay.plusWeeks(3));
+    }
+
+    @Test
+    void should_stop_at_horizon_when_not_enough_terms() {
+        // given
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        Employee employee = saveEmployeeAvailableOn(firstDay.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(reservationFacade.getEmployeeBusyTerms(employee.getId(), firstDay, firstDay.plusDays(13))).thenReturn(Map.of());
+
+        // when
+        List<AvailableTermWithDateDto> result = employeeFacade.findNearestAvailableTerms(employee.getId(), 1L, firstDay, 14, 5);
+
+        // then
+        assertThat(result)
+                .extracting(AvailableTermWithDateDto::date)
+                .containsExactly(firstDay, firstDay.plusWeeks(1));
+    }
+
+    @Test
+    void should_return_no_terms_without_querying_reservations_when_employee_has_no_availability() {
+        // given
+        Employee employee = new Employee();
+        employee.setId(7L);
+        employeeRepository.save(employee);
+
+        // when
+        List<AvailableTermWithDateDto> result = employeeFacade.findNearestAvailableTerms(7L, 1L, LocalDate.now(), 60, 5);
+
+        // then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(reservationFacade);
+    }
+
+    @Test
+    void should_merge_available_hours_of_all_employees_for_offer() {
+        // given
+        LocalDate date = LocalDate.now().plusDays(1);
+        Offer offer = new Offer();
+        offer.setId(1L);
+        Employee anna = saveEmployeeWithOffer(1L, "Anna", offer, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        Employee bob = saveEmployeeWithOffer(2L, "Bob", offer, date.getDayOfWeek(), LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(reservationFacade.getEmployeesBusyTerms(any(), eq(date)))
+                .thenReturn(Map.of(bob.getId(), List.of(new AvailableTermDto(LocalTime.of(11, 0), LocalTime.of(12, 0)))));
+
+        // when
+        List<AvailableTermWithEmployeesDto> result = employeeFacade.getAvailableHoursForOffer(1L, date);
+
+        // then
+        assertThat(result)
+                .extracting(AvailableTermWithEmployeesDto::startServices)
+                .containsExactly(LocalTime.of(9, 0), LocalTime.of(9, 15), LocalTime.of(9, 30), LocalTime.of(9, 45),
+                        LocalTime.of(10, 0));
+        assertThat(result.get(0).employees()).extracting(EmployeeToOfferDto::name).containsExactly("Anna");
+        assertThat(result.get(4).employees()).extracting(EmployeeToOfferDto::name).containsExactly("Anna", "Bob");
+    }
+
+    @Test
+    void should_return_no_hours_for_offer_without_employees() {
+        // when
+        List<AvailableTermWithEmployeesDto> result = employeeFacade.getAvailableHoursForOffer(1L, LocalDate.now().plusDays(1));
+
+        // then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(reservationFacade);
+    }
+
     @Test
     void should_add_offer_to_employee_successfully() {
         // given
@@ -209,4 +298,37 @@ class EmployeeFacadeTest {
         // then
         assertThat(result).hasSize(2);
     }
-}
\ No newline at end of file
+
+    private Employee saveEmployeeAvailableOn(DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employeeRepository.save(employee);
+
+        EmployeeAvailability availability = new EmployeeAvailability();
+        availability.setEmployee(employee);
+        availability.setDayOfWeek(dayOfWeek);
+        availability.setStartTime(start);
+        availability.setEndTime(end);
+        employeeAvailabilityRepository.save(availability);
+        return employee;
+    }
+
+    private Employee saveEmployeeWithOffer(Long id, String name, Offer offer, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        User user = new User();
+        user.setName(name);
+
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setUser(user);
+        employee.setOffers(List.of(offer));
+        employeeRepository.save(employee);
+
+        EmployeeAvailability availability = new EmployeeAvailability();
+        availability.setEmployee(employee);
+        availability.setDayOfWeek(dayOfWeek);
+        availability.setStartTime(start);
+        availability.setEndTime(end);
+        employeeAvailabilityRepository.save(availability);
+        return employee;
+    }
+}
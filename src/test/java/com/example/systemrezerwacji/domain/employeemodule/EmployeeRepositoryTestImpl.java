@@ -1,5 +1,8 @@
 package com.example.systemrezerwacji.domain.employeemodule;
 
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
+
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,6 +22,14 @@ public class EmployeeRepositoryTestImpl implements EmployeeRepository {
                 .toList();
     }
 
+    @Override
+    public List<EmployeeToOfferDto> findEmployeesToOffer(Long offerId) {
+        return findByOffersId(offerId).stream()
+                .sorted(Comparator.comparing(Employee::getId))
+                .map(employee -> new EmployeeToOfferDto(employee.getId(), employee.getUser().getName()))
+                .toList();
+    }
+
     @Override
     public List<Employee> findAllBySalonId(Long salonId) {
         return employeeDataBase.values().stream()
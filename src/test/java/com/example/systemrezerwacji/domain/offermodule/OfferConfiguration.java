@@ -1,6 +1,7 @@
 package com.example.systemrezerwacji.domain.offermodule;
 
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -14,6 +15,6 @@ public class OfferConfiguration {
     }
     public OfferFacade createForTest(OfferRepository offerRepository) {
         OfferService offerService = new OfferService(offerRepository);
-        return new OfferFacade(offerService, salonFacade);
+        return new OfferFacade(offerService, salonFacade, new VersionStamps());
     }
 }
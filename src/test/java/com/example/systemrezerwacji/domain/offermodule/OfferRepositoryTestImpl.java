@@ -1,5 +1,6 @@
 package com.example.systemrezerwacji.domain.offermodule;
 
+import com.example.systemrezerwacji.domain.offermodule.dto.SalonOfferDto;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +23,14 @@ public class OfferRepositoryTestImpl implements OfferRepository{
         return Optional.ofNullable(offerDataBase.get(offerId));
     }
 
+    @Override
+    public List<SalonOfferDto> findCatalogOffers() {
+        return offerDataBase.values().stream()
+                .map(offer -> new SalonOfferDto(offer.getSalon().getId(), offer.getId(), offer.getName(),
+                        offer.getDescription(), offer.getPrice(), offer.getDuration()))
+                .toList();
+    }
+
     @Override
     public <S extends Offer> S save(S entity) {
         offerDataBase.put(id, entity);
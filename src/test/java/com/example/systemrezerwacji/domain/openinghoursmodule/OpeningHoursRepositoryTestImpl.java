@@ -1,7 +1,9 @@
 package com.example.systemrezerwacji.domain.openinghoursmodule;
 
+import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,6 +18,11 @@ public class OpeningHoursRepositoryTestImpl implements OpeningHoursRepository {
 
     }
 
+    @Override
+    public List<OpeningHoursDto> findCatalogOpeningHours() {
+        return List.of();
+    }
+
     @Override
     public <S extends OpeningHours> S save(S entity) {
         return null;
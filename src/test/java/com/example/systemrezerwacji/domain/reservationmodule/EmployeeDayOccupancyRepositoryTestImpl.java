@@ -0,0 +1,118 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EmployeeDayOccupancyRepositoryTestImpl implements EmployeeDayOccupancyRepository {
+
+    private final Map<EmployeeDayOccupancy.Key, EmployeeDayOccupancy> days = new ConcurrentHashMap<>();
+
+    @Override
+    public List<EmployeeDayOccupancy> findByEmployeeIdInAndDate(Collection<Long> employeeIds, LocalDate date) {
+        return days.values().stream()
+                .filter(day -> employeeIds.contains(day.getEmployeeId()))
+                .filter(day -> day.getDate().equals(date))
+                .toList();
+    }
+
+    @Override
+    public List<EmployeeDayOccupancy> findByEmployeeIdAndDateBetween(Long employeeId, LocalDate from, LocalDate to) {
+        return days.values().stream()
+                .filter(day -> Objects.equals(day.getEmployeeId(), employeeId))
+                .filter(day -> !day.getDate().isBefore(from) && !day.getDate().isAfter(to))
+                .toList();
+    }
+
+    @Override
+    public List<EmployeeDayOccupancy> findBySalonIdAndDateBetweenOrderByDate(Long salonId, LocalDate from, LocalDate to) {
+        return days.values().stream()
+                .filter(day -> Objects.equals(day.getSalonId(), salonId))
+                .filter(day -> !day.getDate().isBefore(from) && !day.getDate().isAfter(to))
+                .sorted(Comparator.comparing(EmployeeDayOccupancy::getDate))
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDate> findNextOccupiedDate(Long salonId, LocalDate after) {
+        return days.values().stream()
+                .filter(day -> Objects.equals(day.getSalonId(), salonId))
+                .map(EmployeeDayOccupancy::getDate)
+                .filter(date -> date.isAfter(after))
+                .min(Comparator.naturalOrder());
+    }
+
+    @Override
+    public int deleteAllDays() {
+        int removed = days.size();
+        days.clear();
+        return removed;
+    }
+
+    @Override
+    public <S extends EmployeeDayOccupancy> S save(S entity) {
+        days.put(new EmployeeDayOccupancy.Key(entity.getEmployeeId(), entity.getDate()), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends EmployeeDayOccupancy> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<EmployeeDayOccupancy> findById(EmployeeDayOccupancy.Key key) {
+        return Optional.ofNullable(days.get(key));
+    }
+
+    @Override
+    public boolean existsById(EmployeeDayOccupancy.Key key) {
+        return days.containsKey(key);
+    }
+
+    @Override
+    public Iterable<EmployeeDayOccupancy> findAll() {
+        return List.copyOf(days.values());
+    }
+
+    @Override
+    public Iterable<EmployeeDayOccupancy> findAllById(Iterable<EmployeeDayOccupancy.Key> keys) {
+        return null;
+    }
+
+    @Override
+    public long count() {
+        return days.size();
+    }
+
+    @Override
+    public void deleteById(EmployeeDayOccupancy.Key key) {
+        days.remove(key);
+    }
+
+    @Override
+    public void delete(EmployeeDayOccupancy entity) {
+        days.remove(new EmployeeDayOccupancy.Key(entity.getEmployeeId(), entity.getDate()));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends EmployeeDayOccupancy.Key> keys) {
+
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends EmployeeDayOccupancy> entities) {
+
+    }
+
+    @Override
+    public void deleteAll() {
+        days.clear();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public class ReservationArchiveRepositoryTestImpl implements ReservationArchiveRepository {
+
+    @Override
+    public Stream<ReservationExportRowDto> streamSalonExport(Long salonId, Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return Stream.empty();
+    }
+}
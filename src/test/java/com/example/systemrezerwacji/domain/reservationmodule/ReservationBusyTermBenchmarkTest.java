@@ -0,0 +1,189 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.Employee;
+import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import com.example.systemrezerwacji.domain.usermodule.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wall-clock benchmark of the busy-term lookup at 10k, 100k and 1M reservations, excluded from the regular
+ * build; run it with
+ * {@code mvn test -Dtest=ReservationBusyTermBenchmarkTest -Dgroups=benchmark -Dsurefire.excludedGroups=}.
+ * <p>
+ * The indexed range query is compared with reading the whole table and filtering in Java, which is what the
+ * lookup through {@code findAll()} did. The full read goes through JDBC because a million managed entities do
+ * not fit a test heap, so it is a lower bound of the old lookup.
+ */
+@DataJpaTest
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ReservationBusyTermBenchmarkTest {
+    private static final int EMPLOYEES = 50;
+    private static final int RESERVATIONS_PER_DAY = 8;
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ReservationArchiveRepository archiveRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(42);
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+
+    @Test
+    void should_keep_busy_term_lookup_flat_while_the_table_grows() {
+        // given
+        ReservationService reservationService = new ReservationService(reservationRepository, tombstoneRepository,
+                archiveRepository, new MapperReservationDto(), new EmployeeDayLocks(), new ReservationExportWriter());
+        jdbcTemplate.execute("CREATE INDEX idx_reservation_employee_date_time ON reservation (employee_id, reservation_date_time)");
+        List<Long> employeeIds = persistCatalog();
+        int inserted = 0;
+        double[] indexedMicros = new double[SIZES.length];
+        double[] scanMicros = new double[SIZES.length];
+
+        for (int size = 0; size < SIZES.length; size++) {
+            insertReservations(employeeIds, inserted, SIZES[size]);
+            inserted = SIZES[size];
+            int days = inserted / EMPLOYEES / RESERVATIONS_PER_DAY;
+            // warm up the JIT and the statement cache before measuring
+            lookUp(reservationService, employeeIds, days, 200);
+            scan(employeeIds, days, 2);
+
+            // when
+            indexedMicros[size] = lookUp(reservationService, employeeIds, days, 1_000);
+            scanMicros[size] = scan(employeeIds, days, 5);
+        }
+
+        // then
+        String report = "busy-term lookup in us at %,d / %,d / %,d reservations: indexed %.0f / %.0f / %.0f, "
+                + "full read %.0f / %.0f / %.0f";
+        Object[] figures = {SIZES[0], SIZES[1], SIZES[2], indexedMicros[0], indexedMicros[1], indexedMicros[2],
+                scanMicros[0], scanMicros[1], scanMicros[2]};
+        assertThat(indexedMicros[2]).as(report, figures).isLessThan(scanMicros[2] / 10);
+        // a day of one employee is the same size at every table size, so the lookup must not grow with the table
+        assertThat(indexedMicros[2]).as(report, figures).isLessThan(indexedMicros[0] * 10);
+    }
+
+    private double lookUp(ReservationService reservationService, List<Long> employeeIds, int days, int queries) {
+        long busyTerms = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            busyTerms += reservationService.getEmployeeBusyTerms(randomEmployee(employeeIds), randomDay(days)).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(busyTerms).isEqualTo((long) queries * RESERVATIONS_PER_DAY);
+        return elapsed / 1_000.0 / queries;
+    }
+
+    private double scan(List<Long> employeeIds, int days, int queries) {
+        long busyTerms = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            Long employeeId = randomEmployee(employeeIds);
+            LocalDate day = randomDay(days);
+            List<LocalDateTime> matches = new ArrayList<>();
+            jdbcTemplate.query("SELECT employee_id, reservation_date_time FROM reservation", row -> {
+                LocalDateTime dateTime = row.getTimestamp(2).toLocalDateTime();
+                if (employeeId.equals(row.getLong(1)) && dateTime.toLocalDate().equals(day)) {
+                    matches.add(dateTime);
+                }
+            });
+            busyTerms += matches.size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(busyTerms).isEqualTo((long) queries * RESERVATIONS_PER_DAY);
+        return elapsed / 1_000.0 / queries;
+    }
+
+    private Long randomEmployee(List<Long> employeeIds) {
+        return employeeIds.get(random.nextInt(employeeIds.size()));
+    }
+
+    private LocalDate randomDay(int days) {
+        return firstDay.plusDays(random.nextInt(days));
+    }
+
+    /**
+     * Every employee gets {@value #RESERVATIONS_PER_DAY} one-hour reservations a day, filling one day after
+     * another.
+     */
+    private void insertReservations(List<Long> employeeIds, int from, int to) {
+        Long salonId = jdbcTemplate.queryForObject("SELECT min(id) FROM salon", Long.class);
+        Long clientId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        Long offerId = jdbcTemplate.queryForObject("SELECT min(id) FROM offer", Long.class);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int slot = i / EMPLOYEES;
+            LocalDateTime start = firstDay.plusDays(slot / RESERVATIONS_PER_DAY)
+                    .atTime(9 + slot % RESERVATIONS_PER_DAY, 0);
+            batch.add(new Object[]{i + 1_000_000L, salonId, employeeIds.get(i % EMPLOYEES), clientId, offerId,
+                    Timestamp.valueOf(start)});
+            if (batch.size() == 10_000 || i == to - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO reservation (id, salon_id, employee_id, user_id, offer_id, reservation_date_time)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        """, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private List<Long> persistCatalog() {
+        User client = persistUser("Client", "client@example.com");
+        Salon salon = new Salon();
+        salon.setSalonName("Salon");
+        salon.setUser(client);
+        entityManager.persist(salon);
+        Offer offer = new Offer();
+        offer.setDuration(LocalTime.of(1, 0));
+        entityManager.persist(offer);
+
+        List<Long> employeeIds = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setUser(persistUser("Employee " + i, "employee" + i + "@example.com"));
+            employee.setSalon(salon);
+            employeeIds.add(entityManager.persist(employee).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return employeeIds;
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.Employee;
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.CreateReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationFacadeResponse;
+import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import com.example.systemrezerwacji.domain.usermodule.User;
+import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.domain.usermodule.dto.UserCreatedWhenRegisteredDto;
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationConcurrencyTest {
+    private static final int THREADS = 64;
+
+    ReservationRepository reservationRepository = new ReservationRepositoryTestImpl();
+
+    @Mock
+    private UserFacade userFacade;
+
+    @Mock
+    private OfferFacade offerFacade;
+
+    @Mock
+    private SalonFacade salonFacade;
+
+    @Mock
+    private EmployeeFacade employeeFacade;
+
+    @Mock
+    private NotificationFacade notificationFacade;
+
+    ReservationFacade reservationFacade;
+
+    LocalDateTime slot = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        ReservationConfiguration configuration = new ReservationConfiguration();
+        configuration.userFacade = userFacade;
+        configuration.offerFacade = offerFacade;
+        configuration.salonFacade = salonFacade;
+        configuration.employeeFacade = employeeFacade;
+        configuration.notificationFacade = notificationFacade;
+        reservationFacade = configuration.createForTest(reservationRepository);
+
+        Offer offer = new Offer();
+        offer.setDuration(LocalTime.of(1, 0));
+
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(offerFacade.getOffer(1L)).thenReturn(offer);
+        when(salonFacade.getSalon(1L)).thenReturn(new Salon());
+        when(employeeFacade.getEmployee(anyLong())).thenAnswer(invocation -> {
+            Employee employee = new Employee();
+            employee.setId(invocation.getArgument(0));
+            return employee;
+        });
+        // a slow user lookup widens the gap between the busy check and the insert
+        when(userFacade.getUserByEmailOrCreateNewAccount(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(1);
+            return new UserCreatedWhenRegisteredDto(new User(), false, null);
+        });
+    }
+
+    @Test
+    void should_accept_exactly_one_of_many_parallel_bookings_for_the_same_slot() throws Exception {
+        // given
+        List<CreateReservationDto> bookings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            bookings.add(new CreateReservationDto(1L, 1L, 1L, slot, "client" + i + "@example.com"));
+        }
+
+        // when
+        List<ReservationFacadeResponse> responses = bookInParallel(bookings);
+
+        // then
+        assertThat(responses).filteredOn(ReservationFacadeResponse::isSuccess).hasSize(1);
+        assertThat(reservationRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void should_accept_parallel_bookings_for_different_employees() throws Exception {
+        // given
+        List<CreateReservationDto> bookings = new ArrayList<>();
+        for (long employeeId = 1; employeeId <= 500; employeeId++) {
+            bookings.add(new CreateReservationDto(employeeId, 1L, 1L, slot, "client" + employeeId + "@example.com"));
+        }
+
+        // when
+        List<ReservationFacadeResponse> responses = bookInParallel(bookings);
+
+        // then
+        assertThat(responses).allMatch(ReservationFacadeResponse::isSuccess);
+        assertThat(reservationRepository.findAll()).hasSize(500);
+    }
+
+    private List<ReservationFacadeResponse> bookInParallel(List<CreateReservationDto> bookings) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ReservationFacadeResponse>> futures = new ArrayList<>();
+            for (CreateReservationDto booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return inTransaction(() -> reservationFacade.createNewReservation(booking));
+                }));
+            }
+            start.countDown();
+
+            List<ReservationFacadeResponse> responses = new ArrayList<>();
+            for (Future<ReservationFacadeResponse> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Stands in for a caller that is already inside a transaction: runs the call with synchronizations active
+     * and completes them as committed afterwards.
+     */
+    private static <T> T inTransaction(Supplier<T> action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return action.get();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+}
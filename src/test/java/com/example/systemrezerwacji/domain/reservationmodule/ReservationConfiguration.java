@@ -1,13 +1,20 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
 
+import com.example.systemrezerwacji.domain.analyticsmodule.AnalyticsFacade;
 import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
 import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
 import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ReservationConfiguration {
 
@@ -26,6 +33,20 @@ public class ReservationConfiguration {
     @Mock
     NotificationFacade notificationFacade;
 
+    @Mock
+    AnalyticsFacade analyticsFacade;
+
+    @Mock
+    WaitlistFacade waitlistFacade;
+
+    @Mock
+    ReservationArchiveService archiveService;
+
+    final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+
+    final ReservationTombstoneRepositoryTestImpl tombstoneRepository = new ReservationTombstoneRepositoryTestImpl();
+
+    final EmployeeDayOccupancyRepositoryTestImpl occupancyRepository = new EmployeeDayOccupancyRepositoryTestImpl();
 
 
     public ReservationConfiguration() {
@@ -34,9 +55,10 @@ public class ReservationConfiguration {
 
     ReservationFacade createForTest(ReservationRepository reservationRepository) {
         MapperReservationDto mapperReservationDto = new MapperReservationDto();
-        ReservationService reservationService = new ReservationService(reservationRepository, mapperReservationDto);
+        ReservationService reservationService = new ReservationService(reservationRepository, tombstoneRepository, new ReservationArchiveRepositoryTestImpl(), mapperReservationDto, new EmployeeDayLocks(), new ReservationExportWriter());
         ReservationValidator validator = new ReservationValidator(reservationService);
         ReservationResponseFactory reservationResponseFactory = new ReservationResponseFactory();
-        return new ReservationFacade(offerFacade, userFacade, salonFacade, employeeFacade, notificationFacade, reservationService, validator,reservationResponseFactory);
+        EmployeeDayOccupancyService occupancyService = new EmployeeDayOccupancyService(reservationRepository, occupancyRepository, mapperReservationDto);
+        return new ReservationFacade(offerFacade, userFacade, salonFacade, employeeFacade, notificationFacade, analyticsFacade, waitlistFacade, reservationService, validator,reservationResponseFactory, archiveService, occupancyService, new VersionStamps(), publishedEvents::add, TransactionOperations.withoutTransaction(), 60);
     }
 }
@@ -7,21 +7,26 @@ import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithD
 import com.example.systemrezerwacji.domain.offermodule.Offer;
 import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.*;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.InvalidReservationCursorException;
+import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationConflictException;
 import com.example.systemrezerwacji.domain.reservationmodule.exception.ReservationDeleteException;
 import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationFacadeResponse;
+import com.example.systemrezerwacji.domain.reservationmodule.response.ReservationSeriesResponse;
 import com.example.systemrezerwacji.domain.salonmodule.Salon;
 import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
 import com.example.systemrezerwacji.domain.usermodule.dto.UserCreatedWhenRegisteredDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
 import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
-import com.example.systemrezerwacji.infrastructure.notificationmode.response.NotificationFacadeResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -53,8 +58,13 @@ class ReservationFacadeTest {
     @Mock
     private NotificationFacade notificationFacade;
 
+    @Mock
+    private WaitlistFacade waitlistFacade;
+
     ReservationFacade reservationFacade;
 
+    List<Object> publishedEvents;
+
     LocalDateTime validDateTime = LocalDateTime.of(2026,2,2,12, 0);
     LocalDateTime invalidDateTime = LocalDateTime.of(2024,2,2,12, 0);
 
@@ -67,7 +77,9 @@ class ReservationFacadeTest {
         configuration.salonFacade = salonFacade;
         configuration.employeeFacade = employeeFacade;
         configuration.notificationFacade = notificationFacade;
+        configuration.waitlistFacade = waitlistFacade;
         reservationFacade = configuration.createForTest(reservationRepository);
+        publishedEvents = configuration.publishedEvents;
     }
 
     @Test
@@ -105,14 +117,32 @@ class ReservationFacadeTest {
         when(offerFacade.getOffer(1L)).thenReturn(testOffer);
         when(userFacade.getUserByEmailOrCreateNewAccount("test@example.com"))
                 .thenReturn(new UserCreatedWhenRegisteredDto(testUser, false, null));
-        when(notificationFacade.sendAnEmailWhenClientHasAccount(any(), any(), any(), any()))
-                .thenReturn(new NotificationFacadeResponse(true));
 
         // when
         ReservationFacadeResponse response = reservationFacade.createNewReservation(validDto);
 
         // then
         assertThat(response.isSuccess()).isTrue();
+        assertThat(reservationRepository.findAll()).hasSize(1);
+        verify(notificationFacade).queueEmailWhenClientHasAccount(eq("test@example.com"), any(), eq(validDateTime), any());
+    }
+
+    @Test
+    void shouldRejectReservationOfTermHeldForWaitlistedCustomer() {
+        // given
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        CreateReservationDto dto = new CreateReservationDto(1L, 1L, 1L, start, "test@example.com");
+
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(waitlistFacade.isSlotHeldForOthers(1L, start, start.plusHours(1), "test@example.com")).thenReturn(true);
+
+        // when
+        ReservationFacadeResponse response = reservationFacade.createNewReservation(dto);
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.message()).isEqualTo("The selected time is held for a customer from the waitlist.");
+        assertThat(reservationRepository.findAll()).isEmpty();
     }
 
     @Test
@@ -123,10 +153,14 @@ class ReservationFacadeTest {
 
         reservationRepository.save(testReservation);
 
-        when(employeeFacade.getAvailableHours(any()))
+        LocalDate date = testReservation.getReservationDateTime().toLocalDate();
+        when(employeeFacade.findNearestAvailableTerms(any(), any(), eq(date), eq(60), eq(5)))
                 .thenReturn(List.of(
-                        new AvailableTermDto(LocalTime.of(9, 0), LocalTime.of(10, 0)),
-                        new AvailableTermDto(LocalTime.of(10, 0), LocalTime.of(11, 0))
+                        new AvailableTermWithDateDto(LocalTime.of(9, 0), LocalTime.of(10, 0), date),
+                        new AvailableTermWithDateDto(LocalTime.of(10, 0), LocalTime.of(11, 0), date),
+                        new AvailableTermWithDateDto(LocalTime.of(9, 0), LocalTime.of(10, 0), date.plusDays(1)),
+                        new AvailableTermWithDateDto(LocalTime.of(10, 0), LocalTime.of(11, 0), date.plusDays(1)),
+                        new AvailableTermWithDateDto(LocalTime.of(9, 0), LocalTime.of(10, 0), date.plusDays(2))
                 ));
 
         // when
@@ -212,6 +246,53 @@ class ReservationFacadeTest {
 
     }
 
+    @Test
+    void shouldReturnRemindersOfDayWithClientAndSalonData() {
+        // given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        User client = new User();
+        client.setEmail("client@example.com");
+
+        Reservation reservation = createSalonReservation(1L, tomorrow.atTime(10, 0));
+        reservation.setUser(client);
+        reservation.getSalon().setSalonName("Salon");
+        reservationRepository.save(reservation);
+        reservationRepository.save(createSalonReservation(1L, tomorrow.plusDays(1).atTime(10, 0)));
+
+        // when
+        List<ReservationReminderDto> result = reservationFacade.getReminders(tomorrow, 1, 0);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).clientEmail()).isEqualTo("client@example.com");
+        assertThat(result.get(0).salonName()).isEqualTo("Salon");
+        assertThat(result.get(0).reservationDateTime()).isEqualTo(tomorrow.atTime(10, 0));
+    }
+
+    @Test
+    void shouldSplitRemindersIntoSalonPartitionsAndSkipRemindedReservations() {
+        // given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Reservation salonOne = createSalonReservation(1L, tomorrow.atTime(9, 0));
+        salonOne.setId(1L);
+        Reservation salonTwo = createSalonReservation(2L, tomorrow.atTime(9, 0));
+        salonTwo.setId(2L);
+        Reservation salonThree = createSalonReservation(3L, tomorrow.atTime(9, 0));
+        salonThree.setId(3L);
+        reservationRepository.save(salonOne);
+        reservationRepository.save(salonTwo);
+        reservationRepository.save(salonThree);
+
+        // when
+        reservationFacade.markReminded(List.of(3L));
+        List<ReservationReminderDto> oddSalons = reservationFacade.getReminders(tomorrow, 2, 1);
+        List<ReservationReminderDto> evenSalons = reservationFacade.getReminders(tomorrow, 2, 0);
+
+        // then
+        assertThat(oddSalons).extracting(ReservationReminderDto::reservationId).containsExactly(1L);
+        assertThat(evenSalons).extracting(ReservationReminderDto::reservationId).containsExactly(2L);
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoTomorrowReservations() {
         // given
@@ -232,7 +313,8 @@ class ReservationFacadeTest {
         // given
         User testUser = new User();
         testUser.setEmail("test@example.com");
-        Reservation testReservation = createTestReservation(testUser, LocalDateTime.now().plusDays(1));
+        LocalDateTime reservationDate = LocalDateTime.now().plusDays(1);
+        Reservation testReservation = createTestReservation(testUser, reservationDate);
         reservationRepository.save(testReservation);
 
         DeleteReservationDto dto = new DeleteReservationDto(1L, "test@example.com");
@@ -243,13 +325,35 @@ class ReservationFacadeTest {
 
         // then
         assertThat(response.isSuccess()).isTrue();
+        assertThat(publishedEvents).containsExactly(
+                new ReservationChangedEvent(1L, null),
+                new SlotChangedEvent(SlotChangeType.FREED, null, null, reservationDate, reservationDate.plusHours(1)));
+    }
+
+    @Test
+    void shouldReportDeletedReservationInChangesSinceLastSync() {
+        // given
+        User testUser = new User();
+        testUser.setId(7L);
+        testUser.setEmail("test@example.com");
+        reservationRepository.save(createTestReservation(testUser, LocalDateTime.now().plusDays(1)));
+        LocalDateTime lastSync = LocalDateTime.now().minusMinutes(1);
+        when(userFacade.getUserByEmail("test@example.com")).thenReturn(testUser);
+        reservationFacade.deleteReservation(new DeleteReservationDto(1L, "test@example.com"));
+
+        // when
+        UserReservationChangesDto changes = reservationFacade.getUserReservationChanges("test@example.com", lastSync);
+
+        // then
+        assertThat(changes.changed()).isEmpty();
+        assertThat(changes.deletedIds()).containsExactly(1L);
+        assertThat(changes.nextSince()).isAfter(lastSync);
     }
 
     @Test
     void shouldFailToDeleteNonExistingReservation() {
         // given
         DeleteReservationDto dto = new DeleteReservationDto(999L, "test@example.com");
-        when(userFacade.getUserByEmail("test@example.com")).thenReturn(new User());
 
         // when
         Exception exception = assertThrows(ReservationDeleteException.class, () -> reservationFacade.deleteReservation(dto));
@@ -266,7 +370,8 @@ class ReservationFacadeTest {
         testUser.setEmail("test@example.pl");
 
         LocalDateTime newDate = LocalDateTime.now().plusDays(2);
-        Reservation testReservation = createTestReservation(testUser, LocalDateTime.now().plusDays(1));
+        LocalDateTime oldDate = LocalDateTime.now().plusDays(1);
+        Reservation testReservation = createTestReservation(testUser, oldDate);
         reservationRepository.save(testReservation);
 
         UpdateReservationDto dto = new UpdateReservationDto(1L, newDate);
@@ -277,6 +382,71 @@ class ReservationFacadeTest {
 
         // then
         assertThat(result.reservationDateTime()).isEqualTo(newDate);
+        assertThat(publishedEvents).containsExactly(
+                new ReservationChangedEvent(1L, newDate),
+                new SlotChangedEvent(SlotChangeType.FREED, null, null, oldDate, oldDate.plusHours(1)),
+                new SlotChangedEvent(SlotChangeType.TAKEN, null, null, newDate, newDate.plusHours(1)));
+    }
+
+    @Test
+    void shouldRejectMovingReservationOntoTermHeldForWaitlistedCustomer() {
+        // given
+        User testUser = new User();
+        testUser.setEmail("test@example.pl");
+        LocalDateTime oldDate = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime heldDate = oldDate.plusDays(1);
+        reservationRepository.save(createEmployeeReservation(5L, oldDate));
+        reservationRepository.findById(1L).orElseThrow().setUser(testUser);
+        when(userFacade.getUserByEmail("test@example.pl")).thenReturn(testUser);
+        when(waitlistFacade.isSlotHeldForOthers(5L, heldDate, heldDate.plusHours(1), "test@example.pl")).thenReturn(true);
+
+        // when
+        ReservationConflictException exception = assertThrows(ReservationConflictException.class,
+                () -> reservationFacade.updateReservationDate(new UpdateReservationDto(1L, heldDate)));
+
+        // then
+        assertThat(exception.getMessage()).isEqualTo("The selected time is held for a customer from the waitlist.");
+        assertThat(reservationRepository.findById(1L).orElseThrow().getReservationDateTime()).isEqualTo(oldDate);
+        verify(waitlistFacade, never()).completeHold(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldCompleteOwnWaitlistHoldWhenReservationIsMovedOntoIt() {
+        // given
+        User testUser = new User();
+        testUser.setEmail("test@example.pl");
+        LocalDateTime oldDate = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime heldDate = oldDate.plusDays(1);
+        reservationRepository.save(createEmployeeReservation(5L, oldDate));
+        reservationRepository.findById(1L).orElseThrow().setUser(testUser);
+        when(userFacade.getUserByEmail("test@example.pl")).thenReturn(testUser);
+
+        // when
+        reservationFacade.updateReservationDate(new UpdateReservationDto(1L, heldDate));
+
+        // then
+        verify(waitlistFacade).completeHold(5L, heldDate, heldDate.plusHours(1), "test@example.pl");
+    }
+
+    @Test
+    void shouldMoveBusyTermToNewDayWhenReservationIsMoved() {
+        // given
+        User testUser = new User();
+        testUser.setEmail("test@example.pl");
+        LocalDate oldDay = LocalDate.now().plusDays(1);
+        LocalDate newDay = oldDay.plusDays(1);
+        reservationRepository.save(createEmployeeReservation(5L, oldDay.atTime(10, 0)));
+        reservationRepository.findById(1L).orElseThrow().setUser(testUser);
+        reservationFacade.rebuildOccupancy();
+        when(userFacade.getUserByEmail("test@example.pl")).thenReturn(testUser);
+
+        // when
+        reservationFacade.updateReservationDate(new UpdateReservationDto(1L, newDay.atTime(12, 0)));
+
+        // then
+        assertThat(reservationFacade.getEmployeeBusyTerm(5L, oldDay)).isEmpty();
+        assertThat(reservationFacade.getEmployeeBusyTerm(5L, newDay))
+                .containsExactly(new AvailableTermDto(LocalTime.of(12, 0), LocalTime.of(13, 0)));
     }
 
     @Test
@@ -285,22 +455,101 @@ class ReservationFacadeTest {
         Long salonId = 1L;
         LocalDate today = LocalDate.now();
 
-        reservationRepository.save(createSalonReservation(salonId, today.atTime(10, 0)));
         reservationRepository.save(createSalonReservation(salonId, today.atTime(14, 0)));
+        reservationRepository.save(createSalonReservation(salonId, today.atTime(10, 0)));
         reservationRepository.save(createSalonReservation(2L, today.atTime(16, 0)));
+        reservationFacade.rebuildOccupancy();
 
         // when
-        Map<LocalDate, List<ReservationDto>> result = reservationFacade.getAllReservationBySalonId(salonId);
+        Map<LocalDate, List<ReservationDto>> result = reservationFacade.getSalonCalendar(salonId, today, today).reservations();
 
         // then
         assertThat(result)
                 .hasSize(1)
                 .containsKey(today)
                 .satisfies(entries -> {
-                    assertThat(entries.get(today)).hasSize(2);
+                    assertThat(entries.get(today))
+                            .extracting(ReservationDto::reservationDateTimeStart)
+                            .containsExactly(today.atTime(10, 0), today.atTime(14, 0));
+                    assertThat(entries.get(today).get(0).reservationDateTimeEnd()).isEqualTo(today.atTime(11, 0));
                 });
     }
 
+    @Test
+    void shouldReturnOnlyRequestedDaysOfSalonCalendarWithNextReservationDay() {
+        // given
+        Long salonId = 1L;
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        reservationRepository.save(createSalonReservation(salonId, from.atTime(10, 0)));
+        reservationRepository.save(createSalonReservation(salonId, from.plusDays(2).atTime(9, 0)));
+        reservationRepository.save(createSalonReservation(salonId, from.plusDays(10).atTime(12, 0)));
+        reservationRepository.save(createSalonReservation(salonId, from.plusDays(12).atTime(12, 0)));
+        reservationFacade.rebuildOccupancy();
+
+        // when
+        ReservationCalendarPageDto result = reservationFacade.getSalonCalendar(salonId, from, from.plusDays(6));
+
+        // then
+        assertThat(result.reservations().keySet()).containsExactly(from, from.plusDays(2));
+        assertThat(result.nextFrom()).isEqualTo(from.plusDays(10));
+    }
+
+    @Test
+    void shouldExportSalonReservationsAsCsvInDateOrder() {
+        // given
+        Long salonId = 1L;
+        LocalDate from = LocalDate.now().plusDays(1);
+
+        Reservation later = createSalonReservation(salonId, from.plusDays(1).atTime(9, 0));
+        later.getUser().setName("Kowalski, \"Jan\"");
+        reservationRepository.save(later);
+        reservationRepository.save(createSalonReservation(salonId, from.atTime(10, 0)));
+        reservationRepository.save(createSalonReservation(salonId, from.plusDays(5).atTime(10, 0)));
+        reservationRepository.save(createSalonReservation(2L, from.atTime(10, 0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long exported = reservationFacade.exportSalonReservations(
+                salonId, null, from, from.plusDays(1), ReservationExportFormat.CSV, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("reservation_id,date_time");
+        assertThat(lines[1]).contains(from.atTime(10, 0).toString());
+        assertThat(lines[2]).contains(from.plusDays(1).atTime(9, 0).toString())
+                .contains(",\"Kowalski, \"\"Jan\"\"\",test@example.pl");
+    }
+
+    @Test
+    void shouldExportOnlyReservationsOfRequestedEmployeeAsNdjson() {
+        // given
+        Long salonId = 1L;
+        LocalDateTime dateTime = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        Reservation ofEmployee = createSalonReservation(salonId, dateTime);
+        ofEmployee.setId(11L);
+        ofEmployee.getEmployee().setId(7L);
+        Reservation ofOtherEmployee = createSalonReservation(salonId, dateTime);
+        ofOtherEmployee.getEmployee().setId(8L);
+        reservationRepository.save(ofEmployee);
+        reservationRepository.save(ofOtherEmployee);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long exported = reservationFacade.exportSalonReservations(
+                salonId, 7L, null, null, ReservationExportFormat.NDJSON, out);
+
+        // then
+        assertThat(exported).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"reservationId\":11,\"reservationDateTime\":\"" + dateTime + "\",\"duration\":\"01:00\","
+                        + "\"employee\":\"Employee\",\"offer\":null,\"price\":null,"
+                        + "\"clientName\":\"Test\",\"clientEmail\":\"test@example.pl\"}\n");
+    }
+
     @Test
     void shouldReturnEmployeeBusyTerms() {
         // given
@@ -309,6 +558,7 @@ class ReservationFacadeTest {
 
         reservationRepository.save(createEmployeeReservation(employeeId, date.atTime(10, 0)));
         reservationRepository.save(createEmployeeReservation(employeeId, date.atTime(14, 0)));
+        reservationFacade.rebuildOccupancy();
 
         // when
         List<AvailableTermDto> result = reservationFacade.getEmployeeBusyTerm(employeeId, date);
@@ -320,6 +570,95 @@ class ReservationFacadeTest {
                 .containsExactly(LocalTime.of(10, 0), LocalTime.of(14, 0));
     }
 
+    @Test
+    void shouldCountTermsHeldForWaitlistAsBusy() {
+        // given
+        Long employeeId = 1L;
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        reservationRepository.save(createEmployeeReservation(employeeId, date.atTime(10, 0)));
+        reservationFacade.rebuildOccupancy();
+        when(waitlistFacade.getHeldTerms(List.of(employeeId), date)).thenReturn(
+                Map.of(employeeId, List.of(new AvailableTermDto(LocalTime.of(12, 0), LocalTime.of(13, 0)))));
+        when(waitlistFacade.getHeldTerms(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())).thenReturn(
+                List.of(new AvailableTermWithDateDto(LocalTime.of(12, 0), LocalTime.of(13, 0), date)));
+
+        // when
+        List<AvailableTermDto> dayTerms = reservationFacade.getEmployeeBusyTerm(employeeId, date);
+        Map<LocalDate, List<AvailableTermDto>> rangeTerms = reservationFacade.getEmployeeBusyTerms(employeeId, date, date);
+
+        // then
+        assertThat(dayTerms).extracting(AvailableTermDto::startServices)
+                .containsExactlyInAnyOrder(LocalTime.of(10, 0), LocalTime.of(12, 0));
+        assertThat(rangeTerms.get(date)).extracting(AvailableTermDto::startServices)
+                .containsExactlyInAnyOrder(LocalTime.of(10, 0), LocalTime.of(12, 0));
+    }
+
+    @Test
+    void shouldBookFreeDatesOfSeriesAndReportTakenOnes() {
+        // given
+        LocalDateTime first = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        reservationRepository.save(createEmployeeReservation(1L, first.plusWeeks(2)));
+        CreateReservationSeriesDto dto = new CreateReservationSeriesDto(
+                1L, 1L, 1L, first, RecurrenceFrequency.WEEKLY, 1, 4, null, "test@example.com");
+
+        Employee employee = new Employee();
+        employee.setId(1L);
+        Offer offer = new Offer();
+        offer.setDuration(LocalTime.of(1, 0));
+        when(offerFacade.getDurationToOffer(1L)).thenReturn(LocalTime.of(1, 0));
+        when(salonFacade.getSalon(1L)).thenReturn(new Salon());
+        when(employeeFacade.getEmployee(1L)).thenReturn(employee);
+        when(offerFacade.getOffer(1L)).thenReturn(offer);
+        when(userFacade.getUserByEmailOrCreateNewAccount("test@example.com"))
+                .thenReturn(new UserCreatedWhenRegisteredDto(new User(), false, null));
+
+        // when
+        ReservationSeriesResponse response = reservationFacade.createReservationSeries(dto);
+
+        // then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.booked()).containsExactly(first, first.plusWeeks(1), first.plusWeeks(3));
+        assertThat(response.skipped()).extracting(SkippedOccurrenceDto::reservationDateTime).containsExactly(first.plusWeeks(2));
+        assertThat(reservationRepository.findAll()).hasSize(4);
+        verify(userFacade, times(1)).getUserByEmailOrCreateNewAccount("test@example.com");
+        verify(notificationFacade).queueSeriesConfirmationEmail(eq("test@example.com"), any(),
+                eq(List.of(first, first.plusWeeks(1), first.plusWeeks(3))), any(), isNull());
+    }
+
+    @Test
+    void shouldRejectSeriesWithoutEnd() {
+        // given
+        CreateReservationSeriesDto dto = new CreateReservationSeriesDto(
+                1L, 1L, 1L, validDateTime, RecurrenceFrequency.WEEKLY, 2, null, null, "test@example.com");
+
+        // when
+        ReservationSeriesResponse response = reservationFacade.createReservationSeries(dto);
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(reservationRepository.findAll()).isEmpty();
+        verifyNoInteractions(notificationFacade);
+    }
+
+    @Test
+    void shouldRejectReservationCursorMissingOneOfItsParts() {
+        // given
+        User testUser = new User();
+        testUser.setEmail("test@example.pl");
+        when(userFacade.getUserByEmail("test@example.pl")).thenReturn(testUser);
+
+        // when
+        InvalidReservationCursorException withoutId = assertThrows(InvalidReservationCursorException.class,
+                () -> reservationFacade.getUserReservationsPage("test@example.pl", validDateTime, null, 10));
+        InvalidReservationCursorException withoutDateTime = assertThrows(InvalidReservationCursorException.class,
+                () -> reservationFacade.getUserReservationsPage("test@example.pl", null, 3L, 10));
+
+        // then
+        assertThat(withoutId.getMessage()).isEqualTo("Reservation cursor must carry both afterDateTime and afterId");
+        assertThat(withoutDateTime.getMessage()).isEqualTo("Reservation cursor must carry both afterDateTime and afterId");
+    }
+
     private Reservation createSalonReservation(Long salonId, LocalDateTime dateTime) {
         Salon salon = new Salon();
         salon.setId(salonId);
@@ -332,6 +671,7 @@ class ReservationFacadeTest {
         User employeeUser = new User();
         employeeUser.setName("Employee");
         Employee employee = new Employee();
+        employee.setId(salonId);
         employee.setUser(employeeUser);
 
 
@@ -0,0 +1,118 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs schema.sql against a real PostgreSQL the way the application does, so Hibernate does not get to create
+ * the reservation table first. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ReservationPartitioningTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.sql.init.mode", () -> "always");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void should_create_reservation_table_partitioned_by_range() {
+        // when
+        String strategy = jdbcTemplate.queryForObject("""
+                SELECT pt.partstrat FROM pg_partitioned_table pt
+                JOIN pg_class c ON c.oid = pt.partrelid
+                WHERE c.relname = 'reservation'
+                """, String.class);
+
+        // then
+        assertThat(strategy).isEqualTo("r");
+    }
+
+    @Test
+    void should_archive_old_partition_and_leave_tombstones() {
+        // given
+        ReservationArchiveService archiveService = new ReservationArchiveService(jdbcTemplate, transactionTemplate, 1, 0);
+        YearMonth old = YearMonth.now().minusMonths(3);
+        jdbcTemplate.execute("CREATE TABLE reservation_p%s PARTITION OF reservation FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(old.toString().replace('-', '_'), old.atDay(1), old.plusMonths(1).atDay(1)));
+        archiveService.createUpcomingPartitions();
+        long reservationId = insertReservation(old.atDay(10).atTime(10, 0));
+
+        // when
+        long archived = archiveService.archivePastReservations();
+
+        // then
+        assertThat(archived).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM reservation", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_archive WHERE id = ?", Long.class, reservationId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reservation_tombstone WHERE reservation_id = ?", Long.class, reservationId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void should_move_bookings_beyond_the_created_months_out_of_the_default_partition() {
+        // given
+        ReservationArchiveService archiveService = new ReservationArchiveService(jdbcTemplate, transactionTemplate, 24, 0);
+        archiveService.createUpcomingPartitions();
+        YearMonth farAhead = YearMonth.now().plusMonths(5);
+        long reservationId = insertReservation(farAhead.atDay(10).atTime(10, 0));
+
+        // when
+        archiveService.createUpcomingPartitions();
+
+        // then
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM reservation WHERE id = ?", String.class, reservationId))
+                .isEqualTo("reservation_p" + farAhead.toString().replace('-', '_'));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM reservation_default", Long.class)).isZero();
+    }
+
+    private long insertReservation(LocalDateTime dateTime) {
+        Long clientId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, name) VALUES ('client@example.com', 'Client') RETURNING id", Long.class);
+        Long employeeUserId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, name) VALUES ('employee@example.com', 'Employee') RETURNING id", Long.class);
+        Long salonId = jdbcTemplate.queryForObject(
+                "INSERT INTO salon (salon_name) VALUES ('Salon') RETURNING id", Long.class);
+        Long employeeId = jdbcTemplate.queryForObject(
+                "INSERT INTO employee (user_id, salon_id) VALUES (?, ?) RETURNING id", Long.class, employeeUserId, salonId);
+        Long offerId = jdbcTemplate.queryForObject(
+                "INSERT INTO offer (name, price, duration, salon_id) VALUES ('Haircut', 50, '00:30', ?) RETURNING id",
+                Long.class, salonId);
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO reservation (salon_id, employee_id, user_id, offer_id, reservation_date_time)
+                VALUES (?, ?, ?, ?, ?) RETURNING id
+                """, Long.class, salonId, employeeId, clientId, offerId, Timestamp.valueOf(dateTime));
+    }
+}
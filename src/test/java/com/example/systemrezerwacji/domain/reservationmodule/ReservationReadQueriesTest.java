@@ -0,0 +1,306 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.Employee;
+import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarPageDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportFormat;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationChangesDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationPageDto;
+import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import com.example.systemrezerwacji.domain.usermodule.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReservationReadQueriesTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ReservationArchiveRepository archiveRepository;
+
+    @Autowired
+    private EmployeeDayOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ReservationService reservationService;
+    private Statistics statistics;
+    private Salon salon;
+    private User client;
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new ReservationService(reservationRepository, tombstoneRepository, archiveRepository,
+                new MapperReservationDto(), new EmployeeDayLocks(), new ReservationExportWriter());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        client = persistUser("Client", "client@example.com");
+        salon = new Salon();
+        salon.setSalonName("Salon");
+        salon.setUser(persistUser("Owner", "owner@example.com"));
+        entityManager.persist(salon);
+
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee();
+            employee.setUser(persistUser("Employee " + i, "employee" + i + "@example.com"));
+            employee.setSalon(salon);
+            entityManager.persist(employee);
+
+            Offer offer = new Offer();
+            offer.setDuration(LocalTime.of(0, 30));
+            entityManager.persist(offer);
+
+            entityManager.persist(new Reservation(salon, employee, client, offer, tomorrow.atTime(9 + i, 0)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void should_load_user_reservations_with_one_statement() {
+        // when
+        List<UserReservationDataDto> reservations = reservationService.getReservationToCurrentUser(client);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(reservations).extracting(UserReservationDataDto::employeeName)
+                .containsExactly("Employee 0", "Employee 1", "Employee 2");
+        assertThat(reservations).extracting(UserReservationDataDto::salonName).containsOnly("Salon");
+    }
+
+    @Test
+    void should_page_user_reservations_by_date_and_id() {
+        // when
+        UserReservationPageDto first = reservationService.getUserReservationsPage(client, null, null, 2);
+        UserReservationPageDto second = reservationService.getUserReservationsPage(
+                client, first.nextAfterDateTime(), first.nextAfterId(), 2);
+
+        // then
+        assertThat(first.reservations()).extracting(UserReservationDataDto::employeeName)
+                .containsExactly("Employee 0", "Employee 1");
+        assertThat(first.nextAfterDateTime()).isEqualTo(tomorrow.atTime(10, 0));
+        assertThat(second.reservations()).extracting(UserReservationDataDto::employeeName)
+                .containsExactly("Employee 2");
+        assertThat(second.nextAfterId()).isNull();
+    }
+
+    @Test
+    void should_return_only_reservations_changed_since_cursor() {
+        // given
+        LocalDateTime since = LocalDateTime.now();
+        Reservation moved = reservationRepository.findAll().get(0);
+        moved.setReservationDateTime(tomorrow.atTime(15, 0));
+        moved.setUpdatedAt(since.plusSeconds(1));
+        entityManager.merge(moved);
+        entityManager.persist(new ReservationTombstone(999L, client.getId(), since.plusSeconds(1)));
+        entityManager.flush();
+
+        // when
+        UserReservationChangesDto changes = reservationService.getUserReservationChanges(client, since);
+
+        // then
+        assertThat(changes.changed()).extracting(UserReservationDataDto::reservationId).containsExactly(moved.getId());
+        assertThat(changes.deletedIds()).containsExactly(999L);
+    }
+
+    @Test
+    void should_load_reservations_to_remind_with_one_statement() {
+        // when
+        List<ReservationToTomorrow> reservations = reservationService.getAllReservationToTomorrow();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(reservations).hasSize(3).extracting(ReservationToTomorrow::userId).containsOnly(client.getId());
+    }
+
+    @Test
+    void should_load_reminder_mails_with_one_statement() {
+        // when
+        List<ReservationReminderDto> reminders = reservationService.getReminders(tomorrow, 1, 0);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(reminders).hasSize(3).extracting(ReservationReminderDto::clientEmail).containsOnly("client@example.com");
+        assertThat(reminders).extracting(ReservationReminderDto::salonName).containsOnly("Salon");
+    }
+
+    @Test
+    void should_load_salon_calendar_from_occupancy_with_one_statement_plus_next_day_lookup() {
+        // given
+        EmployeeDayOccupancyService occupancyService = occupancyService();
+        occupancyService.rebuild();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        ReservationCalendarPageDto calendar = occupancyService.getSalonCalendar(salon.getId(), tomorrow, tomorrow);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(calendar.reservations().get(tomorrow)).extracting(ReservationDto::employeeName)
+                .containsExactly("Employee 0", "Employee 1", "Employee 2");
+        assertThat(calendar.reservations().get(tomorrow).get(0).reservationDateTimeEnd()).isEqualTo(tomorrow.atTime(9, 30));
+    }
+
+    @Test
+    void should_read_busy_terms_of_employee_day_as_single_row() {
+        // given
+        EmployeeDayOccupancyService occupancyService = occupancyService();
+        occupancyService.rebuild();
+        Long employeeId = reservationRepository.findAll().get(0).getEmployee().getId();
+        LocalDate date = reservationRepository.findAll().get(0).getReservationDateTime().toLocalDate();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<AvailableTermDto> busyTerms = occupancyService.getBusyTerms(employeeId, date);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(busyTerms).hasSize(1);
+    }
+
+    @Test
+    void should_export_archived_reservations_before_live_ones() {
+        // given
+        entityManager.persist(new ReservationArchive(1000L, salon.getId(), 1L, client.getId(),
+                tomorrow.minusYears(3).atTime(9, 0), LocalTime.of(0, 30), "Former employee", "Old offer",
+                BigDecimal.TEN, "Client", "client@example.com", LocalDateTime.now()));
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long written = reservationService.exportSalonReservations(salon.getId(), null, null, null,
+                ReservationExportFormat.CSV, out);
+
+        // then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(written).isEqualTo(4);
+        assertThat(lines.get(1)).startsWith("1000,").contains("Former employee");
+    }
+
+    @Test
+    void should_sum_bookings_per_employee_offer_and_day() {
+        // when
+        List<DailyBookingsDto> bookings = reservationService.sumDailyBookings(null, tomorrow, tomorrow);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(bookings).hasSize(3).allSatisfy(day -> {
+            assertThat(day.salonId()).isEqualTo(salon.getId());
+            assertThat(day.date()).isEqualTo(tomorrow);
+            assertThat(day.bookings()).isEqualTo(1L);
+            assertThat(day.bookedMinutes()).isEqualTo(30L);
+        });
+        assertThat(reservationService.sumDailyBookings(null, tomorrow.plusDays(1), null)).isEmpty();
+    }
+
+    @Test
+    void should_sum_revenue_at_the_price_the_offer_had_when_booked() {
+        // given
+        Employee employee = new Employee();
+        employee.setUser(persistUser("Stylist", "stylist@example.com"));
+        employee.setSalon(salon);
+        entityManager.persist(employee);
+        Offer offer = new Offer();
+        offer.setDuration(LocalTime.of(1, 0));
+        Long offerId = entityManager.persistAndGetId(offer, Long.class);
+        changeOfferPrice(offerId, "50.00");
+        entityManager.persist(new Reservation(salon, employee, client, entityManager.find(Offer.class, offerId),
+                tomorrow.atTime(15, 0)));
+        changeOfferPrice(offerId, "80.00");
+
+        // when
+        List<DailyBookingsDto> bookings = reservationService.sumDailyBookings(employee.getId(), tomorrow, tomorrow);
+
+        // then
+        assertThat(bookings).singleElement().satisfies(day -> {
+            assertThat(day.employeeId()).isEqualTo(employee.getId());
+            assertThat(day.bookedMinutes()).isEqualTo(60L);
+            assertThat(day.revenue()).isEqualByComparingTo("50.00");
+        });
+    }
+
+    @Test
+    void should_insert_series_in_one_batch() {
+        // given
+        Reservation existing = reservationRepository.findAll().get(0);
+        List<LocalDateTime> dates = IntStream.range(1, 11)
+                .mapToObj(week -> tomorrow.plusWeeks(week).atTime(9, 0))
+                .toList();
+        statistics.clear();
+
+        // when
+        List<Reservation> saved = reservationService.addNewReservations(existing.getSalon(), existing.getEmployee(),
+                existing.getUser(), existing.getOffer(), dates);
+        entityManager.flush();
+
+        // then
+        assertThat(saved).extracting(Reservation::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10);
+        // one sequence call for the whole block of ids and one batched insert statement
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    private EmployeeDayOccupancyService occupancyService() {
+        return new EmployeeDayOccupancyService(reservationRepository, occupancyRepository, new MapperReservationDto());
+    }
+
+    private void changeOfferPrice(Long offerId, String price) {
+        entityManager.flush();
+        entityManager.getEntityManager().createQuery("update Offer o set o.price = :price where o.id = :id")
+                .setParameter("price", new BigDecimal(price))
+                .setParameter("id", offerId)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private User persistUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+}
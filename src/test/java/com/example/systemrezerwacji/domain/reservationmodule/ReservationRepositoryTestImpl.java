@@ -1,28 +1,45 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
-import com.example.systemrezerwacji.domain.usermodule.User;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.DailyBookingsDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationExportRowDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationOccupancyDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationToTomorrow;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UpcomingReservationDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.UserReservationDataDto;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ReservationRepositoryTestImpl implements ReservationRepository{
 
     private Map<Long, Reservation> reservationsDataBase = new ConcurrentHashMap<>();
-    private Long id = 1L;
+    private final AtomicLong id = new AtomicLong(1L);
 
     @Override
     public <S extends Reservation> S save(S entity) {
-        reservationsDataBase.put(id, entity);
-        id++;
+        if (entity.getId() == null) {
+            entity.setId(id.getAndIncrement());
+        }
+        reservationsDataBase.put(entity.getId(), entity);
         return entity;
     }
 
     @Override
     public <S extends Reservation> Iterable<S> saveAll(Iterable<S> entities) {
-        return null;
+        entities.forEach(this::save);
+        return entities;
     }
 
     @Override
@@ -57,7 +74,7 @@ public class ReservationRepositoryTestImpl implements ReservationRepository{
 
     @Override
     public void delete(Reservation entity) {
-
+        reservationsDataBase.remove(entity.getId());
     }
 
     @Override
@@ -76,23 +93,205 @@ public class ReservationRepositoryTestImpl implements ReservationRepository{
     }
 
     @Override
-    public List<Reservation> findAllByUser(User user) {
+    public List<UserReservationDataDto> findUserReservations(Long userId) {
         return reservationsDataBase.values().stream()
-                .filter(reservation -> reservation.getUser().getId().equals(user.getId()))
+                .filter(reservation -> Objects.equals(reservation.getUser().getId(), userId))
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new UserReservationDataDto(
+                        reservation.getId(),
+                        reservation.getSalon().getSalonName(),
+                        reservation.getEmployee().getUser().getName(),
+                        reservation.getOffer().getName(),
+                        reservation.getReservationDateTime()))
+                .toList();
+    }
+
+    @Override
+    public List<UserReservationDataDto> findUserReservationsPage(Long userId, Limit limit) {
+        return findUserReservations(userId).stream()
+                .sorted(Comparator.comparing(UserReservationDataDto::reservationDateTime)
+                        .thenComparing(UserReservationDataDto::reservationId))
+                .limit(limit.max())
+                .toList();
+    }
+
+    @Override
+    public List<UserReservationDataDto> findUserReservationsPageAfter(Long userId, LocalDateTime afterDateTime, Long afterId, Limit limit) {
+        return findUserReservationsPage(userId, Limit.unlimited()).stream()
+                .filter(reservation -> reservation.reservationDateTime().isAfter(afterDateTime)
+                        || (reservation.reservationDateTime().isEqual(afterDateTime) && reservation.reservationId() > afterId))
+                .limit(limit.max())
                 .toList();
     }
 
     @Override
-    public List<Reservation> findAllByReservationDateTimeBetween(LocalDateTime start, LocalDateTime end) {
+    public List<UserReservationDataDto> findUserReservationsChangedSince(Long userId, LocalDateTime since) {
         return reservationsDataBase.values().stream()
-                .filter(reservation -> reservation.getReservationDateTime().isAfter(start) && reservation.getReservationDateTime().isBefore(end))
+                .filter(reservation -> Objects.equals(reservation.getUser().getId(), userId))
+                .filter(reservation -> reservation.getUpdatedAt() != null && reservation.getUpdatedAt().isAfter(since))
+                .sorted(Comparator.comparing(Reservation::getUpdatedAt).thenComparing(Reservation::getId))
+                .map(reservation -> new UserReservationDataDto(
+                        reservation.getId(),
+                        reservation.getSalon().getSalonName(),
+                        reservation.getEmployee().getUser().getName(),
+                        reservation.getOffer().getName(),
+                        reservation.getReservationDateTime()))
                 .toList();
     }
 
     @Override
-    public List<Reservation> findAllBySalonId(Long salonId) {
+    public List<ReservationToTomorrow> findReservationsToRemind(LocalDateTime from, LocalDateTime to) {
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> reservation.getReservationDateTime().isBefore(to))
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new ReservationToTomorrow(
+                        reservation.getSalon().getId(),
+                        reservation.getUser().getId(),
+                        reservation.getOffer().getId(),
+                        reservation.getReservationDateTime()))
+                .toList();
+    }
+
+    @Override
+    public List<ReservationReminderDto> findReminders(LocalDateTime from, LocalDateTime to, int partitions, int partition) {
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> reservation.getReservationDateTime().isBefore(to))
+                .filter(reservation -> reservation.getRemindedAt() == null)
+                .filter(reservation -> reservation.getSalon().getId() % partitions == partition)
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new ReservationReminderDto(
+                        reservation.getId(),
+                        reservation.getUser().getEmail(),
+                        reservation.getOffer().getName(),
+                        reservation.getSalon().getSalonName(),
+                        reservation.getSalon().getStreet(),
+                        reservation.getSalon().getNumber(),
+                        reservation.getSalon().getCity(),
+                        reservation.getReservationDateTime()))
+                .toList();
+    }
+
+    @Override
+    public List<ReservationReminderDto> findRemindersByIds(Collection<Long> reservationIds) {
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> reservationIds.contains(reservation.getId()))
+                .map(reservation -> new ReservationReminderDto(
+                        reservation.getId(),
+                        reservation.getUser().getEmail(),
+                        reservation.getOffer().getName(),
+                        reservation.getSalon().getSalonName(),
+                        reservation.getSalon().getStreet(),
+                        reservation.getSalon().getNumber(),
+                        reservation.getSalon().getCity(),
+                        reservation.getReservationDateTime()))
+                .toList();
+    }
+
+    @Override
+    public List<UpcomingReservationDto> findUpcomingReservations(LocalDateTime from, LocalDateTime to) {
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> reservation.getReservationDateTime().isBefore(to))
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new UpcomingReservationDto(reservation.getId(), reservation.getReservationDateTime()))
+                .toList();
+    }
+
+    @Override
+    public int markReminded(Collection<Long> reservationIds, LocalDateTime remindedAt) {
+        int marked = 0;
+        for (Reservation reservation : reservationsDataBase.values()) {
+            if (reservationIds.contains(reservation.getId()) && reservation.getRemindedAt() == null) {
+                reservation.setRemindedAt(remindedAt);
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public Stream<ReservationExportRowDto> streamSalonExport(Long salonId, Long employeeId, LocalDateTime from, LocalDateTime to) {
         return reservationsDataBase.values().stream()
                 .filter(reservation -> reservation.getSalon().getId().equals(salonId))
+                .filter(reservation -> employeeId == null || employeeId.equals(reservation.getEmployee().getId()))
+                .filter(reservation -> from == null || !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> to == null || reservation.getReservationDateTime().isBefore(to))
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new ReservationExportRowDto(
+                        reservation.getId(),
+                        reservation.getReservationDateTime(),
+                        reservation.getOffer().getDuration(),
+                        reservation.getEmployee().getUser().getName(),
+                        reservation.getOffer().getName(),
+                        reservation.getPrice(),
+                        reservation.getUser().getName(),
+                        reservation.getUser().getEmail()));
+    }
+
+    @Override
+    public List<ReservedTermDto> findReservedTerms(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> Objects.equals(employeeId, reservation.getEmployee().getId()))
+                .filter(reservation -> !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> reservation.getReservationDateTime().isBefore(to))
+                .sorted(Comparator.comparing(Reservation::getReservationDateTime))
+                .map(reservation -> new ReservedTermDto(
+                        reservation.getId(),
+                        reservation.getEmployee().getId(),
+                        reservation.getReservationDateTime(),
+                        reservation.getOffer().getDuration()))
+                .toList();
+    }
+
+    @Override
+    public List<ReservationOccupancyDto> findOccupancyEntries(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return streamOccupancyEntries()
+                .filter(entry -> Objects.equals(employeeId, entry.employeeId()))
+                .filter(entry -> !entry.reservationDateTime().isBefore(from))
+                .filter(entry -> entry.reservationDateTime().isBefore(to))
                 .toList();
     }
+
+    @Override
+    public Stream<ReservationOccupancyDto> streamOccupancyEntries() {
+        return reservationsDataBase.values().stream()
+                .sorted(Comparator.comparing((Reservation reservation) -> reservation.getEmployee().getId(),
+                                Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Reservation::getReservationDateTime)
+                        .thenComparing(Reservation::getId))
+                .map(reservation -> new ReservationOccupancyDto(
+                        reservation.getId(),
+                        reservation.getEmployee().getId(),
+                        reservation.getSalon() == null ? null : reservation.getSalon().getId(),
+                        reservation.getEmployee().getUser() == null ? null : reservation.getEmployee().getUser().getName(),
+                        reservation.getReservationDateTime(),
+                        reservation.getOffer().getDuration(),
+                        reservation.getOffer().getName(),
+                        reservation.getOffer().getPrice()));
+    }
+
+    @Override
+    public List<DailyBookingsDto> sumDailyBookings(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        MapperReservationDto mapper = new MapperReservationDto();
+        return reservationsDataBase.values().stream()
+                .filter(reservation -> employeeId == null || employeeId.equals(reservation.getEmployee().getId()))
+                .filter(reservation -> from == null || !reservation.getReservationDateTime().isBefore(from))
+                .filter(reservation -> to == null || reservation.getReservationDateTime().isBefore(to))
+                .map(reservation -> mapper.mapToBookingDelta(reservation, reservation.getReservationDateTime().toLocalDate(), 1))
+                .collect(Collectors.toMap(
+                        day -> List.of(day.salonId(), day.employeeId(), day.offerId(), day.date()),
+                        day -> day,
+                        (a, b) -> new DailyBookingsDto(a.salonId(), a.employeeId(), a.offerId(), a.date(),
+                                a.bookings() + b.bookings(), a.bookedMinutes() + b.bookedMinutes(),
+                                a.revenue().add(b.revenue()))))
+                .values().stream()
+                .toList();
+    }
+
+    @Override
+    public Integer lockEmployeeDay(int employeeId, int epochDay) {
+        return 1;
+    }
 }
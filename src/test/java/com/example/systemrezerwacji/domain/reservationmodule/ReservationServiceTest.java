@@ -1,8 +1,7 @@
 package com.example.systemrezerwacji.domain.reservationmodule;
 
-import com.example.systemrezerwacji.domain.employeemodule.Employee;
 import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
-import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservedTermDto;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -47,8 +46,9 @@ class ReservationServiceTest {
         Long employeeId = 1L;
         LocalDate date = LocalDate.of(2024, 11, 13);
 
-        List<Reservation> reservations = prepareListWithOneReservation();
-        when(reservationRepository.findAll()).thenReturn(reservations);
+        List<ReservedTermDto> reservedTerms = prepareListWithOneReservation();
+        when(reservationRepository.findReservedTerms(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .thenReturn(reservedTerms);
 
         //when
 
@@ -68,9 +68,10 @@ class ReservationServiceTest {
         //given
         Long employeeId = 1L;
         LocalDate date = LocalDate.of(2024, 11, 13);
-        List<Reservation> reservations = prepareListWithTwoReservation();
+        List<ReservedTermDto> reservedTerms = prepareListWithTwoReservation();
 
-        when(reservationRepository.findAll()).thenReturn(reservations);
+        when(reservationRepository.findReservedTerms(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .thenReturn(reservedTerms);
 
         //when
         List<AvailableTermDto> employeeBusyTerms = reservationService.getEmployeeBusyTerms(employeeId, date);
@@ -80,53 +81,35 @@ class ReservationServiceTest {
         assertThat(employeeBusyTerms.size()).isEqualTo(2);
     }
 
-    private List<Reservation> prepareListWithTwoReservation() {
-        Employee mockEmployee = createMockEmployee(1L);
-
-        Reservation mockReservation1 = createMockReservation(
-                mockEmployee,
-                LocalDateTime.of(2024, 11, 13, 12, 0),
-                30
-        );
+    @Test
+    void should_include_hours_of_offer_duration_in_busy_term_end() {
+        //given
+        Long employeeId = 1L;
+        LocalDate date = LocalDate.of(2024, 11, 13);
+        ReservedTermDto reservedTerm = new ReservedTermDto(1L, employeeId, date.atTime(9, 0), LocalTime.of(1, 30));
 
-        Reservation mockReservation2 = createMockReservation(
-                mockEmployee,
-                LocalDateTime.of(2024, 11, 13, 12, 30),
-                30
-        );
+        when(reservationRepository.findReservedTerms(employeeId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(reservedTerm));
 
-        return List.of(mockReservation1, mockReservation2);
+        //when
+        List<AvailableTermDto> employeeBusyTerms = reservationService.getEmployeeBusyTerms(employeeId, date);
 
+        //then
+        assertThat(employeeBusyTerms)
+                .containsExactly(new AvailableTermDto(LocalTime.of(9, 0), LocalTime.of(10, 30)));
     }
 
-    private List<Reservation> prepareListWithOneReservation() {
-        Employee mockEmployee = createMockEmployee(1L);
-        Reservation mockReservation = createMockReservation(
-                mockEmployee,
-                LocalDateTime.of(2024, 11, 13, 12, 0),
-                30
+    private List<ReservedTermDto> prepareListWithTwoReservation() {
+        return List.of(
+                new ReservedTermDto(1L, 1L, LocalDateTime.of(2024, 11, 13, 12, 0), LocalTime.of(0, 30)),
+                new ReservedTermDto(2L, 1L, LocalDateTime.of(2024, 11, 13, 12, 30), LocalTime.of(0, 30))
         );
-
-        return List.of(mockReservation);
-
-    }
-
-    private Employee createMockEmployee(Long id) {
-        Employee employee = mock(Employee.class);
-        when(employee.getId()).thenReturn(id);
-        return employee;
     }
 
-    private Reservation createMockReservation(Employee employee, LocalDateTime dateTime, int durationMinutes) {
-        Offer offer = mock(Offer.class);
-        when(offer.getDuration()).thenReturn(LocalTime.of(0, durationMinutes));
-
-        Reservation reservation = mock(Reservation.class);
-        when(reservation.getEmployee()).thenReturn(employee);
-        when(reservation.getReservationDateTime()).thenReturn(dateTime);
-        when(reservation.getOffer()).thenReturn(offer);
-
-        return reservation;
+    private List<ReservedTermDto> prepareListWithOneReservation() {
+        return List.of(
+                new ReservedTermDto(1L, 1L, LocalDateTime.of(2024, 11, 13, 12, 0), LocalTime.of(0, 30))
+        );
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.example.systemrezerwacji.domain.reservationmodule;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReservationTombstoneRepositoryTestImpl implements ReservationTombstoneRepository {
+
+    private final Map<Long, ReservationTombstone> tombstones = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Long> findDeletedSince(Long userId, LocalDateTime since) {
+        return tombstones.values().stream()
+                .filter(tombstone -> Objects.equals(tombstone.getUserId(), userId))
+                .filter(tombstone -> tombstone.getDeletedAt().isAfter(since))
+                .sorted(Comparator.comparing(ReservationTombstone::getDeletedAt)
+                        .thenComparing(ReservationTombstone::getReservationId))
+                .map(ReservationTombstone::getReservationId)
+                .toList();
+    }
+
+    @Override
+    public <S extends ReservationTombstone> S save(S entity) {
+        tombstones.put(entity.getReservationId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends ReservationTombstone> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<ReservationTombstone> findById(Long id) {
+        return Optional.ofNullable(tombstones.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return tombstones.containsKey(id);
+    }
+
+    @Override
+    public Iterable<ReservationTombstone> findAll() {
+        return List.copyOf(tombstones.values());
+    }
+
+    @Override
+    public Iterable<ReservationTombstone> findAllById(Iterable<Long> ids) {
+        return null;
+    }
+
+    @Override
+    public long count() {
+        return tombstones.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        tombstones.remove(id);
+    }
+
+    @Override
+    public void delete(ReservationTombstone entity) {
+        tombstones.remove(entity.getReservationId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends ReservationTombstone> entities) {
+
+    }
+
+    @Override
+    public void deleteAll() {
+        tombstones.clear();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.systemrezerwacji.domain.salonmodule;
 
+import com.example.systemrezerwacji.domain.salonmodule.dto.ImageDto;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +25,14 @@ public class ImageRepositoryTestImpl implements ImageRepository{
                 .toList();
     }
 
+    @Override
+    public List<ImageDto> findCatalogImages() {
+        return imageDataBase.values().stream()
+                .map(image -> new ImageDto(image.getId(), image.getName(), image.getImageUrl(), image.getImageId(),
+                        image.getSalon().getId()))
+                .toList();
+    }
+
     @Override
     public void flush() {
 
@@ -0,0 +1,36 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PostcodeLocationRepositoryTestImpl implements PostcodeLocationRepository {
+
+    private final Map<String, PostcodeLocation> postcodeDataBase = new ConcurrentHashMap<>();
+
+    void add(PostcodeLocation location) {
+        postcodeDataBase.put(location.getZipCode(), location);
+    }
+
+    @Override
+    public Optional<PostcodeLocation> findByZipCode(String zipCode) {
+        return Optional.ofNullable(postcodeDataBase.get(zipCode));
+    }
+
+    @Override
+    public long count() {
+        return postcodeDataBase.size();
+    }
+
+    @Override
+    public <S extends PostcodeLocation> List<S> saveAll(Iterable<S> locations) {
+        List<S> saved = new ArrayList<>();
+        locations.forEach(location -> {
+            add(location);
+            saved.add(location);
+        });
+        return saved;
+    }
+}
@@ -6,6 +6,7 @@ import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
 import com.example.systemrezerwacji.domain.openinghoursmodule.OpeningHoursFacade;
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -32,15 +33,25 @@ public class SalonConfiguration {
     @Mock
     ReservationFacade reservationFacade;
 
+    final VersionStamps versionStamps = new VersionStamps();
+
     public SalonConfiguration() {
         MockitoAnnotations.openMocks(this);
     }
 
     public SalonFacade createForTest(SalonRepository salonRepository, ImageRepository imageRepository) {
+        return createForTest(salonRepository, imageRepository, new PostcodeLocationRepositoryTestImpl());
+    }
+
+    SalonFacade createForTest(SalonRepository salonRepository, ImageRepository imageRepository,
+                              PostcodeLocationRepository postcodeLocationRepository) {
         MaperSalonToSalonWithIdDto mapper = new MaperSalonToSalonWithIdDto();
         SalonValidator salonValidator = new SalonValidator();
-        SalonService salonService = new SalonService(salonRepository, mapper, imageRepository);
+        SalonService salonService = new SalonService(salonRepository, mapper, imageRepository, postcodeLocationRepository);
         SalonCreator salonCreator = new SalonCreator(salonValidator, userFacade, codeFacade, salonService);
-        return new SalonFacade(userFacade, openingHoursFacade, employeeFacade, offerFacade, reservationFacade, salonCreator, salonService);
+        SalonDirectory salonDirectory = new SalonDirectory(salonService, offerFacade, openingHoursFacade,
+                versionStamps, Runnable::run);
+        return new SalonFacade(userFacade, openingHoursFacade, employeeFacade, offerFacade, reservationFacade, salonCreator, salonService, salonDirectory,
+                new SalonReadPermits(10));
     }
 }
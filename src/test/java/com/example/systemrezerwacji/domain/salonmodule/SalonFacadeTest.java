@@ -11,10 +11,15 @@ import com.example.systemrezerwacji.domain.offermodule.dto.OfferDto;
 import com.example.systemrezerwacji.domain.openinghoursmodule.OpeningHoursFacade;
 import com.example.systemrezerwacji.domain.openinghoursmodule.dto.OpeningHoursDto;
 import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationCalendarPageDto;
 import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationDto;
 import com.example.systemrezerwacji.domain.salonmodule.dto.*;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidCursorException;
+import com.example.systemrezerwacji.domain.salonmodule.exception.InvalidLocationException;
+import com.example.systemrezerwacji.domain.salonmodule.exception.SalonNotFoundException;
 import com.example.systemrezerwacji.domain.usermodule.User;
 import com.example.systemrezerwacji.domain.usermodule.UserFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -28,6 +33,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
@@ -36,6 +43,7 @@ class SalonFacadeTest {
 
     SalonRepository salonRepository = new SalonRepositoryTestImpl();
     ImageRepository imageRepository = new ImageRepositoryTestImpl();
+    PostcodeLocationRepositoryTestImpl postcodeLocationRepository = new PostcodeLocationRepositoryTestImpl();
 
 
     @Mock
@@ -58,6 +66,8 @@ class SalonFacadeTest {
 
     private SalonFacade salonFacade;
 
+    private VersionStamps versionStamps;
+
 
     @BeforeEach
     void setUp() {
@@ -68,8 +78,9 @@ class SalonFacadeTest {
         employeeFacade = salonConfiguration.employeeFacade;
         offerFacade = salonConfiguration.offerFacade;
         reservationFacade = salonConfiguration.reservationFacade;
+        versionStamps = salonConfiguration.versionStamps;
 
-        salonFacade = salonConfiguration.createForTest(salonRepository, imageRepository);
+        salonFacade = salonConfiguration.createForTest(salonRepository, imageRepository, postcodeLocationRepository);
 
     }
 
@@ -276,8 +287,10 @@ class SalonFacadeTest {
         salon.setSalonName("Test Salon");
         salonRepository.save(salon);
 
-        when(reservationFacade.getAllReservationBySalonId(testSalonId))
-                .thenReturn(Map.of(LocalDate.now(), List.of(new ReservationDto(1L,"Employee name", "Offer name", BigDecimal.valueOf(200), LocalDateTime.of(2026,2,2,10,20), LocalDateTime.of(2026,2,2,10,20)))));
+        when(reservationFacade.getSalonCalendar(testSalonId, null, null))
+                .thenReturn(new ReservationCalendarPageDto(LocalDate.now(), LocalDate.now().plusDays(6),
+                        Map.of(LocalDate.now(), List.of(new ReservationDto(1L,"Employee name", "Offer name", BigDecimal.valueOf(200), LocalDateTime.of(2026,2,2,10,20), LocalDateTime.of(2026,2,2,10,20)))),
+                        null));
 
         when(employeeFacade.getAllEmployees(testSalonId))
                 .thenReturn(List.of(new EmployeeWithAllInformationDto(1L,1L,"Test", "email", List.of(), List.of())));
@@ -286,12 +299,298 @@ class SalonFacadeTest {
                 .thenReturn(List.of(new OfferDto(1L, "Offer 1", "Description", BigDecimal.valueOf(200.0), LocalTime.of(1, 0))));
 
         // when
-        OwnerSalonWithAllInformation result = salonFacade.getSalonByIdToOwner(testSalonId, testEmail);
+        OwnerSalonWithAllInformation result = salonFacade.getSalonByIdToOwner(testSalonId, testEmail, null, null);
 
         // then
         assertThat(result.salonName()).isEqualTo("Test Salon");
         assertThat(result.employeeDto()).isNotEmpty();
         assertThat(result.offerDto()).isNotEmpty();
+        assertThat(result.reservationDto()).containsKey(LocalDate.now());
+
+    }
+
+    @Test
+    void shouldServeCatalogFromDirectorySnapshot() {
+        // given
+        salonRepository.save(salonWithOwner(testSalonId, "Test Salon"));
+        OfferDto offer = new OfferDto(1L, "Offer 1", "Description", BigDecimal.valueOf(200.0), LocalTime.of(1, 0));
+        OpeningHoursDto hours = new OpeningHoursDto(testSalonId, "MONDAY", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        when(offerFacade.getAllOffersBySalon()).thenReturn(Map.of(testSalonId, List.of(offer)));
+        when(openingHoursFacade.getAllOpeningHoursBySalon()).thenReturn(Map.of(testSalonId, List.of(hours)));
+        salonFacade.rebuildDirectory();
+        salonRepository.save(salonWithOwner(2L, "Saved after the snapshot"));
+
+        // when
+        List<SalonWithIdDto> salons = salonFacade.getAllSalons();
+        SalonOffersListDto offers = salonFacade.getAllOffersToSalon(testSalonId);
+        List<OpeningHoursDto> openingHours = salonFacade.getOpeningHours(testSalonId);
+
+        // then
+        assertThat(salons).extracting(SalonWithIdDto::salonName).containsExactly("Test Salon");
+        assertThat(offers.offers()).containsExactly(offer);
+        assertThat(openingHours).containsExactly(hours);
+        verify(offerFacade, never()).getAllOffersToSalon(any());
+    }
+
+    @Test
+    void shouldRebuildDirectoryAfterCatalogWrite() {
+        // given
+        Salon salon = salonWithOwner(testSalonId, "Test Salon");
+        salonRepository.save(salon);
+        salonFacade.rebuildDirectory();
+        Image image = new Image("test.jpg", "https://images.example.com/test.jpg", "image-1");
+        image.setSalon(salon);
+        imageRepository.save(image);
+
+        // when
+        salonFacade.addImageToSalon(testSalonId, image);
+
+        // then
+        assertThat(salonFacade.findImagesBySalonId(testSalonId)).extracting(ImageDto::name).containsExactly("test.jpg");
+    }
+
+    @Test
+    void shouldMoveCatalogETagOnlyOnceChangedSnapshotIsInstalled() {
+        // given
+        salonRepository.save(salonWithOwner(testSalonId, "Test Salon"));
+        salonFacade.rebuildDirectory();
+        String catalogTag = versionStamps.salonCatalogTag();
+        String offersTag = versionStamps.salonOffersTag(testSalonId);
+        salonRepository.save(salonWithOwner(2L, "Second Salon"));
+        String tagBeforeRebuild = versionStamps.salonCatalogTag();
+
+        // when
+        salonFacade.rebuildDirectory();
+
+        // then
+        assertThat(tagBeforeRebuild).isEqualTo(catalogTag);
+        assertThat(versionStamps.salonCatalogTag()).isNotEqualTo(catalogTag);
+        assertThat(versionStamps.salonOffersTag(testSalonId)).isEqualTo(offersTag);
+    }
+
+    @Test
+    void shouldKeepServingLastSnapshotWhenCatalogCannotBeLoaded() {
+        // given
+        salonRepository.save(salonWithOwner(testSalonId, "Test Salon"));
+        salonFacade.rebuildDirectory();
+        when(offerFacade.getAllOffersBySalon()).thenThrow(new IllegalStateException("database unavailable"));
+
+        // when
+        boolean rebuilt = salonFacade.rebuildDirectory();
+
+        // then
+        assertThat(rebuilt).isFalse();
+        assertThat(salonFacade.getSalonById(testSalonId)).map(SalonWithIdDto::salonName).contains("Test Salon");
+    }
+
+    @Test
+    void shouldPageThroughSalonsMatchingCityAndCategoryByName() {
+        // given
+        salonRepository.save(salonInCity(1L, "Anna Hair", "Krakow", "hair"));
+        salonRepository.save(salonInCity(2L, "Bella", "Krakow", "hair"));
+        salonRepository.save(salonInCity(3L, "Cut", "Krakow", "hair"));
+        salonRepository.save(salonInCity(4L, "Dandy", "Warsaw", "hair"));
+        salonRepository.save(salonInCity(5L, "Ella Nails", "Krakow", "nails"));
+        SalonSearchDto search = new SalonSearchDto("Krakow", "hair", null, SalonSearchSort.NAME);
+
+        // when
+        SalonSearchPageDto first = salonFacade.searchSalons(search, null, null, 2);
+        SalonSearchPageDto second = salonFacade.searchSalons(search, first.nextAfterName(), first.nextAfterId(), 2);
+
+        // then
+        assertThat(first.salons()).extracting(SalonWithIdDto::salonName).containsExactly("Anna Hair", "Bella");
+        assertThat(first.nextAfterName()).isEqualTo("Bella");
+        assertThat(first.nextAfterId()).isEqualTo(2L);
+        assertThat(second.salons()).extracting(SalonWithIdDto::salonName).containsExactly("Cut");
+        assertThat(second.nextAfterId()).isNull();
+    }
+
+    @Test
+    void shouldRejectNameCursorMissingOneOfItsParts() {
+        // given
+        SalonSearchDto search = new SalonSearchDto("Krakow", null, null, SalonSearchSort.NAME);
+
+        // when
+        Throwable withoutId = catchThrowable(() -> salonFacade.searchSalons(search, "Bella", null, 2));
+        Throwable withoutName = catchThrowable(() -> salonFacade.searchSalons(search, null, 2L, 2));
+
+        // then
+        assertThat(withoutId).isInstanceOf(InvalidCursorException.class);
+        assertThat(withoutName).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldFindNewestSalonsByNamePrefix() {
+        // given
+        salonRepository.save(salonInCity(1L, "Anna Hair", "Krakow", "hair"));
+        salonRepository.save(salonInCity(2L, "Bella", "Krakow", "hair"));
+        salonRepository.save(salonInCity(3L, "Andy Barber", "Warsaw", "barber"));
+
+        // when
+        SalonSearchPageDto page = salonFacade.searchSalons(new SalonSearchDto(" ", null, "an", SalonSearchSort.NEWEST),
+                null, null, null);
+
+        // then
+        assertThat(page.salons()).extracting(SalonWithIdDto::id).containsExactly("3", "1");
+        assertThat(page.nextAfterId()).isNull();
+    }
+
+    @Test
+    void shouldGeocodeNewSalonFromPostcodeTable() {
+        // given
+        postcodeLocationRepository.add(new PostcodeLocation("15-001", 53.1325, 23.1688));
+        CreateNewSalonDto dto = new CreateNewSalonDto("Test Salon", "hair", "Bialystok", "15-001", "Lipowa", "1", testEmail, "1234");
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(testEmail);
+        when(codeFacade.consumeCode(any(), any())).thenReturn(new ConsumeMessage("success", true));
+        when(userFacade.addUserRoleOwner(any())).thenReturn(Optional.of(user));
+        when(userFacade.getUserByEmail(any())).thenReturn(user);
+
+        // when
+        salonFacade.createNewSalon(dto);
+
+        // then
+        assertThat(salonRepository.findAll()).singleElement().satisfies(salon -> {
+            assertThat(salon.getLatitude()).isEqualTo(53.1325);
+            assertThat(salon.getLongitude()).isEqualTo(23.1688);
+        });
+    }
+
+    @Test
+    void shouldGeocodeExistingSalonsFromImportedPostcodes() {
+        // given
+        User owner = new User();
+        owner.setId(1L);
+        Salon salon = new Salon.SalonBuilder()
+                .addName("Old Town")
+                .addCategory("hair")
+                .addZipCode("00-001")
+                .addUser(Optional.of(owner))
+                .build();
+        salon.setId(1L);
+        salonRepository.save(salon);
+        salonFacade.rebuildDirectory();
+
+        // when
+        int imported = salonFacade.importPostcodes(List.of(
+                new PostcodeLocationDto("00-001", 52.2497, 21.0122),
+                new PostcodeLocationDto("15-001", 53.1325, 23.1688)));
+        int importedAgain = salonFacade.importPostcodes(List.of(new PostcodeLocationDto("00-001", 0, 0)));
 
+        // then
+        assertThat(imported).isEqualTo(2);
+        assertThat(importedAgain).isZero();
+        assertThat(salonFacade.findNearestSalons(52.2297, 21.0122, null, null))
+                .extracting(nearby -> nearby.salon().id()).containsExactly("1");
+    }
+
+    @Test
+    void shouldFindNearestSalonsOfCategory() {
+        // given
+        salonRepository.save(salonAt(1L, "Old Town", "hair", 52.2497, 21.0122));
+        salonRepository.save(salonAt(2L, "Mokotow", "hair", 52.1935, 21.0350));
+        salonRepository.save(salonAt(3L, "Next Door Nails", "nails", 52.2500, 21.0125));
+        salonRepository.save(salonAt(4L, "Krakow", "hair", 50.0614, 19.9366));
+        salonRepository.save(salonWithOwner(5L, "Not geocoded"));
+        salonFacade.rebuildDirectory();
+
+        // when
+        List<NearbySalonDto> nearest = salonFacade.findNearestSalons(52.2297, 21.0122, 2, "Hair");
+        List<NearbySalonDto> inRadius = salonFacade.findSalonsWithinRadius(52.2297, 21.0122, 3, null, null);
+
+        // then
+        assertThat(nearest).extracting(nearby -> nearby.salon().salonName()).containsExactly("Old Town", "Mokotow");
+        assertThat(nearest.get(0).distanceKm()).isCloseTo(2.22, within(0.05));
+        assertThat(inRadius).extracting(nearby -> nearby.salon().id()).containsExactly("1", "3");
+    }
+
+    @Test
+    void shouldInstallDirectoryBuiltForFirstNearbySearch() {
+        // given
+        salonRepository.save(salonAt(1L, "Old Town", "hair", 52.2497, 21.0122));
+
+        // when
+        List<NearbySalonDto> first = salonFacade.findNearestSalons(52.2297, 21.0122, null, null);
+        salonRepository.save(salonAt(2L, "Mokotow", "hair", 52.1935, 21.0350));
+        List<NearbySalonDto> second = salonFacade.findNearestSalons(52.2297, 21.0122, null, null);
+
+        // then
+        assertThat(first).extracting(nearby -> nearby.salon().id()).containsExactly("1");
+        assertThat(second).extracting(nearby -> nearby.salon().id()).containsExactly("1");
+    }
+
+    @Test
+    void shouldRejectNearbySearchOutsideTheMap() {
+        // when
+        Throwable thrown = catchThrowable(() -> salonFacade.findNearestSalons(91, 21.0, null, null));
+
+        // then
+        assertThat(thrown).isInstanceOf(InvalidLocationException.class);
+    }
+
+    @Test
+    void shouldAssembleSalonDetailsInOneCall() {
+        // given
+        salonRepository.save(salonWithOwner(testSalonId, "Test Salon"));
+        OfferDto offer = new OfferDto(1L, "Offer 1", "Description", BigDecimal.valueOf(200.0), LocalTime.of(1, 0));
+        OpeningHoursDto hours = new OpeningHoursDto(testSalonId, "MONDAY", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        when(offerFacade.getAllOffersBySalon()).thenReturn(Map.of(testSalonId, List.of(offer)));
+        when(openingHoursFacade.getAllOpeningHoursBySalon()).thenReturn(Map.of(testSalonId, List.of(hours)));
+        when(employeeFacade.getAllEmployees(testSalonId))
+                .thenReturn(List.of(new EmployeeWithAllInformationDto(1L, testSalonId, "Test", "email", List.of(), List.of())));
+        salonFacade.rebuildDirectory();
+
+        // when
+        SalonDetailsDto details = salonFacade.getSalonDetails(testSalonId);
+
+        // then
+        assertThat(details.salon().salonName()).isEqualTo("Test Salon");
+        assertThat(details.offers()).containsExactly(offer);
+        assertThat(details.openingHours()).containsExactly(hours);
+        assertThat(details.employees()).extracting(EmployeeWithAllInformationDto::name).containsExactly("Test");
+        assertThat(details.images()).isEmpty();
+    }
+
+    @Test
+    void shouldReportMissingSalonOfOwnerPage() {
+        // given
+        when(reservationFacade.getSalonCalendar(99L, null, null))
+                .thenReturn(new ReservationCalendarPageDto(LocalDate.now(), LocalDate.now(), Map.of(), null));
+
+        // when
+        Throwable thrown = catchThrowable(() -> salonFacade.getSalonByIdToOwner(99L, testEmail, null, null));
+
+        // then
+        assertThat(thrown).isInstanceOf(SalonNotFoundException.class);
+    }
+
+    private Salon salonAt(Long salonId, String salonName, String category, double latitude, double longitude) {
+        Salon salon = salonInCity(salonId, salonName, "Warsaw", category);
+        salon.locate(new PostcodeLocation(null, latitude, longitude));
+        return salon;
+    }
+
+    private Salon salonInCity(Long salonId, String salonName, String city, String category) {
+        User owner = new User();
+        owner.setId(1L);
+        Salon salon = new Salon.SalonBuilder()
+                .addName(salonName)
+                .addCity(city)
+                .addCategory(category)
+                .addUser(Optional.of(owner))
+                .build();
+        salon.setId(salonId);
+        return salon;
+    }
+
+    private Salon salonWithOwner(Long salonId, String salonName) {
+        User owner = new User();
+        owner.setId(1L);
+        Salon salon = new Salon();
+        salon.setId(salonId);
+        salon.setSalonName(salonName);
+        salon.setUser(owner);
+        return salon;
     }
 }
@@ -0,0 +1,171 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.salonmodule.SalonGeoIndex.SalonDistance;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SalonGeoIndexTest {
+    private static final String[] CATEGORIES = {"hair", "nails", "barber", "spa", "massage", "makeup", "brows", "tattoo"};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void should_return_same_nearest_salons_as_full_scan() {
+        // given
+        List<SalonLocationDto> locations = randomSalons(5_000);
+        SalonGeoIndex index = SalonGeoIndex.of(locations);
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = latitude();
+            double longitude = longitude();
+            String category = i % 2 == 0 ? null : CATEGORIES[i % CATEGORIES.length];
+
+            // when
+            List<SalonDistance> nearest = index.nearest(latitude, longitude, 10, category);
+
+            // then
+            List<SalonDistance> expected = fullScan(locations, latitude, longitude, category).stream()
+                    .limit(10)
+                    .toList();
+            assertThat(nearest).extracting(SalonDistance::salonId)
+                    .containsExactlyElementsOf(expected.stream().map(SalonDistance::salonId).toList());
+            for (int j = 0; j < nearest.size(); j++) {
+                assertThat(nearest.get(j).distanceKm()).isCloseTo(expected.get(j).distanceKm(), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void should_return_same_salons_within_radius_as_full_scan() {
+        // given
+        List<SalonLocationDto> locations = randomSalons(5_000);
+        SalonGeoIndex index = SalonGeoIndex.of(locations);
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = latitude();
+            double longitude = longitude();
+
+            // when
+            List<SalonDistance> inRadius = index.within(latitude, longitude, 25, 1_000, null);
+
+            // then
+            List<Long> expected = fullScan(locations, latitude, longitude, null).stream()
+                    .filter(salon -> salon.distanceKm() <= 25)
+                    .map(SalonDistance::salonId)
+                    .toList();
+            assertThat(inRadius).extracting(SalonDistance::salonId).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void should_measure_great_circle_distance_across_the_antimeridian() {
+        // given
+        SalonGeoIndex index = SalonGeoIndex.of(List.of(
+                new SalonLocationDto(1L, "hair", 0, 179.9),
+                new SalonLocationDto(2L, "hair", 0, 178.0)));
+
+        // when
+        List<SalonDistance> nearest = index.nearest(0, -179.9, 1, "HAIR ");
+
+        // then
+        assertThat(nearest).singleElement().satisfies(salon -> {
+            assertThat(salon.salonId()).isEqualTo(1L);
+            assertThat(salon.distanceKm()).isCloseTo(22.24, within(0.01));
+        });
+        assertThat(index.nearest(0, 0, 1, "unknown")).isEmpty();
+    }
+
+    /**
+     * Wall-clock benchmark, excluded from the regular build; run it with
+     * {@code mvn test -Dtest=SalonGeoIndexTest -Dgroups=benchmark -Dsurefire.excludedGroups=}.
+     */
+    @Test
+    @Tag("benchmark")
+    void should_answer_queries_over_100k_salons_in_microseconds() {
+        // given
+        List<SalonLocationDto> locations = randomSalons(100_000);
+        SalonGeoIndex index = SalonGeoIndex.of(locations);
+        double[][] queries = new double[20_000][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{latitude(), longitude()};
+        }
+        // warm up the JIT before measuring
+        run(index, queries, QueryKind.NEAREST);
+        run(index, queries, QueryKind.RADIUS);
+        run(index, queries, QueryKind.CATEGORY);
+
+        // when
+        double nearestMicros = run(index, queries, QueryKind.NEAREST);
+        double radiusMicros = run(index, queries, QueryKind.RADIUS);
+        double categoryMicros = run(index, queries, QueryKind.CATEGORY);
+
+        // then
+        assertThat(index.size()).isEqualTo(100_000);
+        // a full scan takes milliseconds
+        assertThat(nearestMicros).as("10-nearest, us per query").isLessThan(200);
+        assertThat(radiusMicros).as("5 km radius, us per query").isLessThan(200);
+        assertThat(categoryMicros).as("10-nearest of category, us per query").isLessThan(200);
+    }
+
+    private enum QueryKind { NEAREST, RADIUS, CATEGORY }
+
+    private static double run(SalonGeoIndex index, double[][] queries, QueryKind kind) {
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries.length; i++) {
+            double[] query = queries[i];
+            hits += switch (kind) {
+                case NEAREST -> index.nearest(query[0], query[1], 10, null).size();
+                case RADIUS -> index.within(query[0], query[1], 5, 100, null).size();
+                case CATEGORY -> index.nearest(query[0], query[1], 10, CATEGORIES[i % CATEGORIES.length]).size();
+            };
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(hits).isPositive();
+        return elapsed / 1_000.0 / queries.length;
+    }
+
+    private List<SalonLocationDto> randomSalons(int count) {
+        List<SalonLocationDto> locations = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            locations.add(new SalonLocationDto(id, CATEGORIES[random.nextInt(CATEGORIES.length)], latitude(), longitude()));
+        }
+        return locations;
+    }
+
+    // roughly the bounding box of Poland
+    private double latitude() {
+        return 49.0 + random.nextDouble() * 5.8;
+    }
+
+    private double longitude() {
+        return 14.1 + random.nextDouble() * 10.0;
+    }
+
+    private static List<SalonDistance> fullScan(List<SalonLocationDto> locations, double latitude, double longitude,
+                                                String category) {
+        return locations.stream()
+                .filter(location -> category == null || location.category().equals(category))
+                .map(location -> new SalonDistance(location.salonId(),
+                        haversineKm(latitude, longitude, location.latitude(), location.longitude())))
+                .sorted(Comparator.comparingDouble(SalonDistance::distanceKm))
+                .toList();
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * SalonGeoIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.systemrezerwacji.domain.salonmodule;
+
+import com.example.systemrezerwacji.domain.salonmodule.exception.SalonNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class SalonReadScopeTest {
+
+    @Test
+    void should_run_reads_side_by_side_on_virtual_threads() {
+        // given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (SalonReadScope scope = new SalonReadScope(new Semaphore(2))) {
+            // when
+            // each read only finishes once the other one has started, so they cannot run one after another
+            Future<Boolean> first = scope.fork(() -> awaitOther(bothStarted));
+            Future<Boolean> second = scope.fork(() -> awaitOther(bothStarted));
+            scope.join();
+
+            // then
+            assertThat(first.resultNow()).isTrue();
+            assertThat(second.resultNow()).isTrue();
+        }
+    }
+
+    @Test
+    void should_cancel_remaining_reads_and_rethrow_first_failure() {
+        // given
+        CountDownLatch never = new CountDownLatch(1);
+        Future<Boolean> slow;
+        Throwable thrown;
+
+        try (SalonReadScope scope = new SalonReadScope(new Semaphore(2))) {
+            slow = scope.fork(() -> never.await(30, TimeUnit.SECONDS));
+            scope.fork(() -> {
+                throw new SalonNotFoundException("Salon with id: 1 not found");
+            });
+
+            // when
+            thrown = catchThrowable(scope::join);
+        }
+
+        // then
+        assertThat(thrown).isInstanceOf(SalonNotFoundException.class);
+        assertThat(slow.state()).isIn(Future.State.CANCELLED, Future.State.FAILED);
+    }
+
+    @Test
+    void should_read_on_calling_thread_when_no_permit_is_free() {
+        // given
+        Semaphore permits = new Semaphore(1);
+        Thread caller = Thread.currentThread();
+        CountDownLatch secondForked = new CountDownLatch(1);
+
+        try (SalonReadScope scope = new SalonReadScope(permits)) {
+            // when
+            // the first read keeps the only permit until the second one was handed to the scope
+            Future<Boolean> forked = scope.fork(() -> secondForked.await(5, TimeUnit.SECONDS)
+                    && Thread.currentThread().isVirtual());
+            Future<Boolean> inline = scope.fork(() -> Thread.currentThread() == caller);
+            secondForked.countDown();
+            scope.join();
+
+            // then
+            assertThat(forked.resultNow()).isTrue();
+            assertThat(inline.resultNow()).isTrue();
+        }
+        assertThat(permits.availablePermits()).isEqualTo(1);
+    }
+
+    private static boolean awaitOther(CountDownLatch bothStarted) throws InterruptedException {
+        assertThat(Thread.currentThread().isVirtual()).isTrue();
+        bothStarted.countDown();
+        return bothStarted.await(5, TimeUnit.SECONDS);
+    }
+}
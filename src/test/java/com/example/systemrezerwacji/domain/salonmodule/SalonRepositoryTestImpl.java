@@ -1,7 +1,11 @@
 package com.example.systemrezerwacji.domain.salonmodule;
 
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonLocationDto;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
 import com.example.systemrezerwacji.domain.usermodule.User;
+import org.springframework.data.domain.Limit;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,6 +24,62 @@ public class SalonRepositoryTestImpl implements SalonRepository{
                 .toList();
     }
 
+    @Override
+    public List<Salon> findByLatitudeIsNullAndZipCodeIsNotNull() {
+        return salonDataBase.values().stream()
+                .filter(salon -> salon.getLatitude() == null && salon.getZipCode() != null)
+                .toList();
+    }
+
+    @Override
+    public List<SalonWithIdDto> findCatalog() {
+        MaperSalonToSalonWithIdDto mapper = new MaperSalonToSalonWithIdDto();
+        return salonDataBase.values().stream()
+                .map(mapper::map)
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public List<SalonLocationDto> findCatalogLocations() {
+        return salonDataBase.values().stream()
+                .filter(salon -> salon.getLatitude() != null && salon.getLongitude() != null)
+                .map(salon -> new SalonLocationDto(salon.getId(), salon.getCategory(), salon.getLatitude(),
+                        salon.getLongitude()))
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public List<SalonWithIdDto> searchByName(String city, String category, String namePrefix, String afterName,
+                                             Long afterId, Limit limit) {
+        return findCatalog().stream()
+                .filter(salon -> matches(salon, city, category, namePrefix))
+                .sorted(Comparator.comparing(SalonWithIdDto::salonName)
+                        .thenComparing(salon -> Long.valueOf(salon.id())))
+                .filter(salon -> afterId == null || salon.salonName().compareTo(afterName) > 0
+                        || (salon.salonName().equals(afterName) && Long.valueOf(salon.id()) > afterId))
+                .limit(limit.max())
+                .toList();
+    }
+
+    @Override
+    public List<SalonWithIdDto> searchNewest(String city, String category, String namePrefix, Long beforeId,
+                                             Limit limit) {
+        return findCatalog().stream()
+                .filter(salon -> matches(salon, city, category, namePrefix))
+                .sorted(Comparator.comparing((SalonWithIdDto salon) -> Long.valueOf(salon.id())).reversed())
+                .filter(salon -> beforeId == null || Long.valueOf(salon.id()) < beforeId)
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static boolean matches(SalonWithIdDto salon, String city, String category, String namePrefix) {
+        return (city == null || city.equals(salon.city()))
+                && (category == null || category.equals(salon.category()))
+                && (namePrefix == null || salon.salonName().toLowerCase().startsWith(namePrefix.replace("%", "")));
+    }
+
     @Override
     public <S extends Salon> S save(S entity) {
         salonDataBase.put(id, entity);
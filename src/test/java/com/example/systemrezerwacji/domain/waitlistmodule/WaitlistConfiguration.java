@@ -0,0 +1,42 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class WaitlistConfiguration {
+
+    @Mock
+    OfferFacade offerFacade;
+
+    @Mock
+    EmployeeFacade employeeFacade;
+
+    @Mock
+    ReservationFacade reservationFacade;
+
+    @Mock
+    NotificationFacade notificationFacade;
+
+    public WaitlistConfiguration() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    WaitlistFacade createForTest(WaitlistRepository waitlistRepository) {
+        when(reservationFacade.callWithEmployeeDayLocked(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        WaitlistService waitlistService = new WaitlistService(waitlistRepository, 31);
+        return new WaitlistFacade(offerFacade, employeeFacade, reservationFacade, notificationFacade,
+                waitlistService, new VersionStamps(), Duration.ofMinutes(15));
+    }
+}
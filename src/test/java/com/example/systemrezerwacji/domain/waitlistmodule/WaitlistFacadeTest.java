@@ -0,0 +1,207 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import com.example.systemrezerwacji.domain.employeemodule.EmployeeFacade;
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermDto;
+import com.example.systemrezerwacji.domain.employeemodule.dto.EmployeeToOfferDto;
+import com.example.systemrezerwacji.domain.offermodule.Offer;
+import com.example.systemrezerwacji.domain.offermodule.OfferFacade;
+import com.example.systemrezerwacji.domain.reservationmodule.ReservationFacade;
+import com.example.systemrezerwacji.domain.salonmodule.Salon;
+import com.example.systemrezerwacji.domain.waitlistmodule.dto.CreateWaitlistEntryDto;
+import com.example.systemrezerwacji.domain.waitlistmodule.response.WaitlistFacadeResponse;
+import com.example.systemrezerwacji.infrastructure.notificationmode.NotificationFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WaitlistFacadeTest {
+
+    WaitlistRepositoryTestImpl waitlistRepository = new WaitlistRepositoryTestImpl();
+
+    @Mock
+    private OfferFacade offerFacade;
+
+    @Mock
+    private EmployeeFacade employeeFacade;
+
+    @Mock
+    private ReservationFacade reservationFacade;
+
+    @Mock
+    private NotificationFacade notificationFacade;
+
+    private WaitlistFacade waitlistFacade;
+
+    private final Long salonId = 1L;
+    private final Long offerId = 1L;
+    private final Long employeeId = 1L;
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        WaitlistConfiguration configuration = new WaitlistConfiguration();
+        configuration.offerFacade = offerFacade;
+        configuration.employeeFacade = employeeFacade;
+        configuration.reservationFacade = reservationFacade;
+        configuration.notificationFacade = notificationFacade;
+        waitlistFacade = configuration.createForTest(waitlistRepository);
+
+        Salon salon = new Salon();
+        salon.setId(salonId);
+        salon.setSalonName("Salon");
+        Offer offer = new Offer();
+        ReflectionTestUtils.setField(offer, "name", "Haircut");
+        ReflectionTestUtils.setField(offer, "salon", salon);
+        when(offerFacade.getOffer(offerId)).thenReturn(offer);
+        when(employeeFacade.getEmployeesToOffer(offerId)).thenReturn(List.of(new EmployeeToOfferDto(employeeId, "Anna")));
+        when(employeeFacade.getAvailableHours(any())).thenReturn(List.of(
+                new AvailableTermDto(LocalTime.of(10, 0), LocalTime.of(11, 0)),
+                new AvailableTermDto(LocalTime.of(16, 0), LocalTime.of(17, 0))));
+    }
+
+    @Test
+    void should_hold_freed_term_for_first_registered_customer() {
+        // given
+        Long first = register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "first@example.com");
+        Long second = register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "second@example.com");
+
+        // when
+        int holds = waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+
+        // then
+        assertThat(holds).isEqualTo(1);
+        assertThat(status(first)).isEqualTo(WaitlistStatus.HELD);
+        assertThat(status(second)).isEqualTo(WaitlistStatus.WAITING);
+        verify(reservationFacade).lockEmployeeDay(employeeId, tomorrow);
+        verify(notificationFacade).queueWaitlistHoldEmail(eq("first@example.com"), eq("Haircut"),
+                eq(tomorrow.atTime(10, 0)), eq("Salon"), any());
+    }
+
+    @Test
+    void should_not_hold_term_outside_customer_window() {
+        // given
+        Long entry = register(employeeId, LocalTime.of(12, 0), LocalTime.of(18, 0), "client@example.com");
+
+        // when
+        int holds = waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+
+        // then
+        assertThat(holds).isZero();
+        assertThat(status(entry)).isEqualTo(WaitlistStatus.WAITING);
+        verify(notificationFacade, never()).queueWaitlistHoldEmail(anyString(), anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void should_hold_term_for_any_employee_entry_only_with_employee_performing_offer() {
+        // given
+        Long entry = register(null, LocalTime.of(9, 0), LocalTime.of(12, 0), "client@example.com");
+
+        // when
+        int otherEmployeeHolds = waitlistFacade.offerFreedSlot(salonId, 2L, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+        int holds = waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+
+        // then
+        assertThat(otherEmployeeHolds).isZero();
+        assertThat(holds).isEqualTo(1);
+        assertThat(waitlistRepository.findById(entry).orElseThrow().getHoldEmployeeId()).isEqualTo(employeeId);
+    }
+
+    @Test
+    void should_block_held_term_for_other_customers_until_holder_books_it() {
+        // given
+        register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "holder@example.com");
+        waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+        LocalDateTime start = tomorrow.atTime(10, 0);
+        LocalDateTime end = tomorrow.atTime(11, 0);
+
+        // when
+        boolean heldForOther = waitlistFacade.isSlotHeldForOthers(employeeId, start, end, "other@example.com");
+        boolean heldForHolder = waitlistFacade.isSlotHeldForOthers(employeeId, start, end, "holder@example.com");
+        int completed = waitlistFacade.completeHold(employeeId, start, end, "holder@example.com");
+
+        // then
+        assertThat(heldForOther).isTrue();
+        assertThat(heldForHolder).isFalse();
+        assertThat(completed).isEqualTo(1);
+        assertThat(waitlistFacade.isSlotHeldForOthers(employeeId, start, end, "other@example.com")).isFalse();
+    }
+
+    @Test
+    void should_pass_expired_hold_to_next_customer() {
+        // given
+        Long first = register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "first@example.com");
+        Long second = register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "second@example.com");
+        waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+        ReflectionTestUtils.setField(waitlistRepository.findById(first).orElseThrow(), "holdUntil", LocalDateTime.now().minusMinutes(1));
+
+        // when
+        int released = waitlistFacade.releaseExpiredHolds();
+
+        // then
+        assertThat(released).isEqualTo(1);
+        assertThat(status(first)).isEqualTo(WaitlistStatus.EXPIRED);
+        assertThat(status(second)).isEqualTo(WaitlistStatus.HELD);
+        verify(reservationFacade).callWithEmployeeDayLocked(eq(employeeId), eq(tomorrow), any());
+    }
+
+    @Test
+    void should_not_offer_term_to_cancelled_entry() {
+        // given
+        Long entry = register(employeeId, LocalTime.of(9, 0), LocalTime.of(12, 0), "client@example.com");
+
+        // when
+        WaitlistFacadeResponse response = waitlistFacade.cancel(entry, "client@example.com");
+        int holds = waitlistFacade.offerFreedSlot(salonId, employeeId, tomorrow.atTime(10, 0), tomorrow.atTime(11, 0));
+
+        // then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(holds).isZero();
+        assertThat(status(entry)).isEqualTo(WaitlistStatus.CANCELLED);
+    }
+
+    @Test
+    void should_reject_entry_with_too_long_range_and_empty_window() {
+        // given
+        CreateWaitlistEntryDto dto = new CreateWaitlistEntryDto(offerId, employeeId, tomorrow, tomorrow.plusDays(60),
+                LocalTime.of(12, 0), LocalTime.of(12, 0), "client@example.com");
+
+        // when
+        WaitlistFacadeResponse response = waitlistFacade.register(dto);
+
+        // then
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.message()).isEqualTo("Date range is too long,Time window end has to be after its start");
+        assertThat(waitlistRepository.count()).isZero();
+    }
+
+    private Long register(Long employeeId, LocalTime windowStart, LocalTime windowEnd, String email) {
+        WaitlistFacadeResponse response = waitlistFacade.register(new CreateWaitlistEntryDto(
+                offerId, employeeId, tomorrow, tomorrow.plusDays(6), windowStart, windowEnd, email));
+        assertThat(response.isSuccess()).isTrue();
+        return response.entryId();
+    }
+
+    private WaitlistStatus status(Long entryId) {
+        return waitlistRepository.findById(entryId).orElseThrow().getStatus();
+    }
+}
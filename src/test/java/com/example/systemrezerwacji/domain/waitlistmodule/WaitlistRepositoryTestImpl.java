@@ -0,0 +1,148 @@
+package com.example.systemrezerwacji.domain.waitlistmodule;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WaitlistRepositoryTestImpl implements WaitlistRepository {
+
+    private final Map<Long, WaitlistEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong id = new AtomicLong(1L);
+
+    @Override
+    public List<WaitlistEntry> findCandidates(Long salonId, Long employeeId, LocalDate date, LocalTime from, LocalTime to) {
+        return entries.values().stream()
+                .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+                .filter(entry -> Objects.equals(entry.getSalonId(), salonId))
+                .filter(entry -> entry.getEmployeeId() == null || Objects.equals(entry.getEmployeeId(), employeeId))
+                .filter(entry -> !entry.getDateFrom().isAfter(date) && !entry.getDateTo().isBefore(date))
+                .filter(entry -> entry.getWindowStart().isBefore(to) && entry.getWindowEnd().isAfter(from))
+                .sorted(Comparator.comparing(WaitlistEntry::getCreatedAt).thenComparing(WaitlistEntry::getId))
+                .toList();
+    }
+
+    @Override
+    public synchronized int hold(Long id, Long employeeId, LocalDateTime start, LocalDateTime end, LocalDateTime holdUntil) {
+        WaitlistEntry entry = entries.get(id);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            return 0;
+        }
+        ReflectionTestUtils.setField(entry, "status", WaitlistStatus.HELD);
+        ReflectionTestUtils.setField(entry, "holdEmployeeId", employeeId);
+        ReflectionTestUtils.setField(entry, "holdStart", start);
+        ReflectionTestUtils.setField(entry, "holdEnd", end);
+        ReflectionTestUtils.setField(entry, "holdUntil", holdUntil);
+        return 1;
+    }
+
+    @Override
+    public List<WaitlistEntry> findActiveHolds(Long employeeId, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        return entries.values().stream()
+                .filter(entry -> entry.getStatus() == WaitlistStatus.HELD)
+                .filter(entry -> Objects.equals(entry.getHoldEmployeeId(), employeeId))
+                .filter(entry -> entry.getHoldStart().isBefore(to) && entry.getHoldEnd().isAfter(from))
+                .filter(entry -> entry.getHoldUntil().isAfter(now))
+                .toList();
+    }
+
+    @Override
+    public List<WaitlistEntry> findActiveHoldsOfEmployees(Collection<Long> employeeIds, LocalDateTime from,
+                                                          LocalDateTime to, LocalDateTime now) {
+        return entries.values().stream()
+                .filter(entry -> employeeIds.contains(entry.getHoldEmployeeId()))
+                .filter(entry -> findActiveHolds(entry.getHoldEmployeeId(), from, to, now).contains(entry))
+                .toList();
+    }
+
+    @Override
+    public List<WaitlistEntry> findExpiredHolds(LocalDateTime now) {
+        return entries.values().stream()
+                .filter(entry -> entry.getStatus() == WaitlistStatus.HELD && !entry.getHoldUntil().isAfter(now))
+                .sorted(Comparator.comparing(WaitlistEntry::getHoldUntil).thenComparing(WaitlistEntry::getId))
+                .toList();
+    }
+
+    @Override
+    public int expireOutdated(LocalDate today) {
+        List<WaitlistEntry> outdated = entries.values().stream()
+                .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING && entry.getDateTo().isBefore(today))
+                .toList();
+        outdated.forEach(WaitlistEntry::expire);
+        return outdated.size();
+    }
+
+    @Override
+    public <S extends WaitlistEntry> S save(S entity) {
+        if (entity.getId() == null) {
+            ReflectionTestUtils.setField(entity, "id", id.getAndIncrement());
+        }
+        entries.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends WaitlistEntry> Iterable<S> saveAll(Iterable<S> entities) {
+        entities.forEach(this::save);
+        return entities;
+    }
+
+    @Override
+    public Optional<WaitlistEntry> findById(Long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return entries.containsKey(id);
+    }
+
+    @Override
+    public Iterable<WaitlistEntry> findAll() {
+        return List.copyOf(entries.values());
+    }
+
+    @Override
+    public Iterable<WaitlistEntry> findAllById(Iterable<Long> ids) {
+        return null;
+    }
+
+    @Override
+    public long count() {
+        return entries.size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        entries.remove(id);
+    }
+
+    @Override
+    public void delete(WaitlistEntry entity) {
+        entries.remove(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends WaitlistEntry> entities) {
+
+    }
+
+    @Override
+    public void deleteAll() {
+        entries.clear();
+    }
+}
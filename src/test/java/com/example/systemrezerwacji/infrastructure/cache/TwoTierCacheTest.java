@@ -0,0 +1,181 @@
+package com.example.systemrezerwacji.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+    // stands in for Redis: one shared cache manager and one pub/sub channel for every instance
+    private final ConcurrentMapCacheManager redis = new ConcurrentMapCacheManager();
+    private final List<TwoTierCacheManager> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TwoTierCacheManager first;
+    private TwoTierCacheManager second;
+
+    @BeforeEach
+    void setUp() {
+        first = instance();
+        second = instance();
+    }
+
+    @Test
+    void should_serve_repeated_reads_from_local_tier() {
+        // given
+        Cache salons = first.getCache("salons");
+
+        // when
+        String firstRead = salons.get("all", this::load);
+        String secondRead = salons.get("all", this::load);
+
+        // then
+        assertThat(firstRead).isEqualTo(secondRead).isEqualTo("value-1");
+        assertThat(loads).hasValue(1);
+        assertThat(redis.getCache("salons").get("all").get()).isEqualTo("value-1");
+        assertThat(twoTier(first, "salons").localHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_fill_local_tier_from_entry_loaded_by_other_instance() {
+        // given
+        first.getCache("salons").get("all", this::load);
+
+        // when
+        String read = second.getCache("salons").get("all", this::load);
+
+        // then
+        assertThat(read).isEqualTo("value-1");
+        assertThat(loads).hasValue(1);
+        assertThat(twoTier(second, "salons").remoteHitCount()).isEqualTo(1);
+        assertThat(twoTier(second, "salons").getNativeCache().getIfPresent("all")).isEqualTo("value-1");
+    }
+
+    @Test
+    void should_evict_entry_from_both_tiers_of_every_instance() {
+        // given
+        first.getCache("salonOffers").get(7L, this::load);
+        second.getCache("salonOffers").get(7L, this::load);
+
+        // when
+        first.getCache("salonOffers").evict(7L);
+
+        // then
+        assertThat(twoTier(second, "salonOffers").getNativeCache().getIfPresent("7")).isNull();
+        assertThat(redis.getCache("salonOffers").get(7L)).isNull();
+        assertThat(second.getCache("salonOffers").get(7L, this::load)).isEqualTo("value-2");
+    }
+
+    @Test
+    void should_evict_after_commit_inside_transaction() {
+        // given
+        Cache salons = first.getCache("salons");
+        salons.get("all", this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // when
+            salons.clear();
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(twoTier(second, "salons").getNativeCache().asMap()).isEmpty();
+        assertThat(salons.get("all").get()).isEqualTo("value-1");
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(salons.get("all")).isNull();
+    }
+
+    @Test
+    void should_fall_back_to_loader_when_shared_tier_is_down() {
+        // given
+        TwoTierCache cache = new TwoTierCache("salons", Caffeine.newBuilder().build(), new UnavailableCache(),
+                "origin", invalidation -> {
+                    throw new IllegalStateException("connection refused");
+                });
+
+        // when
+        String firstRead = cache.get("all", this::load);
+        String secondRead = cache.get("all", this::load);
+        cache.evict("all");
+
+        // then
+        assertThat(firstRead).isEqualTo(secondRead).isEqualTo("value-1");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("all")).isNull();
+    }
+
+    @Test
+    void should_report_hits_of_both_tiers_and_misses() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new TwoTierCacheMetrics(twoTier(second, "salons"), List.of()).bindTo(registry);
+        first.getCache("salons").get("all", this::load);
+
+        // when
+        second.getCache("salons").get("all", this::load);
+        second.getCache("salons").get("all", this::load);
+        second.getCache("salons").get("other", this::load);
+
+        // then
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.tier.hits").tag("tier", "local").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.tier.hits").tag("tier", "remote").functionCounter().count()).isEqualTo(1);
+    }
+
+    private TwoTierCacheManager instance() {
+        TwoTierCacheManager manager = new TwoTierCacheManager(redis, Caffeine.newBuilder().recordStats(),
+                invalidation -> subscribers.forEach(subscriber -> subscriber.evictLocal(invalidation)),
+                List.of("salons", "salonOffers"));
+        manager.initializeCaches();
+        subscribers.add(manager);
+        return manager;
+    }
+
+    private String load() {
+        return "value-" + loads.incrementAndGet();
+    }
+
+    private static TwoTierCache twoTier(TwoTierCacheManager manager, String name) {
+        manager.getCache(name);
+        return (TwoTierCache) manager.loadCaches().stream()
+                .filter(cache -> cache.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static class UnavailableCache extends ConcurrentMapCache {
+        UnavailableCache() {
+            super("unavailable");
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            throw new IllegalStateException("connection refused");
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            throw new IllegalStateException("connection refused");
+        }
+
+        @Override
+        public void evict(Object key) {
+            throw new IllegalStateException("connection refused");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import com.example.systemrezerwacji.domain.reservationmodule.dto.ReservationReminderDto;
+import com.example.systemrezerwacji.infrastructure.notificationmode.response.RemindBatchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderServiceTest {
+
+    @Test
+    void should_send_reminders_in_batches_and_report_each_batch() {
+        // given
+        RecordingSendMail sendMail = new RecordingSendMail("failing@example.com");
+        ReminderService reminderService = new ReminderService(sendMail, properties());
+        List<ReservationReminderDto> reminders = reminders(250);
+        reminders.set(120, reminder(120L, "failing@example.com"));
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+
+        // when
+        List<RemindBatchResponse> result = reminderService.sendInBatches(reminders, delivered::addAll);
+
+        // then
+        assertThat(result).extracting(RemindBatchResponse::reminders).containsExactly(100, 100, 50);
+        assertThat(result).extracting(RemindBatchResponse::isSuccess).containsExactly(true, false, true);
+        assertThat(sendMail.calls).hasValue(3);
+        assertThat(sendMail.maxInFlight).hasValueLessThanOrEqualTo(2);
+        assertThat(delivered).hasSize(150).doesNotContain(100L, 120L, 199L).contains(0L, 99L, 200L, 249L);
+    }
+
+    @Test
+    void should_not_call_mail_service_when_there_is_nothing_to_remind() {
+        // given
+        RecordingSendMail sendMail = new RecordingSendMail(null);
+        ReminderService reminderService = new ReminderService(sendMail, properties());
+        List<Long> delivered = new ArrayList<>();
+
+        // when
+        List<RemindBatchResponse> result = reminderService.sendInBatches(List.of(), delivered::addAll);
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(sendMail.calls).hasValue(0);
+        assertThat(delivered).isEmpty();
+    }
+
+    private static ReminderProperties properties() {
+        return new ReminderProperties(100, 2, 1, Duration.ofMinutes(10), ReminderMode.WHEEL,
+                List.of(Duration.ofHours(24), Duration.ofHours(2)), Duration.ofHours(6), Duration.ofSeconds(1),
+                Duration.ofHours(1), Duration.ofMinutes(1));
+    }
+
+    private static List<ReservationReminderDto> reminders(int count) {
+        List<ReservationReminderDto> reminders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            reminders.add(reminder((long) i, "client" + i + "@example.com"));
+        }
+        return reminders;
+    }
+
+    private static ReservationReminderDto reminder(Long reservationId, String email) {
+        return new ReservationReminderDto(reservationId, email, "Haircut", "Salon", "Street", "1", "City",
+                LocalDateTime.now().plusDays(1));
+    }
+
+    private static class RecordingSendMail implements SendMail {
+        private final String failingEmail;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        RecordingSendMail(String failingEmail) {
+            this.failingEmail = failingEmail;
+        }
+
+        @Override
+        public Boolean sendReminders(List<ReservationReminderDto> reminders) {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                if (reminders.stream().anyMatch(reminder -> reminder.clientEmail().equals(failingEmail))) {
+                    throw new IllegalStateException("Mail service rejected the batch");
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Boolean sendEmail(String to, String offerName, LocalDateTime time, String company) {
+            return true;
+        }
+
+        @Override
+        public Boolean sendEmailWithPassword(String to, String offerName, LocalDateTime time, String company, String password) {
+            return true;
+        }
+
+        @Override
+        public Boolean sendSeriesConfirmation(String to, String offerName, List<LocalDateTime> times, String company, String password) {
+            return true;
+        }
+
+        @Override
+        public Boolean sendWaitlistHold(String to, String offerName, LocalDateTime time, String company, LocalDateTime holdUntil) {
+            return true;
+        }
+    }
+}
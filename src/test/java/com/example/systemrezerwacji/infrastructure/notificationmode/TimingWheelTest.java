@@ -0,0 +1,119 @@
+package com.example.systemrezerwacji.infrastructure.notificationmode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    private static final long TICK = 1000;
+
+    @Test
+    void should_fire_key_once_its_deadline_is_reached() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 0);
+        wheel.schedule("a", 5000);
+
+        // when
+        List<String> early = wheel.advance(4999);
+        List<String> due = wheel.advance(5000);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(6000)).isEmpty();
+    }
+
+    @Test
+    void should_round_deadline_up_to_the_next_tick() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 0);
+        wheel.schedule("a", 2500);
+
+        // when
+        List<String> early = wheel.advance(2999);
+        List<String> due = wheel.advance(3000);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("a");
+    }
+
+    @Test
+    void should_fire_past_deadline_on_next_advance() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 10_000);
+        wheel.schedule("a", 1000);
+
+        // when
+        List<String> due = wheel.advance(11_000);
+
+        // then
+        assertThat(due).containsExactly("a");
+    }
+
+    @Test
+    void should_not_fire_cancelled_key() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 0);
+        wheel.schedule("a", 3000);
+
+        // when
+        boolean cancelled = wheel.cancel("a");
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.advance(10_000)).isEmpty();
+        assertThat(wheel.cancel("a")).isFalse();
+    }
+
+    @Test
+    void should_move_key_when_scheduled_again() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 0);
+        wheel.schedule("a", 3000);
+
+        // when
+        wheel.schedule("a", 8000);
+
+        // then
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(3000)).isEmpty();
+        assertThat(wheel.advance(8000)).containsExactly("a");
+    }
+
+    @Test
+    void should_keep_keys_further_than_one_revolution_until_their_round() {
+        // given
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 16, 0);
+        wheel.schedule("near", 3000);
+        wheel.schedule("far", 3000 + 16 * TICK);
+
+        // when
+        List<String> firstRound = wheel.advance(3000);
+        List<String> secondRound = wheel.advance(3000 + 16 * TICK);
+
+        // then
+        assertThat(firstRound).containsExactly("near");
+        assertThat(secondRound).containsExactly("far");
+    }
+
+    @Test
+    void should_expire_everything_due_when_clock_jumps_past_whole_wheel() {
+        // given
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 16, 0);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, i * TICK);
+        }
+
+        // when
+        List<Integer> due = wheel.advance(50 * TICK);
+
+        // then
+        assertThat(due).hasSize(50).allMatch(key -> key <= 50);
+        assertThat(wheel.size()).isEqualTo(50);
+        assertThat(wheel.advance(100 * TICK)).hasSize(50).allMatch(key -> key > 50);
+    }
+}
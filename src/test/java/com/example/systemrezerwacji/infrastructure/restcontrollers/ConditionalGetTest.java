@@ -0,0 +1,144 @@
+package com.example.systemrezerwacji.infrastructure.restcontrollers;
+
+import com.example.systemrezerwacji.domain.salonmodule.SalonFacade;
+import com.example.systemrezerwacji.domain.salonmodule.dto.SalonWithIdDto;
+import com.example.systemrezerwacji.infrastructure.claudinary.CloudinaryService;
+import com.example.systemrezerwacji.infrastructure.versionstamp.VersionStamps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetTest {
+    private static final int REQUESTS = 200;
+
+    @Mock
+    private SalonFacade salonFacade;
+
+    @Mock
+    private CloudinaryService cloudinaryService;
+
+    private final VersionStamps versionStamps = new VersionStamps();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SalonController(salonFacade, cloudinaryService, versionStamps)).build();
+    }
+
+    @Test
+    void should_answer_matching_etag_with_not_modified_until_catalog_changes() throws Exception {
+        // given
+        when(salonFacade.getAllSalons()).thenReturn(salons(3));
+        String eTag = mockMvc.perform(get("/salons")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        int warmStatus = mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse().getStatus();
+        versionStamps.bumpSalonCatalog();
+        MvcResult afterWrite = mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+
+        // then
+        assertThat(warmStatus).isEqualTo(304);
+        assertThat(afterWrite.getResponse().getStatus()).isEqualTo(200);
+        assertThat(afterWrite.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void should_answer_warm_clients_with_empty_body_without_loading_salons() throws Exception {
+        // given
+        when(salonFacade.getAllSalons()).thenReturn(salons(3));
+        String eTag = mockMvc.perform(get("/salons")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(salonFacade);
+
+        // when
+        MvcResult warm = mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+
+        // then
+        assertThat(warm.getResponse().getStatus()).isEqualTo(304);
+        assertThat(warm.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(warm.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        verifyNoInteractions(salonFacade);
+    }
+
+    @Test
+    void should_stop_answering_not_modified_after_another_instance_changed_the_catalog() throws Exception {
+        // given
+        VersionStamps otherInstance = new VersionStamps(versionStamps::applyRemote);
+        when(salonFacade.getAllSalons()).thenReturn(salons(3));
+        String eTag = mockMvc.perform(get("/salons")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        otherInstance.bumpSalonCatalog();
+        MvcResult afterRemoteWrite = mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+
+        // then
+        assertThat(afterRemoteWrite.getResponse().getStatus()).isEqualTo(200);
+        assertThat(afterRemoteWrite.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    /**
+     * CPU-time benchmark, excluded from the regular build; run it with
+     * {@code mvn test -Dtest=ConditionalGetTest -Dgroups=benchmark -Dsurefire.excludedGroups=}.
+     */
+    @Test
+    @Tag("benchmark")
+    void should_spend_less_cpu_on_warm_clients_than_on_full_responses() throws Exception {
+        // given
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        when(salonFacade.getAllSalons()).thenReturn(salons(2_000));
+        String eTag = mockMvc.perform(get("/salons")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/salons"));
+            mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag));
+        }
+
+        // when
+        long coldStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/salons"));
+        }
+        long coldNanos = (threads.getCurrentThreadCpuTime() - coldStart) / REQUESTS;
+
+        clearInvocations(salonFacade);
+        long warmStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            mockMvc.perform(get("/salons").header(HttpHeaders.IF_NONE_MATCH, eTag));
+        }
+        long warmNanos = (threads.getCurrentThreadCpuTime() - warmStart) / REQUESTS;
+
+        // then
+        verifyNoInteractions(salonFacade);
+        assertThat(warmNanos)
+                .as("CPU per request: %d ns with a matching ETag, %d ns for a full response", warmNanos, coldNanos)
+                .isLessThan(coldNanos / 2);
+    }
+
+    private static List<SalonWithIdDto> salons(int count) {
+        List<SalonWithIdDto> salons = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            salons.add(new SalonWithIdDto(String.valueOf(i), "Salon " + i, "HAIRDRESSER", "Warszawa",
+                    "00-001", "Marszałkowska", String.valueOf(i), "1"));
+        }
+        return salons;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.systemrezerwacji.infrastructure.slotstream;
+
+import com.example.systemrezerwacji.domain.employeemodule.dto.AvailableTermWithDateDto;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangeType;
+import com.example.systemrezerwacji.domain.reservationmodule.dto.SlotChangedEvent;
+import com.example.systemrezerwacji.domain.waitlistmodule.WaitlistFacade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotStreamServiceTest {
+
+    private final WaitlistFacade waitlistFacade = mock(WaitlistFacade.class);
+
+    private final SlotStreamService slotStreamService = new SlotStreamService(
+            new SlotStreamProperties(2, Duration.ofMinutes(1), Duration.ofSeconds(20)), waitlistFacade);
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    @AfterEach
+    void tearDown() {
+        slotStreamService.shutdown();
+    }
+
+    @Test
+    void should_deliver_slot_change_to_salon_and_employee_streams_of_that_day() {
+        // given
+        RecordingEmitter salonStream = new RecordingEmitter(null);
+        RecordingEmitter employeeStream = new RecordingEmitter(null);
+        RecordingEmitter otherDayStream = new RecordingEmitter(null);
+        slotStreamService.register(SlotTopic.ofSalon(1L, date), salonStream);
+        slotStreamService.register(SlotTopic.ofEmployee(2L, date), employeeStream);
+        slotStreamService.register(SlotTopic.ofEmployee(2L, date.plusDays(1)), otherDayStream);
+
+        // when
+        slotStreamService.onSlotChanged(slotChange(SlotChangeType.TAKEN));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> salonStream.sent.size() == 1 && employeeStream.sent.size() == 1);
+        assertThat(otherDayStream.sent).isEmpty();
+    }
+
+    @Test
+    void should_announce_freed_time_the_waitlist_held_as_held() {
+        // given
+        RecordingEmitter employeeStream = new RecordingEmitter(null);
+        slotStreamService.register(SlotTopic.ofEmployee(2L, date), employeeStream);
+        SlotChangedEvent freed = slotChange(SlotChangeType.FREED);
+        when(waitlistFacade.getHeldTerms(2L, freed.start(), freed.end())).thenReturn(List.of(
+                new AvailableTermWithDateDto(LocalTime.of(10, 0), LocalTime.of(10, 30), date)));
+
+        // when
+        slotStreamService.onSlotChanged(freed);
+        slotStreamService.onSlotChanged(slotChange(SlotChangeType.TAKEN));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> employeeStream.sent.size() == 2);
+        assertThat(employeeStream.eventNames()).containsExactly("slot-held", "slot-taken");
+    }
+
+    @Test
+    void should_disconnect_subscriber_whose_buffer_overflows() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slowStream = new RecordingEmitter(release);
+        RecordingEmitter fastStream = new RecordingEmitter(null);
+        slotStreamService.register(SlotTopic.ofSalon(1L, date), slowStream);
+        slotStreamService.register(SlotTopic.ofSalon(1L, date), fastStream);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            int published = i + 1;
+            slotStreamService.onSlotChanged(slotChange(i % 2 == 0 ? SlotChangeType.TAKEN : SlotChangeType.FREED));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fastStream.sent.size() == published);
+        }
+        release.countDown();
+
+        // then
+        assertThat(slowStream.completed).isTrue();
+        assertThat(slotStreamService.subscriberCount()).isEqualTo(1);
+        assertThat(fastStream.sent).hasSize(10);
+        assertThat(fastStream.completed).isFalse();
+    }
+
+    @Test
+    void should_keep_delivering_to_fast_subscribers_while_many_clients_stall() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> stalledStreams = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            RecordingEmitter stalledStream = new RecordingEmitter(release);
+            stalledStreams.add(stalledStream);
+            slotStreamService.register(SlotTopic.ofSalon(1L, date), stalledStream);
+        }
+        RecordingEmitter fastStream = new RecordingEmitter(null);
+        slotStreamService.register(SlotTopic.ofEmployee(2L, date), fastStream);
+
+        // when
+        slotStreamService.onSlotChanged(slotChange(SlotChangeType.TAKEN));
+        slotStreamService.onSlotChanged(slotChange(SlotChangeType.FREED));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> fastStream.sent.size() == 2);
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalledStreams.stream().allMatch(stream -> stream.sent.size() == 2));
+    }
+
+    private SlotChangedEvent slotChange(SlotChangeType type) {
+        LocalDateTime start = date.atTime(10, 0);
+        return new SlotChangedEvent(type, 1L, 2L, start, start.plusMinutes(30));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> eventNames() {
+            return sent.stream()
+                    .map(event -> event.build().iterator().next().getData().toString())
+                    .map(text -> text.substring("event:".length(), text.indexOf('\n')))
+                    .toList();
+        }
+    }
+}